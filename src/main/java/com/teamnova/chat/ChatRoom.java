@@ -2,16 +2,28 @@ package com.teamnova.chat;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.teamnova.webrtc.VideoRoom;
+import com.teamnova.database.DBHelper;
+import com.teamnova.command.FanoutEncoder;
 import com.teamnova.command.ResponseCommand;
 import com.teamnova.command.ResponseCommand.TransmissionStatus;
 import com.teamnova.command.chat.CreateRoomCommand.RoomType;
+import com.teamnova.command.chat.SendMessageCommand;
+import com.teamnova.server.ChatServer;
 import com.teamnova.user.User;
+import com.teamnova.user.UserRegistry;
+import com.teamnova.utils.LongHashSet;
+import com.teamnova.utils.PerformanceLogger;
+import com.teamnova.utils.TimeUtils;
 
 /**
  * 채팅방 클래스
@@ -29,30 +41,206 @@ public class ChatRoom {
     public String coverImageUrl; // 🆕 오픈채팅방 커버 이미지 URL 필드 추가 (클라이언트 호환성)
     public Integer currentMembers; // 🆕 현재 참여 멤버 수 필드 추가
 
-    public List<User> userList = new CopyOnWriteArrayList<>(); // 이 채팅방에 속한 사용자 리스트
+    // 멤버 사용자 id 집합 (접속 중인 세션은 전송 시점에 UserRegistry 에서 찾는다, this 로 동기화)
+    private final LongHashSet memberIds = new LongHashSet();
     public List<VideoRoom> videoRooms = new ArrayList<>();
 
+    // RoomCache 의 마지막 조회 시각 (System.nanoTime)
+    volatile long lastAccessNanos = System.nanoTime();
+
+    // nextSeq 가 캐시에서 제거된 방이라 발급하지 않았음을 알리는 값 (다시 조회한 방에서 발급)
+    public static final long SEQ_RETIRED = -1;
+
+    // 방 메시지 순번: 마지막으로 발급한 값 (아직 저장소에서 읽지 않았으면 -1, this 로 동기화)
+    private long lastSeq = -1;
+    // 발급했지만 아직 저장(settleSeq)되거나 반납(releaseSeq)되지 않은 순번
+    private final TreeSet<Long> unsettledSeqs = new TreeSet<>();
+    // awaitSettled 대기: 순번 -> 그 순번 이하가 모두 정산되면 완료
+    private final TreeMap<Long, CompletableFuture<Void>> settleWaiters = new TreeMap<>();
+    // 캐시에서 제거됨: 다시 적재한 방이 저장소에서 순번을 이어 가므로 이 객체로는 발급하지 않는다.
+    private boolean retired = false;
+
+    /**
+     * @return 새 멤버이면 true
+     */
+    public synchronized boolean addMember(long userId) {
+        return memberIds.add(userId);
+    }
+
+    /**
+     * @return 멤버였으면 true
+     */
+    public synchronized boolean removeMember(long userId) {
+        return memberIds.remove(userId);
+    }
+
+    public synchronized boolean isMember(long userId) {
+        return memberIds.contains(userId);
+    }
+
+    public synchronized int getMemberCount() {
+        return memberIds.size();
+    }
+
+    /**
+     * 멤버 id 복사본 (순서 없음)
+     */
+    public synchronized long[] getMemberIds() {
+        return memberIds.toArray();
+    }
+
+    /**
+     * 다음 방 메시지 순번 (1 부터 빈틈없이 증가)
+     *
+     * 처음 발급할 때 저장된 마지막 순번을 lastStored 로 읽어 이어 간다. (읽는 동안에는 잠그지 않음)
+     * 발급한 순번은 저장되면 settleSeq, 실패하면 releaseSeq 로 알려야 한다.
+     *
+     * @return 캐시에서 제거된 방이면 SEQ_RETIRED
+     */
+    public long nextSeq(LongSupplier lastStored) {
+        synchronized (this) {
+            if (retired) {
+                return SEQ_RETIRED;
+            }
+            if (lastSeq >= 0) {
+                unsettledSeqs.add(++lastSeq);
+                return lastSeq;
+            }
+        }
+        long stored = lastStored.getAsLong();
+        synchronized (this) {
+            if (retired) {
+                return SEQ_RETIRED;
+            }
+            if (lastSeq < 0) {
+                lastSeq = stored;
+            }
+            unsettledSeqs.add(++lastSeq);
+            return lastSeq;
+        }
+    }
+
+    /**
+     * 발급한 순번이 저장소에 반영됨 (또는 전송 뒤 저장을 포기함)
+     */
+    public void settleSeq(long seq) {
+        List<CompletableFuture<Void>> settled;
+        synchronized (this) {
+            unsettledSeqs.remove(seq);
+            settled = takeSettledWaiters();
+        }
+        settled.forEach(waiter -> waiter.complete(null));
+    }
+
+    /**
+     * 저장/전송하지 못한 메시지의 순번 반납 (그 뒤로 발급된 순번이 없을 때만, 빈틈 방지)
+     */
+    public void releaseSeq(long seq) {
+        List<CompletableFuture<Void>> settled;
+        synchronized (this) {
+            unsettledSeqs.remove(seq);
+            if (lastSeq == seq) {
+                lastSeq--;
+            }
+            settled = takeSettledWaiters();
+        }
+        settled.forEach(waiter -> waiter.complete(null));
+    }
+
+    /**
+     * seq 이하로 발급한 순번이 모두 정산되면 완료되는 future (이미 정산됐으면 완료된 상태)
+     *
+     * 지연 저장이나 비동기 저장은 순번 순서대로 커밋된다는 보장이 없으므로,
+     * 뒤 순번의 수신 확인으로 커서를 옮기기 전에 앞 순번이 저장소에 반영되기를 기다린다.
+     * 완료는 정산한 스레드(기록 스레드 등)에서 일어나므로 DB 작업은 다른 실행기에서 이어 간다.
+     */
+    public CompletableFuture<Void> awaitSettled(long seq) {
+        synchronized (this) {
+            if (unsettledSeqs.isEmpty() || unsettledSeqs.first() > seq) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return settleWaiters.computeIfAbsent(seq, key -> new CompletableFuture<>());
+        }
+    }
+
+    /**
+     * 지금까지 발급한 마지막 순번 (이 서버에서 아직 발급하지 않았으면 0, 저장되지 않은 순번 포함)
+     */
+    public synchronized long lastIssuedSeq() {
+        return Math.max(lastSeq, 0);
+    }
+
+    // 가장 앞의 미정산 순번보다 작은 대기를 꺼낸다. (완료는 잠금 밖에서)
+    private List<CompletableFuture<Void>> takeSettledWaiters() {
+        if (settleWaiters.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, CompletableFuture<Void>> settled = unsettledSeqs.isEmpty() ? settleWaiters
+                : settleWaiters.headMap(unsettledSeqs.first(), false);
+        List<CompletableFuture<Void>> waiters = new ArrayList<>(settled.values());
+        settled.clear();
+        return waiters;
+    }
+
+    /**
+     * 저장되지 않은 순번이 없으면 더 발급하지 않도록 표시 (RoomCache 가 제거하기 직전에 호출)
+     *
+     * 저장 전에 제거되면 다시 적재한 방이 저장된 최댓값부터 이어 가서 같은 순번을 또 발급하게 된다.
+     *
+     * @return 표시했으면 true (제거해도 됨)
+     */
+    synchronized boolean retireIfSettled() {
+        if (!unsettledSeqs.isEmpty()) {
+            return false;
+        }
+        retired = true;
+        return true;
+    }
+
     // 방 내부 모든 멤버에게 커맨드 전송
-    public void broadcastToRoom(ResponseCommand command) {
+    public void broadcastToRoom(ResponseCommand command, UserRegistry registry) {
         log.debug("broadcastToRoom: START");
         log.debug("roomId={} / 채팅방 전체인원에게 메시지 전송", id);
 
         command.transmissionStatus = TransmissionStatus.NOT_SENT;
+        // 커맨드가 서버에 도착한 시간 기록
+        command.createdAT = TimeUtils.getCurrentTimeInUTC();
 
-        // 방 멤버들을 순회하며 메시지를 전송한다.
-        for (User user : userList) {
+        // 공통 내용은 한 번만 직렬화하고, 수신자별 프레임은 recipientId, 전송내역 id 만 붙여 만든다.
+        FanoutEncoder encoder = FanoutEncoder.of(command);
+        long[] memberIds = getMemberIds();
+
+        // 커서 전송 모델의 채팅 메시지는 전송내역을 남기지 않는다. (재접속 시 방 커서 이후 메시지를 다시 보냄)
+        boolean cursorDelivery = ChatServer.roomCursors != null && command instanceof SendMessageCommand;
 
-            // 메시지 커맨드에 수신자 id 기록
-            command.recipientId = user.id;
+        // 수신자 전원의 전송내역을 여러 행 insert 로 기록한다. (MultiRowInsert.MAX_ROWS 명마다 DB 왕복 한 번)
+        // 기록하지 못한 수신자의 id 는 null 이고, 그 수신자에게는 전송내역 id 없는 프레임을 보낸다.
+        Long[] commandIds = cursorDelivery ? null : DBHelper.getInstance().insertResponseCommands(encoder, memberIds);
+
+        // 방 멤버들을 순회하며 메시지를 전송한다.
+        for (int i = 0; i < memberIds.length; i++) {
+            long memberId = memberIds[i];
 
             try {
-                log.debug("id = {} 에게 메시지 전송", command.recipientId);
-                // 보낼 수 있다면 메시지 전송 후 메시지 전송 상태를 SENT로 기록
-                user.sendMsg(command, true);
+                User member = registry.get(memberId);
+                if (member != null) {
+                    log.debug("id = {} 에게 메시지 전송", memberId);
+                    // 전송내역은 이미 기록했으므로 전송만 한다.
+                    Long commandId = commandIds != null ? commandIds[i] : null;
+                    member.sendEncoded(encoder.encode(memberId, commandId), command, commandId);
+                } else if (commandIds != null && commandIds[i] == null) {
+                    // 전송내역 기록에 실패한 미접속 멤버는 재접속해도 재전송되지 않는다.
+                    PerformanceLogger.incrementCounter("BROADCAST_OFFLINE_UNRECORDED");
+                    log.warn("전송내역 없이 미접속 멤버 전송 누락: roomId={}, memberId={}, action={}", id, memberId,
+                            command.action);
+                } else {
+                    // 미접속 멤버는 NOT_SENT 전송내역(또는 방 커서)으로 재접속 시 재전송한다.
+                    log.debug("id = {} 미접속, 재접속 시 재전송", memberId);
+                }
 
             } catch (Exception e) {
                 // 에러 발생해도 db에는 not_sent로 기록 되기 때문에 다음 유저 작업 진행하면 된다.
-                log.debug("send fail to {}", user.id);
+                log.debug("send fail to {}", memberId);
             }
         }
 
@@ -3,6 +3,8 @@ package com.teamnova.chat;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -16,7 +18,10 @@ import com.teamnova.command.chat.RoomInfoCommand;
 import com.teamnova.command.chat.SendMessageCommand;
 import com.teamnova.command.chat.SendMessageCommand.ReadStatus;
 import com.teamnova.command.chat.SendMessageCommand.Type;
+import com.teamnova.database.AsyncDBHelper;
 import com.teamnova.database.DBHelper;
+import com.teamnova.database.MessageWriteBehind;
+import com.teamnova.database.RoomCursorStore;
 import com.teamnova.dto.chat.RoomData;
 import com.teamnova.dto.user.UserData;
 import com.teamnova.server.ChatServer;
@@ -36,28 +41,26 @@ public class MessageHandler {
         private static final Logger log = LogManager.getLogger(MessageHandler.class);
         private static final Logger performanceLog = LogManager.getLogger("PERFORMANCE");
 
-        private User user;
-        private DBHelper dbHelper;
-        private String handlerId;
+        private static final MessageHandler INSTANCE = new MessageHandler();
 
         /**
-         * 생성자
-         * 
-         * @param user 사용자 객체
+         * 공유 인스턴스 (상태가 없으므로 모든 세션이 하나를 쓴다)
          */
-        public MessageHandler(User user) {
-                this.user = user;
-                this.dbHelper = DBHelper.getInstance();
-                this.handlerId = LoggingUtils.generateOperationId();
+        public static MessageHandler getInstance() {
+                return INSTANCE;
+        }
 
-                log.info("MessageHandler 초기화: userId={}, sessionId={}, handlerId={}",
-                                user.id, user.getSessionId(), handlerId);
+        private MessageHandler() {
         }
 
         /**
          * 메시지 전송요청 처리
+         *
+         * 지연 저장 단계가 있으면 id 만 발급받고 저장은 그룹 커밋에 맡긴다. 없으면 비동기 DB 실행기에서
+         * 저장이 끝난 뒤 같은 흐름에서 방에 전송한다.
+         * 반환한 future 가 끝날 때까지 방 레인은 다음 작업을 시작하지 않으므로 방 안의 메시지 순서는 유지된다.
          */
-        public void sendMessage(SendMessageCommand command) {
+        public CompletableFuture<Void> sendMessage(User user, SendMessageCommand command) {
                 String operationId = LoggingUtils.generateOperationId();
                 PerformanceLogger.Timer timer = PerformanceLogger.startTimer("sendMessage");
 
@@ -65,81 +68,192 @@ public class MessageHandler {
                                 user.id, user.getSessionId(), operationId, command.roomId,
                                 command.type, LoggingUtils.sanitizeMessageContent(command.content, 50));
 
-                try {
-                        // 메시지 크기 체크
-                        int messageSize = command.content != null ? command.content.length() : 0;
-                        if (messageSize > LoggingConstants.THRESHOLD_MESSAGE_SIZE) {
-                                log.warn("대용량 메시지 감지: userId={}, sessionId={}, operationId={}, roomId={}, messageSize={}bytes",
-                                                user.id, user.getSessionId(), operationId, command.roomId, messageSize);
-                        }
+                // 메시지 크기 체크
+                int messageSize = command.content != null ? command.content.length() : 0;
+                if (messageSize > LoggingConstants.THRESHOLD_MESSAGE_SIZE) {
+                        log.warn("대용량 메시지 감지: userId={}, sessionId={}, operationId={}, roomId={}, messageSize={}bytes",
+                                        user.id, user.getSessionId(), operationId, command.roomId, messageSize);
+                }
 
-                        // 전달받은 메시지는 일단 NOT_SENT, UNREAD 로 설정
-                        command.transmissionStatus = TransmissionStatus.NOT_SENT;
-                        command.readStatus = ReadStatus.UNREAD;
+                // 전달받은 메시지는 일단 NOT_SENT, UNREAD 로 설정
+                command.transmissionStatus = TransmissionStatus.NOT_SENT;
+                command.readStatus = ReadStatus.UNREAD;
 
-                        log.debug(
-                                        "메시지 상태 초기화: userId={}, sessionId={}, operationId={}, roomId={}, transmissionStatus={}, readStatus={}",
-                                        user.id, user.getSessionId(), operationId, command.roomId,
-                                        command.transmissionStatus, command.readStatus);
+                log.debug(
+                                "메시지 상태 초기화: userId={}, sessionId={}, operationId={}, roomId={}, transmissionStatus={}, readStatus={}",
+                                user.id, user.getSessionId(), operationId, command.roomId,
+                                command.transmissionStatus, command.readStatus);
+
+                // 방 안 순번 발급 (같은 방의 전송은 방 레인에서 하나씩 실행되므로 발급 순서 = 전송 순서)
+                ChatRoom chatRoom = issueRoomSeq(command);
+
+                MessageWriteBehind writer = ChatServer.messageWriter;
+                if (writer != null) {
+                        return sendWriteBehind(user, command, chatRoom, writer, operationId, timer, messageSize);
+                }
+
+                AsyncDBHelper db = ChatServer.getAsyncDb();
 
-                        // 받은 메시지 정보를 db에 저장한다.
-                        Long lastInsertedId = dbHelper.insertMessage(command);
+                // 받은 메시지 정보를 db에 저장한다.
+                return db.insertMessage(command).whenComplete((lastInsertedId, error) -> {
+                        if (chatRoom == null) {
+                                return;
+                        }
+                        if (error != null) {
+                                chatRoom.releaseSeq(command.roomSeq);
+                        } else {
+                                chatRoom.settleSeq(command.roomSeq);
+                        }
+                }).thenCompose(lastInsertedId -> {
                         command.messageId = lastInsertedId;
 
                         log.debug("메시지 DB 저장 완료: userId={}, sessionId={}, operationId={}, roomId={}, messageId={}",
                                         user.id, user.getSessionId(), operationId, command.roomId, lastInsertedId);
 
                         // 삽입된 id로 메시지 상태 테이블을 insert한다.
-                        dbHelper.insertMessageReadStatus(command);
-
+                        return db.insertMessageReadStatus(command);
+                }).thenAccept(ignored -> {
                         log.debug("메시지 읽음 상태 테이블 생성: userId={}, sessionId={}, operationId={}, roomId={}, messageId={}",
                                         user.id, user.getSessionId(), operationId, command.roomId, command.messageId);
 
-                        // 채팅방 존재 여부 확인
-                        ChatRoom chatRoom = ChatServer.roomMap.get(command.roomId);
-                        if (chatRoom == null) {
-                                log.error(LoggingConstants.ERROR_ROOM_NOT_FOUND,
-                                                user.id, user.getSessionId(), operationId, command.roomId);
-                                throw new IllegalArgumentException("채팅방을 찾을 수 없습니다: roomId=" + command.roomId);
+                        deliverMessage(user, command, operationId, timer, messageSize);
+                }).whenComplete((ignored, error) -> logSendFailure(user, command, operationId, timer, error));
+        }
+
+        /**
+         * 메시지에 방 순번을 발급하고 발급한 방을 돌려준다. (방이 없으면 null, 순번도 발급하지 않음)
+         *
+         * 조회한 직후 캐시에서 제거된 방이면 다시 조회한 방에서 발급한다.
+         */
+        private ChatRoom issueRoomSeq(SendMessageCommand command) {
+                ChatRoom chatRoom = ChatServer.getChatRoom(command.roomId);
+                while (chatRoom != null) {
+                        long seq = chatRoom.nextSeq(() -> DBHelper.getInstance().getMaxRoomSeq(command.roomId));
+                        if (seq != ChatRoom.SEQ_RETIRED) {
+                                command.roomSeq = seq;
+                                break;
                         }
+                        chatRoom = ChatServer.getChatRoom(command.roomId);
+                }
+                return chatRoom;
+        }
 
-                        // 메시지를 채팅방 모두(전송자 포함)에게 전송한다.
-                        int memberCount = chatRoom.userList.size();
-                        log.debug("채팅방 브로드캐스트 시작: userId={}, sessionId={}, operationId={}, roomId={}, memberCount={}",
-                                        user.id, user.getSessionId(), operationId, command.roomId, memberCount);
+        /**
+         * 지연 저장 경로
+         *
+         * 메시지 id 는 저장 단계에서 바로 발급받고, 메시지와 상태 행 저장은 그룹 커밋에 맡긴다.
+         * ASYNC 면 커밋을 기다리지 않고 바로 전송하고, SYNC 면 커밋된 뒤 전송한다.
+         */
+        private CompletableFuture<Void> sendWriteBehind(User user, SendMessageCommand command, ChatRoom chatRoom,
+                        MessageWriteBehind writer, String operationId, PerformanceLogger.Timer timer, int messageSize) {
+                if (chatRoom == null) {
+                        log.error(LoggingConstants.ERROR_ROOM_NOT_FOUND,
+                                        user.id, user.getSessionId(), operationId, command.roomId);
+                        return CompletableFuture.<Void>failedFuture(
+                                        new IllegalArgumentException("채팅방을 찾을 수 없습니다: roomId=" + command.roomId))
+                                        .whenComplete((ignored, error) -> logSendFailure(user, command, operationId, timer,
+                                                        error));
+                }
 
-                        chatRoom.broadcastToRoom(command);
+                CompletableFuture<Void> persisted;
+                try {
+                        persisted = writer.submit(command, chatRoom.getMemberIds());
+                } catch (RejectedExecutionException e) {
+                        chatRoom.releaseSeq(command.roomSeq);
+                        return CompletableFuture.<Void>failedFuture(e)
+                                        .whenComplete((ignored, error) -> logSendFailure(user, command, operationId, timer,
+                                                        error));
+                }
 
-                        long duration = timer.stop();
-                        log.info(LoggingConstants.MESSAGE_SEND_SUCCESS,
-                                        user.id, user.getSessionId(), operationId, command.roomId,
-                                        command.messageId, memberCount, duration, messageSize);
+                // 저장되거나 버려지면 순번을 정산 (ASYNC 는 이미 전송한 순번이라 반납하지 않는다)
+                persisted.whenComplete((ignored, error) -> chatRoom.settleSeq(command.roomSeq));
 
-                        // 성능 메트릭 기록
-                        performanceLog.info(
-                                        "메시지 전송 성능: operationId={}, roomId={}, memberCount={}, messageSize={}bytes, duration={}ms",
-                                        operationId, command.roomId, memberCount, messageSize, duration);
+                if (writer.getDurability() == MessageWriteBehind.Durability.SYNC) {
+                        return persisted.thenRun(() -> deliverMessage(user, command, operationId, timer, messageSize))
+                                        .whenComplete((ignored, error) -> logSendFailure(user, command, operationId, timer,
+                                                        error));
+                }
 
-                        // 임계값 체크
-                        if (duration > LoggingConstants.THRESHOLD_MESSAGE_PROCESSING_TIME) {
-                                log.warn(
-                                                "메시지 처리 시간 임계값 초과: userId={}, sessionId={}, operationId={}, roomId={}, duration={}ms, threshold={}ms",
-                                                user.id, user.getSessionId(), operationId, command.roomId, duration,
-                                                LoggingConstants.THRESHOLD_MESSAGE_PROCESSING_TIME);
+                // 전송은 이미 끝났으므로 저장 실패는 기록만 한다.
+                persisted.whenComplete((ignored, error) -> {
+                        if (error != null) {
+                                log.error("전송된 메시지 저장 실패: userId={}, operationId={}, roomId={}, messageId={}, error={}",
+                                                user.id, operationId, command.roomId, command.messageId, error.getMessage());
                         }
+                });
+                return CompletableFuture.completedFuture(null)
+                                .thenRun(() -> deliverMessage(user, command, operationId, timer, messageSize))
+                                .whenComplete((ignored, error) -> logSendFailure(user, command, operationId, timer, error));
+        }
 
-                } catch (Exception e) {
-                        timer.stop("ERROR: " + e.getMessage());
+        /**
+         * 저장된(또는 id 를 발급받은) 메시지를 방 전체에 전송
+         */
+        private void deliverMessage(User user, SendMessageCommand command, String operationId,
+                        PerformanceLogger.Timer timer, int messageSize) {
+                // 채팅방 존재 여부 확인
+                ChatRoom chatRoom = ChatServer.getChatRoom(command.roomId);
+                if (chatRoom == null) {
+                        log.error(LoggingConstants.ERROR_ROOM_NOT_FOUND,
+                                        user.id, user.getSessionId(), operationId, command.roomId);
+                        throw new IllegalArgumentException("채팅방을 찾을 수 없습니다: roomId=" + command.roomId);
+                }
+
+                // 메시지를 채팅방 모두(전송자 포함)에게 전송한다.
+                int memberCount = chatRoom.getMemberCount();
+                log.debug("채팅방 브로드캐스트 시작: userId={}, sessionId={}, operationId={}, roomId={}, memberCount={}",
+                                user.id, user.getSessionId(), operationId, command.roomId, memberCount);
+
+                chatRoom.broadcastToRoom(command, user.server.userRegistry);
+
+                long duration = timer.stop();
+                log.info(LoggingConstants.MESSAGE_SEND_SUCCESS,
+                                user.id, user.getSessionId(), operationId, command.roomId,
+                                command.messageId, memberCount, duration, messageSize);
+
+                // 성능 메트릭 기록
+                performanceLog.info(
+                                "메시지 전송 성능: operationId={}, roomId={}, memberCount={}, messageSize={}bytes, duration={}ms",
+                                operationId, command.roomId, memberCount, messageSize, duration);
+
+                // 임계값 체크
+                if (duration > LoggingConstants.THRESHOLD_MESSAGE_PROCESSING_TIME) {
+                        log.warn(
+                                        "메시지 처리 시간 임계값 초과: userId={}, sessionId={}, operationId={}, roomId={}, duration={}ms, threshold={}ms",
+                                        user.id, user.getSessionId(), operationId, command.roomId, duration,
+                                        LoggingConstants.THRESHOLD_MESSAGE_PROCESSING_TIME);
+                }
+        }
+
+        private void logSendFailure(User user, SendMessageCommand command, String operationId,
+                        PerformanceLogger.Timer timer, Throwable error) {
+                if (error != null) {
+                        Throwable cause = AsyncDBHelper.unwrap(error);
+                        timer.stop("ERROR: " + cause.getMessage());
                         log.error(LoggingConstants.ERROR_MESSAGE_SEND_FAILED,
-                                        user.id, user.getSessionId(), operationId, command.roomId, e.getMessage(), e);
-                        throw e;
+                                        user.id, user.getSessionId(), operationId, command.roomId,
+                                        cause.getMessage(), cause);
                 }
         }
 
+        /**
+         * 알림용 시스템 메시지 저장, 메시지 id 반환
+         *
+         * 지연 저장을 쓰면 메시지 id 를 그 단계에서 발급하므로 DB auto increment 로 바로 넣으면 id 가 겹친다.
+         */
+        private Long insertSystemMessage(SendMessageCommand messageCommand) {
+                MessageWriteBehind writer = ChatServer.messageWriter;
+                if (writer == null) {
+                        return DBHelper.getInstance().insertMessage(messageCommand);
+                }
+                writer.submit(messageCommand, new long[0]);
+                return messageCommand.messageId;
+        }
+
         /**
          * 수신확인 처리
          */
-        public void checkReceive(CheckReceiveCommand command) {
+        public void checkReceive(User user, CheckReceiveCommand command) throws SQLException {
                 String operationId = LoggingUtils.generateOperationId();
                 PerformanceLogger.Timer timer = PerformanceLogger.startDatabaseTimer("checkReceive",
                                 "response_commands");
@@ -149,7 +263,16 @@ public class MessageHandler {
 
                 try {
                         // db에 해당 커맨드의 수신 결과를 기록한다.
-                        dbHelper.updateResponseCommandStatus(command.commandId, TransmissionStatus.SENT);
+                        if (command.commandId != null) {
+                                DBHelper.getInstance().updateResponseCommandStatus(command.commandId,
+                                                TransmissionStatus.SENT);
+                        }
+
+                        // 커서 전송 모델: 받은 메시지까지 방 커서 전진 (앞 순번이 모두 저장된 뒤)
+                        RoomCursorStore cursors = ChatServer.roomCursors;
+                        if (cursors != null && command.roomId != null && command.roomSeq != null) {
+                                advanceCursorAfterSettled(user, cursors, command.roomId, command.roomSeq);
+                        }
 
                         long duration = timer.stop();
                         log.info("수신 확인 처리 완료: userId={}, sessionId={}, operationId={}, commandId={}, duration={}ms",
@@ -172,10 +295,48 @@ public class MessageHandler {
                 }
         }
 
+        /**
+         * 방 커서를 roomSeq 까지 전진 (이 방에서 roomSeq 이하로 발급한 순번이 모두 저장되거나 버려진 뒤 실행)
+         *
+         * 지연 저장(ASYNC)은 저장 전에 전송하고, 비동기 저장은 순번 순서대로 커밋된다는 보장이 없다.
+         * 앞 순번이 저장되기 전에 뒤 순번의 수신 확인으로 커서를 옮기면 재접속 때 앞 메시지를 다시 보내지 못하므로 기다린다.
+         * 기다린 뒤의 DB 작업은 비동기 DB 실행기에서 한다.
+         */
+        private void advanceCursorAfterSettled(User user, RoomCursorStore cursors, long roomId, long roomSeq)
+                        throws SQLException {
+                ChatRoom chatRoom = ChatServer.getChatRoom(roomId);
+                CompletableFuture<Void> settled = chatRoom != null ? chatRoom.awaitSettled(roomSeq) : null;
+                if (settled == null || settled.isDone()) {
+                        advanceCursor(user, cursors, roomId, roomSeq);
+                        return;
+                }
+
+                log.debug("커서 전진 전 앞 순번 저장 대기: userId={}, sessionId={}, roomId={}, roomSeq={}", user.id,
+                                user.getSessionId(), roomId, roomSeq);
+                settled.thenCompose(ignored -> ChatServer.getAsyncDb().run("advanceCursor",
+                                db -> advanceCursor(user, cursors, roomId, roomSeq)))
+                                .whenComplete((ignored, error) -> {
+                                        if (error != null) {
+                                                Throwable cause = AsyncDBHelper.unwrap(error);
+                                                log.error("방 커서 전진 실패: userId={}, sessionId={}, roomId={}, roomSeq={}, error={}",
+                                                                user.id, user.getSessionId(), roomId, roomSeq,
+                                                                cause.getMessage(), cause);
+                                        }
+                                });
+        }
+
+        private void advanceCursor(User user, RoomCursorStore cursors, long roomId, long roomSeq) throws SQLException {
+                if (!cursors.advance(user.id, roomId, roomSeq)) {
+                        PerformanceLogger.incrementCounter("CURSOR_ADVANCE_REJECTED");
+                        log.warn("방 커서 전진 거부 (참여 중이 아니거나 방 끝을 넘는 순번): userId={}, sessionId={}, roomId={}, roomSeq={}",
+                                        user.id, user.getSessionId(), roomId, roomSeq);
+                }
+        }
+
         /**
          * 새로운 채팅방 생성
          */
-        public void createRoom(CreateRoomCommand command) {
+        public void createRoom(User user, CreateRoomCommand command) {
                 String operationId = LoggingUtils.generateOperationId();
                 PerformanceLogger.Timer timer = PerformanceLogger.startTimer("createRoom");
 
@@ -200,7 +361,7 @@ public class MessageHandler {
                                 PerformanceLogger.Timer dbTimer = PerformanceLogger.startDatabaseTimer("insertRoom",
                                                 "chat_rooms");
                                 try {
-                                        roomId = dbHelper.insertRoom(null, null, command.roomType, 0L);
+                                        roomId = DBHelper.getInstance().insertRoom(null, null, command.roomType, 0L);
                                         long dbDuration = dbTimer.stop();
 
                                         log.debug("일반 채팅방 DB 저장 완료: userId={}, sessionId={}, operationId={}, roomId={}, dbDuration={}ms",
@@ -223,7 +384,7 @@ public class MessageHandler {
                                                 "chat_rooms");
                                 try {
                                         // 🆕 이미지 URL들과 함께 방 생성
-                                        roomId = dbHelper.insertRoom(command.roomName, command.description,
+                                        roomId = DBHelper.getInstance().insertRoom(command.roomName, command.description,
                                                         command.roomType, command.requesterId, command.thumbnail, command.coverImageUrl);
                                         long dbDuration = dbTimer.stop();
 
@@ -242,7 +403,7 @@ public class MessageHandler {
                                                 "getRoomData",
                                                 "chat_rooms");
                                 try {
-                                        RoomData roomData = dbHelper.getRoomData(roomId);
+                                        RoomData roomData = DBHelper.getInstance().getRoomData(roomId);
                                         long loadDuration = dataLoadTimer.stop();
 
                                         newRoom.id = roomData.id;
@@ -267,9 +428,9 @@ public class MessageHandler {
                         }
 
                         // 서버의 방 목록에 새 방을 추가
-                        ChatServer.roomMap.put(roomId, newRoom);
+                        ChatServer.roomCache.put(newRoom);
                         log.debug("채팅방 서버 등록 완료: userId={}, sessionId={}, operationId={}, roomId={}, totalRooms={}",
-                                        user.id, user.getSessionId(), operationId, roomId, ChatServer.roomMap.size());
+                                        user.id, user.getSessionId(), operationId, roomId, ChatServer.roomCache.size());
 
                         // 멤버 초대 커맨드 생성
                         InviteCommand inviteCommand = new InviteCommand(0L, roomId, null, command.invitedIdList, null);
@@ -291,7 +452,7 @@ public class MessageHandler {
                                         command.invitedIdList.size());
 
                         // 방 생성자는 자기 자신을 초대하는 것으로 처리 됨
-                        roomInvite(inviteCommand);
+                        roomInvite(user, inviteCommand);
 
                         long duration = timer.stop();
                         log.info(LoggingConstants.ROOM_CREATED,
@@ -313,71 +474,102 @@ public class MessageHandler {
 
         /**
          * 방 정보를 클라이언트에 반환
+         *
+         * 정보 수정, 방/멤버 조회는 비동기 DB 실행기에서 한다. (방/멤버 조회는 동시에)
          */
-        public void roomInfo(RoomInfoCommand command) throws Exception {
+        public CompletableFuture<Void> roomInfo(User user, RoomInfoCommand command) throws Exception {
                 log.info("roomInfo: START - params: command={}", command);
 
                 // 파싱
                 long roomId = command.roomId;
                 log.debug("roomId={}", roomId);
 
-                ChatRoom room = ChatServer.roomMap.get(roomId);
+                ChatRoom room = ChatServer.getChatRoom(roomId);
 
                 if (room == null) {
                         log.debug("요구한 채팅방이 존재하지 않음, roomId = {}", roomId);
                         throw new Exception("요구한 채팅방이 존재하지 않음, roomId = {}");
                 }
 
-                boolean isInfoChange = false;
-
                 // 수신된 커맨드에 방이름이나, 소개글이 null, 공백이 아니면 전달받은 값으로 DB 컬럼을 수정한다.
-                if (command.roomName != null && !command.roomName.isEmpty()) {
-                        dbHelper.updateRoomName(roomId, command.roomName);
-                        isInfoChange = true;
-                }
-
-                if (command.description != null) {
-                        // 소개글은 공백 허용
-                        dbHelper.updateRoomDescription(roomId, command.description);
-                        isInfoChange = true;
-                }
-
-                if (command.coverImageUrl != null) {
-                        dbHelper.updateRoomCoverImage(roomId, command.coverImageUrl);
-                        isInfoChange = true;
-                }
-
-
-                // 방데이터
-                RoomData roomData = dbHelper.getRoomData(roomId);
-
-                // 멤버 데이터
-                List<UserData> userDatas = dbHelper.getMemberData(roomId);
-
-                // 클라이언트 응답값 생성
-                RoomInfoCommand roomInfoCommand = new RoomInfoCommand(command.requesterId, roomId, userDatas);
-                roomInfoCommand.masterId = roomData.masterUserId;
-                roomInfoCommand.roomName = roomData.roomName;
-                roomInfoCommand.description = roomData.description;
-                roomInfoCommand.roomType = roomData.roomType;
-                roomInfoCommand.thumbnail = roomData.thumbnail; // 🆕 썸네일 이미지 포함
-                roomInfoCommand.coverImageUrl = roomData.coverImage; // 🆕 커버 이미지 포함 (DB의 cover_image를 coverImageUrl로 매핑)
-                roomInfoCommand.currentMembers = roomData.currentMembers; // 🆕 현재 멤버 수 포함
+                boolean nameChange = command.roomName != null && !command.roomName.isEmpty();
+                // 소개글은 공백 허용
+                boolean descriptionChange = command.description != null;
+                boolean coverImageChange = command.coverImageUrl != null;
+                boolean isInfoChange = nameChange || descriptionChange || coverImageChange;
+
+                AsyncDBHelper db = ChatServer.getAsyncDb();
+                CompletableFuture<Void> updated = !isInfoChange ? CompletableFuture.completedFuture(null)
+                                : db.run("updateRoomInfo", helper -> {
+                                        if (nameChange) {
+                                                helper.updateRoomName(roomId, command.roomName);
+                                        }
+                                        if (descriptionChange) {
+                                                helper.updateRoomDescription(roomId, command.description);
+                                        }
+                                        if (coverImageChange) {
+                                                helper.updateRoomCoverImage(roomId, command.coverImageUrl);
+                                        }
+                                });
+
+                // 방데이터, 멤버 데이터
+                return updated.thenCompose(ignored -> db.getRoomData(roomId)
+                                .thenCombine(db.getMemberData(roomId), (roomData, userDatas) -> {
+                                        // 클라이언트 응답값 생성
+                                        RoomInfoCommand roomInfoCommand = new RoomInfoCommand(command.requesterId,
+                                                        roomId, userDatas);
+                                        roomInfoCommand.masterId = roomData.masterUserId;
+                                        roomInfoCommand.roomName = roomData.roomName;
+                                        roomInfoCommand.description = roomData.description;
+                                        roomInfoCommand.roomType = roomData.roomType;
+                                        roomInfoCommand.thumbnail = roomData.thumbnail; // 🆕 썸네일 이미지 포함
+                                        roomInfoCommand.coverImageUrl = roomData.coverImage; // 🆕 커버 이미지 포함 (DB의 cover_image를 coverImageUrl로 매핑)
+                                        roomInfoCommand.currentMembers = roomData.currentMembers; // 🆕 현재 멤버 수 포함
+                                        return roomInfoCommand;
+                                }))
+                                .thenAccept(roomInfoCommand -> {
+                                        if (isInfoChange) {
+                                                // 방 정보가 바뀌면 모든 멤버에게 정보가 바겼음을 알림
+                                                room.broadcastToRoom(roomInfoCommand, user.server.userRegistry);
+                                        } else {
+                                                user.sendMsg(roomInfoCommand, true);
+                                        }
+                                        log.info("roomInfo: END");
+                                })
+                                .whenComplete((ignored, error) -> {
+                                        if (error != null) {
+                                                Throwable cause = AsyncDBHelper.unwrap(error);
+                                                log.error("roomInfo 처리 실패: userId={}, sessionId={}, roomId={}, error={}",
+                                                                user.id, user.getSessionId(), roomId, cause.getMessage(),
+                                                                cause);
+                                        }
+                                });
+        }
 
-                if (isInfoChange) {
-                        // 방 정보가 바뀌면 모든 멤버에게 정보가 바겼음을 알림
-                        room.broadcastToRoom(roomInfoCommand);
-                } else {
-                        user.sendMsg(roomInfoCommand, true);
+        /**
+         * 채팅방 나가기 (지연 저장 중인 그 방의 메시지가 DB 에 반영된 뒤 실행)
+         *
+         * 퇴장 처리는 messages 를 조회해 방 삭제 여부를 정하므로, 방 레인에서 앞서 보낸 메시지가 아직 저장 대기 중이면
+         * 저장이 끝날 때까지 기다린다. 기다린 뒤의 DB 작업은 기록 스레드가 아닌 비동기 DB 실행기에서 한다.
+         */
+        public CompletableFuture<Void> roomExitAfterPendingWrites(User user, ExitRoomCommand command) {
+                MessageWriteBehind writer = ChatServer.messageWriter;
+                CompletableFuture<Void> pendingWrites = writer != null ? writer.awaitRoom(command.roomId) : null;
+                if (pendingWrites == null || pendingWrites.isDone()) {
+                        roomExit(user, command);
+                        return CompletableFuture.completedFuture(null);
                 }
 
-                log.info("roomInfo: END");
+                log.debug("퇴장 전 대기 메시지 저장 대기: userId={}, sessionId={}, roomId={}", user.id, user.getSessionId(),
+                                command.roomId);
+                return pendingWrites.thenCompose(
+                                ignored -> ChatServer.getAsyncDb().run("roomExit", db -> roomExit(user, command)));
         }
 
         /**
          * 채팅방 나가기
          */
-        public void roomExit(ExitRoomCommand command) {
+        public void roomExit(User user, ExitRoomCommand command) {
                 String operationId = LoggingUtils.generateOperationId();
                 PerformanceLogger.Timer timer = PerformanceLogger.startTimer("roomExit");
 
@@ -389,7 +581,7 @@ public class MessageHandler {
                         Long userId = command.requesterId;
 
                         // 채팅방 객체에서 해당 유저 멤버에서 제거
-                        ChatRoom chatRoom = ChatServer.roomMap.get(roomId);
+                        ChatRoom chatRoom = ChatServer.getChatRoom(roomId);
 
                         if (chatRoom == null) {
                                 log.error("채팅방을 찾을 수 없음: userId={}, sessionId={}, operationId={}, roomId={}",
@@ -397,25 +589,17 @@ public class MessageHandler {
                                 throw new RuntimeException("채팅방을 찾을 수 없습니다: " + roomId);
                         }
 
-                        List<User> userList = chatRoom.userList;
-                        int initialMemberCount = userList.size();
-                        boolean userRemoved = false;
+                        int initialMemberCount = chatRoom.getMemberCount();
 
                         log.debug("채팅방 멤버 제거 시작: userId={}, sessionId={}, operationId={}, roomId={}, currentMembers={}",
                                         user.id, user.getSessionId(), operationId, roomId, initialMemberCount);
 
                         // 방에서 id가 동일한 유저 제거
-                        for (int i = 0; i < userList.size(); i++) {
-                                if (userList.get(i).id == userId) {
-                                        userList.remove(i);
-                                        userRemoved = true;
-                                        log.debug("채팅방 멤버 제거 성공: userId={}, sessionId={}, operationId={}, roomId={}, removedUserId={}",
-                                                        user.id, user.getSessionId(), operationId, roomId, userId);
-                                        break;
-                                }
-                        }
-
-                        if (!userRemoved) {
+                        boolean userRemoved = chatRoom.removeMember(userId);
+                        if (userRemoved) {
+                                log.debug("채팅방 멤버 제거 성공: userId={}, sessionId={}, operationId={}, roomId={}, removedUserId={}",
+                                                user.id, user.getSessionId(), operationId, roomId, userId);
+                        } else {
                                 log.warn("채팅방에서 제거할 사용자를 찾을 수 없음: userId={}, sessionId={}, operationId={}, roomId={}, targetUserId={}",
                                                 user.id, user.getSessionId(), operationId, roomId, userId);
                         }
@@ -424,7 +608,7 @@ public class MessageHandler {
                         PerformanceLogger.Timer dbExitTimer = PerformanceLogger.startDatabaseTimer("exitRoom",
                                         "user_chatroom_map");
                         try {
-                                dbHelper.exitRoom(roomId, userId);
+                                DBHelper.getInstance().exitRoom(roomId, userId);
                                 long dbExitDuration = dbExitTimer.stop();
 
                                 log.debug(
@@ -444,7 +628,7 @@ public class MessageHandler {
                                         "chat_rooms");
                         RoomData roomData;
                         try {
-                                roomData = dbHelper.getRoomData(roomId);
+                                roomData = DBHelper.getInstance().getRoomData(roomId);
                                 long roomDataDuration = roomDataTimer.stop();
 
                                 log.debug(
@@ -467,7 +651,7 @@ public class MessageHandler {
                                 PerformanceLogger.Timer exitHostTimer = PerformanceLogger.startDatabaseTimer("exitHost",
                                                 "chat_rooms");
                                 try {
-                                        dbHelper.exitHost(roomId);
+                                        DBHelper.getInstance().exitHost(roomId);
                                         long exitHostDuration = exitHostTimer.stop();
 
                                         log.debug("방장 퇴장 DB 처리 완료: userId={}, sessionId={}, operationId={}, roomId={}, duration={}ms",
@@ -487,7 +671,7 @@ public class MessageHandler {
                                         "user_chatroom_map");
                         List<UserData> members;
                         try {
-                                members = dbHelper.getMemberData(roomId);
+                                members = DBHelper.getInstance().getMemberData(roomId);
                                 long memberCheckDuration = memberCheckTimer.stop();
 
                                 log.debug(
@@ -522,7 +706,7 @@ public class MessageHandler {
                                                 "deleteRoom",
                                                 "chat_rooms");
                                 try {
-                                        dbHelper.deleteRoom(roomId);
+                                        DBHelper.getInstance().deleteRoom(roomId);
                                         long deleteRoomDuration = deleteRoomTimer.stop();
                                         long totalDuration = timer.stop();
 
@@ -546,7 +730,7 @@ public class MessageHandler {
                                         "messages");
                         boolean hasMessages;
                         try {
-                                hasMessages = dbHelper.isChatMessageExist(roomId);
+                                hasMessages = DBHelper.getInstance().isChatMessageExist(roomId);
                                 long messageCheckDuration = messageCheckTimer.stop();
 
                                 log.debug(
@@ -565,7 +749,7 @@ public class MessageHandler {
                                                 "deleteRoom",
                                                 "chat_rooms");
                                 try {
-                                        dbHelper.deleteRoom(roomId);
+                                        DBHelper.getInstance().deleteRoom(roomId);
                                         long deleteEmptyRoomDuration = deleteEmptyRoomTimer.stop();
                                         long totalDuration = timer.stop();
 
@@ -591,7 +775,7 @@ public class MessageHandler {
                                 messageCommand.transmissionStatus = TransmissionStatus.NOT_SENT;
                                 messageCommand.readStatus = ReadStatus.read;
 
-                                Long messageId = dbHelper.insertMessage(messageCommand);
+                                Long messageId = insertSystemMessage(messageCommand);
                                 command.messageId = messageId;
                                 long exitMessageDuration = exitMessageTimer.stop();
 
@@ -618,13 +802,13 @@ public class MessageHandler {
                         // 남은 멤버들에게 이 유저가 나갔음을 알림
                         PerformanceLogger.Timer broadcastTimer = PerformanceLogger.startTimer("broadcastToRoom");
                         try {
-                                chatRoom.broadcastToRoom(command);
+                                chatRoom.broadcastToRoom(command, user.server.userRegistry);
                                 long broadcastDuration = broadcastTimer.stop();
 
                                 log.debug(
                                                 "퇴장 알림 브로드캐스트 완료: userId={}, sessionId={}, operationId={}, roomId={}, remainingMembers={}, duration={}ms",
                                                 user.id, user.getSessionId(), operationId, roomId,
-                                                chatRoom.userList.size(), broadcastDuration);
+                                                chatRoom.getMemberCount(), broadcastDuration);
                         } catch (Exception e) {
                                 broadcastTimer.stop("ERROR: " + e.getMessage());
                                 log.error("퇴장 알림 브로드캐스트 실패: userId={}, sessionId={}, operationId={}, roomId={}, error={}",
@@ -637,7 +821,7 @@ public class MessageHandler {
                         log.info(
                                         "채팅방 나가기 완료: userId={}, sessionId={}, operationId={}, roomId={}, exitUserId={}, isMasterExit={}, remainingMembers={}, duration={}ms",
                                         user.id, user.getSessionId(), operationId, roomId, userId, isMasterExit,
-                                        chatRoom.userList.size(),
+                                        chatRoom.getMemberCount(),
                                         duration);
 
                 } catch (Exception e) {
@@ -651,7 +835,7 @@ public class MessageHandler {
         /**
          * 채팅방 초대
          */
-        public void roomInvite(InviteCommand command) {
+        public void roomInvite(User user, InviteCommand command) {
                 String operationId = LoggingUtils.generateOperationId();
                 PerformanceLogger.Timer timer = PerformanceLogger.startTimer("roomInvite");
 
@@ -661,7 +845,7 @@ public class MessageHandler {
 
                 try {
                         Long roomId = command.roomId;
-                        ChatRoom room = ChatServer.roomMap.get(roomId);
+                        ChatRoom room = ChatServer.getChatRoom(roomId);
 
                         if (room == null) {
                                 log.error("채팅방을 찾을 수 없음: userId={}, sessionId={}, operationId={}, roomId={}",
@@ -670,7 +854,7 @@ public class MessageHandler {
                         }
 
                         log.debug("채팅방 확인 완료: userId={}, sessionId={}, operationId={}, roomId={}, currentMembers={}",
-                                        user.id, user.getSessionId(), operationId, roomId, room.userList.size());
+                                        user.id, user.getSessionId(), operationId, roomId, room.getMemberCount());
 
                         // 로그용 리스트
                         List<Long> connectedUserList = new ArrayList<>();
@@ -686,7 +870,13 @@ public class MessageHandler {
                         for (Long userId : command.invitedIdList) {
                                 try {
                                         // 멤버 - 채팅방 관계 테이블 insert
-                                        dbHelper.insertUserChatRoomsRelation(roomId, userId);
+                                        DBHelper.getInstance().insertUserChatRoomsRelation(roomId, userId);
+                                        // 커서 전송 모델: 입장 전 메시지는 재전송하지 않도록 커서를 로그 끝으로
+                                        // (지연 저장 중이라 아직 DB 에 없는 입장 전 메시지 포함)
+                                        RoomCursorStore cursors = ChatServer.roomCursors;
+                                        if (cursors != null) {
+                                                cursors.startAtHead(userId, roomId, room.lastIssuedSeq());
+                                        }
                                         dbSuccessCount++;
 
                                         log.trace(
@@ -700,38 +890,16 @@ public class MessageHandler {
                                                         e.getMessage(), e);
                                 }
 
-                                // 서버에 있는 채팅방 객체에 새 멤버를 추가한다.
-                                boolean isFind = false;
-
-                                log.trace(
-                                                "서버 접속자 명단 순회: userId={}, sessionId={}, operationId={}, targetUserId={}, totalConnectedUsers={}",
-                                                user.id, user.getSessionId(), operationId, userId,
-                                                user.server.userList.size());
-
-                                // 서버 접속자 명단 순회
-                                for (int i = 0; i < user.server.userList.size(); i++) {
-                                        User connectedUser = user.server.userList.get(i);
-                                        if (userId.equals(connectedUser.id)) {
-                                                // 접속자 찾음
-                                                room.userList.add(connectedUser);
-                                                connectedUserList.add(userId);
-                                                isFind = true;
-
-                                                log.debug(
-                                                                "온라인 사용자 채팅방 추가: userId={}, sessionId={}, operationId={}, roomId={}, connectedUserId={}",
-                                                                user.id, user.getSessionId(), operationId, roomId,
-                                                                userId);
-                                                break;
-                                        }
-                                }
-
-                                // 제공받은 유저 정보가 접속자 중에 없으면
-                                if (!isFind) {
-                                        // 새 객체 생성 후 채팅방 멤버로 추가
-                                        User tempUser = new User(userId);
+                                // 서버에 있는 채팅방 객체에 새 멤버를 추가한다. (접속 세션은 전송 시점에 찾는다)
+                                room.addMember(userId);
+                                if (user.server.userRegistry.isOnline(userId)) {
+                                        connectedUserList.add(userId);
+                                        log.debug(
+                                                        "온라인 사용자 채팅방 추가: userId={}, sessionId={}, operationId={}, roomId={}, connectedUserId={}",
+                                                        user.id, user.getSessionId(), operationId, roomId,
+                                                        userId);
+                                } else {
                                         notConnectedUserList.add(userId);
-                                        room.userList.add(tempUser);
-
                                         log.debug("오프라인 사용자 채팅방 추가: userId={}, sessionId={}, operationId={}, roomId={}, offlineUserId={}",
                                                         user.id, user.getSessionId(), operationId, roomId, userId);
                                 }
@@ -756,7 +924,7 @@ public class MessageHandler {
                                 messageCommand.transmissionStatus = TransmissionStatus.NOT_SENT;
                                 messageCommand.readStatus = ReadStatus.read;
 
-                                Long messageId = dbHelper.insertMessage(messageCommand);
+                                Long messageId = insertSystemMessage(messageCommand);
                                 command.messageId = messageId;
                                 long messageDuration = messageTimer.stop();
 
@@ -776,10 +944,10 @@ public class MessageHandler {
                                         "chat_rooms");
                         try {
                                 // nickname, profileImage가 추가된 리스트로 변경
-                                command.memberList = dbHelper.getMemberData(roomId);
+                                command.memberList = DBHelper.getInstance().getMemberData(roomId);
 
                                 // 채팅방에 대한 추가 정보 입력
-                                RoomData roomData = dbHelper.getRoomData(roomId);
+                                RoomData roomData = DBHelper.getInstance().getRoomData(roomId);
                                 command.roomName = roomData.roomName;
                                 command.description = roomData.description;
                                 command.masterId = roomData.masterUserId;
@@ -803,12 +971,12 @@ public class MessageHandler {
                         // 기존 멤버들에게 새로운 멤버 추가사실을 알린다.
                         PerformanceLogger.Timer broadcastTimer = PerformanceLogger.startTimer("broadcastToRoom");
                         try {
-                                room.broadcastToRoom(command);
+                                room.broadcastToRoom(command, user.server.userRegistry);
                                 long broadcastDuration = broadcastTimer.stop();
 
                                 log.debug(
                                                 "초대 알림 브로드캐스트 완료: userId={}, sessionId={}, operationId={}, roomId={}, targetMembers={}, duration={}ms",
-                                                user.id, user.getSessionId(), operationId, roomId, room.userList.size(),
+                                                user.id, user.getSessionId(), operationId, roomId, room.getMemberCount(),
                                                 broadcastDuration);
                         } catch (Exception e) {
                                 broadcastTimer.stop("ERROR: " + e.getMessage());
@@ -831,4 +999,4 @@ public class MessageHandler {
                         throw e;
                 }
         }
-}
\ No newline at end of file
+}
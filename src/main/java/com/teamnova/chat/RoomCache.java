@@ -0,0 +1,231 @@
+package com.teamnova.chat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.teamnova.utils.PerformanceLogger;
+
+/**
+ * 채팅방 캐시 (첫 조회 시 적재, 오래 쓰이지 않은 방은 제거)
+ *
+ * 캐시에 없는 방은 RoomSource 에서 정보와 멤버를 읽어 채운다. 같은 방을 여러 스레드가 동시에 조회하면
+ * 적재는 한 번만 하고 나머지는 그 결과를 기다린다. 제거된 방은 다음 조회 때 다시 적재되므로
+ * 힙 사용량은 전체 방 수가 아니라 최근에 쓰인 방 수를 따라간다.
+ *
+ * 제거 기준
+ * - idleMs: 마지막 조회 후 이 시간이 지난 방 (0 이면 사용 안 함)
+ * - maxRooms: 방 수가 이 값을 넘으면 가장 오래 조회되지 않은 방부터 (0 이면 제한 없음)
+ * 진행 중인 영상회의가 있는 방과 저장되지 않은 메시지 순번이 있는 방은 메모리에만 있는 상태라 제거하지 않는다.
+ */
+public class RoomCache {
+
+    private static final Logger log = LogManager.getLogger(RoomCache.class);
+
+    /**
+     * 방 정보 + 멤버 적재 (방이 없으면 null)
+     */
+    @FunctionalInterface
+    public interface RoomSource {
+        ChatRoom load(long roomId) throws Exception;
+    }
+
+    private final RoomSource source;
+    private final long idleNanos;
+    private final int maxRooms;
+
+    private final ConcurrentHashMap<Long, ChatRoom> rooms = new ConcurrentHashMap<>();
+    // 적재 중인 방 (동시 조회 합치기)
+    private final ConcurrentHashMap<Long, CompletableFuture<ChatRoom>> loading = new ConcurrentHashMap<>();
+
+    private volatile Thread sweeper;
+
+    public RoomCache(RoomSource source, long idleMs, int maxRooms) {
+        this.source = source;
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, idleMs));
+        this.maxRooms = Math.max(0, maxRooms);
+    }
+
+    /**
+     * 방 조회, 캐시에 없으면 적재한다.
+     *
+     * @return 방이 없거나 적재에 실패하면 null
+     */
+    public ChatRoom get(long roomId) {
+        ChatRoom room = rooms.get(roomId);
+        if (room != null) {
+            room.lastAccessNanos = System.nanoTime();
+            PerformanceLogger.incrementCounter("ROOM_CACHE_HIT");
+            return room;
+        }
+        PerformanceLogger.incrementCounter("ROOM_CACHE_MISS");
+
+        CompletableFuture<ChatRoom> future = new CompletableFuture<>();
+        CompletableFuture<ChatRoom> inFlight = loading.putIfAbsent(roomId, future);
+        if (inFlight != null) {
+            PerformanceLogger.incrementCounter("ROOM_CACHE_LOAD_COALESCED");
+            return inFlight.join();
+        }
+        try {
+            future.complete(loadAndCache(roomId));
+        } catch (RuntimeException e) {
+            future.complete(null);
+            throw e;
+        } finally {
+            loading.remove(roomId, future);
+        }
+        return future.join();
+    }
+
+    /**
+     * 캐시에 있는 방만 조회 (적재하지 않음)
+     */
+    public ChatRoom getIfPresent(long roomId) {
+        return rooms.get(roomId);
+    }
+
+    /**
+     * 새로 만든 방 등록
+     */
+    public void put(ChatRoom room) {
+        room.lastAccessNanos = System.nanoTime();
+        rooms.put(room.id, room);
+    }
+
+    public ChatRoom remove(long roomId) {
+        return rooms.remove(roomId);
+    }
+
+    public int size() {
+        return rooms.size();
+    }
+
+    public Collection<ChatRoom> rooms() {
+        return rooms.values();
+    }
+
+    /**
+     * 시작 시 일괄 적재용 맵 (RoomMembershipLoader 가 여기에 직접 넣는다)
+     */
+    public ConcurrentMap<Long, ChatRoom> asMap() {
+        return rooms;
+    }
+
+    /**
+     * 제거 기준에 맞는 방을 제거한다.
+     *
+     * @param nowNanos 기준 시각 (System.nanoTime)
+     * @return 제거한 방 수
+     */
+    public int evict(long nowNanos) {
+        int evicted = 0;
+        List<ChatRoom> candidates = new ArrayList<>();
+        for (ChatRoom room : rooms.values()) {
+            if (!room.videoRooms.isEmpty()) {
+                continue;
+            }
+            if (idleNanos > 0 && nowNanos - room.lastAccessNanos > idleNanos) {
+                if (retireAndRemove(room)) {
+                    evicted++;
+                }
+            } else if (maxRooms > 0) {
+                candidates.add(room);
+            }
+        }
+
+        int excess = rooms.size() - maxRooms;
+        if (maxRooms > 0 && excess > 0) {
+            candidates.sort((a, b) -> Long.compare(a.lastAccessNanos, b.lastAccessNanos));
+            for (int i = 0; i < candidates.size() && excess > 0; i++) {
+                ChatRoom room = candidates.get(i);
+                if (retireAndRemove(room)) {
+                    evicted++;
+                    excess--;
+                }
+            }
+        }
+
+        if (evicted > 0) {
+            PerformanceLogger.addCounter("ROOM_CACHE_EVICTION", evicted);
+            log.debug("채팅방 캐시 제거: evicted={}, remaining={}", evicted, rooms.size());
+        }
+        return evicted;
+    }
+
+    /**
+     * 저장되지 않은 순번이 없을 때만 제거 (제거한 방은 순번을 더 발급하지 않음)
+     */
+    private boolean retireAndRemove(ChatRoom room) {
+        if (!room.retireIfSettled()) {
+            PerformanceLogger.incrementCounter("ROOM_CACHE_EVICTION_DEFERRED");
+            return false;
+        }
+        return rooms.remove(room.id, room);
+    }
+
+    /**
+     * 주기적 제거 시작 (제거 기준이 하나도 없으면 시작하지 않음)
+     */
+    public void startEviction(long intervalMs) {
+        if ((idleNanos == 0 && maxRooms == 0) || sweeper != null) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(intervalMs);
+                    evict(System.nanoTime());
+                    PerformanceLogger.recordValue("ROOM_CACHE_SIZE", rooms.size());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (RuntimeException e) {
+                    log.error("채팅방 캐시 제거 실패: error={}", e.getMessage(), e);
+                }
+            }
+        }, "room-cache-sweeper");
+        thread.setDaemon(true);
+        thread.start();
+        sweeper = thread;
+        log.info("채팅방 캐시 제거 시작: intervalMs={}, idleMs={}, maxRooms={}", intervalMs,
+                TimeUnit.NANOSECONDS.toMillis(idleNanos), maxRooms);
+    }
+
+    public void close() {
+        Thread thread = sweeper;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private ChatRoom loadAndCache(long roomId) {
+        // 적재 대기열에 들어가기 직전에 다른 스레드가 적재를 끝냈을 수 있다.
+        ChatRoom cached = rooms.get(roomId);
+        if (cached != null) {
+            return cached;
+        }
+        long start = System.nanoTime();
+        ChatRoom loaded;
+        try {
+            loaded = source.load(roomId);
+        } catch (Exception e) {
+            PerformanceLogger.incrementCounter("ROOM_CACHE_LOAD_FAILED");
+            log.error("채팅방 적재 실패: roomId={}, error={}", roomId, e.getMessage(), e);
+            return null;
+        }
+        PerformanceLogger.recordValue("ROOM_CACHE_LOAD_MICROS", (System.nanoTime() - start) / 1_000);
+        if (loaded == null) {
+            return null;
+        }
+        loaded.lastAccessNanos = System.nanoTime();
+        ChatRoom existing = rooms.putIfAbsent(roomId, loaded);
+        return existing != null ? existing : loaded;
+    }
+}
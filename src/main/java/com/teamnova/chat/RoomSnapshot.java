@@ -0,0 +1,232 @@
+package com.teamnova.chat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import com.teamnova.command.chat.CreateRoomCommand.RoomType;
+
+/**
+ * 채팅방 상태 스냅샷 (재시작 시 DB 전체 적재 대신 사용)
+ *
+ * 방 정보와 멤버 id 를 고정 순서의 바이너리로 메모리 맵 파일에 쓰고 읽는다.
+ * 스냅샷을 만들 때의 DB 기준점(highWaterMark, user_chatroom_map.entered_at 최댓값)을 함께 저장해서
+ * 재시작 시 스냅샷 적용 후 그 이후 변경분만 DB 에서 읽으면 된다.
+ *
+ * 형식 (big-endian)
+ * magic(4) version(4) createdAtMillis(8) highWaterMark(str) roomCount(4) bodyCrc32(8) body
+ * body 의 방마다: id(8) roomType(str) roomName(str) description(str) masterUserId(8) thumbnail(str)
+ * coverImageUrl(str) currentMembers(4) memberCount(4) memberIds(8 * n)
+ * str 은 길이(4, null 이면 -1) + UTF-8 바이트. null Long/Integer 는 MIN_VALUE 로 저장한다.
+ *
+ * 파일은 임시 파일에 다 쓴 뒤 이름을 바꿔 교체하므로 쓰는 도중 종료되어도 이전 스냅샷이 남는다.
+ */
+public class RoomSnapshot {
+
+    private static final int MAGIC = 0x52534E50; // "RSNP"
+    private static final int VERSION = 1;
+
+    public final long createdAtMillis;
+    public final String highWaterMark;
+    public final List<ChatRoom> rooms;
+
+    private RoomSnapshot(long createdAtMillis, String highWaterMark, List<ChatRoom> rooms) {
+        this.createdAtMillis = createdAtMillis;
+        this.highWaterMark = highWaterMark;
+        this.rooms = rooms;
+    }
+
+    /**
+     * 스냅샷 파일 쓰기
+     *
+     * @return 기록한 바이트 수
+     */
+    public static long write(Path file, Collection<ChatRoom> rooms, String highWaterMark) throws IOException {
+        // 크기를 먼저 계산해서 그만큼 매핑한다. (멤버 목록은 한 번만 복사)
+        List<RoomRecord> records = new ArrayList<>(rooms.size());
+        long bodySize = 0;
+        for (ChatRoom room : rooms) {
+            RoomRecord record = new RoomRecord(room);
+            records.add(record);
+            bodySize += record.size();
+        }
+        byte[] hwm = encode(highWaterMark);
+        long headerSize = 4 + 4 + 8 + strSize(hwm) + 4 + 8;
+        long totalSize = headerSize + bodySize;
+        if (totalSize > Integer.MAX_VALUE) {
+            throw new IOException("스냅샷 크기 초과: bytes=" + totalSize);
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, totalSize);
+            buffer.putInt(MAGIC);
+            buffer.putInt(VERSION);
+            buffer.putLong(System.currentTimeMillis());
+            putStr(buffer, hwm);
+            buffer.putInt(records.size());
+            int crcPosition = buffer.position();
+            buffer.putLong(0L);
+
+            int bodyStart = buffer.position();
+            for (RoomRecord record : records) {
+                record.writeTo(buffer);
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().position(bodyStart).limit((int) totalSize));
+            buffer.putLong(crcPosition, crc.getValue());
+            buffer.force();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return totalSize;
+    }
+
+    /**
+     * 스냅샷 파일 읽기
+     *
+     * @throws IOException 파일이 없거나 형식/체크섬이 맞지 않을 때
+     */
+    public static RoomSnapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("스냅샷 크기 초과: bytes=" + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            try {
+                if (buffer.getInt() != MAGIC) {
+                    throw new IOException("스냅샷 파일 형식 아님");
+                }
+                int version = buffer.getInt();
+                if (version != VERSION) {
+                    throw new IOException("지원하지 않는 스냅샷 버전: " + version);
+                }
+                long createdAtMillis = buffer.getLong();
+                String highWaterMark = getStr(buffer);
+                int roomCount = buffer.getInt();
+                long expectedCrc = buffer.getLong();
+
+                CRC32 crc = new CRC32();
+                crc.update(buffer.duplicate());
+                if (crc.getValue() != expectedCrc) {
+                    throw new IOException("스냅샷 체크섬 불일치");
+                }
+
+                List<ChatRoom> rooms = new ArrayList<>(roomCount);
+                for (int i = 0; i < roomCount; i++) {
+                    rooms.add(readRoom(buffer));
+                }
+                return new RoomSnapshot(createdAtMillis, highWaterMark, rooms);
+            } catch (RuntimeException e) {
+                // 잘린 파일 (BufferUnderflowException), 잘못된 enum 값 등
+                throw new IOException("스냅샷 파일 손상: " + e, e);
+            }
+        }
+    }
+
+    private static ChatRoom readRoom(ByteBuffer buffer) {
+        ChatRoom room = new ChatRoom();
+        room.id = buffer.getLong();
+        String roomType = getStr(buffer);
+        room.roomType = roomType != null ? RoomType.valueOf(roomType) : null;
+        room.roomName = getStr(buffer);
+        room.description = getStr(buffer);
+        long masterUserId = buffer.getLong();
+        room.masterUserId = masterUserId != Long.MIN_VALUE ? masterUserId : null;
+        room.thumbnail = getStr(buffer);
+        room.coverImageUrl = getStr(buffer);
+        int currentMembers = buffer.getInt();
+        room.currentMembers = currentMembers != Integer.MIN_VALUE ? currentMembers : null;
+        int memberCount = buffer.getInt();
+        for (int i = 0; i < memberCount; i++) {
+            room.addMember(buffer.getLong());
+        }
+        return room;
+    }
+
+    /**
+     * 쓰기 전 방 하나의 인코딩 결과 (문자열 바이트와 멤버 id 복사본)
+     */
+    private static class RoomRecord {
+        final long id;
+        final byte[] roomType;
+        final byte[] roomName;
+        final byte[] description;
+        final long masterUserId;
+        final byte[] thumbnail;
+        final byte[] coverImageUrl;
+        final int currentMembers;
+        final long[] memberIds;
+
+        RoomRecord(ChatRoom room) {
+            id = room.id;
+            roomType = encode(room.roomType != null ? room.roomType.name() : null);
+            roomName = encode(room.roomName);
+            description = encode(room.description);
+            masterUserId = room.masterUserId != null ? room.masterUserId : Long.MIN_VALUE;
+            thumbnail = encode(room.thumbnail);
+            coverImageUrl = encode(room.coverImageUrl);
+            currentMembers = room.currentMembers != null ? room.currentMembers : Integer.MIN_VALUE;
+            memberIds = room.getMemberIds();
+        }
+
+        long size() {
+            return 8 + strSize(roomType) + strSize(roomName) + strSize(description) + 8 + strSize(thumbnail)
+                    + strSize(coverImageUrl) + 4 + 4 + 8L * memberIds.length;
+        }
+
+        void writeTo(ByteBuffer buffer) {
+            buffer.putLong(id);
+            putStr(buffer, roomType);
+            putStr(buffer, roomName);
+            putStr(buffer, description);
+            buffer.putLong(masterUserId);
+            putStr(buffer, thumbnail);
+            putStr(buffer, coverImageUrl);
+            buffer.putInt(currentMembers);
+            buffer.putInt(memberIds.length);
+            for (long memberId : memberIds) {
+                buffer.putLong(memberId);
+            }
+        }
+    }
+
+    private static byte[] encode(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int strSize(byte[] bytes) {
+        return 4 + (bytes != null ? bytes.length : 0);
+    }
+
+    private static void putStr(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getStr(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -4,6 +4,8 @@
  * 이 패키지는 채팅 기능을 담당합니다.
  * - ChatRoom: 채팅방 객체, 멤버 관리 및 브로드캐스트
  * - MessageHandler: 메시지 송수신, 채팅방 생성/관리
+ * - RoomCache: 채팅방 캐시, 첫 조회 시 적재하고 오래 쓰이지 않은 방은 제거
+ * - RoomSnapshot: 재시작용 채팅방 상태 스냅샷 (메모리 맵 파일)
  * - 채팅방 초대, 나가기, 정보 조회 기능
  */
 package com.teamnova.chat;
\ No newline at end of file
@@ -7,6 +7,8 @@ import com.teamnova.command.chat.InviteCommand;
 import com.teamnova.command.chat.RoomInfoCommand;
 import com.teamnova.command.chat.SendMessageCommand;
 import com.teamnova.command.user.ConnectCommand;
+import com.teamnova.command.user.PingCommand;
+import com.teamnova.command.user.PongCommand;
 import com.teamnova.command.webrtc.CreateVideoRoomCommand;
 import com.teamnova.command.webrtc.ExitVideoRoomCommand;
 import com.teamnova.command.webrtc.GetVideoRoomParticipantCommand;
@@ -28,7 +30,8 @@ public enum Action {
     CREATE_VIDEO_ROOM(CreateVideoRoomCommand.class), SDP(SDPCommand.class), ICE_CANDIDATE(IceCandidateCommand.class),
     JOIN_VIDEO_ROOM(JoinVideoRoomCommand.class),
     VIDEO_ROOM(VideoRoomCommand.class), EXIT_VIDEO_ROOM(ExitVideoRoomCommand.class),
-    MEDIA_STATUS(MediaStatusCommand.class), GET_VIDEO_ROOM_PARTICIPANT(GetVideoRoomParticipantCommand.class);
+    MEDIA_STATUS(MediaStatusCommand.class), GET_VIDEO_ROOM_PARTICIPANT(GetVideoRoomParticipantCommand.class),
+    PING(PingCommand.class), PONG(PongCommand.class); // 연결 생존 확인
 
     private final Class<? extends BaseCommand> commandClass;
 
@@ -7,6 +7,8 @@ import com.teamnova.utils.TimeUtils;
 public class BaseCommand {
 
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    // 송신용 (Gson 은 스레드 안전하므로 호출마다 만들지 않고 공유)
+    static final Gson GSON_COMPACT = new Gson();
 
     public Long id;
     public Action action;
@@ -20,7 +22,7 @@ public class BaseCommand {
     }
 
     public String toJson() {
-        return new Gson().toJson(this);
+        return GSON_COMPACT.toJson(this);
     }
 
     public static <T extends BaseCommand> T fromJson(String json, Class<T> clazz) throws Exception {
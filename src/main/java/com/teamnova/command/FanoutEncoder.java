@@ -0,0 +1,56 @@
+package com.teamnova.command;
+
+import com.google.gson.JsonObject;
+
+/**
+ * 방 전송용 JSON 인코더 (한 번 직렬화, 수신자별 필드만 이어 붙임)
+ *
+ * 수신자마다 달라지는 recipientId, id(전송 내역 id) 를 뺀 나머지를 한 번만 직렬화해 두고,
+ * 수신자별 프레임은 그 앞에 두 필드를 붙여 만든다. 직렬화 비용이 방 크기와 무관해지고
+ * 원래 command 는 수신자마다 바꾸지 않는다.
+ *
+ * 만든 뒤의 command 변경은 반영되지 않으므로, 보낼 값을 모두 채운 다음 만든다.
+ */
+public final class FanoutEncoder {
+
+    private final ResponseCommand command;
+    private final String body; // recipientId, id 를 뺀 JSON 객체
+
+    private FanoutEncoder(ResponseCommand command, String body) {
+        this.command = command;
+        this.body = body;
+    }
+
+    public static FanoutEncoder of(ResponseCommand command) {
+        JsonObject tree = BaseCommand.GSON_COMPACT.toJsonTree(command).getAsJsonObject();
+        tree.remove("recipientId");
+        tree.remove("id");
+        return new FanoutEncoder(command, BaseCommand.GSON_COMPACT.toJson(tree));
+    }
+
+    /**
+     * 수신자 한 명의 프레임
+     *
+     * @param commandId 전송 내역 id (아직 없으면 null, 필드를 넣지 않음)
+     */
+    public String encode(long recipientId, Long commandId) {
+        StringBuilder json = new StringBuilder(body.length() + 48);
+        json.append("{\"recipientId\":").append(recipientId);
+        if (commandId != null) {
+            json.append(",\"id\":").append(commandId.longValue());
+        }
+        if (body.length() > 2) {
+            json.append(',').append(body, 1, body.length());
+        } else {
+            json.append('}');
+        }
+        return json.toString();
+    }
+
+    /**
+     * 인코딩한 원래 command (action, 전송 상태 등 공통 값 조회용)
+     */
+    public ResponseCommand getCommand() {
+        return command;
+    }
+}
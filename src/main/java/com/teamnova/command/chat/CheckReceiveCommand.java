@@ -8,7 +8,9 @@ import com.teamnova.command.BaseCommand;
  */
 public class CheckReceiveCommand extends BaseCommand {
 
-    public Long commandId;
+    public Long commandId; // 전송 내역 id (LEDGER)
+    public Long roomId; // 수신 확인한 메시지의 방 id (CURSOR)
+    public Long roomSeq; // 수신 확인한 메시지의 방 순번 (CURSOR, 방 커서를 여기까지 전진)
 
     public CheckReceiveCommand(Long commandId) {
         super(Action.CHECK_RECEIVE);
@@ -6,6 +6,7 @@ import com.teamnova.command.ResponseCommand;
 public class SendMessageCommand extends ResponseCommand {
 
     public Long messageId;
+    public Long roomSeq; // 방 안 메시지 순번 (1 부터 빈틈없이 증가, 클라이언트 누락 확인용)
     public String content;
     public Type type;
     public ReadStatus readStatus;
@@ -41,6 +42,7 @@ public class SendMessageCommand extends ResponseCommand {
     public String toString() {
         return "SendMessageCommand{" +
                 "messageId=" + messageId +
+                ", roomSeq=" + roomSeq +
                 ", content='" + content + '\'' +
                 ", type=" + type +
                 ", readStatus=" + readStatus +
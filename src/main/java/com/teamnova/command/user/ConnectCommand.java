@@ -5,6 +5,14 @@ import com.teamnova.command.BaseCommand;
 
 public class ConnectCommand extends BaseCommand {
 
+    // 요청하는 프레임 구분 방식 (LINE / LENGTH_PREFIXED, 없으면 LINE)
+    // 서버는 같은 필드에 실제 적용한 방식을 담아 CONNECT 로 응답한다.
+    public String framing;
+
+    // 요청하는 송신 프레임 압축 (DEFLATE / NONE, LENGTH_PREFIXED 에서만 적용)
+    // 서버는 같은 필드에 실제 적용 여부를 담아 응답한다.
+    public String compression;
+
     public ConnectCommand() {
         super(Action.CONNECT);
     }
@@ -12,4 +20,4 @@ public class ConnectCommand extends BaseCommand {
     public static ConnectCommand fromJson(String json) throws Exception {
         return fromJson(json, ConnectCommand.class);
     }
-}
\ No newline at end of file
+}
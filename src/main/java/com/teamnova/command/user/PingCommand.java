@@ -0,0 +1,20 @@
+package com.teamnova.command.user;
+
+import com.teamnova.command.Action;
+import com.teamnova.command.ResponseCommand;
+
+/**
+ * 연결 생존 확인 요청 (클라이언트 -> 서버, 서버 -> 클라이언트 양방향)
+ * 
+ * 받은 쪽은 PONG 으로 응답한다.
+ */
+public class PingCommand extends ResponseCommand {
+
+    public PingCommand(Long recipientId) {
+        super(Action.PING, recipientId);
+    }
+
+    public static PingCommand fromJson(String json) throws Exception {
+        return fromJson(json, PingCommand.class);
+    }
+}
@@ -0,0 +1,18 @@
+package com.teamnova.command.user;
+
+import com.teamnova.command.Action;
+import com.teamnova.command.ResponseCommand;
+
+/**
+ * PING 에 대한 응답
+ */
+public class PongCommand extends ResponseCommand {
+
+    public PongCommand(Long recipientId) {
+        super(Action.PONG, recipientId);
+    }
+
+    public static PongCommand fromJson(String json) throws Exception {
+        return fromJson(json, PongCommand.class);
+    }
+}
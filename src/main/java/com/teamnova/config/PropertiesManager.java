@@ -29,4 +29,58 @@ public class PropertiesManager {
     public static String getProperty(String key) {
         return props.getProperty(key);
     }
+
+    /**
+     * 설정값 조회 (없거나 공백이면 기본값 반환)
+     */
+    public static String getProperty(String key, String defaultValue) {
+        String value = props.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        return value.trim();
+    }
+
+    /**
+     * 정수 설정값 조회 (형식이 잘못되면 기본값 반환)
+     */
+    public static int getIntProperty(String key, int defaultValue) {
+        String value = getProperty(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            log.warn("정수 설정값 형식 오류, 기본값 사용: key={}, value={}, default={}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * long 설정값 조회 (형식이 잘못되면 기본값 반환)
+     */
+    public static long getLongProperty(String key, long defaultValue) {
+        String value = getProperty(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            log.warn("long 설정값 형식 오류, 기본값 사용: key={}, value={}, default={}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * boolean 설정값 조회
+     */
+    public static boolean getBooleanProperty(String key, boolean defaultValue) {
+        String value = getProperty(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value);
+    }
 }
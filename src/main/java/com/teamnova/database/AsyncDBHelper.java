@@ -0,0 +1,196 @@
+package com.teamnova.database;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.teamnova.command.chat.SendMessageCommand;
+import com.teamnova.dto.chat.RoomData;
+import com.teamnova.dto.user.UserData;
+import com.teamnova.utils.PerformanceLogger;
+
+/**
+ * DBHelper 비동기 호출 (CompletableFuture)
+ *
+ * DB 작업은 전용 스레드 풀(격벽)에서만 실행한다. 스레드 수와 대기열 길이가 고정되어 있어
+ * DB 가 느려져도 쌓이는 작업은 대기열까지이고, 넘치면 바로 실패(RejectedExecutionException)한다.
+ * 제한 시간 안에 끝나지 않은 작업은 TimeoutException 으로 완료되며, 아직 대기열에 있던 작업은 실행하지 않는다.
+ * 따라서 DB 장애는 응답 지연/실패로 나타나고 세션/방 레인 스레드를 붙잡지 않는다.
+ *
+ * 결과를 이어 받는 작업(thenApply 등)은 DB 스레드에서 실행되므로 오래 걸리는 작업을 두지 않는다.
+ */
+public class AsyncDBHelper {
+
+    private static final Logger log = LogManager.getLogger(AsyncDBHelper.class);
+
+    /**
+     * DB 스레드에서 실행할 호출
+     */
+    @FunctionalInterface
+    public interface DbCall<T> {
+        T call(DBHelper db) throws Exception;
+    }
+
+    /**
+     * 결과 없는 DB 호출
+     */
+    @FunctionalInterface
+    public interface DbAction {
+        void run(DBHelper db) throws Exception;
+    }
+
+    private final Supplier<DBHelper> helper;
+    private final ThreadPoolExecutor executor; // null 이면 호출 스레드에서 바로 실행
+    private final long timeoutMs;
+
+    /**
+     * @param threads       DB 스레드 수 (커넥션 풀 크기 이하 권장)
+     * @param queueCapacity 실행을 기다릴 수 있는 최대 작업 수
+     * @param timeoutMs     대기 + 실행 제한 시간 (0 이면 제한 없음)
+     */
+    public AsyncDBHelper(Supplier<DBHelper> helper, int threads, int queueCapacity, long timeoutMs) {
+        if (threads <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("threads, queueCapacity 는 1 이상이어야 합니다");
+        }
+        this.helper = helper;
+        this.timeoutMs = Math.max(0, timeoutMs);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), Thread.ofPlatform().name("db-async-", 0).daemon(true)
+                        .factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private AsyncDBHelper(Supplier<DBHelper> helper) {
+        this.helper = helper;
+        this.executor = null;
+        this.timeoutMs = 0;
+    }
+
+    /**
+     * 호출 스레드에서 바로 실행하는 인스턴스 (서버 초기화 전, 테스트 등)
+     */
+    public static AsyncDBHelper inline(Supplier<DBHelper> helper) {
+        return new AsyncDBHelper(helper);
+    }
+
+    /**
+     * DB 호출 제출
+     *
+     * @param name 지표/로그용 작업 이름
+     */
+    public <T> CompletableFuture<T> supply(String name, DbCall<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (executor == null) {
+            execute(name, call, future, System.nanoTime());
+            return future;
+        }
+
+        long submitNanos = System.nanoTime();
+        try {
+            executor.execute(() -> execute(name, call, future, submitNanos));
+        } catch (RejectedExecutionException e) {
+            PerformanceLogger.incrementCounter("DB_ASYNC_REJECTED");
+            log.warn("DB 작업 거부 (대기열 가득 참): name={}, active={}, queued={}", name, executor.getActiveCount(),
+                    executor.getQueue().size());
+            future.completeExceptionally(e);
+            return future;
+        }
+        PerformanceLogger.recordValue("DB_ASYNC_QUEUE_DEPTH", executor.getQueue().size());
+
+        if (timeoutMs > 0) {
+            future.orTimeout(timeoutMs, TimeUnit.MILLISECONDS).whenComplete((result, error) -> {
+                if (error instanceof TimeoutException) {
+                    PerformanceLogger.incrementCounter("DB_ASYNC_TIMEOUT");
+                    log.warn("DB 작업 시간 초과: name={}, timeoutMs={}, queued={}", name, timeoutMs,
+                            executor.getQueue().size());
+                }
+            });
+        }
+        return future;
+    }
+
+    /**
+     * 결과 없는 DB 호출 제출
+     */
+    public CompletableFuture<Void> run(String name, DbAction action) {
+        return supply(name, db -> {
+            action.run(db);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Long> insertMessage(SendMessageCommand command) {
+        return supply("insertMessage", db -> db.insertMessage(command));
+    }
+
+    public CompletableFuture<Void> insertMessageReadStatus(SendMessageCommand command) {
+        return run("insertMessageReadStatus", db -> db.insertMessageReadStatus(command));
+    }
+
+    public CompletableFuture<RoomData> getRoomData(Long roomId) {
+        return supply("getRoomData", db -> db.getRoomData(roomId));
+    }
+
+    public CompletableFuture<List<UserData>> getMemberData(long roomId) {
+        return supply("getMemberData", db -> db.getMemberData(roomId));
+    }
+
+    public CompletableFuture<UserData> getUserDataById(Long userId) {
+        return supply("getUserDataById", db -> db.getUserDataById(userId));
+    }
+
+    /**
+     * CompletableFuture 가 감싼 원래 예외 (CompletionException 벗기기)
+     */
+    public static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * 실행 대기 중인 작업 수
+     */
+    public int getQueuedCount() {
+        return executor != null ? executor.getQueue().size() : 0;
+    }
+
+    public int getActiveCount() {
+        return executor != null ? executor.getActiveCount() : 0;
+    }
+
+    /**
+     * 새 작업을 받지 않고, 대기 중인 작업은 마저 실행한다.
+     */
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private <T> void execute(String name, DbCall<T> call, CompletableFuture<T> future, long submitNanos) {
+        if (future.isDone()) {
+            // 대기열에 있는 동안 시간 초과된 작업은 실행하지 않는다.
+            PerformanceLogger.incrementCounter("DB_ASYNC_EXPIRED");
+            return;
+        }
+        long startNanos = System.nanoTime();
+        PerformanceLogger.recordValue("DB_ASYNC_WAIT_MICROS", (startNanos - submitNanos) / 1_000);
+        try {
+            T result = call.call(helper.get());
+            PerformanceLogger.recordValue("DB_ASYNC_RUN_MICROS", (System.nanoTime() - startNanos) / 1_000);
+            future.complete(result);
+        } catch (Exception e) {
+            PerformanceLogger.incrementCounter("DB_ASYNC_FAILED");
+            log.error("DB 작업 실패: name={}, error={}", name, e.getMessage(), e);
+            future.completeExceptionally(e);
+        }
+    }
+}
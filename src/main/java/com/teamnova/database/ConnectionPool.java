@@ -0,0 +1,434 @@
+package com.teamnova.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.teamnova.utils.PerformanceLogger;
+
+/**
+ * 크기가 제한된 JDBC 커넥션 풀
+ *
+ * 호출마다 {@link #getConnection()} 으로 빌리고 close() 로 반납한다. (try-with-resources)
+ * 빌려준 객체는 물리 연결을 감싼 프록시라서 close() 는 연결을 닫지 않고 풀에 돌려놓으며,
+ * 반납 시 끝나지 않은 트랜잭션은 롤백하고 autoCommit 을 되돌린다.
+ *
+ * - 최대 maxSize 개까지 만들고, 모두 사용 중이면 maxWaitMs 까지 기다린 뒤 SQLException
+ * - 마지막 사용 후 validateAfterMs 가 지난 연결은 빌려주기 전에 isValid 로 확인
+ * - idleTimeoutMs 동안 쓰이지 않은 연결은 정리 스레드가 닫는다
+ * - 물리 연결마다 PreparedStatement 를 SQL 기준으로 statementCacheSize 개까지 캐시한다 ({@link StatementCache})
+ *
+ * 가상 스레드 고정(pinning)을 피하기 위해 synchronized 대신 ReentrantLock 사용
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    private static final Logger log = LogManager.getLogger(ConnectionPool.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final ConnectionSource source;
+    private final int maxSize;
+    private final long maxWaitNanos;
+    private final long idleTimeoutNanos;
+    private final long validateAfterNanos;
+    private final int statementCacheSize;
+
+    private final LongAdder statementHits = new LongAdder();
+    private final LongAdder statementMisses = new LongAdder();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    // 최근 반납한 연결부터 빌려준다 (LIFO, 오래 쉰 연결이 자연스럽게 정리 대상이 됨)
+    private final ArrayDeque<PooledConnection> idle = new ArrayDeque<>();
+    private int total = 0; // 만들어진(또는 만드는 중인) 물리 연결 수
+    private boolean closed = false;
+
+    private volatile Thread evictor;
+
+    public ConnectionPool(ConnectionSource source, int maxSize, long maxWaitMs, long idleTimeoutMs,
+            long validateAfterMs) {
+        this(source, maxSize, maxWaitMs, idleTimeoutMs, validateAfterMs, 0);
+    }
+
+    /**
+     * @param statementCacheSize 연결당 캐시할 PreparedStatement 수 (0 이면 캐시하지 않음)
+     */
+    public ConnectionPool(ConnectionSource source, int maxSize, long maxWaitMs, long idleTimeoutMs,
+            long validateAfterMs, int statementCacheSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize 는 1 이상이어야 합니다: " + maxSize);
+        }
+        this.source = source;
+        this.maxSize = maxSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMs));
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, idleTimeoutMs));
+        this.validateAfterNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, validateAfterMs));
+        this.statementCacheSize = Math.max(0, statementCacheSize);
+    }
+
+    /**
+     * 연결 대여 (사용 후 반드시 close)
+     *
+     * @throws SQLException 대기 시간 초과, 연결 생성 실패, 풀 종료
+     */
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + maxWaitNanos;
+        while (true) {
+            PooledConnection pooled = null;
+            boolean create = false;
+
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) {
+                        throw new SQLException("커넥션 풀이 종료됨");
+                    }
+                    pooled = idle.pollFirst();
+                    if (pooled != null) {
+                        break;
+                    }
+                    if (total < maxSize) {
+                        total++;
+                        create = true;
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        PerformanceLogger.incrementCounter("DB_POOL_TIMEOUT");
+                        throw new SQLException(String.format("커넥션 풀 대기 시간 초과: maxSize=%d, waitMs=%d",
+                                maxSize, TimeUnit.NANOSECONDS.toMillis(maxWaitNanos)));
+                    }
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("커넥션 대기 중 인터럽트", e);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            // 연결 생성/검증은 잠금 밖에서 (느린 네트워크 작업이 다른 대여를 막지 않도록)
+            if (create) {
+                try {
+                    pooled = new PooledConnection(source.open());
+                    PerformanceLogger.incrementCounter("DB_POOL_CREATED");
+                } catch (SQLException | RuntimeException e) {
+                    discarded();
+                    throw e;
+                }
+            } else if (System.nanoTime() - pooled.lastUsedNanos > validateAfterNanos && !isValid(pooled)) {
+                PerformanceLogger.incrementCounter("DB_POOL_INVALID");
+                closePhysical(pooled);
+                discarded();
+                continue;
+            }
+
+            recordBorrow(start);
+            return pooled.lease();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getIdleCount() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getActiveCount() {
+        lock.lock();
+        try {
+            return total - idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * PreparedStatement 캐시 적중률 (prepare 호출이 없었으면 0)
+     */
+    public double getStatementCacheHitRate() {
+        long hits = statementHits.sum();
+        long total = hits + statementMisses.sum();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * idleTimeout 이 지난 유휴 연결 정리
+     *
+     * @return 닫은 연결 수
+     */
+    public int evictIdle(long nowNanos) {
+        if (idleTimeoutNanos == 0) {
+            return 0;
+        }
+        ArrayDeque<PooledConnection> expired = new ArrayDeque<>();
+        lock.lock();
+        try {
+            Iterator<PooledConnection> iterator = idle.iterator();
+            while (iterator.hasNext()) {
+                PooledConnection pooled = iterator.next();
+                if (nowNanos - pooled.lastUsedNanos > idleTimeoutNanos) {
+                    iterator.remove();
+                    total--;
+                    expired.add(pooled);
+                }
+            }
+            if (!expired.isEmpty()) {
+                available.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (PooledConnection pooled : expired) {
+            closePhysical(pooled);
+        }
+        if (!expired.isEmpty()) {
+            PerformanceLogger.addCounter("DB_POOL_EVICTED", expired.size());
+            log.debug("유휴 DB 연결 정리: evicted={}", expired.size());
+        }
+        return expired.size();
+    }
+
+    /**
+     * 유휴 연결 주기적 정리 시작 (idleTimeout 의 절반 간격)
+     */
+    public void startEviction() {
+        if (idleTimeoutNanos == 0 || evictor != null) {
+            return;
+        }
+        long intervalMs = Math.max(1_000L, TimeUnit.NANOSECONDS.toMillis(idleTimeoutNanos) / 2);
+        Thread thread = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(intervalMs);
+                    evictIdle(System.nanoTime());
+                    log.info("DB 커넥션 풀 상태: active={}, idle={}, stmtHits={}, stmtMisses={}, stmtHitRate={}",
+                            getActiveCount(), getIdleCount(), statementHits.sum(), statementMisses.sum(),
+                            String.format("%.3f", getStatementCacheHitRate()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }, "db-pool-evictor");
+        thread.setDaemon(true);
+        thread.start();
+        evictor = thread;
+    }
+
+    @Override
+    public void close() {
+        ArrayDeque<PooledConnection> toClose;
+        lock.lock();
+        try {
+            closed = true;
+            toClose = new ArrayDeque<>(idle);
+            total -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        Thread thread = evictor;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        for (PooledConnection pooled : toClose) {
+            closePhysical(pooled);
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return "ConnectionPool{maxSize=" + maxSize + ", active=" + (total - idle.size()) + ", idle="
+                    + idle.size() + ", stmtHitRate=" + String.format("%.3f", getStatementCacheHitRate()) + "}";
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordBorrow(long startNanos) {
+        PerformanceLogger.recordValue("DB_POOL_WAIT_MICROS", (System.nanoTime() - startNanos) / 1_000);
+        lock.lock();
+        try {
+            PerformanceLogger.recordValue("DB_POOL_ACTIVE", total - idle.size());
+            PerformanceLogger.recordValue("DB_POOL_IDLE", idle.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 빌려준 연결 반납 (프록시의 close 에서 호출)
+     */
+    private void release(PooledConnection pooled) {
+        // 닫지 않은 문장/결과 집합 회수 (캐시된 문장은 다음 대여자가 재사용)
+        pooled.statements.returnLeased();
+        boolean reusable = reset(pooled);
+        lock.lock();
+        try {
+            if (reusable && !closed) {
+                pooled.lastUsedNanos = System.nanoTime();
+                idle.addFirst(pooled);
+                available.signal();
+                return;
+            }
+            total--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+        closePhysical(pooled);
+    }
+
+    /**
+     * 다음 대여자가 깨끗한 상태로 받도록 트랜잭션 정리
+     *
+     * @return 다시 쓸 수 있으면 true
+     */
+    private boolean reset(PooledConnection pooled) {
+        try {
+            Connection physical = pooled.physical;
+            if (physical.isClosed()) {
+                return false;
+            }
+            if (!physical.getAutoCommit()) {
+                log.warn("autoCommit 이 꺼진 채 반납된 연결 롤백");
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            log.warn("반납 연결 정리 실패, 폐기: error={}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void discarded() {
+        lock.lock();
+        try {
+            total--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean isValid(PooledConnection pooled) {
+        try {
+            return pooled.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static void closePhysical(PooledConnection pooled) {
+        pooled.statements.closeAll();
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            log.debug("DB 연결 종료 실패: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 풀에 있는 물리 연결 하나
+     */
+    private class PooledConnection {
+        final Connection physical;
+        // 대여 중에는 빌린 스레드만 접근한다.
+        final StatementCache statements = new StatementCache(statementCacheSize, statementHits, statementMisses);
+        volatile long lastUsedNanos = System.nanoTime();
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        /**
+         * 대여마다 새 프록시를 만들어, 반납한 뒤 이전 대여자가 연결을 계속 쓰는 것을 막는다.
+         */
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, new Lease(this));
+        }
+    }
+
+    private class Lease implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean returned = false;
+
+        Lease(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection{" + pooled.physical + ", returned=" + returned + "}";
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("이미 반납된 연결");
+            }
+            if (isCachedPrepare(method)) {
+                Integer autoGeneratedKeys = args.length == 2 ? (Integer) args[1] : null;
+                return pooled.statements.prepare((Connection) proxy, pooled.physical, (String) args[0],
+                        autoGeneratedKeys);
+            }
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * 캐시 대상 prepare: prepareStatement(sql), prepareStatement(sql, autoGeneratedKeys)
+         */
+        private boolean isCachedPrepare(Method method) {
+            if (!method.getName().equals("prepareStatement")) {
+                return false;
+            }
+            Class<?>[] types = method.getParameterTypes();
+            return types.length == 1 || (types.length == 2 && types[1] == int.class);
+        }
+    }
+}
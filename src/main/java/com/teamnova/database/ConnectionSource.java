@@ -0,0 +1,12 @@
+package com.teamnova.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 새 물리 DB 연결 생성 (커넥션 풀, 시작 시 적재기가 사용)
+ */
+@FunctionalInterface
+public interface ConnectionSource {
+    Connection open() throws SQLException;
+}
@@ -7,9 +7,11 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -17,6 +19,7 @@ import org.apache.logging.log4j.Logger;
 import com.teamnova.chat.ChatRoom;
 import com.teamnova.command.Action;
 import com.teamnova.command.BaseCommand;
+import com.teamnova.command.FanoutEncoder;
 import com.teamnova.command.ResponseCommand;
 import com.teamnova.command.ResponseCommand.TransmissionStatus;
 import com.teamnova.command.chat.CreateRoomCommand;
@@ -27,9 +30,9 @@ import com.teamnova.dto.chat.Message;
 import com.teamnova.dto.chat.MessageStatus;
 import com.teamnova.dto.chat.RoomData;
 import com.teamnova.dto.user.UserData;
-import com.teamnova.user.User;
 import com.teamnova.utils.LoggingUtils;
 import com.teamnova.utils.PerformanceLogger;
+import com.teamnova.utils.SnowflakeIdGenerator;
 import com.teamnova.utils.TimeUtils;
 
 /**
@@ -39,11 +42,11 @@ public class DBHelper {
 
     private static final Logger log = LogManager.getLogger(DBHelper.class);
 
-    private static DBHelper instance = null;
+    // 가상 스레드 고정(pinning)을 피하기 위해 synchronized 대신 ReentrantLock 사용
+    private static final ReentrantLock INSTANCE_LOCK = new ReentrantLock();
+    private static volatile DBHelper instance = null;
 
-    private Connection conn;
-    private Statement statement;
-    private ResultSet resultSet;
+    private ConnectionPool connectionPool; // 호출마다 빌려 쓰고 반납한다
 
     private String imgHost; // 이미지 호스트 경로
 
@@ -51,22 +54,35 @@ public class DBHelper {
     private static final long SLOW_QUERY_THRESHOLD_MS = 100;
     private static final long VERY_SLOW_QUERY_THRESHOLD_MS = 1000;
 
-    // 연결 상태 추적
-    private long connectionStartTime;
-    private int queryCount = 0;
-    private long totalQueryTime = 0;
+    // 커넥션 풀 설정: 최대 연결 수, 대여 대기 시간, 유휴 연결 정리 시간, 재사용 전 검증 간격
+    private static final int DB_POOL_SIZE = PropertiesManager.getIntProperty("DB_POOL_SIZE", 16);
+    private static final long DB_POOL_MAX_WAIT_MS = PropertiesManager.getLongProperty("DB_POOL_MAX_WAIT_MS", 5_000L);
+    private static final long DB_POOL_IDLE_TIMEOUT_MS = PropertiesManager.getLongProperty("DB_POOL_IDLE_TIMEOUT_MS",
+            600_000L);
+    private static final long DB_POOL_VALIDATE_AFTER_MS = PropertiesManager
+            .getLongProperty("DB_POOL_VALIDATE_AFTER_MS", 30_000L);
+
+    // 연결당 PreparedStatement 캐시 크기 (0 이면 사용 안 함), 서버 측 prepare 사용 여부
+    private static final int DB_STMT_CACHE_SIZE = PropertiesManager.getIntProperty("DB_STMT_CACHE_SIZE", 64);
+    private static final boolean DB_SERVER_PREPARE = PropertiesManager.getBooleanProperty("DB_SERVER_PREPARE", true);
 
     public static DBHelper getInstance() {
-        if (instance == null) {
-            synchronized (DBHelper.class) {
-                if (instance == null) {
+        DBHelper local = instance;
+        if (local == null) {
+            INSTANCE_LOCK.lock();
+            try {
+                local = instance;
+                if (local == null) {
                     log.debug("DBHelper 싱글톤 인스턴스 생성 시작");
-                    instance = new DBHelper();
+                    local = new DBHelper();
+                    instance = local;
                     log.info("DBHelper 싱글톤 인스턴스 생성 완료");
                 }
+            } finally {
+                INSTANCE_LOCK.unlock();
             }
         }
-        return instance;
+        return local;
     }
 
     private DBHelper() {
@@ -107,9 +123,15 @@ public class DBHelper {
             log.debug("MySQL 드라이버 로딩 완료: operationId={}", operationId);
 
             // DB 접속 정보 가져오기
-            String dbUrl = PropertiesManager.getProperty("DB_URL");
             String dbUser = PropertiesManager.getProperty("DB_USER");
             String dbPw = PropertiesManager.getProperty("DB_PW");
+            // 캐시한 문장을 서버에 한 번만 prepare 해 두고 실행만 반복한다.
+            // 드라이버 자체 캐시는 풀의 문장 캐시와 겹치므로 끈다.
+            String dbUrl = PropertiesManager.getProperty("DB_URL");
+            if (DB_SERVER_PREPARE && DB_STMT_CACHE_SIZE > 0) {
+                dbUrl = withUrlParam(withUrlParam(dbUrl, "useServerPrepStmts", "true"), "cachePrepStmts", "false");
+            }
+            String poolUrl = dbUrl;
 
             // 민감정보 마스킹하여 로깅
             String maskedUrl = LoggingUtils.maskToken(dbUrl);
@@ -118,24 +140,24 @@ public class DBHelper {
             log.debug("데이터베이스 연결 정보: operationId={}, url={}, user={}",
                     operationId, maskedUrl, maskedUser);
 
-            // Connection 객체 얻기
-            connectionStartTime = System.currentTimeMillis();
-            conn = DriverManager.getConnection(dbUrl, dbUser, dbPw);
-
-            // Statement 객체 얻기
-            statement = conn.createStatement();
+            // 커넥션 풀 생성 후 연결 하나를 미리 열어 접속 정보를 확인
+            connectionPool = new ConnectionPool(() -> DriverManager.getConnection(poolUrl, dbUser, dbPw),
+                    DB_POOL_SIZE, DB_POOL_MAX_WAIT_MS, DB_POOL_IDLE_TIMEOUT_MS, DB_POOL_VALIDATE_AFTER_MS,
+                    DB_STMT_CACHE_SIZE);
+            try (Connection conn = connectionPool.getConnection()) {
+                // 연결 상태 확인
+                if (conn.isValid(5)) {
+                    log.debug("데이터베이스 연결 유효성 확인 완료: operationId={}", operationId);
+                } else {
+                    log.warn("데이터베이스 연결 유효성 확인 실패: operationId={}", operationId);
+                }
+            }
+            connectionPool.startEviction();
 
             long connectionTime = timer.stop();
 
-            log.info("데이터베이스 연결 성공: operationId={}, connectionTime={}ms, url={}",
-                    operationId, connectionTime, maskedUrl);
-
-            // 연결 상태 확인
-            if (conn.isValid(5)) {
-                log.debug("데이터베이스 연결 유효성 확인 완료: operationId={}", operationId);
-            } else {
-                log.warn("데이터베이스 연결 유효성 확인 실패: operationId={}", operationId);
-            }
+            log.info("데이터베이스 연결 성공: operationId={}, connectionTime={}ms, url={}, pool={}",
+                    operationId, connectionTime, maskedUrl, connectionPool);
 
         } catch (ClassNotFoundException e) {
             timer.stop("ERROR: Driver not found");
@@ -156,68 +178,207 @@ public class DBHelper {
 
     /**
      * 데이터베이스에 저장된 방목록과 방에 소속된 멤버 정보를 Map 형태로 반환
+     *
+     * 멤버십을 방 id 구간별로 병렬 적재하고 모두 끝날 때까지 기다린다. (RoomMembershipLoader 참고)
      */
     public Map<Long, ChatRoom> getServerData() {
-        String operationId = LoggingUtils.generateOperationId();
-        PerformanceLogger.Timer timer = PerformanceLogger.startTimer("GET_SERVER_DATA",
-                String.format("operationId=%s", operationId));
-
-        log.debug("서버 데이터 로드 시작: operationId={}", operationId);
-
-        Map<Long, ChatRoom> resultMap = new HashMap<>();
-        String query = "select users.id as user_id, chat_room_id from users, user_chatroom_map where users.id = user_chatroom_map.user_id";
+        ConcurrentHashMap<Long, ChatRoom> resultMap = new ConcurrentHashMap<>();
+        RoomMembershipLoader loader = newRoomMembershipLoader(Runtime.getRuntime().availableProcessors(), 5_000);
+        try {
+            loader.start(resultMap);
+            loader.awaitAll();
+        } catch (SQLException e) {
+            log.error("서버 데이터 로드 실패: sqlState={}, errorCode={}, error={}",
+                    e.getSQLState(), e.getErrorCode(), e.getMessage(), e);
+            throw new RuntimeException("서버 데이터 로드 실패", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("서버 데이터 로드 중단", e);
+        }
+        return resultMap;
+    }
 
-        int roomCount = 0;
-        int userCount = 0;
+    /**
+     * 시작 시 멤버십 적재기 생성 (워커마다 커서 fetch 를 켠 별도 연결을 연다)
+     */
+    public RoomMembershipLoader newRoomMembershipLoader(int workers, int pageSize) {
+        return new RoomMembershipLoader(() -> openConnection(true), workers, pageSize);
+    }
 
-        try {
-            PreparedStatement psmt = conn.prepareStatement(query);
-            log.debug("서버 데이터 쿼리 실행: operationId={}", operationId);
+    /**
+     * 공유 연결과 별개인 새 연결 생성
+     *
+     * @param cursorFetch true 면 useCursorFetch 를 켜서 setFetchSize 단위로 결과를 나눠 받는다.
+     */
+    public Connection openConnection(boolean cursorFetch) throws SQLException {
+        String dbUrl = PropertiesManager.getProperty("DB_URL");
+        if (cursorFetch) {
+            dbUrl = withUrlParam(dbUrl, "useCursorFetch", "true");
+        }
+        return DriverManager.getConnection(dbUrl, PropertiesManager.getProperty("DB_USER"),
+                PropertiesManager.getProperty("DB_PW"));
+    }
 
-            ResultSet rs = psmt.executeQuery();
+    /**
+     * JDBC URL 에 파라미터 추가 (이미 지정되어 있으면 설정값을 그대로 둔다)
+     */
+    private static String withUrlParam(String url, String name, String value) {
+        if (url.contains(name + "=")) {
+            return url;
+        }
+        return url + (url.contains("?") ? "&" : "?") + name + "=" + value;
+    }
 
-            while (rs.next()) {
-                long roomId = rs.getLong("chat_room_id");
-                long userId = rs.getLong("user_id");
+    /**
+     * 채팅방 하나의 정보와 멤버 id 를 읽어 ChatRoom 으로 반환 (RoomCache 의 적재 경로)
+     *
+     * @return 방이 없으면 null
+     */
+    public ChatRoom loadChatRoom(long roomId) throws SQLException {
+        try (Connection conn = connectionPool.getConnection()) {
+            return loadChatRoom(conn, roomId);
+        }
+    }
 
-                if (!resultMap.containsKey(roomId)) {
-                    // 처음 보는 방번호인 경우 key 생성
-                    ChatRoom room = new ChatRoom();
+    private ChatRoom loadChatRoom(Connection conn, long roomId) throws SQLException {
+        ChatRoom room = null;
+        try (PreparedStatement psmt = conn.prepareStatement("SELECT * from chat_rooms WHERE id = ?")) {
+            psmt.setLong(1, roomId);
+            try (ResultSet rs = psmt.executeQuery()) {
+                if (rs.next()) {
+                    room = new ChatRoom();
                     room.id = roomId;
-                    resultMap.put(roomId, room);
-                    roomCount++;
+                    room.roomName = rs.getString("room_name");
+                    room.description = rs.getString("description");
+                    room.roomType = RoomType.valueOf(rs.getString("room_type"));
+                    room.masterUserId = rs.getLong("master_user_id");
+                    room.thumbnail = rs.getString("thumbnail");
+                    room.coverImageUrl = rs.getString("cover_image");
+                    room.currentMembers = rs.getInt("current_members");
+                }
+            }
+        }
+        if (room == null) {
+            return null;
+        }
 
-                    log.trace("새 채팅방 발견: operationId={}, roomId={}, totalRooms={}",
-                            operationId, roomId, roomCount);
+        try (PreparedStatement psmt = conn
+                .prepareStatement("select user_id from user_chatroom_map where chat_room_id = ?")) {
+            psmt.setLong(1, roomId);
+            try (ResultSet rs = psmt.executeQuery()) {
+                while (rs.next()) {
+                    room.addMember(rs.getLong(1));
                 }
+            }
+        }
+        log.debug("채팅방 적재: roomId={}, memberCount={}", roomId, room.getMemberCount());
+        return room;
+    }
 
-                // user 객체 생성
-                User user = new User(userId);
-                resultMap.get(roomId).userList.add(user);
-                userCount++;
+    /**
+     * 풀에서 연결 대여 (사용 후 반드시 close, MessageWriteBehind 등 DBHelper 밖의 저장 단계용)
+     */
+    public Connection borrowConnection() throws SQLException {
+        return connectionPool.getConnection();
+    }
 
-                log.trace("사용자 추가: operationId={}, roomId={}, userId={}, roomUserCount={}",
-                        operationId, roomId, userId, resultMap.get(roomId).userList.size());
+    /**
+     * 이 worker id 비트를 가진 저장된 메시지 id 최댓값 (없으면 0, 메모리 id 발급의 시작점 확인용)
+     *
+     * 다른 서버(worker)가 발급한 id 는 비트가 달라 겹칠 수 없으므로 비교에서 뺀다.
+     * 인덱스를 못 타는 전체 조회이므로 시작 시 한 번만 호출한다.
+     */
+    public long getMaxMessageIdOfWorker(long workerId) throws SQLException {
+        String q = "select coalesce(max(id), 0) from messages where ((id >> " + SnowflakeIdGenerator.WORKER_SHIFT
+                + ") & " + SnowflakeIdGenerator.MAX_WORKER_ID + ") = ?";
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement psmt = conn.prepareStatement(q)) {
+            psmt.setLong(1, workerId);
+            try (ResultSet rs = psmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0L;
             }
+        }
+    }
 
-            long duration = timer.stop();
-            log.info("서버 데이터 로드 완료: operationId={}, roomCount={}, userCount={}, duration={}ms",
-                    operationId, roomCount, userCount, duration);
+    /**
+     * 방의 마지막 메시지 순번 (순번이 있는 메시지가 없으면 0, 방 순번 발급의 시작점)
+     */
+    public long getMaxRoomSeq(long roomId) {
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement psmt = conn
+                        .prepareStatement("select coalesce(max(room_seq), 0) from messages where chat_room_id = ?")) {
+            psmt.setLong(1, roomId);
+            try (ResultSet rs = psmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0L;
+            }
+        } catch (SQLException e) {
+            log.error("방 메시지 순번 조회 실패: roomId={}, sqlState={}, error={}", roomId, e.getSQLState(), e.getMessage(),
+                    e);
+            throw new RuntimeException("방 메시지 순번 조회 실패", e);
+        }
+    }
 
-            // 성능 임계값 체크
-            if (duration > SLOW_QUERY_THRESHOLD_MS) {
-                log.warn("서버 데이터 로드 성능 경고: operationId={}, duration={}ms, threshold={}ms",
-                        operationId, duration, SLOW_QUERY_THRESHOLD_MS);
+    /**
+     * messages.room_seq 컬럼이 없으면 추가 (시작 시 한 번)
+     *
+     * @return 새로 추가했으면 true
+     */
+    public boolean ensureRoomSeqColumn() throws SQLException {
+        try (Connection conn = connectionPool.getConnection()) {
+            try (ResultSet rs = conn.getMetaData().getColumns(conn.getCatalog(), null, "messages", "room_seq")) {
+                if (rs.next()) {
+                    return false;
+                }
             }
+            try (Statement statement = conn.createStatement()) {
+                statement.execute("alter table messages add column room_seq bigint null, "
+                        + "add index idx_messages_room_seq (chat_room_id, room_seq)");
+            }
+            log.info("messages.room_seq 컬럼 추가 완료");
+            return true;
+        }
+    }
 
-        } catch (SQLException e) {
-            timer.stop("ERROR: " + e.getSQLState());
-            log.error("서버 데이터 로드 실패: operationId={}, sqlState={}, errorCode={}, error={}",
-                    operationId, e.getSQLState(), e.getErrorCode(), e.getMessage(), e);
-            throw new RuntimeException("서버 데이터 로드 실패", e);
+    /**
+     * 멤버십 변경 기준점 (user_chatroom_map.entered_at 최댓값, 행이 없으면 null)
+     *
+     * 스냅샷을 만들기 직전에 읽어 두면 이 값 이후의 행만 다시 적용하면 된다.
+     */
+    public String getMembershipHighWaterMark() throws SQLException {
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement psmt = conn.prepareStatement("select max(entered_at) from user_chatroom_map");
+                ResultSet rs = psmt.executeQuery()) {
+            return rs.next() ? rs.getString(1) : null;
         }
+    }
 
-        return resultMap;
+    /**
+     * 기준점 이후(같은 시각 포함)에 추가된 멤버십을 target 에 반영
+     *
+     * @return 반영한 행 수
+     */
+    public int applyMembershipSince(String highWaterMark, ConcurrentMap<Long, ChatRoom> target)
+            throws SQLException {
+        String query = "select m.chat_room_id, m.user_id from user_chatroom_map m "
+                + "join users u on u.id = m.user_id where m.entered_at >= ?";
+        int rows = 0;
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement psmt = conn.prepareStatement(query)) {
+            psmt.setString(1, highWaterMark);
+            try (ResultSet rs = psmt.executeQuery()) {
+                while (rs.next()) {
+                    long roomId = rs.getLong(1);
+                    ChatRoom room = target.computeIfAbsent(roomId, id -> {
+                        ChatRoom created = new ChatRoom();
+                        created.id = id;
+                        return created;
+                    });
+                    room.addMember(rs.getLong(2));
+                    rows++;
+                }
+            }
+        }
+        return rows;
     }
 
     // 유저 - 테이블 관계 insert
@@ -225,10 +386,9 @@ public class DBHelper {
         log.debug("insertUserChatRoomsRelation(): START - params: roomId={}, userId={}", roomId, userId);
 
         String sql = "insert into user_chatroom_map(chat_room_id, user_id, entered_at) value(?, ?, ?)";
-        PreparedStatement ps;
 
-        try {
-            ps = conn.prepareStatement(sql);
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setLong(1, roomId);
             ps.setLong(2, userId);
             ps.setString(3, TimeUtils.getCurrentTimeInUTC());
@@ -251,14 +411,15 @@ public class DBHelper {
 
         String query = "select * from user_chatroom_map where user_id = ?";
 
-        try {
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement psmt = conn.prepareStatement(query)) {
             // preparedStatement 세팅
-            PreparedStatement psmt = conn.prepareStatement(query);
             psmt.setLong(1, id);
-            ResultSet rs = psmt.executeQuery();
-            while (rs.next()) {
-                Long roomId = rs.getLong("chat_room_id");
-                ret.add(roomId);
+            try (ResultSet rs = psmt.executeQuery()) {
+                while (rs.next()) {
+                    Long roomId = rs.getLong("chat_room_id");
+                    ret.add(roomId);
+                }
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -287,23 +448,31 @@ public class DBHelper {
                 roomName, roomType, thumbnail, coverImageUrl);
 
         String sql = "";
+        // 값은 모두 바인딩한다. (SQL 문자열이 방마다 달라지지 않아야 문장 캐시에 적중)
+        List<Object> params = new ArrayList<>();
         if (roomType == RoomType.NORMAL) {
             sql = "insert into chat_rooms() values()";
         } else if (roomType == RoomType.OPEN) {
             // 동적으로 SQL 구성
             StringBuilder sqlBuilder = new StringBuilder("insert into chat_rooms(room_name, description, room_type, master_user_id");
-            StringBuilder valuesBuilder = new StringBuilder("values('" + roomName + "', '" + description + "', '" + roomType.toString() + "', '" + masterUserId + "'");
-            
+            StringBuilder valuesBuilder = new StringBuilder("values(?, ?, ?, ?");
+            params.add(roomName);
+            params.add(description);
+            params.add(roomType.toString());
+            params.add(masterUserId);
+
             if (thumbnail != null && !thumbnail.isEmpty()) {
                 sqlBuilder.append(", thumbnail");
-                valuesBuilder.append(", '").append(thumbnail).append("'");
+                valuesBuilder.append(", ?");
+                params.add(thumbnail);
             }
-            
+
             if (coverImageUrl != null && !coverImageUrl.isEmpty()) {
                 sqlBuilder.append(", cover_image");
-                valuesBuilder.append(", '").append(coverImageUrl).append("'");
+                valuesBuilder.append(", ?");
+                params.add(coverImageUrl);
             }
-            
+
             sqlBuilder.append(") ");
             valuesBuilder.append(")");
             sql = sqlBuilder.toString() + valuesBuilder.toString();
@@ -313,12 +482,18 @@ public class DBHelper {
         log.debug("sql={}", sql);
 
         // 마지막으로 추가한 데이터의 id 얻어오기
-        PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-        ps.execute();
-        ResultSet rs = ps.getGeneratedKeys();
-        if (rs.next()) {
-            insertedId = rs.getLong(1);
-            log.debug("새로 추가된 방 id = {}", insertedId);
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            ps.execute();
+            try (ResultSet rs = ps.getGeneratedKeys()) {
+                if (rs.next()) {
+                    insertedId = rs.getLong(1);
+                    log.debug("새로 추가된 방 id = {}", insertedId);
+                }
+            }
         }
 
         log.debug("insertRoom(): END - return={}", insertedId);
@@ -331,8 +506,8 @@ public class DBHelper {
 
         String sql = "SELECT * from chat_rooms WHERE id = ?";
 
-        try {
-            PreparedStatement psmt = conn.prepareStatement(sql);
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement psmt = conn.prepareStatement(sql)) {
             psmt.setLong(1, roomId);
 
             log.debug("query = {}", psmt);
@@ -374,7 +549,8 @@ public class DBHelper {
                 "SET room_name = ? " +
                 "WHERE id = ? ;";
 
-        try (PreparedStatement psmt = conn.prepareStatement(query)) {
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement psmt = conn.prepareStatement(query)) {
             psmt.setString(1, roomName);
             psmt.setLong(2, roomId);
 
@@ -396,7 +572,8 @@ public class DBHelper {
                 "SET description = ? " +
                 "WHERE id = ? ;";
 
-        try (PreparedStatement psmt = conn.prepareStatement(query)) {
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement psmt = conn.prepareStatement(query)) {
             psmt.setString(1, description);
             psmt.setLong(2, roomId);
 
@@ -418,7 +595,8 @@ public class DBHelper {
                 "SET thumbnail = ? " +
                 "WHERE id = ? ;";
 
-        try (PreparedStatement psmt = conn.prepareStatement(query)) {
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement psmt = conn.prepareStatement(query)) {
             psmt.setString(1, thumbnail);
             psmt.setLong(2, roomId);
 
@@ -440,7 +618,8 @@ public class DBHelper {
                 "SET cover_image = ? " +
                 "WHERE id = ? ;";
 
-        try (PreparedStatement psmt = conn.prepareStatement(query)) {
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement psmt = conn.prepareStatement(query)) {
             psmt.setString(1, coverImage);
             psmt.setLong(2, roomId);
 
@@ -462,7 +641,8 @@ public class DBHelper {
                 "SET current_members = ? " +
                 "WHERE id = ? ;";
 
-        try (PreparedStatement psmt = conn.prepareStatement(query)) {
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement psmt = conn.prepareStatement(query)) {
             psmt.setInt(1, currentMembers);
             psmt.setLong(2, roomId);
 
@@ -495,8 +675,8 @@ public class DBHelper {
                 "AND ucm.chat_room_id = ? " +
                 "ORDER BY ucm.user_id;";
 
-        try {
-            PreparedStatement psmt = conn.prepareStatement(query);
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement psmt = conn.prepareStatement(query)) {
             psmt.setLong(1, roomId);
 
             log.debug("query = {}", psmt);
@@ -546,7 +726,8 @@ public class DBHelper {
                 "WHERE user_id = ? AND exited_at IS NULL AND chat_room_id = ? " +
                 "ORDER BY entered_at DESC LIMIT 1";
 
-        try (PreparedStatement psmt = conn.prepareStatement(query)) {
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement psmt = conn.prepareStatement(query)) {
             psmt.setString(1, TimeUtils.getCurrentTimeInUTC());
             psmt.setLong(2, userId);
             psmt.setLong(3, roomId);
@@ -570,7 +751,8 @@ public class DBHelper {
                 "SET master_user_id = NULL " +
                 "WHERE id = ? ;";
 
-        try (PreparedStatement psmt = conn.prepareStatement(query)) {
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement psmt = conn.prepareStatement(query)) {
             psmt.setLong(1, roomId);
 
             log.debug("query = {}", psmt);
@@ -591,8 +773,8 @@ public class DBHelper {
         log.debug("deleteRoom - params: roomI={}", roomId);
         String query = "delete from chat_rooms where id = ?";
 
-        try {
-            PreparedStatement psmt = conn.prepareStatement(query);
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement psmt = conn.prepareStatement(query)) {
             psmt.setLong(1, roomId);
             psmt.executeUpdate();
         } catch (SQLException e) {
@@ -608,8 +790,8 @@ public class DBHelper {
 
         String q = "select * from messages where chat_room_id = ? AND sender_id != 0"; // 서버 메시지 개수는 무시
 
-        try {
-            PreparedStatement pstmt = conn.prepareStatement(q);
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(q)) {
             pstmt.setLong(1, roomId);
 
             log.debug("query = {}", pstmt);
@@ -677,7 +859,8 @@ public class DBHelper {
 
         String q = "insert into response_commands (action, recipient_id, json, status) values (?,?,?,?)";
 
-        try (PreparedStatement pstmt = conn.prepareStatement(q, PreparedStatement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(q, PreparedStatement.RETURN_GENERATED_KEYS)) {
 
             // 값 설정
             pstmt.setString(1, command.action.toString());
@@ -706,6 +889,48 @@ public class DBHelper {
         return Long.valueOf(lastInsertedId);
     }
 
+    /**
+     * 방 전송 한 번의 전송 내역을 수신자 전원에 대해 일괄 기록 (여러 행 insert)
+     *
+     * 커맨드 도착 시각(createdAT)은 encoder 를 만들기 전에 호출하는 쪽에서 기록한다.
+     *
+     * @return recipientIds 와 같은 순서의 전송 내역 id (기록하지 못한 수신자는 null, 실패하면 모두 null)
+     */
+    public Long[] insertResponseCommands(FanoutEncoder encoder, long[] recipientIds) {
+        ResponseCommand command = encoder.getCommand();
+        PerformanceLogger.Timer timer = PerformanceLogger.startTimer("INSERT_RESPONSE_COMMANDS",
+                String.format("action=%s,recipients=%d", command.action, recipientIds.length));
+        try (Connection conn = connectionPool.getConnection()) {
+            Long[] ids = ResponseLedger.insert(conn, encoder, recipientIds);
+            long duration = timer.stop();
+            int missing = 0;
+            for (Long id : ids) {
+                if (id == null) {
+                    missing++;
+                }
+            }
+            if (missing > 0) {
+                PerformanceLogger.addCounter("RESPONSE_LEDGER_MISSING_IDS", missing);
+                log.error("전송 내역 생성 키 누락: action={}, roomId={}, recipients={}, missing={}",
+                        command.action, command.roomId, recipientIds.length, missing);
+            }
+            PerformanceLogger.recordValue("RESPONSE_LEDGER_BATCH_ROWS", recipientIds.length);
+            log.debug("전송 내역 일괄 저장 완료: action={}, roomId={}, recipients={}, duration={}ms",
+                    command.action, command.roomId, recipientIds.length, duration);
+            if (duration > SLOW_QUERY_THRESHOLD_MS) {
+                log.warn("전송 내역 일괄 저장 성능 경고: action={}, roomId={}, recipients={}, duration={}ms, threshold={}ms",
+                        command.action, command.roomId, recipientIds.length, duration, SLOW_QUERY_THRESHOLD_MS);
+            }
+            return ids;
+        } catch (SQLException e) {
+            timer.stop("ERROR: " + e.getSQLState());
+            log.error("전송 내역 일괄 저장 실패: action={}, roomId={}, recipients={}, sqlState={}, error={}",
+                    command.action, command.roomId, recipientIds.length, e.getSQLState(), e.getMessage(), e);
+            PerformanceLogger.incrementCounter("RESPONSE_LEDGER_FAILED");
+            return new Long[recipientIds.length];
+        }
+    }
+
     /**
      * 메시지를 데이터베이스에 저장
      */
@@ -719,16 +944,18 @@ public class DBHelper {
                 operationId, command.roomId, command.requesterId, command.type,
                 command.content != null ? command.content.length() : 0);
 
-        String query = "insert into messages (chat_room_id, sender_id, content, type, sended_at) VALUES (?, ?, ?, ?, ?)";
+        String query = "insert into messages (chat_room_id, sender_id, content, type, sended_at, room_seq) VALUES (?, ?, ?, ?, ?, ?)";
         long messageId = -1;
 
-        try (PreparedStatement pstmt = conn.prepareStatement(query, PreparedStatement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(query, PreparedStatement.RETURN_GENERATED_KEYS)) {
             // 값 설정
             pstmt.setLong(1, command.roomId);
             pstmt.setLong(2, command.requesterId);
             pstmt.setString(3, command.content);
             pstmt.setString(4, command.type.toString());
             pstmt.setString(5, command.createdAT);
+            pstmt.setObject(6, command.roomSeq);
 
             log.trace("메시지 저장 쿼리 준비 완료: operationId={}, roomId={}, senderId={}",
                     operationId, command.roomId, command.requesterId);
@@ -794,6 +1021,17 @@ public class DBHelper {
         boolean originalAutoCommit = true;
         int batchSize = 0;
 
+        // 트랜잭션 동안 다른 호출과 섞이지 않도록 이 호출 전용 연결을 빌린다.
+        Connection conn;
+        try {
+            conn = connectionPool.getConnection();
+        } catch (SQLException e) {
+            timer.stop("ERROR: " + e.getSQLState());
+            log.error("메시지 읽음 상태 배치 삽입 연결 획득 실패: operationId={}, messageId={}, error={}",
+                    operationId, command.messageId, e.getMessage(), e);
+            throw new RuntimeException("메시지 읽음 상태 배치 삽입 실패", e);
+        }
+
         try (PreparedStatement pstmt = conn.prepareStatement(query)) {
             // 트랜잭션 시작
             originalAutoCommit = conn.getAutoCommit();
@@ -850,10 +1088,8 @@ public class DBHelper {
 
             // 롤백 시도
             try {
-                if (conn != null) {
-                    conn.rollback();
-                    log.info("트랜잭션 롤백 완료: operationId={}, messageId={}", operationId, command.messageId);
-                }
+                conn.rollback();
+                log.info("트랜잭션 롤백 완료: operationId={}, messageId={}", operationId, command.messageId);
             } catch (SQLException rollbackEx) {
                 log.error("트랜잭션 롤백 실패: operationId={}, messageId={}, rollbackError={}",
                         operationId, command.messageId, rollbackEx.getMessage(), rollbackEx);
@@ -870,6 +1106,12 @@ public class DBHelper {
                 log.error("AutoCommit 원복 실패: operationId={}, messageId={}, error={}",
                         operationId, command.messageId, e.getMessage(), e);
             }
+            // 연결 반납
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                log.error("DB 연결 반납 실패: operationId={}, error={}", operationId, e.getMessage(), e);
+            }
         }
     }
 
@@ -878,7 +1120,8 @@ public class DBHelper {
 
         String q = "SELECT * FROM message_read_status where id = ?";
 
-        try (PreparedStatement pstmt = conn.prepareStatement(q)) {
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(q)) {
             pstmt.setLong(1, msgId);
             ResultSet rs = pstmt.executeQuery();
 
@@ -908,7 +1151,8 @@ public class DBHelper {
 
         String q = "UPDATE response_commands SET status = ? WHERE id = ?";
 
-        try (PreparedStatement pstmt = conn.prepareStatement(q)) {
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(q)) {
             pstmt.setString(1, status.toString());
             pstmt.setLong(2, commandId);
 
@@ -930,7 +1174,8 @@ public class DBHelper {
 
         String q = "SELECT * FROM response_commands where recipient_id = ? AND status = ?";
 
-        try (PreparedStatement pstmt = conn.prepareStatement(q)) {
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(q)) {
             pstmt.setLong(1, userId);
             pstmt.setString(2, TransmissionStatus.NOT_SENT.toString());
 
@@ -968,8 +1213,8 @@ public class DBHelper {
 
         String q = "SELECT id, nickname, profile_image FROM users where id = ?";
 
-        try {
-            PreparedStatement psmt = conn.prepareStatement(q);
+        try (Connection conn = connectionPool.getConnection();
+                PreparedStatement psmt = conn.prepareStatement(q)) {
             psmt.setLong(1, userId);
 
             log.debug("query = {}", psmt);
@@ -0,0 +1,538 @@
+package com.teamnova.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.teamnova.command.chat.SendMessageCommand;
+import com.teamnova.utils.PerformanceLogger;
+
+/**
+ * 메시지 지연 저장(write-behind) 단계
+ *
+ * 메시지 id 를 메모리에서 바로 발급하고 저장은 뒤로 미룬다. 쌓인 메시지와 수신자별 상태 행은
+ * 기록 스레드가 flushIntervalMs 마다 또는 batchRows 행이 모이면 한 트랜잭션에서 여러 행 insert 로 저장한다.
+ * (그룹 커밋: 동시에 들어온 메시지들이 커밋 한 번(디스크 동기화 한 번)을 나눠 쓴다)
+ *
+ * - 반환한 future 는 커밋되면 완료된다. 전송 전에 이를 기다리면 커밋된 메시지만 전송된다. (SYNC)
+ * - 연결 오류 등으로 실패하면 같은 배치를 간격을 늘려 가며 재시도한다. 데이터 오류(SQLState 22/23)면
+ *   메시지 단위로 나눠 저장하고, 그래도 실패한 메시지만 버린다.
+ * - 대기 중인 메시지가 maxPending 을 넘으면 제출을 거부한다. (DB 장애 시 메모리 보호)
+ * - messages 를 읽고 판단하는 방 작업은 {@link #awaitRoom(long)} 으로 그 방의 대기 메시지가 저장된 뒤에 실행한다.
+ *
+ * 메시지 id 는 DB 의 auto increment 대신 idSource 에서 받으므로, messages 에 쓰는 모든 경로가 이 단계를 거쳐야 한다.
+ */
+public class MessageWriteBehind implements AutoCloseable {
+
+    private static final Logger log = LogManager.getLogger(MessageWriteBehind.class);
+
+    private static final int MAX_ROWS_PER_STATEMENT = MultiRowInsert.MAX_ROWS;
+    private static final long MAX_RETRY_BACKOFF_MS = 5_000L;
+
+    /**
+     * 전송과 저장의 순서
+     */
+    public enum Durability {
+        ASYNC, // 바로 전송하고 뒤에 저장 (저장 전 장애 시 유실 가능)
+        SYNC // 커밋 후 전송
+    }
+
+    private final ConnectionSource connections;
+    private final LongSupplier idSource;
+    private final Durability durability;
+    private final int batchRows;
+    private final long flushIntervalNanos;
+    private final int maxPending;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pendingChanged = lock.newCondition();
+    private final ArrayDeque<PendingMessage> pending = new ArrayDeque<>();
+    // 방별로 마지막에 제출되어 아직 저장(또는 폐기)되지 않은 메시지
+    private final Map<Long, PendingMessage> roomTails = new HashMap<>();
+    private int pendingRows = 0;
+    private boolean running = false;
+    private boolean closed = false;
+
+    private Thread writer;
+
+    /**
+     * @param idSource        메시지 id 발급 (호출마다 증가하는 값)
+     * @param batchRows       이 행 수(메시지 + 상태 행)가 모이면 기다리지 않고 저장
+     * @param flushIntervalMs 첫 메시지가 들어온 뒤 저장까지 최대 대기 시간
+     * @param maxPending      저장을 기다릴 수 있는 최대 메시지 수
+     * @param durability      전송 전에 커밋을 기다릴지 여부 (호출하는 쪽이 {@link #getDurability()} 로 확인)
+     */
+    public MessageWriteBehind(ConnectionSource connections, LongSupplier idSource, int batchRows, long flushIntervalMs,
+            int maxPending, Durability durability) {
+        if (batchRows <= 0 || maxPending <= 0) {
+            throw new IllegalArgumentException("batchRows, maxPending 은 1 이상이어야 합니다");
+        }
+        this.connections = connections;
+        this.idSource = idSource;
+        this.batchRows = batchRows;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, flushIntervalMs));
+        this.maxPending = maxPending;
+        this.durability = durability;
+    }
+
+    /**
+     * 메시지 id 를 발급해 command.messageId 에 넣고 저장 대기열에 추가
+     *
+     * 저장할 값은 지금 복사하므로 이후 command 가 바뀌어도 영향이 없다.
+     *
+     * @param recipientIds 상태(UNREAD) 행을 만들 수신자 (없으면 메시지만 저장)
+     * @return 커밋되면 완료되는 future
+     * @throws RejectedExecutionException 대기열이 가득 찼거나 종료됨
+     */
+    public CompletableFuture<Void> submit(SendMessageCommand command, long[] recipientIds) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new RejectedExecutionException("메시지 저장 단계가 종료됨");
+            }
+            if (pending.size() >= maxPending) {
+                PerformanceLogger.incrementCounter("MESSAGE_WRITE_REJECTED");
+                throw new RejectedExecutionException("메시지 저장 대기열 가득 참: pending=" + pending.size());
+            }
+            // id 발급과 대기열 추가를 같은 잠금 안에서 해서 대기열이 id 순서를 유지하도록 한다.
+            command.messageId = idSource.getAsLong();
+            PendingMessage message = new PendingMessage(command, recipientIds);
+            boolean wasEmpty = pending.isEmpty();
+            pending.addLast(message);
+            roomTails.put(message.roomId, message);
+            message.persisted.whenComplete((ignored, error) -> forgetRoomTail(message));
+            pendingRows += message.rows();
+            if (wasEmpty || pendingRows >= batchRows) {
+                pendingChanged.signal();
+            }
+            return message.persisted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 기록 스레드 시작
+     */
+    public void start() {
+        lock.lock();
+        try {
+            if (running || closed) {
+                return;
+            }
+            running = true;
+        } finally {
+            lock.unlock();
+        }
+        Thread thread = new Thread(this::runWriter, "message-writer");
+        thread.setDaemon(true);
+        thread.start();
+        writer = thread;
+    }
+
+    /**
+     * 대기 중인 메시지를 한 배치 저장 (기록 스레드를 쓰지 않을 때, 종료 시)
+     *
+     * @return 저장을 시도한 메시지 수
+     */
+    public int flush() {
+        List<PendingMessage> batch = takeBatch();
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+        return batch.size();
+    }
+
+    /**
+     * 지금까지 이 방에 제출된 메시지가 모두 저장(또는 폐기)되면 완료되는 future (대기 메시지가 없으면 완료된 상태)
+     *
+     * 대기열과 배치는 제출 순서대로 처리되므로 방의 마지막 메시지만 기다리면 된다.
+     * 저장 실패로 버려진 메시지도 완료로 본다. 완료는 기록 스레드에서 일어나므로 DB 작업은 다른 실행기에서 이어 간다.
+     */
+    public CompletableFuture<Void> awaitRoom(long roomId) {
+        lock.lock();
+        try {
+            PendingMessage tail = roomTails.get(roomId);
+            if (tail == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return tail.persisted.handle((ignored, error) -> null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 지금까지 제출된 모든 방의 메시지가 저장(또는 폐기)되면 완료되는 future (대기 메시지가 없으면 완료된 상태)
+     *
+     * ASYNC 는 저장 전에 전송하므로, 저장된 로그를 읽는 재접속 재전송은 먼저 이 future 를 기다려야
+     * 접속하지 않은 동안 전송된 대기 메시지를 빠뜨리지 않는다.
+     */
+    public CompletableFuture<Void> awaitAll() {
+        lock.lock();
+        try {
+            if (roomTails.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<?>[] tails = new CompletableFuture<?>[roomTails.size()];
+            int i = 0;
+            for (PendingMessage tail : roomTails.values()) {
+                tails[i++] = tail.persisted.handle((ignored, error) -> null);
+            }
+            return CompletableFuture.allOf(tails);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void forgetRoomTail(PendingMessage message) {
+        lock.lock();
+        try {
+            roomTails.remove(message.roomId, message);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 새 메시지를 받지 않고, 대기 중인 메시지를 모두 저장한 뒤 종료
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            running = false;
+            pendingChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        Thread thread = writer;
+        if (thread != null) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int remaining = getPendingCount();
+        if (remaining > 0) {
+            log.error("종료 시 저장하지 못한 메시지: count={}", remaining);
+        }
+    }
+
+    private void runWriter() {
+        log.info("메시지 기록 스레드 시작: batchRows={}, flushIntervalMs={}, maxPending={}, durability={}", batchRows,
+                TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos), maxPending, durability);
+        while (true) {
+            List<PendingMessage> batch;
+            lock.lock();
+            try {
+                while (running && pending.isEmpty()) {
+                    pendingChanged.awaitUninterruptibly();
+                }
+                if (!running && pending.isEmpty()) {
+                    break;
+                }
+                // 첫 메시지 도착 후 flushInterval 동안, 또는 batchRows 가 찰 때까지 모은다.
+                long deadline = pending.peekFirst().enqueuedNanos + flushIntervalNanos;
+                long remaining;
+                while (running && pendingRows < batchRows && (remaining = deadline - System.nanoTime()) > 0) {
+                    try {
+                        pendingChanged.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            batch = takeBatch();
+            if (!batch.isEmpty()) {
+                writeWithRetry(batch);
+            }
+        }
+        log.info("메시지 기록 스레드 종료");
+    }
+
+    /**
+     * 대기열 앞에서 batchRows 행까지 꺼낸다. (메시지 하나는 행이 많아도 통째로)
+     */
+    private List<PendingMessage> takeBatch() {
+        lock.lock();
+        try {
+            List<PendingMessage> batch = new ArrayList<>();
+            int rows = 0;
+            while (!pending.isEmpty() && (batch.isEmpty() || rows + pending.peekFirst().rows() <= batchRows)) {
+                PendingMessage message = pending.pollFirst();
+                pendingRows -= message.rows();
+                rows += message.rows();
+                batch.add(message);
+            }
+            PerformanceLogger.recordValue("MESSAGE_WRITE_PENDING", pending.size());
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 연결 오류는 성공할 때까지 재시도 (종료 중이면 몇 번만)
+     */
+    private void writeWithRetry(List<PendingMessage> batch) {
+        long backoffMs = 100;
+        int attempts = 0;
+        while (!write(batch)) {
+            attempts++;
+            if (isClosed() && attempts >= 3) {
+                for (PendingMessage message : batch) {
+                    message.persisted.completeExceptionally(new SQLException("종료 중 메시지 저장 실패"));
+                }
+                log.error("종료 중 메시지 배치 저장 포기: messages={}", batch.size());
+                return;
+            }
+            PerformanceLogger.incrementCounter("MESSAGE_WRITE_RETRY");
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            backoffMs = Math.min(backoffMs * 2, MAX_RETRY_BACKOFF_MS);
+        }
+    }
+
+    /**
+     * 배치 저장
+     *
+     * @return 재시도가 필요 없으면 true (성공, 또는 데이터 오류로 메시지 단위 처리 완료)
+     */
+    private boolean write(List<PendingMessage> batch) {
+        PerformanceLogger.Timer timer = PerformanceLogger.startTimer("MESSAGE_WRITE_BATCH",
+                String.format("messages=%d", batch.size()));
+        try {
+            int rows = insert(batch);
+            long commitNanos = System.nanoTime();
+            timer.stop();
+            PerformanceLogger.recordValue("MESSAGE_WRITE_BATCH_MESSAGES", batch.size());
+            PerformanceLogger.recordValue("MESSAGE_WRITE_BATCH_ROWS", rows);
+            for (PendingMessage message : batch) {
+                // 전송(제출) 시점부터 커밋까지의 지연
+                PerformanceLogger.recordValue("MESSAGE_PERSIST_LAG_MICROS",
+                        (commitNanos - message.enqueuedNanos) / 1_000);
+                message.persisted.complete(null);
+            }
+            log.debug("메시지 배치 저장 완료: messages={}, rows={}", batch.size(), rows);
+            return true;
+        } catch (SQLException e) {
+            timer.stop("ERROR: " + e.getSQLState());
+            if (!isDataError(e)) {
+                log.error("메시지 배치 저장 실패, 재시도: messages={}, sqlState={}, error={}", batch.size(),
+                        e.getSQLState(), e.getMessage());
+                return false;
+            }
+            if (batch.size() == 1) {
+                PendingMessage message = batch.get(0);
+                PerformanceLogger.incrementCounter("MESSAGE_WRITE_DROPPED");
+                log.error("메시지 저장 실패, 버림: messageId={}, roomId={}, sqlState={}, error={}", message.id,
+                        message.roomId, e.getSQLState(), e.getMessage(), e);
+                message.persisted.completeExceptionally(e);
+                return true;
+            }
+            // 문제 메시지만 걸러내도록 하나씩 다시 저장
+            log.warn("메시지 배치 데이터 오류, 메시지 단위로 저장: messages={}, error={}", batch.size(), e.getMessage());
+            for (PendingMessage message : batch) {
+                writeWithRetry(List.of(message));
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 한 트랜잭션에서 메시지 행과 상태 행을 여러 행 insert
+     *
+     * @return 저장한 행 수
+     */
+    private int insert(List<PendingMessage> batch) throws SQLException {
+        List<PendingMessage> statusOwners = new ArrayList<>();
+        int statusRows = 0;
+        for (PendingMessage message : batch) {
+            if (message.recipientIds.length > 0) {
+                statusOwners.add(message);
+                statusRows += message.recipientIds.length;
+            }
+        }
+
+        try (Connection conn = connections.open()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                for (int from = 0; from < batch.size(); from += MAX_ROWS_PER_STATEMENT) {
+                    int to = Math.min(batch.size(), from + MAX_ROWS_PER_STATEMENT);
+                    insertMessages(conn, batch.subList(from, to));
+                }
+                insertStatuses(conn, statusOwners, statusRows);
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackEx) {
+                    log.warn("메시지 배치 롤백 실패: error={}", rollbackEx.getMessage());
+                }
+                throw e;
+            } finally {
+                try {
+                    conn.setAutoCommit(autoCommit);
+                } catch (SQLException e) {
+                    log.warn("AutoCommit 원복 실패: error={}", e.getMessage());
+                }
+            }
+        }
+        return batch.size() + statusRows;
+    }
+
+    private static void insertMessages(Connection conn, List<PendingMessage> messages) throws SQLException {
+        String sql = MultiRowInsert.sql(
+                "insert into messages (id, chat_room_id, sender_id, content, type, sended_at, room_seq) values ",
+                "(?, ?, ?, ?, ?, ?, ?)", messages.size());
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (PendingMessage message : messages) {
+                ps.setLong(index++, message.id);
+                ps.setLong(index++, message.roomId);
+                ps.setLong(index++, message.senderId);
+                ps.setString(index++, message.content);
+                ps.setString(index++, message.type);
+                ps.setString(index++, message.createdAt);
+                ps.setObject(index++, message.roomSeq);
+            }
+            ps.executeUpdate();
+        }
+    }
+
+    private static void insertStatuses(Connection conn, List<PendingMessage> messages, int totalRows)
+            throws SQLException {
+        if (totalRows == 0) {
+            return;
+        }
+        String unread = SendMessageCommand.ReadStatus.UNREAD.toString();
+        String prefix = "insert into message_status (message_id, recipient_id, status, date_time) values ";
+        String row = "(?, ?, ?, ?)";
+        String fullSql = MultiRowInsert.sql(prefix, row, MAX_ROWS_PER_STATEMENT);
+
+        PreparedStatement full = null;
+        try {
+            int inStatement = 0;
+            int written = 0;
+            PreparedStatement ps = null;
+            for (PendingMessage message : messages) {
+                for (long recipientId : message.recipientIds) {
+                    if (inStatement == 0) {
+                        int remaining = totalRows - written;
+                        if (remaining >= MAX_ROWS_PER_STATEMENT) {
+                            if (full == null) {
+                                full = conn.prepareStatement(fullSql);
+                            }
+                            ps = full;
+                        } else {
+                            ps = conn.prepareStatement(MultiRowInsert.sql(prefix, row, remaining));
+                        }
+                    }
+                    int index = inStatement * 4;
+                    ps.setLong(index + 1, message.id);
+                    ps.setLong(index + 2, recipientId);
+                    ps.setString(index + 3, unread);
+                    ps.setString(index + 4, message.createdAt);
+                    inStatement++;
+                    written++;
+                    if (inStatement == MAX_ROWS_PER_STATEMENT || written == totalRows) {
+                        ps.executeUpdate();
+                        if (ps != full) {
+                            ps.close();
+                        }
+                        inStatement = 0;
+                    }
+                }
+            }
+        } finally {
+            if (full != null) {
+                full.close();
+            }
+        }
+    }
+
+    /**
+     * 같은 데이터로는 다시 해도 실패하는 오류 (데이터 예외 22xxx, 무결성 제약 23xxx)
+     */
+    private static boolean isDataError(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && (state.startsWith("22") || state.startsWith("23"));
+    }
+
+    private boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 저장 대기 중인 메시지 (제출 시점 값의 복사본)
+     */
+    private static class PendingMessage {
+        final long id;
+        final long roomId;
+        final long senderId;
+        final String content;
+        final String type;
+        final String createdAt;
+        final Long roomSeq; // 시스템 메시지는 null
+        final long[] recipientIds;
+        final long enqueuedNanos = System.nanoTime();
+        final CompletableFuture<Void> persisted = new CompletableFuture<>();
+
+        PendingMessage(SendMessageCommand command, long[] recipientIds) {
+            this.id = command.messageId;
+            this.roomId = command.roomId;
+            this.senderId = command.requesterId != null ? command.requesterId : 0L;
+            this.content = command.content;
+            this.type = command.type != null ? command.type.toString() : null;
+            this.createdAt = command.createdAT;
+            this.roomSeq = command.roomSeq;
+            this.recipientIds = recipientIds != null ? recipientIds : new long[0];
+        }
+
+        int rows() {
+            return 1 + recipientIds.length;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.teamnova.database;
+
+/**
+ * 여러 행 insert 문 생성 ("insert ... values (?, ?), (?, ?), ...")
+ *
+ * 한 문장에 넣는 행 수는 MAX_ROWS 로 나눈다. (max_allowed_packet 보호, 같은 크기 문장은 문장 캐시에서 재사용)
+ */
+final class MultiRowInsert {
+
+    static final int MAX_ROWS = 500;
+
+    private MultiRowInsert() {
+    }
+
+    static String sql(String prefix, String row, int rows) {
+        StringBuilder sql = new StringBuilder(prefix.length() + (row.length() + 2) * rows);
+        sql.append(prefix);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(row);
+        }
+        return sql.toString();
+    }
+}
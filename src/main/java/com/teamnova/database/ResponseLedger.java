@@ -0,0 +1,62 @@
+package com.teamnova.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import com.teamnova.command.FanoutEncoder;
+import com.teamnova.command.ResponseCommand;
+
+/**
+ * 전송 내역(response_commands) 일괄 기록
+ *
+ * 방 전송 한 번의 수신자별 행을 여러 행 insert 로 넣고, 생성된 id 를 수신자 순서대로 돌려준다.
+ * (여러 행 insert 의 auto increment 값은 연속으로 할당되고 getGeneratedKeys 도 행 순서대로 반환된다)
+ * 수신자가 MultiRowInsert.MAX_ROWS 이하면 DB 왕복은 한 번이다.
+ */
+public final class ResponseLedger {
+
+    private static final String INSERT_PREFIX = "insert into response_commands (action, recipient_id, json, status) values ";
+    private static final String INSERT_ROW = "(?, ?, ?, ?)";
+
+    private ResponseLedger() {
+    }
+
+    /**
+     * 수신자마다 recipientId 만 바꾼 json 을 기록 (json 에 전송 내역 id 는 넣지 않음, 재전송 시 행 id 로 채움)
+     *
+     * @return recipientIds 와 같은 순서의 전송 내역 id (생성 키를 받지 못한 행은 null)
+     */
+    public static Long[] insert(Connection conn, FanoutEncoder encoder, long[] recipientIds) throws SQLException {
+        Long[] ids = new Long[recipientIds.length];
+        if (recipientIds.length == 0) {
+            return ids;
+        }
+        ResponseCommand command = encoder.getCommand();
+        String action = command.action.toString();
+        String status = command.transmissionStatus.toString();
+        for (int from = 0; from < recipientIds.length; from += MultiRowInsert.MAX_ROWS) {
+            int rows = Math.min(MultiRowInsert.MAX_ROWS, recipientIds.length - from);
+            String sql = MultiRowInsert.sql(INSERT_PREFIX, INSERT_ROW, rows);
+            try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                int index = 1;
+                for (int i = from; i < from + rows; i++) {
+                    ps.setString(index++, action);
+                    ps.setLong(index++, recipientIds[i]);
+                    ps.setString(index++, encoder.encode(recipientIds[i], null));
+                    ps.setString(index++, status);
+                }
+                ps.executeUpdate();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    int i = from;
+                    while (i < from + rows && keys.next()) {
+                        ids[i++] = keys.getLong(1);
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,186 @@
+package com.teamnova.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.teamnova.command.chat.SendMessageCommand;
+import com.teamnova.command.chat.SendMessageCommand.ReadStatus;
+import com.teamnova.command.chat.SendMessageCommand.Type;
+import com.teamnova.utils.TimeUtils;
+
+/**
+ * 커서 전송 모델의 사용자별 방 커서 (room_cursors)
+ *
+ * 채팅 메시지는 수신자별 전송 내역(response_commands)을 남기지 않는다. 방의 메시지 로그(messages)를 기준으로
+ * 사용자마다 방별로 수신 확인한 마지막 방 순번(room_seq)만 기록하고, 재접속하면 커서 다음부터 로그 끝까지를 다시 보낸다.
+ * 저장량은 메시지 수 x 멤버 수가 아니라 메시지 수 + 멤버십 수에 비례한다.
+ *
+ * 커서는 메시지 id 가 아니라 방 안에서 빈틈없이 증가하는 room_seq 를 쓴다. 메시지 id 는 발급 순서와 커밋 순서가
+ * 다를 수 있어 뒤 id 의 수신 확인이 아직 저장되지 않은 앞 메시지를 건너뛰게 만든다.
+ * 앞 순번이 모두 저장된 뒤에 전진시키는 것은 호출하는 쪽이 맡는다. (ChatRoom.awaitSettled)
+ * room_seq 가 없는 이전 메시지는 전송 내역 재전송이 맡는다.
+ *
+ * 커서는 뒤로 가지 않는다. (수신 확인이 늦게/순서가 바뀌어 와도 더 큰 값만 반영)
+ */
+public class RoomCursorStore {
+
+    private static final Logger log = LogManager.getLogger(RoomCursorStore.class);
+
+    private static final String CREATE_TABLE = "create table if not exists room_cursors ("
+            + "user_id bigint not null, "
+            + "chat_room_id bigint not null, "
+            + "last_room_seq bigint not null default 0, "
+            + "updated_at varchar(32), "
+            + "primary key (user_id, chat_room_id))";
+
+    // 커서가 없는 현재 멤버십은 지금의 로그 끝에서 시작 (이전 메시지는 전송 내역 재전송이 맡는다)
+    private static final String SEED_CURSORS = "insert ignore into room_cursors (user_id, chat_room_id, last_room_seq, updated_at) "
+            + "select ucm.user_id, ucm.chat_room_id, "
+            + "(select coalesce(max(m.room_seq), 0) from messages m where m.chat_room_id = ucm.chat_room_id), ? "
+            + "from user_chatroom_map ucm where ucm.exited_at is null";
+
+    private static final String START_AT_HEAD = "insert into room_cursors (user_id, chat_room_id, last_room_seq, updated_at) "
+            + "select ?, ?, greatest(coalesce(max(room_seq), 0), ?), ? from messages where chat_room_id = ? "
+            + "on duplicate key update last_room_seq = greatest(last_room_seq, values(last_room_seq)), "
+            + "updated_at = values(updated_at)";
+
+    // 참여 중인 방이고 저장된 로그 끝을 넘지 않는 순번만 반영
+    private static final String ADVANCE = "insert into room_cursors (user_id, chat_room_id, last_room_seq, updated_at) "
+            + "select ucm.user_id, ucm.chat_room_id, ?, ? from user_chatroom_map ucm "
+            + "where ucm.user_id = ? and ucm.chat_room_id = ? and ucm.exited_at is null "
+            + "and ? <= (select coalesce(max(m.room_seq), 0) from messages m where m.chat_room_id = ucm.chat_room_id) "
+            + "limit 1 "
+            + "on duplicate key update last_room_seq = greatest(last_room_seq, values(last_room_seq)), "
+            + "updated_at = values(updated_at)";
+
+    // 참여 중인 방에서 커서 이후의 메시지 (시스템 메시지 제외), 키셋 페이지
+    private static final String READ_SINCE = "select m.id, m.chat_room_id, m.sender_id, m.content, m.type, m.sended_at, "
+            + "m.room_seq "
+            + "from room_cursors c "
+            + "join user_chatroom_map ucm on ucm.user_id = c.user_id and ucm.chat_room_id = c.chat_room_id "
+            + "and ucm.exited_at is null "
+            + "join messages m on m.chat_room_id = c.chat_room_id and m.room_seq > c.last_room_seq and m.id > ? "
+            + "where c.user_id = ? and m.sender_id <> 0 "
+            + "order by m.id limit ?";
+
+    private final ConnectionSource connections;
+    private final int replayPageSize;
+
+    /**
+     * @param replayPageSize 재접속 재전송 시 한 번에 읽는 메시지 수
+     */
+    public RoomCursorStore(ConnectionSource connections, int replayPageSize) {
+        if (replayPageSize <= 0) {
+            throw new IllegalArgumentException("replayPageSize 는 1 이상이어야 합니다");
+        }
+        this.connections = connections;
+        this.replayPageSize = replayPageSize;
+    }
+
+    /**
+     * 테이블 생성, 커서가 없는 현재 멤버십의 커서를 로그 끝으로 초기화 (시작 시 한 번, 여러 번 해도 같음)
+     *
+     * @return 새로 만든 커서 수
+     */
+    public int ensureSchema() throws SQLException {
+        try (Connection conn = connections.open()) {
+            try (Statement statement = conn.createStatement()) {
+                statement.execute(CREATE_TABLE);
+            }
+            try (PreparedStatement ps = conn.prepareStatement(SEED_CURSORS)) {
+                ps.setString(1, TimeUtils.getCurrentTimeInUTC());
+                return ps.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * 방에 들어온 사용자의 커서를 현재 로그 끝으로 (입장 전 메시지는 보내지 않음)
+     *
+     * @param issuedHeadSeq 이 방에 발급한 마지막 순번 (저장 대기 중 포함, 없으면 0), 저장된 최댓값보다 크면 이 값에서 시작
+     */
+    public void startAtHead(long userId, long roomId, long issuedHeadSeq) throws SQLException {
+        try (Connection conn = connections.open(); PreparedStatement ps = conn.prepareStatement(START_AT_HEAD)) {
+            ps.setLong(1, userId);
+            ps.setLong(2, roomId);
+            ps.setLong(3, issuedHeadSeq);
+            ps.setString(4, TimeUtils.getCurrentTimeInUTC());
+            ps.setLong(5, roomId);
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * 수신 확인: 커서를 roomSeq 까지 전진 (이미 더 앞이면 그대로)
+     *
+     * 참여 중이 아닌 방이거나 저장된 로그 끝보다 큰 순번이면 반영하지 않는다.
+     * roomSeq 이하의 순번이 모두 저장소에 반영된 뒤에 호출해야 한다.
+     *
+     * @return 반영되지 않았으면 false
+     */
+    public boolean advance(long userId, long roomId, long roomSeq) throws SQLException {
+        try (Connection conn = connections.open(); PreparedStatement ps = conn.prepareStatement(ADVANCE)) {
+            ps.setLong(1, roomSeq);
+            ps.setString(2, TimeUtils.getCurrentTimeInUTC());
+            ps.setLong(3, userId);
+            ps.setLong(4, roomId);
+            ps.setLong(5, roomSeq);
+            return ps.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * 참여 중인 방들의 커서 이후 메시지를 id 순으로 전달 (replayPageSize 씩 나눠 읽어 한꺼번에 메모리에 올리지 않음)
+     *
+     * 커서는 전진시키지 않는다. 클라이언트의 수신 확인이 와야 전진한다.
+     * 저장된 로그만 읽으므로 지연 저장 중인 메시지는 먼저 저장되기를 기다린 뒤 호출한다. (MessageWriteBehind.awaitAll)
+     *
+     * @return 전달한 메시지 수
+     */
+    public int replaySince(long userId, Consumer<SendMessageCommand> sink) throws SQLException {
+        int total = 0;
+        long after = 0;
+        try (Connection conn = connections.open(); PreparedStatement ps = conn.prepareStatement(READ_SINCE)) {
+            while (true) {
+                ps.setLong(1, after);
+                ps.setLong(2, userId);
+                ps.setInt(3, replayPageSize);
+                int rows = 0;
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        SendMessageCommand command = toCommand(rs, userId);
+                        after = command.messageId;
+                        rows++;
+                        sink.accept(command);
+                    }
+                }
+                total += rows;
+                if (rows < replayPageSize) {
+                    break;
+                }
+            }
+        }
+        log.debug("커서 이후 메시지 재전송: userId={}, count={}", userId, total);
+        return total;
+    }
+
+    private static SendMessageCommand toCommand(ResultSet rs, long recipientId) throws SQLException {
+        SendMessageCommand command = new SendMessageCommand(rs.getLong("chat_room_id"), rs.getString("content"),
+                Type.valueOf(rs.getString("type")));
+        command.messageId = rs.getLong("id");
+        command.requesterId = rs.getLong("sender_id");
+        command.createdAT = rs.getString("sended_at");
+        long roomSeq = rs.getLong("room_seq");
+        command.roomSeq = rs.wasNull() ? null : roomSeq;
+        command.recipientId = recipientId;
+        command.readStatus = ReadStatus.UNREAD;
+        return command;
+    }
+}
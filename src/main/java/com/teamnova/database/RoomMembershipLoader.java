@@ -0,0 +1,286 @@
+package com.teamnova.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.teamnova.chat.ChatRoom;
+import com.teamnova.utils.PerformanceLogger;
+
+/**
+ * 시작 시 채팅방 멤버십 병렬 적재기
+ *
+ * 방 id 범위 [min, max] 를 구간(chunk)으로 나누고, 워커 스레드마다 자기 DB 연결로 구간을 하나씩 가져가
+ * (chat_room_id, user_id) 키셋 페이지 단위로 읽는다. 결과 집합 전체를 한 번에 메모리에 올리지 않고
+ * 페이지도 커서 fetch 로 나눠 받으므로, 적재 시간은 코어 수에 비례해 줄고 힙 사용량은 페이지 크기로 제한된다.
+ *
+ * 구간마다 완료 래치가 있어 포트를 먼저 연 경우 {@link #awaitRoom} 으로 해당 방이 속한 구간만 기다릴 수 있다.
+ */
+public class RoomMembershipLoader {
+
+    private static final Logger log = LogManager.getLogger(RoomMembershipLoader.class);
+
+    // 방 id 분포가 고르지 않아도 워커가 놀지 않도록 워커 수보다 구간을 잘게 나눈다.
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private static final String RANGE_QUERY = "select min(chat_room_id), max(chat_room_id) from user_chatroom_map";
+
+    private static final String PAGE_QUERY = "select m.chat_room_id, m.user_id from user_chatroom_map m "
+            + "join users u on u.id = m.user_id "
+            + "where m.chat_room_id <= ? and (m.chat_room_id > ? or (m.chat_room_id = ? and m.user_id > ?)) "
+            + "order by m.chat_room_id, m.user_id limit ?";
+
+    // 워커마다 자기 연결을 쓴다 (적재 동안 풀의 연결을 오래 붙잡지 않도록 풀과 별개로 연다)
+    private final ConnectionSource connections;
+    private final int workers;
+    private final int pageSize;
+
+    private final LongAdder membershipCount = new LongAdder();
+    private final AtomicInteger nextChunk = new AtomicInteger();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private volatile long[][] chunks = new long[0][];
+    private volatile CountDownLatch[] chunkLatches = new CountDownLatch[0];
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile long startNanos;
+    private volatile long durationMillis = -1;
+
+    public RoomMembershipLoader(ConnectionSource connections, int workers, int pageSize) {
+        if (workers <= 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("workers, pageSize 는 1 이상이어야 합니다");
+        }
+        this.connections = connections;
+        this.workers = workers;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * 적재 시작 (즉시 반환). 방 id 범위 조회는 호출 스레드에서 하고, 구간 적재는 워커 스레드가 한다.
+     *
+     * @param target 적재 결과를 넣을 맵 (여러 워커가 동시에 넣으므로 동시성 맵이어야 함)
+     */
+    public void start(ConcurrentMap<Long, ChatRoom> target) throws SQLException {
+        startNanos = System.nanoTime();
+        long minRoomId;
+        long maxRoomId;
+        try (Connection conn = connections.open();
+                PreparedStatement ps = conn.prepareStatement(RANGE_QUERY);
+                ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            minRoomId = rs.getLong(1);
+            maxRoomId = rs.getLong(2);
+            if (rs.wasNull()) {
+                // 멤버십이 하나도 없음
+                finish();
+                log.info("채팅방 멤버십 적재 생략: reason=EMPTY");
+                return;
+            }
+        }
+
+        long[][] ranges = splitRange(minRoomId, maxRoomId, workers * CHUNKS_PER_WORKER);
+        CountDownLatch[] latches = new CountDownLatch[ranges.length];
+        for (int i = 0; i < latches.length; i++) {
+            latches[i] = new CountDownLatch(1);
+        }
+        chunkLatches = latches;
+        chunks = ranges;
+
+        int workerCount = Math.min(workers, ranges.length);
+        AtomicInteger running = new AtomicInteger(workerCount);
+        log.info("채팅방 멤버십 적재 시작: minRoomId={}, maxRoomId={}, chunks={}, workers={}, pageSize={}",
+                minRoomId, maxRoomId, ranges.length, workerCount, pageSize);
+
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    runWorker(target);
+                } finally {
+                    if (running.decrementAndGet() == 0) {
+                        finish();
+                    }
+                }
+            }, "room-loader-" + (i + 1));
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    /**
+     * 모든 구간 적재 완료까지 대기. 실패한 구간이 있으면 예외를 던진다.
+     */
+    public void awaitAll() throws InterruptedException {
+        done.await();
+        Throwable cause = failure.get();
+        if (cause != null) {
+            throw new RuntimeException("채팅방 멤버십 적재 실패", cause);
+        }
+    }
+
+    /**
+     * roomId 가 속한 구간의 적재 완료까지 대기 (범위 밖 방 id 는 기다리지 않음)
+     *
+     * @return 제한 시간 안에 완료되었으면 true
+     */
+    public boolean awaitRoom(long roomId, long timeoutMs) throws InterruptedException {
+        if (done.getCount() == 0) {
+            return true;
+        }
+        int index = chunkIndexOf(chunks, roomId);
+        if (index < 0) {
+            // 시작 시점의 방 id 범위 밖 (적재 중에 새로 만든 방 등)
+            return true;
+        }
+        return chunkLatches[index].await(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isComplete() {
+        return done.getCount() == 0;
+    }
+
+    public long getMembershipCount() {
+        return membershipCount.sum();
+    }
+
+    /**
+     * @return 적재 소요 시간 (아직 진행 중이면 -1)
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    private void runWorker(ConcurrentMap<Long, ChatRoom> target) {
+        long[][] ranges = chunks;
+        Connection conn = null;
+        try {
+            conn = connections.open();
+            int index;
+            while ((index = nextChunk.getAndIncrement()) < ranges.length) {
+                try {
+                    loadChunk(conn, ranges[index][0], ranges[index][1], target);
+                } finally {
+                    chunkLatches[index].countDown();
+                }
+            }
+        } catch (Exception e) {
+            failure.compareAndSet(null, e);
+            log.error("채팅방 멤버십 구간 적재 실패: thread={}, error={}", Thread.currentThread().getName(),
+                    e.getMessage(), e);
+            // 남은 구간을 기다리는 쪽이 멈추지 않도록 가져가지 못한 구간도 완료 처리한다.
+            int index;
+            while ((index = nextChunk.getAndIncrement()) < ranges.length) {
+                chunkLatches[index].countDown();
+            }
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    log.warn("적재 연결 종료 실패: error={}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 방 id 구간 [fromRoomId, toRoomId] 를 (chat_room_id, user_id) 키셋 페이지로 읽어 target 에 추가
+     */
+    private void loadChunk(Connection conn, long fromRoomId, long toRoomId, ConcurrentMap<Long, ChatRoom> target)
+            throws SQLException {
+        PerformanceLogger.Timer timer = PerformanceLogger.startTimer("ROOM_LOAD_CHUNK",
+                String.format("from=%d,to=%d", fromRoomId, toRoomId));
+        long lastRoomId = fromRoomId - 1;
+        long lastUserId = Long.MIN_VALUE;
+        long rows = 0;
+        try (PreparedStatement ps = conn.prepareStatement(PAGE_QUERY)) {
+            // useCursorFetch 연결에서는 페이지도 fetchSize 단위로 나눠 받는다.
+            ps.setFetchSize(Math.min(pageSize, 1_000));
+            int pageRows;
+            do {
+                ps.setLong(1, toRoomId);
+                ps.setLong(2, lastRoomId);
+                ps.setLong(3, lastRoomId);
+                ps.setLong(4, lastUserId);
+                ps.setInt(5, pageSize);
+                pageRows = 0;
+                ChatRoom room = null;
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        long roomId = rs.getLong(1);
+                        long userId = rs.getLong(2);
+                        if (room == null || room.id != roomId) {
+                            room = target.computeIfAbsent(roomId, RoomMembershipLoader::newRoom);
+                        }
+                        room.addMember(userId);
+                        lastRoomId = roomId;
+                        lastUserId = userId;
+                        pageRows++;
+                    }
+                }
+                rows += pageRows;
+            } while (pageRows == pageSize);
+        } catch (SQLException e) {
+            timer.stop("ERROR: " + e.getSQLState());
+            throw e;
+        }
+        membershipCount.add(rows);
+        timer.stop();
+        log.debug("채팅방 멤버십 구간 적재 완료: from={}, to={}, rows={}", fromRoomId, toRoomId, rows);
+    }
+
+    private void finish() {
+        durationMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        done.countDown();
+    }
+
+    private static ChatRoom newRoom(Long roomId) {
+        ChatRoom room = new ChatRoom();
+        room.id = roomId;
+        return room;
+    }
+
+    /**
+     * [min, max] 를 겹치지 않는 최대 parts 개의 연속 구간으로 나눈다.
+     */
+    public static long[][] splitRange(long min, long max, int parts) {
+        long span = max - min + 1;
+        int count = (int) Math.max(1, Math.min(parts, span));
+        long[][] ranges = new long[count][];
+        long from = min;
+        for (int i = 0; i < count; i++) {
+            // 나머지는 앞쪽 구간에 하나씩 더 배분
+            long size = span / count + (i < span % count ? 1 : 0);
+            ranges[i] = new long[] { from, from + size - 1 };
+            from += size;
+        }
+        return ranges;
+    }
+
+    /**
+     * @return roomId 를 포함하는 구간 번호, 없으면 -1
+     */
+    private static int chunkIndexOf(long[][] ranges, long roomId) {
+        int low = 0;
+        int high = ranges.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (roomId < ranges[mid][0]) {
+                high = mid - 1;
+            } else if (roomId > ranges[mid][1]) {
+                low = mid + 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+}
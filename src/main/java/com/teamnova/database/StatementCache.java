@@ -0,0 +1,250 @@
+package com.teamnova.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.teamnova.utils.PerformanceLogger;
+
+/**
+ * 물리 연결 하나에 딸린 PreparedStatement 캐시 (SQL 기준, LRU)
+ *
+ * 같은 SQL 을 다시 prepare 하면 이전 문장을 재사용해서 파싱(서버 측 prepare 면 왕복)을 건너뛴다.
+ * 꺼내 준 문장은 프록시라서 close() 하면 결과 집합을 닫고 파라미터를 지운 뒤 캐시로 돌아간다.
+ * 호출하는 쪽이 close 를 빠뜨려도 연결 반납 시 {@link #returnLeased()} 로 모두 회수되므로 문장이 새지 않는다.
+ *
+ * 연결은 한 번에 한 스레드만 빌리므로 동기화하지 않는다.
+ */
+class StatementCache {
+
+    private static final Logger log = LogManager.getLogger(StatementCache.class);
+
+    private final int capacity;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    private final LinkedHashMap<String, CachedStatement> statements;
+    // 현재 대여 중에 꺼내 준 문장 (반납 시 회수)
+    private final List<Checkout> leased = new ArrayList<>();
+
+    StatementCache(int capacity, LongAdder hits, LongAdder misses) {
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+        this.statements = new LinkedHashMap<String, CachedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() <= StatementCache.this.capacity) {
+                    return false;
+                }
+                eldest.getValue().evict();
+                PerformanceLogger.incrementCounter("DB_STMT_CACHE_EVICT");
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @param owner             문장의 getConnection() 이 돌려줄 연결 (대여 프록시)
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS 등, 지정하지 않았으면 null
+     */
+    PreparedStatement prepare(Connection owner, Connection physical, String sql, Integer autoGeneratedKeys)
+            throws SQLException {
+        String key = autoGeneratedKeys == null ? sql : autoGeneratedKeys + ":" + sql;
+        CachedStatement cached = capacity > 0 ? statements.get(key) : null;
+        if (cached != null && !cached.inUse) {
+            hits.increment();
+            PerformanceLogger.incrementCounter("DB_STMT_CACHE_HIT");
+        } else {
+            misses.increment();
+            PerformanceLogger.incrementCounter("DB_STMT_CACHE_MISS");
+            PreparedStatement statement = autoGeneratedKeys == null
+                    ? physical.prepareStatement(sql)
+                    : physical.prepareStatement(sql, autoGeneratedKeys);
+            // 같은 SQL 이 이미 사용 중이면(중첩 사용) 이번 것은 캐시하지 않고 닫을 때 바로 닫는다.
+            boolean cacheable = capacity > 0 && cached == null;
+            cached = new CachedStatement(statement, !cacheable);
+            if (cacheable) {
+                statements.put(key, cached);
+            }
+        }
+        cached.inUse = true;
+        Checkout checkout = new Checkout(owner, cached);
+        leased.add(checkout);
+        return checkout.proxy;
+    }
+
+    /**
+     * 대여 중 닫지 않은 문장 회수 (연결 반납 시)
+     */
+    void returnLeased() {
+        if (!leased.isEmpty()) {
+            int unclosed = 0;
+            for (Checkout checkout : new ArrayList<>(leased)) {
+                if (!checkout.closed) {
+                    unclosed++;
+                    checkout.close();
+                }
+            }
+            leased.clear();
+            if (unclosed > 0) {
+                PerformanceLogger.addCounter("DB_STMT_UNCLOSED", unclosed);
+            }
+        }
+    }
+
+    /**
+     * 캐시된 문장 모두 닫기 (물리 연결 종료 전)
+     */
+    void closeAll() {
+        returnLeased();
+        Iterator<CachedStatement> iterator = statements.values().iterator();
+        while (iterator.hasNext()) {
+            iterator.next().evict();
+            iterator.remove();
+        }
+    }
+
+    int size() {
+        return statements.size();
+    }
+
+    private void discard(CachedStatement cached) {
+        statements.values().remove(cached);
+    }
+
+    /**
+     * 캐시에 들어 있는 물리 문장
+     */
+    private class CachedStatement {
+        final PreparedStatement statement;
+        final boolean transientStatement; // 캐시하지 않는 문장 (돌려받으면 바로 닫음)
+        boolean inUse = false;
+        boolean evicted = false;
+
+        CachedStatement(PreparedStatement statement, boolean transientStatement) {
+            this.statement = statement;
+            this.transientStatement = transientStatement;
+        }
+
+        /**
+         * 캐시에서 빠짐, 사용 중이면 돌려받을 때 닫는다.
+         */
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                closeQuietly(statement);
+            }
+        }
+
+        void giveBack() {
+            inUse = false;
+            if (evicted || transientStatement) {
+                closeQuietly(statement);
+                return;
+            }
+            try {
+                statement.clearParameters();
+                statement.clearBatch();
+                statement.clearWarnings();
+            } catch (SQLException e) {
+                // 재사용할 수 없는 문장은 닫고, 다음 prepare 때 새로 만들도록 캐시에서 뺀다.
+                evicted = true;
+                closeQuietly(statement);
+                discard(this);
+            }
+        }
+    }
+
+    /**
+     * 한 번의 꺼내 쓰기 (close 는 한 번만 유효, 이후 사용은 거부)
+     */
+    private class Checkout implements InvocationHandler {
+        final Connection owner;
+        final CachedStatement cached;
+        final PreparedStatement proxy;
+        final List<ResultSet> results = new ArrayList<>(1);
+        boolean closed = false;
+
+        Checkout(Connection owner, CachedStatement cached) {
+            this.owner = owner;
+            this.cached = cached;
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    close();
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return cached.statement.toString();
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("이미 닫힌 문장");
+            }
+            Object result;
+            try {
+                result = method.invoke(cached.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof ResultSet) {
+                results.add((ResultSet) result);
+            }
+            return result;
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            leased.remove(this);
+            for (ResultSet resultSet : results) {
+                try {
+                    resultSet.close();
+                } catch (SQLException e) {
+                    log.debug("결과 집합 종료 실패: error={}", e.getMessage());
+                }
+            }
+            results.clear();
+            cached.giveBack();
+        }
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            log.debug("문장 종료 실패: error={}", e.getMessage());
+        }
+    }
+}
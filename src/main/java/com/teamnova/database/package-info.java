@@ -3,6 +3,8 @@
  * 
  * 이 패키지는 데이터베이스 관련 기능을 담당합니다.
  * - DBHelper: 싱글톤 패턴의 데이터베이스 헬퍼 클래스
+ * - ConnectionPool: 크기가 제한된 JDBC 커넥션 풀 (DBHelper 의 모든 쿼리가 호출마다 빌려 씀)
+ * - RoomMembershipLoader: 시작 시 채팅방 멤버십을 방 id 구간별 키셋 페이지로 병렬 적재
  * - 채팅방, 메시지, 사용자 데이터 CRUD 작업
  * - 메시지 상태 관리, 응답 명령 추적
  */
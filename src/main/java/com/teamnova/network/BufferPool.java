@@ -0,0 +1,71 @@
+package com.teamnova.network;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.teamnova.utils.PerformanceLogger;
+
+/**
+ * 고정 크기 힙 ByteBuffer 풀
+ *
+ * 블로킹 소켓의 읽기 버퍼와 FrameDecoder의 미완성 프레임 누적 버퍼로 사용한다.
+ * 힙 버퍼만 다루므로 완성된 프레임은 backing array에서 바로 String으로 디코딩된다.
+ * 반납된 버퍼는 maxPooled 개까지만 보관하고 나머지는 GC에 맡긴다.
+ */
+public class BufferPool {
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledCount = new AtomicInteger(0);
+
+    public BufferPool(int bufferSize, int maxPooled) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize 는 0보다 커야 함: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    /**
+     * 버퍼 대여 (쓰기 모드, position=0, limit=capacity)
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            PerformanceLogger.incrementCounter("BUFFER_POOL_MISS");
+            return ByteBuffer.allocate(bufferSize);
+        }
+        pooledCount.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * 버퍼 반납 (이 풀의 크기가 아닌 버퍼는 무시)
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || buffer.capacity() != bufferSize || !buffer.hasArray()) {
+            return;
+        }
+        if (pooledCount.incrementAndGet() > maxPooled) {
+            pooledCount.decrementAndGet();
+            return;
+        }
+        buffer.clear();
+        buffers.offer(buffer);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * 풀에 보관 중인 유휴 버퍼 수
+     */
+    public int getPooledCount() {
+        return pooledCount.get();
+    }
+}
@@ -0,0 +1,171 @@
+package com.teamnova.network;
+
+import java.nio.ByteBuffer;
+
+import com.teamnova.utils.PerformanceLogger;
+
+/**
+ * 송신 큐의 여러 프레임을 하나의 버퍼로 모아 한 번의 소켓 쓰기로 내보내는 writer 보조 클래스
+ *
+ * 재접속 시 NOT_SENT 재전송이나 활발한 방의 브로드캐스트처럼 작은 프레임이 몰릴 때
+ * 프레임마다 flush(시스템 콜)하지 않도록 한다. writer 스레드(또는 이벤트 루프) 하나에서만 사용한다.
+ * 압축 대상으로 표시된 프레임은 큐에서 꺼낼 때 FrameCompressor로 압축한다.
+ *
+ * 묶음 버퍼는 여러 프레임을 묶을 때만 풀에서 빌리고, 묶음을 다 기록하면 바로 반납한다.
+ * 유휴 연결은 묶음 버퍼를 들고 있지 않는다.
+ */
+public class CoalescingWriter {
+
+    private final OutboundQueue queue;
+    private final int maxBatchBytes;
+    private final FrameCompressor compressor;
+
+    // 묶음 버퍼 풀 (버퍼 크기 = maxBatchBytes)
+    private final BufferPool batchPool;
+
+    // 풀에서 빌린 묶음 버퍼 (여러 프레임을 묶어 기록하는 동안만 보유)
+    private ByteBuffer scratch;
+
+    // 현재 쓰기 중인 묶음 (읽기 모드, 부분 쓰기 시 남은 바이트 보관)
+    private ByteBuffer current;
+
+    // 통계
+    private long flushCount = 0;
+    private long flushedBytes = 0;
+    private long flushedFrames = 0;
+
+    public CoalescingWriter(OutboundQueue queue, int maxBatchBytes) {
+        this(queue, maxBatchBytes, null);
+    }
+
+    /**
+     * 이 writer 전용 풀을 쓰는 생성자 (단독 사용, 테스트용)
+     *
+     * @param compressor 압축 대상 프레임에 쓸 압축기 (null이면 압축하지 않음)
+     */
+    public CoalescingWriter(OutboundQueue queue, int maxBatchBytes, FrameCompressor compressor) {
+        this(queue, new BufferPool(maxBatchBytes, 1), compressor);
+    }
+
+    /**
+     * @param batchPool  연결들이 공유하는 묶음 버퍼 풀 (버퍼 크기가 묶음 최대 바이트 수)
+     * @param compressor 압축 대상 프레임에 쓸 압축기 (null이면 압축하지 않음)
+     */
+    public CoalescingWriter(OutboundQueue queue, BufferPool batchPool, FrameCompressor compressor) {
+        this.queue = queue;
+        this.batchPool = batchPool;
+        this.maxBatchBytes = batchPool.getBufferSize();
+        this.compressor = compressor;
+    }
+
+    /**
+     * 다음에 기록할 묶음 반환
+     *
+     * 이전 묶음이 아직 다 기록되지 않았으면 그것을, 아니면 큐에서 maxBatchBytes 까지 프레임을 모아 반환한다.
+     *
+     * @return 기록할 버퍼 (읽기 모드), 보낼 프레임이 없으면 null
+     */
+    public ByteBuffer nextBatch() {
+        if (current != null && current.hasRemaining()) {
+            return current;
+        }
+        releaseScratch();
+
+        ByteBuffer first = take();
+        if (first == null) {
+            current = null;
+            return null;
+        }
+
+        // 큰 프레임이거나 대기 프레임이 하나뿐이면 복사 없이 그대로 기록
+        // (압축은 크기를 줄이기만 하므로 압축 전 크기로 판단해도 묶음 버퍼를 넘지 않는다)
+        ByteBuffer next = queue.peek();
+        if (next == null || first.remaining() + next.remaining() > maxBatchBytes) {
+            current = first;
+            recordFlush(first.remaining(), 1);
+            return current;
+        }
+
+        scratch = batchPool.acquire();
+        scratch.put(first);
+        int frames = 1;
+        while ((next = queue.peek()) != null && next.remaining() <= scratch.remaining()) {
+            scratch.put(take());
+            frames++;
+        }
+        scratch.flip();
+        current = scratch;
+        recordFlush(scratch.remaining(), frames);
+        return current;
+    }
+
+    /**
+     * 큐에서 다음 프레임을 꺼내고, 압축 대상이면 압축한다.
+     */
+    private ByteBuffer take() {
+        OutboundQueue.Entry entry = queue.pollEntry();
+        if (entry == null) {
+            return null;
+        }
+        if (entry.compressible && compressor != null) {
+            return compressor.compress(entry.frame, entry.frameType);
+        }
+        return entry.frame;
+    }
+
+    private void recordFlush(int bytes, int frames) {
+        flushCount++;
+        flushedBytes += bytes;
+        flushedFrames += frames;
+        PerformanceLogger.recordValue("WRITE_FLUSH_BYTES", bytes);
+        PerformanceLogger.recordValue("WRITE_FLUSH_FRAMES", frames);
+    }
+
+    /**
+     * 큐에서 꺼냈지만 아직 소켓에 기록되지 않은 바이트 수
+     */
+    public int pendingBytes() {
+        return current != null ? current.remaining() : 0;
+    }
+
+    /**
+     * 기록 중인 묶음 폐기 (연결 종료 시)
+     */
+    public void discard() {
+        current = null;
+        releaseScratch();
+    }
+
+    private void releaseScratch() {
+        if (scratch != null) {
+            batchPool.release(scratch);
+            scratch = null;
+        }
+    }
+
+    public long getFlushCount() {
+        return flushCount;
+    }
+
+    public long getFlushedBytes() {
+        return flushedBytes;
+    }
+
+    public long getFlushedFrames() {
+        return flushedFrames;
+    }
+
+    /**
+     * flush 당 평균 바이트 수
+     */
+    public double getBytesPerFlush() {
+        return flushCount > 0 ? (double) flushedBytes / flushCount : 0.0;
+    }
+
+    /**
+     * flush 당 평균 프레임 수
+     */
+    public double getFramesPerFlush() {
+        return flushCount > 0 ? (double) flushedFrames / flushCount : 0.0;
+    }
+}
@@ -0,0 +1,92 @@
+package com.teamnova.network;
+
+import java.net.SocketAddress;
+
+/**
+ * 클라이언트 연결 추상화
+ * 
+ * 블로킹 소켓, NIO 채널 등 구현 방식과 무관하게 프레임 전송과 종료를 처리한다.
+ */
+public interface Connection {
+
+    /**
+     * 프레임 전송 요청 (줄바꿈을 제외한 JSON 문자열)
+     * 
+     * 송신 큐에 넣고 바로 반환하며, 실제 소켓 쓰기는 연결의 writer가 수행한다.
+     * 
+     * @param frame 전송할 프레임
+     * @return 연결이 닫혔거나 송신 큐가 가득 차 거부되면 false
+     */
+    default boolean send(String frame) {
+        return send(frame, null);
+    }
+
+    /**
+     * 종류를 지정한 프레임 전송 요청
+     * 
+     * slow consumer 상태일 때 비필수 종류의 프레임은 버려질 수 있다.
+     * 
+     * @param frame     전송할 프레임
+     * @param frameType 프레임 종류 (액션 이름, 모르면 null)
+     * @return 거부되거나 버려지면 false
+     */
+    boolean send(String frame, String frameType);
+
+    /**
+     * 연결 종료
+     */
+    void close();
+
+    /**
+     * 연결 여부
+     */
+    boolean isOpen();
+
+    /**
+     * 원격 주소 (알 수 없으면 null)
+     */
+    SocketAddress getRemoteAddress();
+
+    /**
+     * 연결의 송신 큐 (깊이, backpressure 상태 조회용)
+     */
+    OutboundQueue getOutboundQueue();
+
+    /**
+     * 현재 프레임 구분 방식
+     */
+    default Framing getFraming() {
+        return Framing.LINE;
+    }
+
+    /**
+     * 프레임 구분 방식 전환 (CONNECT 협상)
+     *
+     * 수신 쪽을 먼저 전환하고, ack 프레임을 기존 방식으로 보낸 뒤 송신 쪽을 전환한다.
+     * 클라이언트는 ack 를 받은 뒤에 새 방식으로 보내야 한다.
+     * 세션이 사용자 목록에 등록되기 전, 이 연결의 수신 처리 스레드에서 호출해야 한다.
+     *
+     * @param framing  전환할 방식
+     * @param ackFrame 기존 방식으로 보낼 응답 프레임
+     * @return 이 연결이 해당 방식을 지원하지 않으면 false (전환하지 않음)
+     */
+    default boolean switchFraming(Framing framing, String ackFrame) {
+        return framing == Framing.LINE;
+    }
+
+    /**
+     * 서버가 이 연결의 송신 프레임 압축을 허용하는지 여부 (실제 적용은 LENGTH_PREFIXED 에서만)
+     */
+    default boolean isCompressionAvailable() {
+        return false;
+    }
+
+    /**
+     * 이후 송신 프레임 압축 시작 (LENGTH_PREFIXED 전환과 CONNECT ack 전송 뒤에 호출)
+     *
+     * @return 압축을 허용하지 않거나 LENGTH_PREFIXED 가 아니면 false
+     */
+    default boolean enableCompression() {
+        return false;
+    }
+}
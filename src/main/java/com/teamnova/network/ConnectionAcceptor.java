@@ -0,0 +1,14 @@
+package com.teamnova.network;
+
+/**
+ * 새 연결이 수락되었을 때 해당 연결의 프레임 핸들러를 생성하는 콜백
+ */
+@FunctionalInterface
+public interface ConnectionAcceptor {
+
+    /**
+     * @param connection 수락된 연결
+     * @return 연결의 프레임을 처리할 핸들러
+     */
+    FrameHandler onAccept(Connection connection);
+}
@@ -0,0 +1,135 @@
+package com.teamnova.network;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+
+import com.teamnova.utils.PerformanceLogger;
+
+/**
+ * LENGTH_PREFIXED 프레임의 프레임 단위 DEFLATE 압축
+ *
+ * CONNECT 에서 compression=DEFLATE 를 협상한 연결의 송신 프레임 중 본문이 thresholdBytes 이상인 것만,
+ * 연결의 writer(이벤트 루프 또는 writer 스레드)가 소켓에 기록하기 직전에 압축한다.
+ * 브로드캐스트하는 스레드는 인코딩만 하고 압축 비용을 지지 않는다.
+ *
+ * 압축 프레임 형식: 길이 헤더에 Framing.COMPRESSED_FLAG 를 켜고, 본문은 PRESET_DICTIONARY 를
+ * 프리셋 사전으로 쓴 zlib(RFC 1950) 스트림이다. 프레임마다 독립적으로 압축하므로 클라이언트는
+ * Inflater 를 매번 reset 하고 needsDictionary() 시 같은 사전을 설정하면 된다.
+ * 압축해도 줄지 않으면 원본을 그대로 보낸다.
+ *
+ * Deflater 는 네이티브 메모리를 많이 쓰므로 연결마다 두지 않고 풀에서 빌려 쓴다. 스레드 안전하다.
+ */
+public class FrameCompressor {
+
+    public static final String DEFLATE = "DEFLATE";
+
+    /**
+     * 프리셋 사전 (자주 나오는 문자열일수록 뒤쪽에 둔다)
+     *
+     * 서버 응답은 Gson 기본 설정(HTML 이스케이프)으로 직렬화되므로 SDP 의 '=' 는 \\u003d 형태로 넣는다.
+     */
+    public static final byte[] PRESET_DICTIONARY = ("a\\u003dextmap:urn:ietf:params:rtp-hdrext:"
+            + "a\\u003dfingerprint:sha-256 a\\u003dice-options:trickle a\\u003dsetup:actpass"
+            + "m\\u003daudio 9 UDP/TLS/RTP/SAVPF m\\u003dvideo 9 UDP/TLS/RTP/SAVPF c\\u003dIN IP4 0.0.0.0"
+            + "a\\u003drtcp-mux a\\u003drtcp-rsize a\\u003dsendrecv a\\u003dmid:a\\u003dice-ufrag:a\\u003dice-pwd:"
+            + "a\\u003drtcp-fb: nack pli goog-remb transport-cc a\\u003dfmtp: a\\u003drtpmap: a\\u003dssrc: cname:"
+            + " typ host typ srflx generation 0 ufrag network-id network-cost candidate:"
+            + "\"sdpMid\":\"\"sdpMLineIndex\":\"iceCandidates\":\"iceCandidate\":\"sdp\":\"offer\"\"answer\""
+            + "\"audioEnabled\":\"videoEnabled\":\"mediaType\":\"adapterType\":\"serverUrl\":\"bitMask\":"
+            + "\"masterUserId\":\"currentMembers\":\"invitedIdList\":[\"memberList\":[\"userList\":["
+            + "\"coverImageUrl\":\"coverImage\":\"thumbnail\":\"profileImage\":\"description\":\"roomName\":"
+            + "\"roomType\":\"enteredAt\":\"exitedAt\":\"isExit\":\"readAt\":\"readStatus\":\"nickname\":"
+            + "\"action\":\"CREATE_ROOM\"\"action\":\"ROOM_INFO\"\"action\":\"INVITE\"\"action\":\"EXIT_ROOM\""
+            + "\"action\":\"MEDIA_STATUS\"\"action\":\"ICE_CANDIDATE\"\"action\":\"SDP\""
+            + "\"action\":\"CHECK_RECEIVE\"\"type\":\"TEXT\"\"type\":\"IMAGE\"\"messageId\":\"senderId\":"
+            + "\"sendedAt\":\"videoRoomId\":\"chatRoomId\":\"targetId\":\"userId\":\"content\":\"text\":\""
+            + "\"transmissionStatus\":\"NOT_SENT\",\"requesterId\":0,\"createdAT\":\"\"roomId\":"
+            + "\"action\":\"SEND_MESSAGE\",\"recipientId\":\"id\":")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final int thresholdBytes;
+    private final int level;
+    private final int maxPooled;
+    private final Queue<Deflater> deflaters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledCount = new AtomicInteger(0);
+
+    /**
+     * @param thresholdBytes 이 크기 이상인 본문만 압축
+     * @param level          Deflater 압축 레벨 (1~9)
+     * @param maxPooled      풀에 보관할 유휴 Deflater 최대 수
+     */
+    public FrameCompressor(int thresholdBytes, int level, int maxPooled) {
+        this.thresholdBytes = thresholdBytes;
+        this.level = level;
+        this.maxPooled = maxPooled;
+    }
+
+    /**
+     * LENGTH_PREFIXED 로 인코딩된 프레임 압축
+     *
+     * @param frame     길이 헤더를 포함한 프레임 (읽기 모드, 힙 버퍼)
+     * @param frameType 통계용 프레임 종류 (액션 이름, 모르면 null)
+     * @return 압축한 프레임, 대상이 아니거나 줄지 않으면 원본
+     */
+    public ByteBuffer compress(ByteBuffer frame, String frameType) {
+        int payloadLength = frame.remaining() - Framing.LENGTH_HEADER_BYTES;
+        if (payloadLength < thresholdBytes || !frame.hasArray()) {
+            return frame;
+        }
+
+        long start = System.nanoTime();
+        Deflater deflater = acquire();
+        try {
+            deflater.setInput(frame.array(), frame.arrayOffset() + frame.position() + Framing.LENGTH_HEADER_BYTES,
+                    payloadLength);
+            deflater.finish();
+
+            // 원본보다 작을 때만 쓰므로 원본 크기만큼만 잡고, 넘치면 포기한다.
+            ByteBuffer compressed = ByteBuffer.allocate(frame.remaining());
+            int compressedLength = deflater.deflate(compressed.array(), Framing.LENGTH_HEADER_BYTES,
+                    payloadLength - 1);
+            long elapsedNanos = System.nanoTime() - start;
+
+            if (!deflater.finished()) {
+                PerformanceLogger.incrementCounter("COMPRESSION_INCOMPRESSIBLE");
+                return frame;
+            }
+            compressed.putInt(0, compressedLength | Framing.COMPRESSED_FLAG);
+            compressed.limit(Framing.LENGTH_HEADER_BYTES + compressedLength);
+            PerformanceLogger.recordCompression(frameType != null ? frameType : "UNKNOWN",
+                    payloadLength, compressedLength, elapsedNanos);
+            return compressed;
+        } finally {
+            release(deflater);
+        }
+    }
+
+    private Deflater acquire() {
+        Deflater deflater = deflaters.poll();
+        if (deflater == null) {
+            deflater = new Deflater(level);
+        } else {
+            pooledCount.decrementAndGet();
+        }
+        deflater.setDictionary(PRESET_DICTIONARY);
+        return deflater;
+    }
+
+    private void release(Deflater deflater) {
+        deflater.reset();
+        if (pooledCount.incrementAndGet() > maxPooled) {
+            pooledCount.decrementAndGet();
+            deflater.end();
+            return;
+        }
+        deflaters.offer(deflater);
+    }
+
+    public int getThresholdBytes() {
+        return thresholdBytes;
+    }
+}
@@ -0,0 +1,269 @@
+package com.teamnova.network;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 수신 프레임 디코더 (LINE / LENGTH_PREFIXED)
+ *
+ * UTF-8 디코딩은 프레임이 완성된 뒤 한 번만 하며, 프레임 전체가 입력 버퍼 안에 있으면
+ * 입력 버퍼의 배열에서 바로 String을 만들어 복사가 한 번뿐이다. 여러 번의 읽기에 걸친 프레임만
+ * 풀에서 빌린 누적 버퍼에 모은다.
+ * - LINE: 새로 들어온 바이트만 '\n'을 찾아 스캔한다. BufferedReader.readLine()과 동일하게 끝의 '\r'은 제거한다.
+ * - LENGTH_PREFIXED: 길이 헤더로 크기를 미리 알기 때문에 구분자를 스캔하지 않고 누적 버퍼도 정확한 크기로 잡는다.
+ * 프레임이 maxFrameBytes를 넘으면 FrameTooLargeException을 던진다.
+ * 연결당 하나씩 사용하며 스레드 안전하지 않다.
+ */
+public class FrameDecoder {
+
+    public static final int DEFAULT_MAX_FRAME_BYTES = 64 * 1024;
+
+    private static final int UNPOOLED_INITIAL_CAPACITY = 1024;
+
+    private final int maxFrameBytes;
+    private final BufferPool pool;
+    private Framing framing = Framing.LINE;
+
+    // 미완성 프레임 누적 버퍼 (쓰기 모드, 미완성 프레임이 있을 때만 보유)
+    private ByteBuffer pending;
+
+    // LENGTH_PREFIXED 헤더 상태 (frameLength < 0 이면 헤더 수신 중)
+    private int header = 0;
+    private int headerBytes = 0;
+    private int frameLength = -1;
+
+    public FrameDecoder() {
+        this(DEFAULT_MAX_FRAME_BYTES, null);
+    }
+
+    /**
+     * @param maxFrameBytes 구분자/헤더를 제외한 프레임 최대 바이트 수
+     * @param pool          누적 버퍼를 빌릴 풀 (null이면 직접 할당)
+     */
+    public FrameDecoder(int maxFrameBytes, BufferPool pool) {
+        if (maxFrameBytes <= 0) {
+            throw new IllegalArgumentException("maxFrameBytes 는 0보다 커야 함: " + maxFrameBytes);
+        }
+        this.maxFrameBytes = maxFrameBytes;
+        this.pool = pool;
+    }
+
+    /**
+     * 이후 입력의 프레임 구분 방식 변경 (미완성 프레임이 없는 시점에 호출)
+     */
+    public void setFraming(Framing framing) {
+        if (pendingBytes() > 0 || headerBytes > 0 || frameLength >= 0) {
+            throw new IllegalStateException("미완성 프레임이 있는 상태에서 framing 변경 불가");
+        }
+        this.framing = framing;
+    }
+
+    public Framing getFraming() {
+        return framing;
+    }
+
+    /**
+     * 입력 버퍼의 남은 바이트를 모두 소비하고 완성된 프레임을 out에 추가한다.
+     * 예외가 발생해도 그 전에 완성된 프레임은 out에 남아 있다.
+     *
+     * @param in  읽기 모드의 입력 버퍼
+     * @param out 완성된 프레임을 담을 리스트
+     * @throws FrameTooLargeException 프레임이 maxFrameBytes를 넘는 경우
+     * @throws FrameDecodingException 해석할 수 없는 헤더를 받은 경우
+     */
+    public void decode(ByteBuffer in, List<String> out) {
+        if (framing == Framing.LENGTH_PREFIXED) {
+            decodeLengthPrefixed(in, out);
+        } else {
+            decodeLines(in, out);
+        }
+    }
+
+    private void decodeLines(ByteBuffer in, List<String> out) {
+        while (in.hasRemaining()) {
+            int start = in.position();
+            int end = indexOfDelimiter(in, start, in.limit());
+            if (end < 0) {
+                accumulate(in, start, in.limit() - start);
+                in.position(in.limit());
+                return;
+            }
+
+            int frameBytes = pendingBytes() + (end - start);
+            if (frameBytes > maxFrameBytes) {
+                in.position(in.limit());
+                release();
+                throw new FrameTooLargeException(frameBytes, maxFrameBytes);
+            }
+
+            if (pending == null && in.hasArray()) {
+                // 프레임 전체가 입력 버퍼 안에 있음: 누적 없이 바로 디코딩
+                out.add(decodeLine(in.array(), in.arrayOffset() + start, end - start));
+            } else {
+                accumulate(in, start, end - start);
+                out.add(decodeLine(pending.array(), pending.arrayOffset(), pending.position()));
+                release();
+            }
+            in.position(end + 1);
+        }
+    }
+
+    private void decodeLengthPrefixed(ByteBuffer in, List<String> out) {
+        while (in.hasRemaining()) {
+            if (frameLength < 0 && !readHeader(in)) {
+                return;
+            }
+
+            int position = in.position();
+            if (pending == null && in.hasArray() && in.remaining() >= frameLength) {
+                // 프레임 전체가 입력 버퍼 안에 있음: 누적 없이 바로 디코딩
+                out.add(new String(in.array(), in.arrayOffset() + position, frameLength, StandardCharsets.UTF_8));
+                in.position(position + frameLength);
+            } else {
+                if (pending == null) {
+                    pending = acquireExact(frameLength);
+                }
+                int length = Math.min(in.remaining(), frameLength - pending.position());
+                pending.put(pending.position(), in, position, length);
+                pending.position(pending.position() + length);
+                in.position(position + length);
+                if (pending.position() < frameLength) {
+                    return;
+                }
+                out.add(new String(pending.array(), pending.arrayOffset(), frameLength, StandardCharsets.UTF_8));
+                release();
+            }
+            frameLength = -1;
+        }
+    }
+
+    /**
+     * 4바이트 길이 헤더 수신 (여러 번의 읽기에 걸칠 수 있음)
+     *
+     * @return 헤더가 완성되어 frameLength가 정해졌으면 true
+     */
+    private boolean readHeader(ByteBuffer in) {
+        while (headerBytes < Framing.LENGTH_HEADER_BYTES && in.hasRemaining()) {
+            header = (header << 8) | (in.get() & 0xFF);
+            headerBytes++;
+        }
+        if (headerBytes < Framing.LENGTH_HEADER_BYTES) {
+            return false;
+        }
+
+        int value = header;
+        header = 0;
+        headerBytes = 0;
+        if ((value & Framing.COMPRESSED_FLAG) != 0) {
+            in.position(in.limit());
+            release();
+            throw new FrameDecodingException("지원하지 않는 압축 플래그: header=0x" + Integer.toHexString(value));
+        }
+        if (value > maxFrameBytes) {
+            in.position(in.limit());
+            release();
+            throw new FrameTooLargeException(value, maxFrameBytes);
+        }
+        frameLength = value;
+        return true;
+    }
+
+    private static int indexOfDelimiter(ByteBuffer in, int from, int to) {
+        if (in.hasArray()) {
+            byte[] array = in.array();
+            int offset = in.arrayOffset();
+            for (int i = from; i < to; i++) {
+                if (array[offset + i] == '\n') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        for (int i = from; i < to; i++) {
+            if (in.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String decodeLine(byte[] array, int offset, int length) {
+        if (length > 0 && array[offset + length - 1] == '\r') {
+            length--;
+        }
+        return new String(array, offset, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * in[from, from + length) 구간을 누적 버퍼에 추가 (LINE)
+     */
+    private void accumulate(ByteBuffer in, int from, int length) {
+        if (length == 0) {
+            return;
+        }
+        int required = pendingBytes() + length;
+        if (required > maxFrameBytes) {
+            release();
+            throw new FrameTooLargeException(required, maxFrameBytes);
+        }
+        ensureCapacity(required);
+        pending.put(pending.position(), in, from, length);
+        pending.position(pending.position() + length);
+    }
+
+    private void ensureCapacity(int required) {
+        if (pending == null) {
+            pending = pool != null ? pool.acquire() : ByteBuffer.allocate(UNPOOLED_INITIAL_CAPACITY);
+        }
+        if (pending.capacity() >= required) {
+            return;
+        }
+        // 풀 버퍼보다 큰 프레임만 별도로 키운다 (최대 maxFrameBytes)
+        int newCapacity = Math.min(Math.max(pending.capacity() * 2, required), maxFrameBytes);
+        ByteBuffer grown = ByteBuffer.allocate(newCapacity);
+        pending.flip();
+        grown.put(pending);
+        if (pool != null) {
+            pool.release(pending);
+        }
+        pending = grown;
+    }
+
+    /**
+     * 크기를 아는 프레임의 누적 버퍼 (풀 버퍼에 들어가면 풀에서, 아니면 정확한 크기로 할당)
+     */
+    private ByteBuffer acquireExact(int capacity) {
+        if (pool != null && capacity <= pool.getBufferSize()) {
+            return pool.acquire();
+        }
+        return ByteBuffer.allocate(capacity);
+    }
+
+    /**
+     * 누적 버퍼를 풀에 반납하고 미완성 프레임을 버린다. (연결 종료 시 호출)
+     */
+    public void release() {
+        header = 0;
+        headerBytes = 0;
+        frameLength = -1;
+        if (pending == null) {
+            return;
+        }
+        if (pool != null) {
+            pool.release(pending);
+        }
+        pending = null;
+    }
+
+    /**
+     * 아직 완성되지 않은 프레임의 누적 바이트 수
+     */
+    public int pendingBytes() {
+        return pending == null ? 0 : pending.position();
+    }
+
+    public int getMaxFrameBytes() {
+        return maxFrameBytes;
+    }
+}
@@ -0,0 +1,15 @@
+package com.teamnova.network;
+
+/**
+ * FrameDecoder가 입력을 프레임으로 해석할 수 없을 때 던지는 예외
+ *
+ * 디코더 상태는 이미 초기화되어 있으며, 호출 측은 연결을 끊는다.
+ */
+public class FrameDecodingException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public FrameDecodingException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,31 @@
+package com.teamnova.network;
+
+/**
+ * 연결에서 디코딩된 프레임과 종료 이벤트를 전달받는 핸들러
+ * 
+ * 같은 연결에 대한 호출은 항상 순서대로, 동시에 하나씩만 이루어진다.
+ */
+public interface FrameHandler {
+
+    /**
+     * 완성된 프레임 수신
+     * 
+     * @param frame 줄바꿈이 제거된 프레임 문자열
+     */
+    void onFrame(String frame);
+
+    /**
+     * 바이트 수신 (이벤트 루프/reader 스레드에서 프레임 전달 전에 호출, 가벼운 작업만)
+     *
+     * 워커 풀이 밀려 onFrame 이 늦게 실행되어도 활동 중인 연결로 보이도록 도착 시점에 알린다.
+     */
+    default void onActivity() {
+    }
+
+    /**
+     * 연결 종료 (연결당 한 번만 호출됨)
+     * 
+     * @param reason 종료 사유
+     */
+    void onClose(String reason);
+}
@@ -0,0 +1,22 @@
+package com.teamnova.network;
+
+/**
+ * 프레임이 최대 프레임 크기를 넘을 때 FrameDecoder가 던지는 예외
+ *
+ * LINE 은 구분자 없이 한도를 넘은 경우, LENGTH_PREFIXED 는 길이 헤더가 한도를 넘은 경우이다.
+ */
+public class FrameTooLargeException extends FrameDecodingException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int maxFrameBytes;
+
+    public FrameTooLargeException(int frameBytes, int maxFrameBytes) {
+        super("최대 프레임 크기 초과: frameBytes>=" + frameBytes + ", maxFrameBytes=" + maxFrameBytes);
+        this.maxFrameBytes = maxFrameBytes;
+    }
+
+    public int getMaxFrameBytes() {
+        return maxFrameBytes;
+    }
+}
@@ -0,0 +1,51 @@
+package com.teamnova.network;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 프레임 구분 방식
+ *
+ * 모든 연결은 LINE 으로 시작하며, 클라이언트가 CONNECT 의 framing 필드로 요청하면
+ * 서버가 같은 방식으로 응답(CONNECT ack)한 뒤 양방향 모두 전환한다.
+ * - LINE: UTF-8 JSON + '\n'
+ * - LENGTH_PREFIXED: 4바이트 big-endian 길이 헤더 + UTF-8 JSON. 헤더의 최상위 비트는 압축 플래그이며
+ *   서버 송신 프레임에만 쓴다 (FrameCompressor). 클라이언트 송신 프레임은 압축하지 않는다.
+ */
+public enum Framing {
+    LINE,
+    LENGTH_PREFIXED;
+
+    // 길이 헤더 크기 (bytes)
+    public static final int LENGTH_HEADER_BYTES = 4;
+
+    // 길이 헤더 최상위 비트 (압축 플래그)
+    public static final int COMPRESSED_FLAG = 0x8000_0000;
+
+    /**
+     * 송신용 프레임 인코딩 (읽기 모드 버퍼 반환)
+     */
+    public ByteBuffer encode(String frame) {
+        if (this == LINE) {
+            return ByteBuffer.wrap((frame + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] payload = frame.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH_HEADER_BYTES + payload.length);
+        buffer.putInt(payload.length).put(payload).flip();
+        return buffer;
+    }
+
+    /**
+     * 이름으로 조회 (null 이거나 알 수 없으면 LINE)
+     */
+    public static Framing fromName(String name) {
+        if (name == null) {
+            return LINE;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return LINE;
+        }
+    }
+}
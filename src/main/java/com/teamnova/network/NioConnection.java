@@ -0,0 +1,414 @@
+package com.teamnova.network;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.teamnova.utils.PerformanceLogger;
+import com.teamnova.utils.SerialExecutor;
+
+/**
+ * 이벤트 루프에 등록된 논블로킹 소켓 채널 연결
+ *
+ * 읽기/쓰기는 이벤트 루프 스레드에서 수행되고, 디코딩된 프레임은 연결별 SerialExecutor를 통해
+ * 워커 풀에서 순서대로 핸들러에 전달된다. 핸들러에서 DB 작업 등 블로킹 호출을 해도
+ * 이벤트 루프는 막히지 않는다.
+ * 송신 프레임은 OutboundQueue에 쌓이고, 이벤트 루프가 한 틱 동안 쌓인 프레임을 묶어 한 번에 기록한다.
+ * 송신 큐가 쓰기 불가(high watermark 이상) 상태인 동안에는 OP_READ 를 해제해 수신을 멈춘다.
+ * 프레임 인코딩/디코딩은 decodeFrames/encodeFrame 을 재정의해 바꿀 수 있다. (WebSocketConnection)
+ */
+public class NioConnection implements Connection {
+
+    private static final Logger log = LogManager.getLogger(NioConnection.class);
+
+    private final SocketChannel channel;
+    private final NioEventLoop eventLoop;
+    private final SerialExecutor handlerExecutor;
+    private final SocketAddress remoteAddress;
+    private final FrameDecoder decoder;
+    private final List<String> decodedFrames = new ArrayList<>();
+
+    // 전송 대기 중인 프레임 (어느 스레드에서나 추가, 이벤트 루프에서만 소비)
+    private final OutboundQueue outboundQueue;
+    private final CoalescingWriter writer;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    // 송신 프레임 인코딩 방식 (수신 쪽은 decoder가 이벤트 루프에서 관리)
+    private volatile Framing framing = Framing.LINE;
+
+    // 송신 프레임 압축 (CONNECT 협상 후 켜짐, 실제 압축은 writer가 기록 직전에 수행)
+    private final FrameCompressor compressor;
+    private volatile boolean compressionEnabled = false;
+
+    // 송신 큐를 모두 기록한 뒤 닫을 때의 종료 사유 (null 이면 해당 없음)
+    private volatile String closeAfterFlushReason;
+
+    // 전송 방식별 메트릭 이름 (TCP / WS)
+    private final String framesInMetric;
+    private final String latencyMetric;
+
+    private volatile FrameHandler handler;
+    private SelectionKey key;
+
+    NioConnection(SocketChannel channel, NioEventLoop eventLoop, Executor workerPool, TransportConfig config) {
+        this(channel, eventLoop, workerPool, config, "TCP");
+    }
+
+    /**
+     * @param transport 메트릭 이름 접두어 (수신 프레임 수, 수신~처리 완료 지연)
+     */
+    NioConnection(SocketChannel channel, NioEventLoop eventLoop, Executor workerPool, TransportConfig config,
+            String transport) {
+        this.framesInMetric = transport + "_FRAMES_IN";
+        this.latencyMetric = transport + "_FRAME_LATENCY_MICROS";
+        this.channel = channel;
+        this.eventLoop = eventLoop;
+        this.remoteAddress = channel.socket().getRemoteSocketAddress();
+        this.handlerExecutor = new SerialExecutor("conn-" + remoteAddress, workerPool);
+        this.decoder = config.newFrameDecoder();
+        this.outboundQueue = config.newOutboundQueue("nio-" + remoteAddress);
+        this.compressor = config.getFrameCompressor();
+        this.writer = new CoalescingWriter(outboundQueue, config.getWriteBatchPool(), compressor);
+        this.slowConsumerPolicy = config.newSlowConsumerPolicy();
+    }
+
+    SocketChannel channel() {
+        return channel;
+    }
+
+    void setHandler(FrameHandler handler) {
+        this.handler = handler;
+    }
+
+    void onRegistered(SelectionKey key) {
+        this.key = key;
+        // 등록 전에 close()가 호출된 경우
+        if (closed.get()) {
+            closeInLoop("CLOSED_BEFORE_REGISTER");
+        }
+    }
+
+    @Override
+    public boolean send(String frame, String frameType) {
+        if (closed.get() || closeAfterFlushReason != null) {
+            log.debug("종료된 연결로 전송 시도: remoteAddress={}, frameSize={}", remoteAddress, frame.length());
+            return false;
+        }
+        if (!slowConsumerPolicy.admit(this, outboundQueue, frameType)) {
+            return false;
+        }
+        if (!outboundQueue.offer(encodeFrame(frame), frameType, compressionEnabled)) {
+            return false;
+        }
+        scheduleFlush();
+        return true;
+    }
+
+    /**
+     * 송신 프레임 인코딩 (기본: 협상된 Framing)
+     */
+    protected ByteBuffer encodeFrame(String frame) {
+        return framing.encode(frame);
+    }
+
+    /**
+     * 수신 바이트를 프레임으로 디코딩 (이벤트 루프 스레드, 기본: FrameDecoder)
+     *
+     * @throws FrameDecodingException 해석할 수 없는 입력이면 (연결을 끊음)
+     */
+    protected void decodeFrames(ByteBuffer in, List<String> out) {
+        decoder.decode(in, out);
+    }
+
+    /**
+     * 수신 누적 버퍼 반납 (연결 종료 시)
+     */
+    protected void releaseInbound() {
+        decoder.release();
+    }
+
+    /**
+     * 이미 인코딩된 제어 프레임/응답을 송신 큐에 넣는다. (slow consumer 정책을 거치지 않음)
+     */
+    protected void sendRaw(ByteBuffer bytes) {
+        if (closed.get()) {
+            return;
+        }
+        if (!outboundQueue.offer(bytes)) {
+            close();
+            return;
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * 더 이상 읽지 않고, 송신 큐에 남은 프레임을 모두 기록한 뒤 연결을 닫는다.
+     */
+    protected void closeAfterFlush(String reason) {
+        closeAfterFlushReason = reason;
+        if (eventLoop.inEventLoop() && key != null && key.isValid()) {
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+        }
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            eventLoop.execute(this::flush);
+        }
+    }
+
+    @Override
+    public Framing getFraming() {
+        return framing;
+    }
+
+    @Override
+    public boolean isCompressionAvailable() {
+        return compressor != null;
+    }
+
+    @Override
+    public boolean enableCompression() {
+        if (compressor == null || framing != Framing.LENGTH_PREFIXED) {
+            return false;
+        }
+        compressionEnabled = true;
+        log.debug("송신 프레임 압축 시작: remoteAddress={}, thresholdBytes={}", remoteAddress,
+                compressor.getThresholdBytes());
+        return true;
+    }
+
+    @Override
+    public boolean switchFraming(Framing newFraming, String ackFrame) {
+        // 이벤트 루프 작업은 순서대로 실행되므로 ack 를 기록하기 전에 수신 쪽이 먼저 전환된다.
+        if (eventLoop.inEventLoop()) {
+            decoder.setFraming(newFraming);
+        } else {
+            eventLoop.execute(() -> decoder.setFraming(newFraming));
+        }
+        send(ackFrame, null);
+        framing = newFraming;
+        log.debug("프레임 방식 전환: remoteAddress={}, framing={}", remoteAddress, newFraming);
+        return true;
+    }
+
+    /**
+     * 대기 중인 프레임을 묶어 가능한 만큼 기록하고, 남으면 OP_WRITE를 등록한다. (이벤트 루프 스레드 전용)
+     */
+    private void flush() {
+        flushScheduled.set(false);
+        if (key == null || !key.isValid()) {
+            return;
+        }
+        PerformanceLogger.recordValue("OUTBOUND_QUEUE_DEPTH", outboundQueue.size());
+        try {
+            ByteBuffer batch;
+            while ((batch = writer.nextBatch()) != null) {
+                channel.write(batch);
+                if (batch.hasRemaining()) {
+                    // 소켓 송신 버퍼가 가득 참, 쓰기 가능해지면 이어서 기록
+                    key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                    updateReadInterest();
+                    return;
+                }
+            }
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+            updateReadInterest();
+            String reason = closeAfterFlushReason;
+            if (reason != null && outboundQueue.isEmpty()) {
+                closeInLoop(reason);
+            }
+        } catch (IOException e) {
+            log.warn("채널 쓰기 실패: remoteAddress={}, error={}", remoteAddress, e.getMessage());
+            closeInLoop("WRITE_ERROR");
+        }
+    }
+
+    /**
+     * 송신 큐가 쓰기 불가이면 수신을 멈추고, low watermark 로 회복되면 다시 받는다. (이벤트 루프 스레드 전용)
+     *
+     * 응답을 읽지 않는 클라이언트의 요청을 계속 처리해 송신 큐가 더 쌓이지 않도록 한다.
+     */
+    private void updateReadInterest() {
+        int ops = key.interestOps();
+        boolean reading = (ops & SelectionKey.OP_READ) != 0;
+        boolean shouldRead = outboundQueue.isWritable() && closeAfterFlushReason == null;
+        if (reading == shouldRead) {
+            return;
+        }
+        key.interestOps(shouldRead ? ops | SelectionKey.OP_READ : ops & ~SelectionKey.OP_READ);
+        if (shouldRead) {
+            log.debug("송신 큐 회복으로 수신 재개: remoteAddress={}, queueDepth={}", remoteAddress, outboundQueue.size());
+        } else if (closeAfterFlushReason == null) {
+            PerformanceLogger.incrementCounter("INBOUND_PAUSED");
+            log.debug("송신 큐 backpressure 로 수신 중지: remoteAddress={}, queueDepth={}", remoteAddress,
+                    outboundQueue.size());
+        }
+    }
+
+    /**
+     * 보낼 프레임이 없어도 송신 큐가 멈춰 있으면 slow consumer 조치 (이벤트 루프 주기 검사)
+     */
+    void checkSlowConsumer() {
+        if (!closed.get()) {
+            slowConsumerPolicy.check(this, outboundQueue);
+        }
+    }
+
+    void handleWrite() {
+        flush();
+    }
+
+    void handleRead(ByteBuffer readBuffer) {
+        int read;
+        try {
+            readBuffer.clear();
+            read = channel.read(readBuffer);
+        } catch (IOException e) {
+            log.warn("채널 읽기 실패: remoteAddress={}, error={}", remoteAddress, e.getMessage());
+            closeInLoop("READ_ERROR");
+            return;
+        }
+
+        if (read < 0) {
+            closeInLoop("EOF");
+            return;
+        }
+        FrameHandler current = handler;
+        if (read > 0 && current != null) {
+            current.onActivity();
+        }
+
+        readBuffer.flip();
+        FrameDecodingException decodingError = null;
+        try {
+            decodeFrames(readBuffer, decodedFrames);
+        } catch (FrameDecodingException e) {
+            // 그 전에 완성된 프레임은 전달하고 연결을 끊는다.
+            decodingError = e;
+        }
+        if (!decodedFrames.isEmpty()) {
+            dispatch();
+        }
+        if (decodingError instanceof FrameTooLargeException) {
+            PerformanceLogger.incrementCounter("INBOUND_FRAME_TOO_LARGE");
+            log.warn("최대 프레임 크기 초과로 연결 종료: remoteAddress={}, error={}",
+                    remoteAddress, decodingError.getMessage());
+            closeInLoop("FRAME_TOO_LARGE");
+        } else if (decodingError != null) {
+            PerformanceLogger.incrementCounter("INBOUND_FRAME_INVALID");
+            log.warn("잘못된 프레임으로 연결 종료: remoteAddress={}, framing={}, error={}",
+                    remoteAddress, decoder.getFraming(), decodingError.getMessage());
+            closeInLoop("INVALID_FRAME");
+        }
+    }
+
+    /**
+     * 디코딩된 프레임을 워커 풀의 핸들러로 순서대로 전달
+     */
+    private void dispatch() {
+        FrameHandler current = handler;
+        long decodedAt = System.nanoTime();
+        PerformanceLogger.addCounter(framesInMetric, decodedFrames.size());
+        for (String frame : decodedFrames) {
+            try {
+                handlerExecutor.execute(() -> {
+                    current.onFrame(frame);
+                    // 디코딩부터 핸들러 처리 완료까지 (워커 풀 대기 포함)
+                    PerformanceLogger.recordValue(latencyMetric, (System.nanoTime() - decodedAt) / 1000);
+                });
+            } catch (RejectedExecutionException e) {
+                log.error("워커 풀 포화로 프레임 처리 불가: remoteAddress={}, error={}", remoteAddress, e.getMessage());
+                closeInLoop("WORKER_REJECTED");
+                break;
+            }
+        }
+        decodedFrames.clear();
+    }
+
+    @Override
+    public void close() {
+        if (eventLoop.inEventLoop()) {
+            closeInLoop("LOCAL_CLOSE");
+        } else {
+            eventLoop.execute(() -> closeInLoop("LOCAL_CLOSE"));
+            closed.set(true);
+        }
+    }
+
+    /**
+     * 채널을 닫고 핸들러에 종료를 알린다. (이벤트 루프 스레드 전용, 여러 번 호출되어도 안전)
+     */
+    void closeInLoop(String reason) {
+        closed.set(true);
+        if (!channel.isOpen()) {
+            return;
+        }
+        if (key != null) {
+            key.cancel();
+            eventLoop.onConnectionClosed();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("채널 종료 실패: remoteAddress={}, error={}", remoteAddress, e.getMessage());
+        }
+        releaseInbound();
+        writer.discard();
+        int dropped = outboundQueue.clear();
+        if (dropped > 0) {
+            log.debug("종료된 연결의 미전송 프레임 폐기: remoteAddress={}, droppedFrames={}", remoteAddress, dropped);
+        }
+
+        log.debug("NIO 연결 종료: remoteAddress={}, reason={}, loop={}", remoteAddress, reason, eventLoop.getName());
+
+        FrameHandler current = handler;
+        if (current != null) {
+            try {
+                handlerExecutor.execute(() -> current.onClose(reason));
+            } catch (RejectedExecutionException e) {
+                log.error("연결 종료 이벤트 전달 실패: remoteAddress={}, reason={}", remoteAddress, reason);
+            }
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !closed.get() && channel.isOpen();
+    }
+
+    @Override
+    public SocketAddress getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    @Override
+    public OutboundQueue getOutboundQueue() {
+        return outboundQueue;
+    }
+
+    /**
+     * 송신 묶음 통계 (bytes/flush, frames/flush)
+     */
+    public CoalescingWriter getWriter() {
+        return writer;
+    }
+
+    @Override
+    public String toString() {
+        return "NioConnection{remoteAddress=" + remoteAddress + ", loop=" + eventLoop.getName() + "}";
+    }
+}
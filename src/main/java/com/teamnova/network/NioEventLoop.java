@@ -0,0 +1,218 @@
+package com.teamnova.network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * 하나의 Selector와 스레드로 여러 연결의 읽기/쓰기 이벤트를 처리하는 이벤트 루프
+ *
+ * 채널 등록, 쓰기 플러시 등 Selector 관련 작업은 모두 이 루프 스레드에서만 수행되며,
+ * 다른 스레드는 execute()로 작업을 넘긴다.
+ * slowConsumerCheckMillis 마다 등록된 연결의 송신 큐를 검사한다. (보낼 프레임이 없어도 slow consumer 감지)
+ */
+public class NioEventLoop implements Runnable {
+
+    private static final Logger log = LogManager.getLogger(NioEventLoop.class);
+
+    private final String name;
+    private final Selector selector;
+    private final Queue<Runnable> taskQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean(false);
+    private final AtomicInteger connectionCount = new AtomicInteger(0);
+
+    // 루프 스레드 전용 읽기 버퍼 (연결 간 공유)
+    // 힙 버퍼여야 FrameDecoder가 배열에서 바로 String을 만든다. (채널 읽기 시 JDK가 내부 다이렉트 버퍼를 재사용)
+    private final ByteBuffer readBuffer;
+
+    // 송신 큐 주기 검사 간격 (0이면 검사 안 함), 마지막 검사 시각
+    private final long slowConsumerCheckMillis;
+    private long lastSlowConsumerCheckAt = System.currentTimeMillis();
+
+    private volatile boolean running = false;
+    private Thread thread;
+
+    public NioEventLoop(String name, int readBufferSize) throws IOException {
+        this(name, readBufferSize, 0);
+    }
+
+    /**
+     * @param slowConsumerCheckMillis 송신 큐 주기 검사 간격 (0이면 검사 안 함)
+     */
+    public NioEventLoop(String name, int readBufferSize, long slowConsumerCheckMillis) throws IOException {
+        this.name = name;
+        this.selector = Selector.open();
+        this.readBuffer = ByteBuffer.allocate(readBufferSize);
+        this.slowConsumerCheckMillis = slowConsumerCheckMillis;
+    }
+
+    /**
+     * 루프 스레드 시작
+     */
+    public void start() {
+        running = true;
+        thread = new Thread(this, name);
+        thread.start();
+        log.info("이벤트 루프 시작: name={}", name);
+    }
+
+    /**
+     * 현재 스레드가 이 루프 스레드인지 여부
+     */
+    public boolean inEventLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * 루프 스레드에서 실행할 작업 제출
+     */
+    public void execute(Runnable task) {
+        taskQueue.offer(task);
+        if (!inEventLoop() && wakeupPending.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * 연결을 이 루프의 Selector에 등록
+     */
+    void register(NioConnection connection) {
+        execute(() -> {
+            try {
+                SelectionKey key = connection.channel().register(selector, SelectionKey.OP_READ, connection);
+                connection.onRegistered(key);
+                connectionCount.incrementAndGet();
+            } catch (IOException e) {
+                log.error("채널 등록 실패: loop={}, remoteAddress={}, error={}",
+                        name, connection.getRemoteAddress(), e.getMessage());
+                connection.closeInLoop("REGISTER_FAILED");
+            }
+        });
+    }
+
+    void onConnectionClosed() {
+        connectionCount.decrementAndGet();
+    }
+
+    /**
+     * 이 루프가 관리 중인 연결 수
+     */
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                if (slowConsumerCheckMillis > 0) {
+                    selector.select(slowConsumerCheckMillis);
+                } else {
+                    selector.select();
+                }
+                wakeupPending.set(false);
+                processSelectedKeys();
+                runTasks();
+                checkSlowConsumers();
+            } catch (IOException e) {
+                log.error("이벤트 루프 select 오류: loop={}, error={}", name, e.getMessage(), e);
+            } catch (Exception e) {
+                // 개별 연결 오류로 루프 전체가 죽지 않도록 한다.
+                log.error("이벤트 루프 처리 중 예상치 못한 오류: loop={}, error={}", name, e.getMessage(), e);
+            }
+        }
+        closeAll();
+        log.info("이벤트 루프 종료: name={}", name);
+    }
+
+    private void processSelectedKeys() {
+        Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+        while (it.hasNext()) {
+            SelectionKey key = it.next();
+            it.remove();
+
+            NioConnection connection = (NioConnection) key.attachment();
+            try {
+                if (!key.isValid()) {
+                    connection.closeInLoop("INVALID_KEY");
+                    continue;
+                }
+                if (key.isReadable()) {
+                    connection.handleRead(readBuffer);
+                }
+                if (key.isValid() && key.isWritable()) {
+                    connection.handleWrite();
+                }
+            } catch (CancelledKeyException e) {
+                connection.closeInLoop("CANCELLED");
+            }
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = taskQueue.poll()) != null) {
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("이벤트 루프 작업 실패: loop={}, error={}", name, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 검사 간격이 지났으면 모든 연결의 송신 큐 검사
+     */
+    private void checkSlowConsumers() {
+        if (slowConsumerCheckMillis <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastSlowConsumerCheckAt < slowConsumerCheckMillis) {
+            return;
+        }
+        lastSlowConsumerCheckAt = now;
+        // 검사 중 닫힌 연결의 키는 취소만 되고 다음 select 에서 제거되므로 순회에 영향이 없다.
+        for (SelectionKey key : selector.keys()) {
+            if (key.isValid() && key.attachment() instanceof NioConnection connection) {
+                connection.checkSlowConsumer();
+            }
+        }
+    }
+
+    private void closeAll() {
+        runTasks();
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof NioConnection connection) {
+                connection.closeInLoop("SHUTDOWN");
+            }
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            log.warn("Selector 종료 실패: loop={}, error={}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * 루프 종료 요청
+     */
+    public void shutdown() {
+        running = false;
+        selector.wakeup();
+    }
+
+    public String getName() {
+        return name;
+    }
+}
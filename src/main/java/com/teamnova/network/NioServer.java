@@ -0,0 +1,211 @@
+package com.teamnova.network;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.net.StandardSocketOptions;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Selector 기반 논블로킹 TCP 서버
+ *
+ * 호출 스레드에서 accept 루프를 돌며 수락된 채널을 이벤트 루프들에 라운드로빈으로 분배한다.
+ * 연결 수와 무관하게 스레드 수는 (이벤트 루프 수 + 워커 수 + 1)로 고정된다.
+ * webSocket()으로 만들면 같은 구조로 WebSocket 연결(WebSocketConnection)을 받는다.
+ */
+public class NioServer implements AutoCloseable {
+
+    private static final Logger log = LogManager.getLogger(NioServer.class);
+
+    /**
+     * 수락된 채널로 연결 객체 생성
+     */
+    @FunctionalInterface
+    interface ConnectionFactory {
+        NioConnection create(SocketChannel channel, NioEventLoop loop, Executor workerPool, TransportConfig config);
+    }
+
+    private final String name;
+    private final int port;
+    private final TransportConfig config;
+    private final ConnectionAcceptor acceptor;
+    private final ConnectionFactory connectionFactory;
+
+    private NioEventLoop[] eventLoops;
+    private ExecutorService workerPool;
+    private ServerSocketChannel serverChannel;
+    private Selector acceptSelector;
+    private volatile boolean running = false;
+    private int nextLoop = 0;
+    private long acceptedCount = 0;
+
+    public NioServer(int port, TransportConfig config, ConnectionAcceptor acceptor) {
+        this("nio", port, config, acceptor, NioConnection::new);
+    }
+
+    private NioServer(String name, int port, TransportConfig config, ConnectionAcceptor acceptor,
+            ConnectionFactory connectionFactory) {
+        this.name = name;
+        this.port = port;
+        this.config = config;
+        this.acceptor = acceptor;
+        this.connectionFactory = connectionFactory;
+    }
+
+    /**
+     * WebSocket 서버 (스레드 이름 접두어 ws-)
+     */
+    public static NioServer webSocket(int port, TransportConfig config, ConnectionAcceptor acceptor) {
+        return new NioServer("ws", port, config, acceptor, WebSocketConnection::new);
+    }
+
+    /**
+     * 포트 바인딩과 이벤트 루프/워커 풀 시작
+     */
+    public void start() throws IOException {
+        workerPool = new ThreadPoolExecutor(config.workerThreads, config.workerThreads,
+                60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), namedThreadFactory(name + "-worker"));
+
+        eventLoops = new NioEventLoop[config.eventLoopThreads];
+        for (int i = 0; i < eventLoops.length; i++) {
+            eventLoops[i] = new NioEventLoop(name + "-loop-" + i, config.readBufferSize,
+                    config.slowConsumerCheckMs);
+            eventLoops[i].start();
+        }
+
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        serverChannel.bind(new InetSocketAddress(port), 1024);
+        serverChannel.configureBlocking(false);
+
+        acceptSelector = Selector.open();
+        serverChannel.register(acceptSelector, SelectionKey.OP_ACCEPT);
+        running = true;
+
+        log.info("NIO 서버 바인딩 성공: name={}, port={}, localAddress={}, config={}",
+                name, port, serverChannel.getLocalAddress(), config);
+    }
+
+    /**
+     * accept 루프 (close() 호출 전까지 반환하지 않음)
+     */
+    public void run() {
+        while (running) {
+            try {
+                acceptSelector.select();
+                Iterator<SelectionKey> it = acceptSelector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    if (key.isValid() && key.isAcceptable()) {
+                        acceptPending();
+                    }
+                }
+            } catch (IOException e) {
+                if (running) {
+                    log.error("클라이언트 연결 수락 실패: port={}, error={}", port, e.getMessage(), e);
+                }
+            } catch (Exception e) {
+                if (running) {
+                    log.error("accept 루프 처리 중 예상치 못한 오류: port={}, error={}", port, e.getMessage(), e);
+                }
+            }
+        }
+        log.info("NIO 서버 accept 루프 종료: name={}, port={}, acceptedCount={}", name, port, acceptedCount);
+    }
+
+    private void acceptPending() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            acceptedCount++;
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                channel.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+
+                NioEventLoop loop = eventLoops[nextLoop];
+                nextLoop = (nextLoop + 1) % eventLoops.length;
+
+                NioConnection connection = connectionFactory.create(channel, loop, workerPool, config);
+                connection.setHandler(acceptor.onAccept(connection));
+                loop.register(connection);
+            } catch (Exception e) {
+                log.error("연결 초기화 실패: remoteAddress={}, error={}",
+                        channel.socket().getRemoteSocketAddress(), e.getMessage(), e);
+                try {
+                    channel.close();
+                } catch (IOException closeException) {
+                    log.warn("채널 정리 실패: error={}", closeException.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 이벤트 루프별 연결 수 합계
+     */
+    public int getConnectionCount() {
+        int total = 0;
+        if (eventLoops != null) {
+            for (NioEventLoop loop : eventLoops) {
+                total += loop.getConnectionCount();
+            }
+        }
+        return total;
+    }
+
+    public long getAcceptedCount() {
+        return acceptedCount;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            if (acceptSelector != null) {
+                acceptSelector.wakeup();
+                acceptSelector.close();
+            }
+            if (serverChannel != null) {
+                serverChannel.close();
+            }
+        } catch (IOException e) {
+            log.warn("서버 채널 종료 실패: port={}, error={}", port, e.getMessage());
+        }
+        if (eventLoops != null) {
+            for (NioEventLoop loop : eventLoops) {
+                loop.shutdown();
+            }
+        }
+        if (workerPool != null) {
+            workerPool.shutdown();
+        }
+        log.info("NIO 서버 종료: name={}, port={}, acceptedCount={}", name, port, acceptedCount);
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
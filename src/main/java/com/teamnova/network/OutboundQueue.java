@@ -0,0 +1,233 @@
+package com.teamnova.network;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.teamnova.utils.PerformanceLogger;
+
+/**
+ * 연결별 송신 대기 큐
+ *
+ * 여러 스레드가 블로킹 없이 프레임을 추가하고, 연결의 writer(이벤트 루프 또는 writer 스레드) 하나만 소비한다.
+ * 용량을 넘는 프레임은 거부하며, 대기 프레임 수가 high watermark 이상이 되면 쓰기 불가(unwritable) 상태로,
+ * low watermark 이하로 내려가면 다시 쓰기 가능 상태로 전환한다.
+ */
+public class OutboundQueue {
+
+    private static final Logger log = LogManager.getLogger(OutboundQueue.class);
+
+    private final String name;
+    private final int capacity;
+    private final int highWatermark;
+    private final int lowWatermark;
+
+    private final Queue<Entry> frames = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger(0);
+    private final AtomicLong queuedBytes = new AtomicLong(0);
+    private final AtomicBoolean writable = new AtomicBoolean(true);
+
+    // 큐가 비어있지 않은 상태에서 마지막으로 진척(추가 후 첫 프레임 또는 소비)이 있었던 시각
+    private volatile long lastProgressAt = 0;
+
+    // slow consumer 판정 상태 (큐가 완전히 비면 해제)
+    private final AtomicBoolean slow = new AtomicBoolean(false);
+
+    // 통계
+    private final AtomicInteger maxDepth = new AtomicInteger(0);
+    private final AtomicLong rejectedCount = new AtomicLong(0);
+
+    public OutboundQueue(String name, int capacity, int highWatermark, int lowWatermark) {
+        if (lowWatermark > highWatermark || highWatermark > capacity) {
+            throw new IllegalArgumentException(String.format(
+                    "watermark 설정 오류: capacity=%d, high=%d, low=%d", capacity, highWatermark, lowWatermark));
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.highWatermark = highWatermark;
+        this.lowWatermark = lowWatermark;
+    }
+
+    /**
+     * 프레임 추가 (블로킹하지 않음)
+     *
+     * @return 용량 초과로 거부되면 false
+     */
+    public boolean offer(ByteBuffer frame) {
+        return offer(frame, null, false);
+    }
+
+    /**
+     * 종류와 압축 대상 여부를 지정한 프레임 추가
+     *
+     * @param frame        인코딩된 프레임 (읽기 모드)
+     * @param frameType    프레임 종류 (액션 이름, 모르면 null)
+     * @param compressible writer가 기록 직전에 압축해도 되는지 여부
+     * @return 용량 초과로 거부되면 false
+     */
+    public boolean offer(ByteBuffer frame, String frameType, boolean compressible) {
+        int depth = size.incrementAndGet();
+        if (depth > capacity) {
+            size.decrementAndGet();
+            rejectedCount.incrementAndGet();
+            PerformanceLogger.incrementCounter("OUTBOUND_QUEUE_REJECTED");
+            log.warn("송신 큐 용량 초과로 프레임 거부: queue={}, capacity={}, frameSize={}",
+                    name, capacity, frame.remaining());
+            return false;
+        }
+        Entry entry = new Entry(frame, frameType, compressible);
+        queuedBytes.addAndGet(entry.bytes);
+        if (depth == 1) {
+            lastProgressAt = System.currentTimeMillis();
+        }
+        frames.offer(entry);
+
+        int currentMax = maxDepth.get();
+        while (depth > currentMax && !maxDepth.compareAndSet(currentMax, depth)) {
+            currentMax = maxDepth.get();
+        }
+
+        if (depth >= highWatermark && writable.compareAndSet(true, false)) {
+            PerformanceLogger.incrementCounter("OUTBOUND_HIGH_WATERMARK");
+            log.warn("송신 큐 high watermark 도달: queue={}, depth={}, queuedBytes={}, highWatermark={}",
+                    name, depth, queuedBytes.get(), highWatermark);
+        }
+        return true;
+    }
+
+    /**
+     * 다음 프레임 조회 (제거하지 않음, writer 전용)
+     */
+    public ByteBuffer peek() {
+        Entry entry = frames.peek();
+        return entry != null ? entry.frame : null;
+    }
+
+    /**
+     * 다음 프레임 제거 (writer 전용)
+     */
+    public ByteBuffer poll() {
+        Entry entry = pollEntry();
+        return entry != null ? entry.frame : null;
+    }
+
+    /**
+     * 다음 프레임을 종류/압축 여부와 함께 제거 (writer 전용)
+     */
+    Entry pollEntry() {
+        Entry entry = frames.poll();
+        if (entry == null) {
+            return null;
+        }
+        int depth = size.decrementAndGet();
+        queuedBytes.addAndGet(-entry.bytes);
+        lastProgressAt = System.currentTimeMillis();
+        if (depth == 0 && slow.compareAndSet(true, false)) {
+            log.info("slow consumer 해제, 송신 큐 비워짐: queue={}", name);
+        }
+
+        if (depth <= lowWatermark && writable.compareAndSet(false, true)) {
+            log.info("송신 큐 low watermark 회복: queue={}, depth={}, lowWatermark={}",
+                    name, depth, lowWatermark);
+        }
+        return entry;
+    }
+
+    /**
+     * 대기 중인 프레임 모두 폐기
+     *
+     * @return 폐기된 프레임 수
+     */
+    public int clear() {
+        int dropped = 0;
+        while (poll() != null) {
+            dropped++;
+        }
+        return dropped;
+    }
+
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    /**
+     * 대기 프레임 수 (큐 깊이)
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * 대기 중인 총 바이트 수
+     */
+    public long queuedBytes() {
+        return queuedBytes.get();
+    }
+
+    /**
+     * high watermark 미만 여부 (backpressure 신호)
+     */
+    public boolean isWritable() {
+        return writable.get();
+    }
+
+    /**
+     * 대기 프레임이 있는데 소비가 멈춰 있는 시간 (비어 있으면 0)
+     */
+    public long stalledMillis() {
+        if (size.get() == 0) {
+            return 0;
+        }
+        return System.currentTimeMillis() - lastProgressAt;
+    }
+
+    /**
+     * slow consumer 상태로 표시
+     *
+     * @return 새로 slow 상태가 되었으면 true
+     */
+    public boolean markSlow() {
+        return slow.compareAndSet(false, true);
+    }
+
+    public boolean isSlow() {
+        return slow.get();
+    }
+
+    public int getMaxDepth() {
+        return maxDepth.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * 큐에 담긴 프레임과 부가 정보
+     */
+    static final class Entry {
+        final ByteBuffer frame;
+        final String frameType;
+        final boolean compressible;
+        final int bytes; // 추가할 때의 남은 바이트 수 (queuedBytes 에서 같은 값을 뺀다)
+
+        Entry(ByteBuffer frame, String frameType, boolean compressible) {
+            this.frame = frame;
+            this.bytes = frame.remaining();
+            this.frameType = frameType;
+            this.compressible = compressible;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "OutboundQueue{name=" + name + ", depth=" + size.get() + ", queuedBytes=" + queuedBytes.get()
+                + ", maxDepth=" + maxDepth.get() + ", writable=" + writable.get() + "}";
+    }
+}
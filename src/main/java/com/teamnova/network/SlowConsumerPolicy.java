@@ -0,0 +1,139 @@
+package com.teamnova.network;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.teamnova.utils.PerformanceLogger;
+
+/**
+ * 읽지 않는 클라이언트(slow consumer) 감지 및 조치 정책
+ *
+ * 송신 큐에 쌓인 바이트가 maxQueuedBytes를 넘거나, 큐가 maxDrainMillis 동안 전혀 비워지지 않으면
+ * slow consumer로 판단한다. 판단 시 조치는 다음 중 하나이다.
+ * - DROP_NON_ESSENTIAL: MEDIA_STATUS 처럼 유실되어도 되는 프레임은 버리고 나머지는 계속 큐에 넣는다.
+ * - DISCONNECT: 연결을 끊는다. 미전송 커맨드는 response_commands 에 NOT_SENT 로 남아 재접속 시 재전송된다.
+ *
+ * slow consumer 가 아니어도 송신 큐가 쓰기 불가(high watermark 이상) 상태이면 비필수 프레임은 넣지 않는다.
+ *
+ * 판단은 프레임을 넣을 때(admit)뿐 아니라 주기적으로(check)도 한다. 마지막 프레임 뒤로 읽기를 멈춘 클라이언트는
+ * 더 보낼 프레임이 없어도 check 에서 감지된다. (NIO 는 이벤트 루프, 블로킹 소켓은 공유 타이밍 휠에서 호출)
+ */
+public class SlowConsumerPolicy {
+
+    private static final Logger log = LogManager.getLogger(SlowConsumerPolicy.class);
+
+    public enum Action {
+        DROP_NON_ESSENTIAL,
+        DISCONNECT
+    }
+
+    private final long maxQueuedBytes;
+    private final long maxDrainMillis;
+    private final Action action;
+    private final Set<String> nonEssentialTypes;
+
+    public SlowConsumerPolicy(long maxQueuedBytes, long maxDrainMillis, Action action, Set<String> nonEssentialTypes) {
+        this.maxQueuedBytes = maxQueuedBytes;
+        this.maxDrainMillis = maxDrainMillis;
+        this.action = action;
+        this.nonEssentialTypes = Collections.unmodifiableSet(new HashSet<>(nonEssentialTypes));
+    }
+
+    /**
+     * 프레임을 송신 큐에 넣어도 되는지 판단하고, 필요하면 연결을 끊는다.
+     *
+     * @param connection 대상 연결
+     * @param queue      연결의 송신 큐
+     * @param frameType  프레임 종류 (액션 이름, 모르면 null)
+     * @return 큐에 넣어도 되면 true
+     */
+    public boolean admit(Connection connection, OutboundQueue queue, String frameType) {
+        String reason = detect(queue);
+        if (reason == null) {
+            if (!queue.isWritable() && isNonEssential(frameType)) {
+                // backpressure: low watermark 로 내려갈 때까지 비필수 프레임은 버린다.
+                PerformanceLogger.incrementCounter("OUTBOUND_UNWRITABLE_DROPPED_FRAMES");
+                return false;
+            }
+            return true;
+        }
+
+        if (handle(connection, queue, reason)) {
+            return false;
+        }
+
+        if (isNonEssential(frameType)) {
+            PerformanceLogger.incrementCounter("SLOW_CONSUMER_DROPPED_FRAMES");
+            log.debug("slow consumer 비필수 프레임 폐기: remoteAddress={}, frameType={}, queuedBytes={}",
+                    connection.getRemoteAddress(), frameType, queue.queuedBytes());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 보낼 프레임과 무관하게 송신 큐 상태만으로 판단하고, 필요하면 연결을 끊는다. (주기적 검사)
+     *
+     * @return 연결이 유지되면 true
+     */
+    public boolean check(Connection connection, OutboundQueue queue) {
+        String reason = detect(queue);
+        return reason == null || !handle(connection, queue, reason);
+    }
+
+    /**
+     * slow consumer 로 표시하고 조치가 DISCONNECT 이면 연결을 끊는다.
+     *
+     * @return 연결을 끊었으면 true
+     */
+    private boolean handle(Connection connection, OutboundQueue queue, String reason) {
+        if (queue.markSlow()) {
+            PerformanceLogger.incrementCounter("SLOW_CONSUMER_DETECTED");
+            log.warn("slow consumer 감지: remoteAddress={}, reason={}, action={}, queueDepth={}, queuedBytes={}, " +
+                    "stalledMs={}", connection.getRemoteAddress(), reason, action, queue.size(),
+                    queue.queuedBytes(), queue.stalledMillis());
+        }
+
+        if (action == Action.DISCONNECT) {
+            PerformanceLogger.recordSlowConsumerEviction(String.valueOf(connection.getRemoteAddress()), reason,
+                    queue.size(), queue.queuedBytes(), queue.stalledMillis());
+            connection.close();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 한도 초과 사유 (정상이면 null)
+     */
+    String detect(OutboundQueue queue) {
+        if (maxQueuedBytes > 0 && queue.queuedBytes() >= maxQueuedBytes) {
+            return "MAX_QUEUED_BYTES";
+        }
+        if (maxDrainMillis > 0 && queue.stalledMillis() >= maxDrainMillis) {
+            return "MAX_DRAIN_TIME";
+        }
+        return null;
+    }
+
+    /**
+     * 유실되어도 되는 프레임 종류인지 여부
+     */
+    public boolean isNonEssential(String frameType) {
+        return frameType != null && nonEssentialTypes.contains(frameType);
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    @Override
+    public String toString() {
+        return "SlowConsumerPolicy{maxQueuedBytes=" + maxQueuedBytes + ", maxDrainMillis=" + maxDrainMillis
+                + ", action=" + action + ", nonEssentialTypes=" + nonEssentialTypes + "}";
+    }
+}
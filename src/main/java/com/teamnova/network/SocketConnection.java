@@ -0,0 +1,356 @@
+package com.teamnova.network;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.teamnova.utils.HashedTimingWheel;
+import com.teamnova.utils.PerformanceLogger;
+
+/**
+ * 블로킹 소켓 연결 (스레드-per-연결 모드)
+ *
+ * 수신은 호출 스레드가 readLine()으로 직접 대기한다. 풀에서 빌린 읽기 버퍼에 소켓 입력을 받아
+ * FrameDecoder로 프레임을 나누므로 한 줄의 길이가 maxFrameBytes로 제한된다.
+ * 송신은 OutboundQueue에 넣고 바로 반환하며, start() 로 시작하는 연결 전용 writer 스레드(서버 모드의 스레드 모델)가 깨어날 때마다
+ * writeCoalesceDelayMs 동안 프레임을 더 모은 뒤 한 번의 쓰기로 기록한다.
+ * 느린 클라이언트의 소켓 쓰기가 브로드캐스트하는 스레드를 막지 않는다.
+ * 송신 큐가 쓰기 불가(high watermark 이상) 상태인 동안 reader 는 다음 읽기를 미루고 low watermark 회복을 기다린다.
+ * 가상 스레드가 캐리어 스레드를 고정하지 않도록 synchronized 대신 ReentrantLock을 사용한다.
+ */
+public class SocketConnection implements Connection {
+
+    private static final Logger log = LogManager.getLogger(SocketConnection.class);
+
+    private final Socket socket;
+    private final InputStream in;
+    private final OutputStream out;
+    private final BufferPool bufferPool;
+    private final FrameDecoder decoder;
+    private final List<String> decodedFrames = new ArrayList<>();
+    private int nextFrameIndex = 0;
+
+    // 풀에서 빌린 읽기 버퍼 (reader 스레드 전용, 수신이 끝나면 반납 후 null)
+    private ByteBuffer readBuffer;
+
+    private final OutboundQueue outboundQueue;
+    private final CoalescingWriter writer;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+    private final long slowConsumerCheckMs;
+    private final HashedTimingWheel slowConsumerWheel;
+    private final int coalesceDelayMs;
+
+    // writer 대기/깨우기
+    private final ReentrantLock writerLock = new ReentrantLock();
+    private final Condition framesAvailable = writerLock.newCondition();
+    private final Condition writableAgain = writerLock.newCondition();
+    private volatile boolean readerPaused = false;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    // 송신 프레임 인코딩 방식 (수신 쪽은 reader 스레드의 decoder가 관리)
+    private volatile Framing framing = Framing.LINE;
+
+    // 송신 프레임 압축 (CONNECT 협상 후 켜짐, 실제 압축은 writer가 기록 직전에 수행)
+    private final FrameCompressor compressor;
+    private volatile boolean compressionEnabled = false;
+
+    public SocketConnection(Socket socket, TransportConfig config) throws IOException {
+        this.socket = socket;
+        this.in = socket.getInputStream();
+        this.out = socket.getOutputStream();
+        this.bufferPool = config.getFrameBufferPool();
+        this.decoder = config.newFrameDecoder();
+        this.readBuffer = bufferPool.acquire();
+        this.outboundQueue = config.newOutboundQueue("socket-" + socket.getRemoteSocketAddress());
+        this.compressor = config.getFrameCompressor();
+        this.writer = new CoalescingWriter(outboundQueue, config.getWriteBatchPool(), compressor);
+        this.slowConsumerPolicy = config.newSlowConsumerPolicy();
+        this.slowConsumerCheckMs = config.slowConsumerCheckMs;
+        this.slowConsumerWheel = slowConsumerCheckMs > 0 ? config.getSlowConsumerWheel() : null;
+        this.coalesceDelayMs = config.writeCoalesceDelayMs;
+    }
+
+    /**
+     * writer 스레드 시작 (생성 직후 한 번 호출, 그 전까지 보낸 프레임은 큐에서 대기)
+     *
+     * @param writerThreads 서버 모드의 스레드 생성기 (THREAD 모드는 플랫폼, VIRTUAL 모드는 가상 스레드)
+     * @return this
+     */
+    public SocketConnection start(ThreadFactory writerThreads) {
+        writerThreads.newThread(this::writeLoop).start();
+        scheduleSlowConsumerCheck();
+        return this;
+    }
+
+    private void scheduleSlowConsumerCheck() {
+        if (slowConsumerWheel != null) {
+            slowConsumerWheel.schedule(this::checkSlowConsumer, slowConsumerCheckMs);
+        }
+    }
+
+    /**
+     * 보낼 프레임이 없어도 송신 큐가 멈춰 있으면 slow consumer 조치 (공유 휠 스레드, 연결이 열려 있는 동안 반복)
+     *
+     * writer 스레드는 읽지 않는 클라이언트에 대한 소켓 쓰기에서 막혀 있을 수 있으므로 휠에서 검사한다.
+     */
+    private void checkSlowConsumer() {
+        if (!closed.get() && slowConsumerPolicy.check(this, outboundQueue)) {
+            scheduleSlowConsumerCheck();
+        }
+    }
+
+    /**
+     * 다음 프레임 수신 (연결이 끊기면 null)
+     *
+     * @throws IOException 소켓 오류 또는 잘못된 프레임 (최대 크기 초과 등, 이 경우 연결도 닫힘)
+     */
+    public String readLine() throws IOException {
+        while (nextFrameIndex >= decodedFrames.size()) {
+            decodedFrames.clear();
+            nextFrameIndex = 0;
+            if (readBuffer == null) {
+                return null;
+            }
+            awaitWritable();
+
+            int read;
+            try {
+                read = in.read(readBuffer.array(), readBuffer.arrayOffset(), readBuffer.capacity());
+            } catch (IOException e) {
+                releaseReadBuffers();
+                throw e;
+            }
+            if (read < 0) {
+                releaseReadBuffers();
+                return null;
+            }
+
+            readBuffer.clear().limit(read);
+            try {
+                decoder.decode(readBuffer, decodedFrames);
+            } catch (FrameDecodingException e) {
+                // 그 전에 완성된 프레임은 버리고 연결을 끊는다.
+                PerformanceLogger.incrementCounter(e instanceof FrameTooLargeException
+                        ? "INBOUND_FRAME_TOO_LARGE" : "INBOUND_FRAME_INVALID");
+                log.warn("수신 프레임 오류로 연결 종료: remoteAddress={}, framing={}, error={}",
+                        getRemoteAddress(), decoder.getFraming(), e.getMessage());
+                releaseReadBuffers();
+                close();
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+        return decodedFrames.get(nextFrameIndex++);
+    }
+
+    @Override
+    public Framing getFraming() {
+        return framing;
+    }
+
+    @Override
+    public boolean isCompressionAvailable() {
+        return compressor != null;
+    }
+
+    @Override
+    public boolean enableCompression() {
+        if (compressor == null || framing != Framing.LENGTH_PREFIXED) {
+            return false;
+        }
+        compressionEnabled = true;
+        log.debug("송신 프레임 압축 시작: remoteAddress={}, thresholdBytes={}", getRemoteAddress(),
+                compressor.getThresholdBytes());
+        return true;
+    }
+
+    /**
+     * 프레임 방식 전환 (reader 스레드에서 CONNECT 처리 중에 호출)
+     */
+    @Override
+    public boolean switchFraming(Framing newFraming, String ackFrame) {
+        decoder.setFraming(newFraming);
+        send(ackFrame, null);
+        framing = newFraming;
+        log.debug("프레임 방식 전환: remoteAddress={}, framing={}", getRemoteAddress(), newFraming);
+        return true;
+    }
+
+    /**
+     * 송신 큐가 쓰기 불가이면 low watermark 로 회복되거나 연결이 닫힐 때까지 대기 (reader 스레드 전용)
+     *
+     * 응답을 읽지 않는 클라이언트의 요청을 계속 처리해 송신 큐가 더 쌓이지 않도록 한다.
+     */
+    private void awaitWritable() throws IOException {
+        if (outboundQueue.isWritable()) {
+            return;
+        }
+        PerformanceLogger.incrementCounter("INBOUND_PAUSED");
+        log.debug("송신 큐 backpressure 로 수신 중지: remoteAddress={}, queueDepth={}", getRemoteAddress(),
+                outboundQueue.size());
+        readerPaused = true;
+        writerLock.lock();
+        try {
+            while (!outboundQueue.isWritable() && !closed.get()) {
+                writableAgain.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("송신 큐 회복 대기 중 인터럽트");
+        } finally {
+            readerPaused = false;
+            writerLock.unlock();
+        }
+    }
+
+    /**
+     * 읽기 버퍼와 디코더 누적 버퍼를 풀에 반납 (reader 스레드 전용)
+     */
+    private void releaseReadBuffers() {
+        decoder.release();
+        bufferPool.release(readBuffer);
+        readBuffer = null;
+    }
+
+    @Override
+    public boolean send(String frame, String frameType) {
+        if (closed.get()) {
+            log.debug("종료된 연결로 전송 시도: remoteAddress={}, frameSize={}", getRemoteAddress(), frame.length());
+            return false;
+        }
+        if (!slowConsumerPolicy.admit(this, outboundQueue, frameType)) {
+            return false;
+        }
+        if (!outboundQueue.offer(framing.encode(frame), frameType, compressionEnabled)) {
+            return false;
+        }
+        writerLock.lock();
+        try {
+            framesAvailable.signal();
+        } finally {
+            writerLock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * 송신 큐를 비우며 소켓에 기록 (writer 스레드 전용)
+     */
+    private void writeLoop() {
+        try {
+            while (!closed.get()) {
+                if (!awaitFrames()) {
+                    continue;
+                }
+                if (coalesceDelayMs > 0) {
+                    // 짧게 대기하며 뒤따르는 프레임을 모은다.
+                    Thread.sleep(coalesceDelayMs);
+                }
+                PerformanceLogger.recordValue("OUTBOUND_QUEUE_DEPTH", outboundQueue.size());
+
+                ByteBuffer batch;
+                while ((batch = writer.nextBatch()) != null) {
+                    out.write(batch.array(), batch.arrayOffset() + batch.position(), batch.remaining());
+                    batch.position(batch.limit());
+                }
+                out.flush();
+                if (readerPaused && outboundQueue.isWritable()) {
+                    signalWritable();
+                }
+            }
+        } catch (IOException e) {
+            if (!closed.get()) {
+                log.warn("소켓 쓰기 실패: remoteAddress={}, error={}", getRemoteAddress(), e.getMessage());
+                close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            writer.discard();
+            outboundQueue.clear();
+        }
+    }
+
+    private void signalWritable() {
+        writerLock.lock();
+        try {
+            writableAgain.signalAll();
+        } finally {
+            writerLock.unlock();
+        }
+    }
+
+    /**
+     * 송신할 프레임이 생길 때까지 대기
+     *
+     * @return 프레임이 있으면 true
+     */
+    private boolean awaitFrames() throws InterruptedException {
+        writerLock.lock();
+        try {
+            while (outboundQueue.isEmpty() && !closed.get()) {
+                framesAvailable.await();
+            }
+            return !outboundQueue.isEmpty();
+        } finally {
+            writerLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        writerLock.lock();
+        try {
+            framesAvailable.signal();
+            writableAgain.signalAll();
+        } finally {
+            writerLock.unlock();
+        }
+        try {
+            socket.close();
+        } catch (IOException e) {
+            log.warn("소켓 종료 실패: remoteAddress={}, error={}", getRemoteAddress(), e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !closed.get() && !socket.isClosed();
+    }
+
+    @Override
+    public SocketAddress getRemoteAddress() {
+        return socket.getRemoteSocketAddress();
+    }
+
+    @Override
+    public OutboundQueue getOutboundQueue() {
+        return outboundQueue;
+    }
+
+    /**
+     * 송신 묶음 통계 (bytes/flush, frames/flush)
+     */
+    public CoalescingWriter getWriter() {
+        return writer;
+    }
+
+    public Socket getSocket() {
+        return socket;
+    }
+}
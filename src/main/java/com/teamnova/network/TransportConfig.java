@@ -0,0 +1,236 @@
+package com.teamnova.network;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.teamnova.config.PropertiesManager;
+import com.teamnova.utils.HashedTimingWheel;
+
+/**
+ * 전송 계층 설정값
+ *
+ * 기본 생성자는 기본값만 사용하며, load()는 config.properties 값으로 덮어쓴다.
+ */
+public class TransportConfig {
+
+    private static final Logger log = LogManager.getLogger(TransportConfig.class);
+
+    // 이벤트 루프(Selector) 스레드 수
+    public int eventLoopThreads = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+    // 수신 프레임을 처리(DB 작업 포함)하는 워커 스레드 수
+    public int workerThreads = Math.max(16, Runtime.getRuntime().availableProcessors() * 8);
+
+    // 이벤트 루프별 읽기 버퍼 크기 (bytes)
+    public int readBufferSize = 16 * 1024;
+
+    // 수신 프레임 최대 바이트 수, 구분자 없이 넘으면 연결 종료 (메시지 크기 경고 임계값은 LoggingConstants.THRESHOLD_MESSAGE_SIZE)
+    public int maxFrameBytes = FrameDecoder.DEFAULT_MAX_FRAME_BYTES;
+
+    // 블로킹 소켓 읽기 버퍼와 미완성 프레임 누적 버퍼로 쓰는 풀 버퍼 크기 (bytes)
+    public int frameBufferSize = 4 * 1024;
+
+    // 풀에 보관할 유휴 버퍼 최대 수
+    public int frameBufferPoolSize = 1024;
+
+    // 연결별 송신 큐 최대 프레임 수 (초과 시 enqueue 거부)
+    public int outboundQueueCapacity = 8192;
+
+    // 송신 큐 깊이가 이 값 이상이면 쓰기 불가(backpressure) 상태로 전환
+    public int outboundHighWatermark = 2048;
+
+    // 쓰기 불가 상태에서 송신 큐 깊이가 이 값 이하로 내려가면 쓰기 가능 상태로 복귀
+    public int outboundLowWatermark = 512;
+
+    // 한 번의 소켓 쓰기로 묶어 보낼 최대 바이트 수
+    public int writeBatchMaxBytes = 64 * 1024;
+
+    // 풀에 보관할 유휴 묶음 버퍼 최대 수 (묶음 버퍼는 기록 중인 연결만 빌려 쓴다)
+    public int writeBatchPoolSize = 256;
+
+    // 블로킹 소켓 writer가 깨어난 뒤 프레임을 더 모으기 위해 기다리는 시간 (0이면 즉시 기록)
+    public int writeCoalesceDelayMs = 2;
+
+    // 송신 큐에 쌓인 바이트가 이 값 이상이면 slow consumer 로 판단 (0이면 검사 안 함)
+    public long slowConsumerMaxQueuedBytes = 1024 * 1024;
+
+    // 송신 큐가 이 시간 동안 전혀 비워지지 않으면 slow consumer 로 판단 (0이면 검사 안 함)
+    public long slowConsumerMaxDrainMs = 10_000;
+
+    // 송신 큐를 주기적으로 검사하는 간격 (보낼 프레임이 없어도 slow consumer 감지, 0이면 보낼 때만 검사)
+    public long slowConsumerCheckMs = 1_000;
+
+    // slow consumer 조치 (DROP_NON_ESSENTIAL / DISCONNECT)
+    public SlowConsumerPolicy.Action slowConsumerAction = SlowConsumerPolicy.Action.DROP_NON_ESSENTIAL;
+
+    // slow consumer 일 때 버려도 되는 프레임 종류 (액션 이름)
+    public Set<String> nonEssentialFrameTypes = new HashSet<>(Arrays.asList("MEDIA_STATUS"));
+
+    // CONNECT 에서 DEFLATE 압축 협상 허용 여부 (LENGTH_PREFIXED 연결에만 적용)
+    public boolean compressionEnabled = true;
+
+    // 본문이 이 크기 이상인 송신 프레임만 압축 (bytes)
+    public int compressionThresholdBytes = 512;
+
+    // DEFLATE 압축 레벨 (1: 빠름 ~ 9: 작음)
+    public int compressionLevel = 6;
+
+    // 이 설정을 쓰는 모든 연결이 공유하는 버퍼 풀과 압축기 (처음 사용할 때 생성)
+    private BufferPool frameBufferPool;
+    private BufferPool writeBatchPool;
+    private HashedTimingWheel slowConsumerWheel;
+    private FrameCompressor frameCompressor;
+
+    /**
+     * config.properties 에서 설정값 로드
+     */
+    public static TransportConfig load() {
+        TransportConfig config = new TransportConfig();
+        config.eventLoopThreads = PropertiesManager.getIntProperty("NIO_EVENT_LOOP_THREADS", config.eventLoopThreads);
+        config.workerThreads = PropertiesManager.getIntProperty("NIO_WORKER_THREADS", config.workerThreads);
+        config.readBufferSize = PropertiesManager.getIntProperty("NIO_READ_BUFFER_SIZE", config.readBufferSize);
+        config.maxFrameBytes = PropertiesManager.getIntProperty("MAX_FRAME_BYTES", config.maxFrameBytes);
+        config.frameBufferSize = PropertiesManager.getIntProperty("FRAME_BUFFER_SIZE", config.frameBufferSize);
+        config.frameBufferPoolSize = PropertiesManager.getIntProperty("FRAME_BUFFER_POOL_SIZE",
+                config.frameBufferPoolSize);
+        config.compressionEnabled = PropertiesManager.getBooleanProperty("COMPRESSION_ENABLED",
+                config.compressionEnabled);
+        config.compressionThresholdBytes = PropertiesManager.getIntProperty("COMPRESSION_THRESHOLD_BYTES",
+                config.compressionThresholdBytes);
+        config.compressionLevel = PropertiesManager.getIntProperty("COMPRESSION_LEVEL", config.compressionLevel);
+        config.outboundQueueCapacity = PropertiesManager.getIntProperty("OUTBOUND_QUEUE_CAPACITY",
+                config.outboundQueueCapacity);
+        config.outboundHighWatermark = PropertiesManager.getIntProperty("OUTBOUND_HIGH_WATERMARK",
+                config.outboundHighWatermark);
+        config.outboundLowWatermark = PropertiesManager.getIntProperty("OUTBOUND_LOW_WATERMARK",
+                config.outboundLowWatermark);
+        config.writeBatchMaxBytes = PropertiesManager.getIntProperty("WRITE_BATCH_MAX_BYTES",
+                config.writeBatchMaxBytes);
+        config.writeBatchPoolSize = PropertiesManager.getIntProperty("WRITE_BATCH_POOL_SIZE",
+                config.writeBatchPoolSize);
+        config.writeCoalesceDelayMs = PropertiesManager.getIntProperty("WRITE_COALESCE_DELAY_MS",
+                config.writeCoalesceDelayMs);
+        config.slowConsumerMaxQueuedBytes = PropertiesManager.getLongProperty("SLOW_CONSUMER_MAX_QUEUED_BYTES",
+                config.slowConsumerMaxQueuedBytes);
+        config.slowConsumerMaxDrainMs = PropertiesManager.getLongProperty("SLOW_CONSUMER_MAX_DRAIN_MS",
+                config.slowConsumerMaxDrainMs);
+        config.slowConsumerCheckMs = PropertiesManager.getLongProperty("SLOW_CONSUMER_CHECK_MS",
+                config.slowConsumerCheckMs);
+
+        String action = PropertiesManager.getProperty("SLOW_CONSUMER_ACTION", config.slowConsumerAction.name());
+        try {
+            config.slowConsumerAction = SlowConsumerPolicy.Action.valueOf(action.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.warn("알 수 없는 SLOW_CONSUMER_ACTION, 기본값 사용: value={}, default={}",
+                    action, config.slowConsumerAction);
+        }
+
+        String nonEssential = PropertiesManager.getProperty("SLOW_CONSUMER_NON_ESSENTIAL_ACTIONS", null);
+        if (nonEssential != null) {
+            config.nonEssentialFrameTypes = new HashSet<>();
+            for (String type : nonEssential.split(",")) {
+                if (!type.trim().isEmpty()) {
+                    config.nonEssentialFrameTypes.add(type.trim().toUpperCase());
+                }
+            }
+        }
+        return config;
+    }
+
+    /**
+     * 연결들이 공유하는 수신 버퍼 풀
+     */
+    public synchronized BufferPool getFrameBufferPool() {
+        if (frameBufferPool == null) {
+            frameBufferPool = new BufferPool(frameBufferSize, frameBufferPoolSize);
+        }
+        return frameBufferPool;
+    }
+
+    /**
+     * 연결들이 공유하는 송신 묶음 버퍼 풀
+     */
+    public synchronized BufferPool getWriteBatchPool() {
+        if (writeBatchPool == null) {
+            writeBatchPool = new BufferPool(writeBatchMaxBytes, writeBatchPoolSize);
+        }
+        return writeBatchPool;
+    }
+
+    /**
+     * 연결들이 공유하는 송신 프레임 압축기 (압축을 허용하지 않으면 null)
+     */
+    public synchronized FrameCompressor getFrameCompressor() {
+        if (!compressionEnabled) {
+            return null;
+        }
+        if (frameCompressor == null) {
+            // 동시에 압축하는 writer 수만큼만 Deflater를 보관한다.
+            frameCompressor = new FrameCompressor(compressionThresholdBytes, compressionLevel,
+                    Math.max(eventLoopThreads, Runtime.getRuntime().availableProcessors()) * 2);
+        }
+        return frameCompressor;
+    }
+
+    /**
+     * 설정값으로 연결별 프레임 디코더 생성
+     */
+    public FrameDecoder newFrameDecoder() {
+        return new FrameDecoder(maxFrameBytes, getFrameBufferPool());
+    }
+
+    /**
+     * 블로킹 소켓 연결들이 송신 큐 주기 검사에 공유하는 타이밍 휠 (처음 사용할 때 시작)
+     */
+    public synchronized HashedTimingWheel getSlowConsumerWheel() {
+        if (slowConsumerWheel == null) {
+            slowConsumerWheel = new HashedTimingWheel("slow-consumer-wheel",
+                    Math.max(1, Math.min(100, slowConsumerCheckMs)), 64);
+            slowConsumerWheel.start();
+        }
+        return slowConsumerWheel;
+    }
+
+    /**
+     * 설정값으로 slow consumer 정책 생성
+     */
+    public SlowConsumerPolicy newSlowConsumerPolicy() {
+        return new SlowConsumerPolicy(slowConsumerMaxQueuedBytes, slowConsumerMaxDrainMs,
+                slowConsumerAction, nonEssentialFrameTypes);
+    }
+
+    /**
+     * 설정값으로 연결별 송신 큐 생성
+     */
+    public OutboundQueue newOutboundQueue(String name) {
+        return new OutboundQueue(name, outboundQueueCapacity, outboundHighWatermark, outboundLowWatermark);
+    }
+
+    @Override
+    public String toString() {
+        return "TransportConfig{eventLoopThreads=" + eventLoopThreads
+                + ", workerThreads=" + workerThreads
+                + ", readBufferSize=" + readBufferSize
+                + ", maxFrameBytes=" + maxFrameBytes
+                + ", frameBufferSize=" + frameBufferSize
+                + ", frameBufferPoolSize=" + frameBufferPoolSize
+                + ", compressionEnabled=" + compressionEnabled
+                + ", compressionThresholdBytes=" + compressionThresholdBytes
+                + ", compressionLevel=" + compressionLevel
+                + ", outboundQueueCapacity=" + outboundQueueCapacity
+                + ", outboundHighWatermark=" + outboundHighWatermark
+                + ", outboundLowWatermark=" + outboundLowWatermark
+                + ", writeBatchMaxBytes=" + writeBatchMaxBytes
+                + ", writeBatchPoolSize=" + writeBatchPoolSize
+                + ", writeCoalesceDelayMs=" + writeCoalesceDelayMs
+                + ", slowConsumerMaxQueuedBytes=" + slowConsumerMaxQueuedBytes
+                + ", slowConsumerMaxDrainMs=" + slowConsumerMaxDrainMs
+                + ", slowConsumerCheckMs=" + slowConsumerCheckMs
+                + ", slowConsumerAction=" + slowConsumerAction
+                + ", nonEssentialFrameTypes=" + nonEssentialFrameTypes + "}";
+    }
+}
@@ -0,0 +1,426 @@
+package com.teamnova.network;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+
+import com.teamnova.utils.PerformanceLogger;
+
+/**
+ * WebSocket(RFC 6455) 서버 측 핸드셰이크와 프레임 코덱
+ *
+ * 먼저 HTTP Upgrade 요청을 받아 101 응답을 만들고, 이후의 텍스트 메시지(조각난 메시지 포함)를
+ * 명령 JSON 문자열로 디코딩한다. 서버가 보내야 하는 응답(101/400, pong, close)은 pollReply()로 꺼낸다.
+ * - 클라이언트 프레임은 반드시 마스킹되어야 하며, 언마스킹은 누적 버퍼 안에서 제자리로 한다.
+ * - 바이너리 메시지는 지원하지 않는다 (1003). 확장(RSV 비트)도 협상하지 않는다.
+ * - 메시지가 maxMessageBytes 를 넘으면 1009 로 닫는다.
+ * 닫아야 하는 상황에서는 예외를 던지지 않고 close 프레임을 응답에 넣은 뒤 isCloseRequested()가 true 가 된다.
+ * 연결당 하나씩 사용하며 스레드 안전하지 않다.
+ */
+public class WebSocketCodec {
+
+    public static final String ACCEPT_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+    // 핸드셰이크 요청 헤더 최대 크기 (bytes)
+    public static final int MAX_HANDSHAKE_BYTES = 8 * 1024;
+
+    public static final int OPCODE_CONTINUATION = 0x0;
+    public static final int OPCODE_TEXT = 0x1;
+    public static final int OPCODE_BINARY = 0x2;
+    public static final int OPCODE_CLOSE = 0x8;
+    public static final int OPCODE_PING = 0x9;
+    public static final int OPCODE_PONG = 0xA;
+
+    public static final int STATUS_NORMAL = 1000;
+    public static final int STATUS_PROTOCOL_ERROR = 1002;
+    public static final int STATUS_UNSUPPORTED_DATA = 1003;
+    public static final int STATUS_TOO_BIG = 1009;
+
+    private static final int MAX_CONTROL_PAYLOAD = 125;
+    private static final int UNPOOLED_INITIAL_CAPACITY = 1024;
+
+    private final int maxMessageBytes;
+    private final BufferPool pool;
+
+    private boolean handshakeComplete = false;
+    private boolean closeRequested = false;
+    private int closeStatus = -1;
+    private String failureReason;
+
+    // 미처리 수신 바이트 (쓰기 모드, 남은 바이트가 있을 때만 보유)
+    private ByteBuffer inbound;
+
+    // 조각난 텍스트 메시지 누적 (쓰기 모드)
+    private ByteBuffer fragments;
+    private boolean fragmented = false;
+
+    private final Queue<ByteBuffer> replies = new ArrayDeque<>();
+
+    /**
+     * @param maxMessageBytes 텍스트 메시지 최대 바이트 수 (조각 합계)
+     * @param pool            수신 누적 버퍼를 빌릴 풀 (null이면 직접 할당)
+     */
+    public WebSocketCodec(int maxMessageBytes, BufferPool pool) {
+        if (maxMessageBytes <= 0) {
+            throw new IllegalArgumentException("maxMessageBytes 는 0보다 커야 함: " + maxMessageBytes);
+        }
+        this.maxMessageBytes = maxMessageBytes;
+        this.pool = pool;
+    }
+
+    /**
+     * 입력 버퍼의 남은 바이트를 모두 소비하고 완성된 텍스트 메시지를 out에 추가한다.
+     *
+     * @param in  읽기 모드의 입력 버퍼
+     * @param out 완성된 메시지를 담을 리스트
+     */
+    public void decode(ByteBuffer in, List<String> out) {
+        if (closeRequested) {
+            in.position(in.limit());
+            return;
+        }
+        if (!in.hasRemaining()) {
+            return;
+        }
+        // 처리 중인 프레임은 헤더 검사로 maxMessageBytes 이내가 보장되므로 누적량은 (프레임 1개 + 읽기 1번)을 넘지 않는다.
+        int required = (inbound == null ? 0 : inbound.position()) + in.remaining();
+        ensureCapacity(required);
+        inbound.put(in);
+        inbound.flip();
+        try {
+            if (!handshakeComplete && !readHandshake()) {
+                return;
+            }
+            while (!closeRequested && readFrame(out)) {
+                // 완성된 프레임이 없을 때까지 반복
+            }
+        } finally {
+            if (closeRequested) {
+                release();
+            } else {
+                inbound.compact();
+                if (inbound.position() == 0) {
+                    releaseInbound();
+                }
+            }
+        }
+    }
+
+    /**
+     * HTTP Upgrade 요청 해석
+     *
+     * @return 핸드셰이크가 끝나 이후 바이트를 프레임으로 읽을 수 있으면 true
+     */
+    private boolean readHandshake() {
+        int end = indexOfHeaderEnd(inbound);
+        if (end < 0) {
+            if (inbound.remaining() > MAX_HANDSHAKE_BYTES) {
+                rejectHandshake("요청 헤더 크기 초과: " + inbound.remaining(), false);
+            }
+            return false;
+        }
+
+        int start = inbound.position();
+        String request = new String(inbound.array(), inbound.arrayOffset() + start, end - start,
+                StandardCharsets.ISO_8859_1);
+        inbound.position(end + 4);
+
+        String[] lines = request.split("\r\n");
+        if (!lines[0].startsWith("GET ")) {
+            rejectHandshake("GET 요청이 아님: " + lines[0], false);
+            return false;
+        }
+        Map<String, String> headers = new HashMap<>();
+        for (int i = 1; i < lines.length; i++) {
+            int colon = lines[i].indexOf(':');
+            if (colon > 0) {
+                headers.put(lines[i].substring(0, colon).trim().toLowerCase(Locale.ROOT),
+                        lines[i].substring(colon + 1).trim());
+            }
+        }
+
+        String upgrade = headers.get("upgrade");
+        String connection = headers.get("connection");
+        String key = headers.get("sec-websocket-key");
+        if (upgrade == null || !upgrade.equalsIgnoreCase("websocket")
+                || connection == null || !connection.toLowerCase(Locale.ROOT).contains("upgrade")
+                || key == null || key.isEmpty()) {
+            rejectHandshake("Upgrade 헤더 누락: upgrade=" + upgrade + ", connection=" + connection, false);
+            return false;
+        }
+        if (!"13".equals(headers.get("sec-websocket-version"))) {
+            rejectHandshake("지원하지 않는 버전: " + headers.get("sec-websocket-version"), true);
+            return false;
+        }
+
+        String response = "HTTP/1.1 101 Switching Protocols\r\n"
+                + "Upgrade: websocket\r\n"
+                + "Connection: Upgrade\r\n"
+                + "Sec-WebSocket-Accept: " + acceptKey(key) + "\r\n\r\n";
+        replies.add(ByteBuffer.wrap(response.getBytes(StandardCharsets.ISO_8859_1)));
+        handshakeComplete = true;
+        return true;
+    }
+
+    private void rejectHandshake(String reason, boolean versionMismatch) {
+        String response = "HTTP/1.1 400 Bad Request\r\n"
+                + (versionMismatch ? "Sec-WebSocket-Version: 13\r\n" : "")
+                + "Connection: close\r\n"
+                + "Content-Length: 0\r\n\r\n";
+        replies.add(ByteBuffer.wrap(response.getBytes(StandardCharsets.ISO_8859_1)));
+        closeRequested = true;
+        failureReason = "핸드셰이크 실패: " + reason;
+        PerformanceLogger.incrementCounter("WS_HANDSHAKE_FAILED");
+    }
+
+    /**
+     * 프레임 하나 처리
+     *
+     * @return 프레임 하나를 소비했으면 true, 바이트가 더 필요하거나 닫아야 하면 false
+     */
+    private boolean readFrame(List<String> out) {
+        int start = inbound.position();
+        int available = inbound.remaining();
+        if (available < 2) {
+            return false;
+        }
+        int b0 = inbound.get(start) & 0xFF;
+        int b1 = inbound.get(start + 1) & 0xFF;
+        boolean fin = (b0 & 0x80) != 0;
+        int opcode = b0 & 0x0F;
+        long payloadLength = b1 & 0x7F;
+        int headerLength = 2;
+
+        if ((b0 & 0x70) != 0 || (b1 & 0x80) == 0) {
+            // 확장을 협상하지 않았고, 클라이언트 프레임은 반드시 마스킹해야 함
+            return fail(STATUS_PROTOCOL_ERROR, "RSV 비트 또는 마스킹 오류: b0=" + b0 + ", b1=" + b1);
+        }
+        if (payloadLength == 126) {
+            if (available < 4) {
+                return false;
+            }
+            payloadLength = inbound.getShort(start + 2) & 0xFFFF;
+            headerLength = 4;
+        } else if (payloadLength == 127) {
+            if (available < 10) {
+                return false;
+            }
+            payloadLength = inbound.getLong(start + 2);
+            headerLength = 10;
+        }
+        if (opcode >= OPCODE_CLOSE && (!fin || payloadLength > MAX_CONTROL_PAYLOAD)) {
+            return fail(STATUS_PROTOCOL_ERROR, "잘못된 제어 프레임: opcode=" + opcode + ", length=" + payloadLength);
+        }
+        if (payloadLength < 0 || payloadLength > maxMessageBytes) {
+            return fail(STATUS_TOO_BIG, "최대 메시지 크기 초과: length=" + payloadLength);
+        }
+
+        int maskOffset = start + headerLength;
+        int payloadOffset = maskOffset + 4;
+        int length = (int) payloadLength;
+        if (available < payloadOffset - start + length) {
+            return false;
+        }
+        byte[] array = inbound.array();
+        int base = inbound.arrayOffset();
+        for (int i = 0; i < length; i++) {
+            array[base + payloadOffset + i] ^= array[base + maskOffset + (i & 3)];
+        }
+        inbound.position(payloadOffset + length);
+
+        switch (opcode) {
+            case OPCODE_TEXT:
+                if (fragmented) {
+                    return fail(STATUS_PROTOCOL_ERROR, "조각 메시지 중 새 텍스트 프레임");
+                }
+                if (fin) {
+                    out.add(new String(array, base + payloadOffset, length, StandardCharsets.UTF_8));
+                } else {
+                    fragmented = true;
+                    return appendFragment(array, base + payloadOffset, length);
+                }
+                return true;
+            case OPCODE_CONTINUATION:
+                if (!fragmented) {
+                    return fail(STATUS_PROTOCOL_ERROR, "시작 프레임 없는 continuation");
+                }
+                if (!appendFragment(array, base + payloadOffset, length)) {
+                    return false;
+                }
+                if (fin) {
+                    out.add(new String(fragments.array(), fragments.arrayOffset(), fragments.position(),
+                            StandardCharsets.UTF_8));
+                    fragments = null;
+                    fragmented = false;
+                }
+                return true;
+            case OPCODE_PING:
+                replies.add(encodeFrame(OPCODE_PONG, array, base + payloadOffset, length));
+                return true;
+            case OPCODE_PONG:
+                return true;
+            case OPCODE_CLOSE:
+                // 받은 상태 코드를 그대로 돌려주고 닫는다.
+                closeStatus = length >= 2 ? inbound.getShort(payloadOffset) & 0xFFFF : STATUS_NORMAL;
+                replies.add(closeFrame(closeStatus));
+                closeRequested = true;
+                return false;
+            case OPCODE_BINARY:
+                return fail(STATUS_UNSUPPORTED_DATA, "바이너리 메시지 미지원");
+            default:
+                return fail(STATUS_PROTOCOL_ERROR, "알 수 없는 opcode: " + opcode);
+        }
+    }
+
+    private boolean appendFragment(byte[] array, int offset, int length) {
+        int required = (fragments == null ? 0 : fragments.position()) + length;
+        if (required > maxMessageBytes) {
+            return fail(STATUS_TOO_BIG, "조각 메시지 최대 크기 초과: length=" + required);
+        }
+        if (fragments == null) {
+            fragments = ByteBuffer.allocate(Math.max(required, UNPOOLED_INITIAL_CAPACITY));
+        } else if (fragments.capacity() < required) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.min(Math.max(fragments.capacity() * 2, required),
+                    maxMessageBytes));
+            fragments.flip();
+            grown.put(fragments);
+            fragments = grown;
+        }
+        fragments.put(array, offset, length);
+        return true;
+    }
+
+    /**
+     * 프로토콜 오류: close 프레임을 응답에 넣고 이후 입력을 버린다.
+     */
+    private boolean fail(int status, String reason) {
+        replies.add(closeFrame(status));
+        closeStatus = status;
+        closeRequested = true;
+        failureReason = reason;
+        PerformanceLogger.incrementCounter("WS_PROTOCOL_ERROR");
+        return false;
+    }
+
+    private static int indexOfHeaderEnd(ByteBuffer buffer) {
+        byte[] array = buffer.array();
+        int offset = buffer.arrayOffset();
+        for (int i = buffer.position(); i + 3 < buffer.limit(); i++) {
+            if (array[offset + i] == '\r' && array[offset + i + 1] == '\n'
+                    && array[offset + i + 2] == '\r' && array[offset + i + 3] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void ensureCapacity(int required) {
+        if (inbound == null) {
+            inbound = pool != null && required <= pool.getBufferSize()
+                    ? pool.acquire()
+                    : ByteBuffer.allocate(Math.max(required, UNPOOLED_INITIAL_CAPACITY));
+        }
+        if (inbound.capacity() >= required) {
+            return;
+        }
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(inbound.capacity() * 2, required));
+        inbound.flip();
+        grown.put(inbound);
+        releaseInbound();
+        inbound = grown;
+    }
+
+    private void releaseInbound() {
+        if (inbound != null && pool != null) {
+            pool.release(inbound);
+        }
+        inbound = null;
+    }
+
+    /**
+     * 누적 버퍼를 풀에 반납하고 미완성 프레임을 버린다. (연결 종료 시 호출)
+     */
+    public void release() {
+        releaseInbound();
+        fragments = null;
+        fragmented = false;
+    }
+
+    /**
+     * 서버가 보내야 할 다음 응답 (101/400, pong, close), 없으면 null
+     */
+    public ByteBuffer pollReply() {
+        return replies.poll();
+    }
+
+    /**
+     * 서버 송신용 텍스트 프레임 (마스킹 없음, 읽기 모드 버퍼 반환)
+     */
+    public static ByteBuffer encodeText(String text) {
+        byte[] payload = text.getBytes(StandardCharsets.UTF_8);
+        return encodeFrame(OPCODE_TEXT, payload, 0, payload.length);
+    }
+
+    public static ByteBuffer closeFrame(int status) {
+        byte[] payload = {(byte) (status >> 8), (byte) status};
+        return encodeFrame(OPCODE_CLOSE, payload, 0, payload.length);
+    }
+
+    static ByteBuffer encodeFrame(int opcode, byte[] payload, int offset, int length) {
+        int headerLength = length < 126 ? 2 : length <= 0xFFFF ? 4 : 10;
+        ByteBuffer buffer = ByteBuffer.allocate(headerLength + length);
+        buffer.put((byte) (0x80 | opcode));
+        if (length < 126) {
+            buffer.put((byte) length);
+        } else if (length <= 0xFFFF) {
+            buffer.put((byte) 126).putShort((short) length);
+        } else {
+            buffer.put((byte) 127).putLong(length);
+        }
+        buffer.put(payload, offset, length).flip();
+        return buffer;
+    }
+
+    /**
+     * Sec-WebSocket-Accept 값: Base64(SHA-1(key + GUID))
+     */
+    public static String acceptKey(String key) {
+        try {
+            MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+            byte[] digest = sha1.digest((key + ACCEPT_GUID).getBytes(StandardCharsets.ISO_8859_1));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 미지원 JVM", e);
+        }
+    }
+
+    public boolean isHandshakeComplete() {
+        return handshakeComplete;
+    }
+
+    public boolean isCloseRequested() {
+        return closeRequested;
+    }
+
+    /**
+     * 프로토콜 오류/핸드셰이크 실패 사유 (정상 close 이면 null)
+     */
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    /**
+     * 닫는 이유가 된 close 상태 코드 (닫지 않았거나 핸드셰이크 실패면 -1)
+     */
+    public int getCloseStatus() {
+        return closeStatus;
+    }
+}
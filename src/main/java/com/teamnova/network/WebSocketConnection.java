@@ -0,0 +1,93 @@
+package com.teamnova.network;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.teamnova.utils.PerformanceLogger;
+
+/**
+ * WebSocket 연결 (NioConnection 위에 WebSocketCodec 을 얹은 것)
+ *
+ * 텍스트 메시지 하나가 명령 JSON 하나이며, TCP 연결과 같은 FrameHandler(User)로 전달된다.
+ * 송신도 같은 OutboundQueue/CoalescingWriter 를 거치고 프레임 인코딩만 WebSocket 텍스트 프레임으로 바뀐다.
+ * 핸드셰이크가 끝나기 전의 send() 는 거부한다. framing 전환과 압축은 지원하지 않는다.
+ */
+public class WebSocketConnection extends NioConnection {
+
+    private static final Logger log = LogManager.getLogger(WebSocketConnection.class);
+
+    private final WebSocketCodec codec;
+    private volatile boolean handshakeComplete = false;
+
+    WebSocketConnection(SocketChannel channel, NioEventLoop eventLoop, Executor workerPool, TransportConfig config) {
+        super(channel, eventLoop, workerPool, config, "WS");
+        this.codec = new WebSocketCodec(config.maxFrameBytes, config.getFrameBufferPool());
+    }
+
+    @Override
+    public boolean send(String frame, String frameType) {
+        if (!handshakeComplete) {
+            log.debug("WebSocket 핸드셰이크 전 전송 시도: remoteAddress={}, frameType={}", getRemoteAddress(), frameType);
+            return false;
+        }
+        return super.send(frame, frameType);
+    }
+
+    @Override
+    protected ByteBuffer encodeFrame(String frame) {
+        return WebSocketCodec.encodeText(frame);
+    }
+
+    @Override
+    protected void decodeFrames(ByteBuffer in, List<String> out) {
+        codec.decode(in, out);
+
+        ByteBuffer reply;
+        while ((reply = codec.pollReply()) != null) {
+            sendRaw(reply);
+        }
+        if (!handshakeComplete && codec.isHandshakeComplete()) {
+            handshakeComplete = true;
+            PerformanceLogger.incrementCounter("WS_HANDSHAKE_OK");
+            log.debug("WebSocket 핸드셰이크 완료: remoteAddress={}", getRemoteAddress());
+        }
+        if (codec.isCloseRequested()) {
+            if (codec.getFailureReason() != null) {
+                log.warn("WebSocket 프로토콜 오류로 연결 종료: remoteAddress={}, status={}, error={}",
+                        getRemoteAddress(), codec.getCloseStatus(), codec.getFailureReason());
+            }
+            // close 프레임(또는 400 응답)을 기록한 뒤 닫는다.
+            closeAfterFlush(codec.getFailureReason() != null ? "WS_PROTOCOL_ERROR" : "WS_CLOSE");
+        }
+    }
+
+    @Override
+    protected void releaseInbound() {
+        codec.release();
+    }
+
+    @Override
+    public boolean switchFraming(Framing newFraming, String ackFrame) {
+        // WebSocket 메시지가 이미 경계를 가지므로 framing 은 바꾸지 않는다.
+        return false;
+    }
+
+    @Override
+    public boolean isCompressionAvailable() {
+        return false;
+    }
+
+    @Override
+    public boolean enableCompression() {
+        return false;
+    }
+
+    public boolean isHandshakeComplete() {
+        return handshakeComplete;
+    }
+}
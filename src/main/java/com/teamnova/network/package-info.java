@@ -0,0 +1,13 @@
+/**
+ * 클라이언트 소켓 전송 계층 관련 클래스들
+ * 
+ * 이 패키지는 클라이언트 연결의 입출력을 담당합니다.
+ * - Connection: 블로킹/논블로킹 구현과 무관한 연결 추상화
+ * - NioServer, NioEventLoop: Selector 기반 연결 수락 및 읽기/쓰기 이벤트 처리
+ * - NioConnection, SocketConnection: 연결 구현체
+ * - FrameDecoder, BufferPool: 최대 크기가 제한된 JSON 프레임 디코딩과 수신 버퍼 풀
+ * - Framing: 프레임 구분 방식 (줄바꿈 / 4바이트 길이 헤더, CONNECT 에서 협상)
+ * - FrameCompressor: 협상된 연결의 송신 프레임 DEFLATE 압축 (writer 에서 수행)
+ * - WebSocketCodec, WebSocketConnection: WebSocket 핸드셰이크/프레임 처리 (텍스트 메시지 = 명령 JSON)
+ */
+package com.teamnova.network;
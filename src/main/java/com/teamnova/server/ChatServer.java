@@ -3,21 +3,44 @@ package com.teamnova.server;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
-import java.util.List;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import com.teamnova.chat.ChatRoom;
+import com.teamnova.chat.RoomCache;
+import com.teamnova.chat.RoomSnapshot;
 import com.teamnova.config.PropertiesManager;
+import com.teamnova.database.AsyncDBHelper;
 import com.teamnova.database.DBHelper;
+import com.teamnova.database.MessageWriteBehind;
+import com.teamnova.database.RoomCursorStore;
+import com.teamnova.database.RoomMembershipLoader;
+import com.teamnova.network.Connection;
+import com.teamnova.network.FrameHandler;
+import com.teamnova.network.NioServer;
+import com.teamnova.network.OutboundQueue;
+import com.teamnova.network.SocketConnection;
+import com.teamnova.network.TransportConfig;
 import com.teamnova.user.User;
+import com.teamnova.user.UserRegistry;
+import com.teamnova.utils.KeyedSerialExecutor;
 import com.teamnova.utils.LoggingConstants;
 import com.teamnova.utils.LoggingUtils;
 import com.teamnova.utils.PerformanceLogger;
+import com.teamnova.utils.SnowflakeIdGenerator;
 import com.teamnova.webrtc.VideoRoom;
 
 /**
@@ -27,17 +50,89 @@ public class ChatServer {
 
     private static final Logger log = LogManager.getLogger(ChatServer.class);
 
+    // 상태 로깅 시 연결별로 남기는 backpressure 연결 최대 수
+    private static final int MAX_LOGGED_BACKPRESSURED_CONNECTIONS = 20;
+
     static final int PORT = Integer.parseInt(PropertiesManager.getProperty("SERVER_PORT"));
 
-    public List<User> userList; // 접속자 리스트
-    public static Map<Long, ChatRoom> roomMap; // 채팅방 저장 맵, 키 값이 방 id와 매칭된다.
+    // 연결 처리 방식: NIO(Selector 이벤트 루프, 기본값) / THREAD(연결당 플랫폼 스레드) / VIRTUAL(연결당 가상 스레드)
+    static final String SERVER_MODE = PropertiesManager.getProperty("SERVER_MODE", "NIO").toUpperCase();
+
+    // WebSocket 포트 (0 이면 비활성), SERVER_MODE 와 무관하게 NIO 이벤트 루프로 처리
+    static final int WEBSOCKET_PORT = PropertiesManager.getIntProperty("WEBSOCKET_PORT", 0);
+
+    // 하트비트: 유휴 시간 초과 시 PING, 이후 응답 대기 시간 초과 시 세션 정리 (IDLE_MS 가 0 이면 비활성)
+    static final long HEARTBEAT_IDLE_MS = PropertiesManager.getLongProperty("HEARTBEAT_IDLE_MS", 60_000L);
+    static final long HEARTBEAT_PONG_TIMEOUT_MS = PropertiesManager.getLongProperty("HEARTBEAT_PONG_TIMEOUT_MS",
+            30_000L);
+    static final long HEARTBEAT_TICK_MS = PropertiesManager.getLongProperty("HEARTBEAT_TICK_MS", 1_000L);
+
+    // 시작 시 채팅방 멤버십 적재: 워커 수, 키셋 페이지 크기
+    static final int STARTUP_LOAD_THREADS = PropertiesManager.getIntProperty("STARTUP_LOAD_THREADS",
+            Runtime.getRuntime().availableProcessors());
+    static final int STARTUP_LOAD_PAGE_SIZE = PropertiesManager.getIntProperty("STARTUP_LOAD_PAGE_SIZE", 5_000);
+    // true 면 적재 완료를 기다리지 않고 포트를 열고, 아직 적재되지 않은 방은 조회 시 해당 구간 적재를 기다린다.
+    static final boolean STARTUP_EARLY_OPEN = PropertiesManager.getBooleanProperty("STARTUP_EARLY_OPEN", false);
+    static final long STARTUP_ROOM_WAIT_MS = PropertiesManager.getLongProperty("STARTUP_ROOM_WAIT_MS", 10_000L);
+    // false 면 시작 시 멤버십을 적재하지 않고 첫 조회 때 방 단위로 적재한다.
+    static final boolean ROOM_PRELOAD = PropertiesManager.getBooleanProperty("ROOM_PRELOAD", true);
+
+    // 방 레인: 같은 채팅방/영상방 작업을 순서대로 하나씩 실행하는 직렬 실행기 수와 이를 실행할 공유 스레드 수
+    static final int ROOM_LANES = PropertiesManager.getIntProperty("ROOM_LANES", 1024);
+    static final int ROOM_LANE_THREADS = PropertiesManager.getIntProperty("ROOM_LANE_THREADS",
+            Runtime.getRuntime().availableProcessors());
+
+    // 채팅방 스냅샷 파일 경로 (비어 있으면 사용 안 함), 주기적 기록 간격
+    static final String ROOM_SNAPSHOT_PATH = PropertiesManager.getProperty("ROOM_SNAPSHOT_PATH", "");
+    static final long ROOM_SNAPSHOT_INTERVAL_MS = PropertiesManager.getLongProperty("ROOM_SNAPSHOT_INTERVAL_MS",
+            300_000L);
+
+    // 채팅방 캐시 제거 기준: 마지막 조회 후 경과 시간, 최대 방 수 (0 이면 각각 사용 안 함)
+    static final long ROOM_CACHE_IDLE_MS = PropertiesManager.getLongProperty("ROOM_CACHE_IDLE_MS", 0L);
+    static final int ROOM_CACHE_MAX_ROOMS = PropertiesManager.getIntProperty("ROOM_CACHE_MAX_ROOMS", 0);
+    static final long ROOM_CACHE_SWEEP_MS = PropertiesManager.getLongProperty("ROOM_CACHE_SWEEP_MS", 60_000L);
+
+    // 비동기 DB 실행기: 스레드 수, 대기열 길이, 작업 제한 시간
+    static final int DB_ASYNC_THREADS = PropertiesManager.getIntProperty("DB_ASYNC_THREADS", 16);
+    static final int DB_ASYNC_QUEUE = PropertiesManager.getIntProperty("DB_ASYNC_QUEUE", 1_024);
+    static final long DB_ASYNC_TIMEOUT_MS = PropertiesManager.getLongProperty("DB_ASYNC_TIMEOUT_MS", 5_000L);
+
+    // 메시지 지연 저장: 사용 여부, 배치 행 수, 최대 대기 시간, 최대 대기 메시지 수, 전송/저장 순서(ASYNC|SYNC)
+    static final boolean MESSAGE_WRITE_BEHIND = PropertiesManager.getBooleanProperty("MESSAGE_WRITE_BEHIND", true);
+    static final int MESSAGE_WRITE_BATCH_ROWS = PropertiesManager.getIntProperty("MESSAGE_WRITE_BATCH_ROWS", 1_000);
+    static final long MESSAGE_WRITE_FLUSH_MS = PropertiesManager.getLongProperty("MESSAGE_WRITE_FLUSH_MS", 5L);
+    static final int MESSAGE_WRITE_MAX_PENDING = PropertiesManager.getIntProperty("MESSAGE_WRITE_MAX_PENDING",
+            100_000);
+    static final MessageWriteBehind.Durability MESSAGE_WRITE_DURABILITY = MessageWriteBehind.Durability
+            .valueOf(PropertiesManager.getProperty("MESSAGE_WRITE_DURABILITY", "ASYNC").toUpperCase());
+    // 메시지 id 발급기의 worker id (0 ~ 1023, 같은 DB 를 쓰는 서버마다 달라야 함)
+    static final long ID_WORKER_ID = PropertiesManager.getLongProperty("ID_WORKER_ID", 0L);
+
+    // 채팅 메시지 전송 모델: LEDGER (수신자별 전송 내역), CURSOR (방 메시지 로그 + 사용자별 방 커서)
+    static final String DELIVERY_MODEL = PropertiesManager.getProperty("DELIVERY_MODEL", "LEDGER").toUpperCase();
+    static final int CURSOR_REPLAY_PAGE_SIZE = PropertiesManager.getIntProperty("CURSOR_REPLAY_PAGE_SIZE", 500);
+    // 재접속 재전송 전에 지연 저장 중인 메시지를 기다리는 최대 시간
+    static final long CURSOR_REPLAY_WAIT_MS = PropertiesManager.getLongProperty("CURSOR_REPLAY_WAIT_MS", 5_000L);
+
+    public UserRegistry userRegistry; // 접속자 목록 (사용자 id / 세션 id 로 조회)
+    public static RoomCache roomCache; // 채팅방 캐시 (방 id 로 조회, 없으면 DB 에서 적재)
     public static Map<String, VideoRoom> videoRoomMap; // 영상회의 맵 키 값은 회의방의 uuid이다.
+    public static KeyedSerialExecutor roomLanes; // 방 단위 작업 직렬 실행 (키: 채팅방 id 또는 영상방 id)
+    private static ExecutorService roomLanePool;
+    private static volatile AsyncDBHelper asyncDb; // 비동기 DB 호출 (전용 스레드 풀)
+    public static volatile MessageWriteBehind messageWriter; // 메시지 지연 저장 (사용 안 하면 null)
+    public static volatile RoomCursorStore roomCursors; // 커서 전송 모델 (LEDGER 면 null)
+    private static volatile RoomMembershipLoader roomLoader; // 시작 시 멤버십 적재기 (적재 완료 후에도 유지)
 
     // 서버 상태 추적
     private final String serverId;
     private final long serverStartTime;
     private volatile boolean isRunning = false;
-    private int totalConnectionsAccepted = 0;
+    private volatile int totalConnectionsAccepted = 0;
+    private NioServer nioServer;
+    private NioServer webSocketServer;
+    private TransportConfig transportConfig;
+    private HeartbeatMonitor heartbeatMonitor;
 
     public ChatServer() {
         this.serverId = LoggingUtils.generateOperationId();
@@ -54,14 +149,20 @@ public class ChatServer {
 
         try {
             // 데이터 구조 초기화
-            userList = new CopyOnWriteArrayList<>();
-            roomMap = new ConcurrentHashMap<>();
+            userRegistry = new UserRegistry();
+            roomCache = new RoomCache(roomId -> DBHelper.getInstance().loadChatRoom(roomId), ROOM_CACHE_IDLE_MS,
+                    ROOM_CACHE_MAX_ROOMS);
             videoRoomMap = new ConcurrentHashMap<>();
+            roomLanePool = Executors.newFixedThreadPool(ROOM_LANE_THREADS,
+                    Thread.ofPlatform().name("room-lane-", 0).daemon(true).factory());
+            roomLanes = new KeyedSerialExecutor("room", roomLanePool, ROOM_LANES);
+            asyncDb = new AsyncDBHelper(DBHelper::getInstance, DB_ASYNC_THREADS, DB_ASYNC_QUEUE,
+                    DB_ASYNC_TIMEOUT_MS);
 
             log.debug(
-                    "데이터 구조 초기화 완료: serverId={}, operationId={}, userListType={}, roomMapType={}, videoRoomMapType={}",
-                    serverId, operationId, userList.getClass().getSimpleName(),
-                    roomMap.getClass().getSimpleName(), videoRoomMap.getClass().getSimpleName());
+                    "데이터 구조 초기화 완료: serverId={}, operationId={}, userRegistryType={}, roomCacheType={}, videoRoomMapType={}",
+                    serverId, operationId, userRegistry.getClass().getSimpleName(),
+                    roomCache.getClass().getSimpleName(), videoRoomMap.getClass().getSimpleName());
 
             // 데이터베이스 연결 및 초기화
             PerformanceLogger.Timer dbInitTimer = PerformanceLogger.startDatabaseTimer("INIT", "server_data");
@@ -69,19 +170,74 @@ public class ChatServer {
                 DBHelper dbHelper = DBHelper.getInstance();
                 log.debug("데이터베이스 연결 성공: serverId={}, operationId={}", serverId, operationId);
 
-                // DB에서 생성되었던 방 목록 로드
-                roomMap = dbHelper.getServerData();
-                long dbInitDuration = dbInitTimer.stop();
+                // 방 메시지 순번 컬럼 (없으면 추가)
+                dbHelper.ensureRoomSeqColumn();
+
+                // 메시지 지연 저장 단계 (메시지 id 는 Snowflake 발급기에서 DB 왕복 없이 발급)
+                if (MESSAGE_WRITE_BEHIND) {
+                    SnowflakeIdGenerator messageIds = new SnowflakeIdGenerator(ID_WORKER_ID);
+                    // 같은 worker id 로 전에 발급한 id 와만 비교 (다른 서버의 id 는 시계 차이로 더 커도 겹치지 않음)
+                    long lastMessageId = dbHelper.getMaxMessageIdOfWorker(ID_WORKER_ID);
+                    long firstMessageId = messageIds.nextId();
+                    if (firstMessageId <= lastMessageId) {
+                        // 시계가 크게 틀렸거나 같은 worker id 를 다른 서버가 쓰는 중: 그대로 쓰면 id 가 겹칠 수 있다.
+                        throw new IllegalStateException("저장된 메시지 id 가 발급기보다 큽니다: lastMessageId="
+                                + lastMessageId + ", firstMessageId=" + firstMessageId);
+                    }
+                    messageWriter = new MessageWriteBehind(dbHelper::borrowConnection, messageIds,
+                            MESSAGE_WRITE_BATCH_ROWS, MESSAGE_WRITE_FLUSH_MS, MESSAGE_WRITE_MAX_PENDING,
+                            MESSAGE_WRITE_DURABILITY);
+                    messageWriter.start();
+                    log.info("메시지 지연 저장 시작: serverId={}, operationId={}, workerId={}, lastMessageId={}, "
+                            + "firstMessageId={}, durability={}", serverId, operationId, ID_WORKER_ID, lastMessageId,
+                            firstMessageId, MESSAGE_WRITE_DURABILITY);
+                }
 
-                log.info("채팅방 데이터 로드 완료: serverId={}, operationId={}, roomCount={}, loadDuration={}ms",
-                        serverId, operationId, roomMap.size(), dbInitDuration);
+                // 커서 전송 모델 (테이블이 없으면 만들고, 기존 멤버십의 커서는 현재 로그 끝에서 시작)
+                if ("CURSOR".equals(DELIVERY_MODEL)) {
+                    RoomCursorStore cursors = new RoomCursorStore(dbHelper::borrowConnection, CURSOR_REPLAY_PAGE_SIZE);
+                    int seeded = cursors.ensureSchema();
+                    roomCursors = cursors;
+                    log.info("커서 전송 모델 사용: serverId={}, operationId={}, seededCursors={}", serverId, operationId,
+                            seeded);
+                }
 
-                // 채팅방 상세 정보 로깅
-                if (log.isDebugEnabled()) {
-                    roomMap.forEach((roomId, chatRoom) -> {
-                        log.debug("로드된 채팅방: serverId={}, operationId={}, roomId={}, roomName={}, memberCount={}",
-                                serverId, operationId, roomId, chatRoom.roomName, chatRoom.userList.size());
-                    });
+                // DB에서 생성되었던 방 목록 로드 (방 id 구간별 병렬 적재)
+                long heapBefore = usedHeapBytes();
+                RoomMembershipLoader loader = dbHelper.newRoomMembershipLoader(STARTUP_LOAD_THREADS,
+                        STARTUP_LOAD_PAGE_SIZE);
+
+                if (!ROOM_PRELOAD) {
+                    dbInitTimer.stop("LAZY");
+                    log.info("채팅방 사전 적재 생략, 첫 조회 시 방 단위로 적재: serverId={}, operationId={}",
+                            serverId, operationId);
+                } else if (restoreRoomSnapshot(dbHelper, operationId)) {
+                    dbInitTimer.stop("SNAPSHOT");
+                } else if (STARTUP_EARLY_OPEN) {
+                    roomLoader = loader;
+                    loader.start(roomCache.asMap());
+                    dbInitTimer.stop("EARLY_OPEN");
+                    Thread reporter = new Thread(() -> {
+                        try {
+                            loader.awaitAll();
+                            logRoomLoadCompleted(operationId, loader, heapBefore);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } catch (RuntimeException e) {
+                            log.error("채팅방 데이터 백그라운드 로드 실패: serverId={}, operationId={}, error={}",
+                                    serverId, operationId, e.getMessage(), e);
+                        }
+                    }, "room-loader-report");
+                    reporter.setDaemon(true);
+                    reporter.start();
+                    log.info("채팅방 데이터 로드를 기다리지 않고 포트를 엽니다: serverId={}, operationId={}, roomWaitMs={}",
+                            serverId, operationId, STARTUP_ROOM_WAIT_MS);
+                } else {
+                    roomLoader = loader;
+                    loader.start(roomCache.asMap());
+                    loader.awaitAll();
+                    dbInitTimer.stop();
+                    logRoomLoadCompleted(operationId, loader, heapBefore);
                 }
 
             } catch (Exception e) {
@@ -95,12 +251,29 @@ public class ChatServer {
             PerformanceLogger.startPeriodicLogging(5); // 5분마다 성능 리포트
             log.info("성능 모니터링 시작: serverId={}, operationId={}, interval=5분", serverId, operationId);
 
+            // 하트비트 모니터 시작
+            if (HEARTBEAT_IDLE_MS > 0) {
+                heartbeatMonitor = new HeartbeatMonitor(this, HEARTBEAT_TICK_MS, HEARTBEAT_IDLE_MS,
+                        HEARTBEAT_PONG_TIMEOUT_MS);
+                heartbeatMonitor.start();
+            }
+
+            // 채팅방 스냅샷 주기적 기록 시작
+            startRoomSnapshotWriter();
+
+            // 오래 조회되지 않은 채팅방 제거 시작 (제거 기준이 없으면 시작하지 않음)
+            roomCache.startEviction(ROOM_CACHE_SWEEP_MS);
+
             long initDuration = serverInitTimer.stop();
             log.info("서버 초기화 완료: serverId={}, operationId={}, duration={}ms, port={}, roomCount={}",
-                    serverId, operationId, initDuration, PORT, roomMap.size());
+                    serverId, operationId, initDuration, PORT, roomCache.size());
 
             // 서버 소켓 시작
-            startServerSocket(operationId);
+            if ("THREAD".equals(SERVER_MODE) || "VIRTUAL".equals(SERVER_MODE)) {
+                startServerSocket(operationId);
+            } else {
+                startNioServer(operationId);
+            }
 
         } catch (Exception e) {
             serverInitTimer.stop("ERROR: " + e.getMessage());
@@ -110,12 +283,244 @@ public class ChatServer {
         }
     }
 
+    /**
+     * NIO 서버 시작 (소수의 이벤트 루프 스레드가 모든 연결의 입출력을 처리)
+     */
+    private void startNioServer(String initOperationId) {
+        transportConfig = TransportConfig.load();
+        startWebSocketServer(initOperationId);
+        log.info("NIO 서버 시작: serverId={}, operationId={}, port={}, mode={}, config={}",
+                serverId, initOperationId, PORT, SERVER_MODE, transportConfig);
+
+        nioServer = new NioServer(PORT, transportConfig, this::acceptConnection);
+        try {
+            nioServer.start();
+            isRunning = true;
+
+            log.info("서버 소켓 바인딩 성공: serverId={}, port={}, status={}",
+                    serverId, PORT, LoggingConstants.SYSTEM_STATUS_RUNNING);
+
+            nioServer.run();
+
+        } catch (IOException e) {
+            log.fatal("서버 소켓 생성 실패: serverId={}, port={}, error={}, systemState=SHUTTING_DOWN",
+                    serverId, PORT, e.getMessage(), e);
+            nioServer.close();
+            throw new RuntimeException("서버 소켓 생성 실패", e);
+        } finally {
+            isRunning = false;
+            log.info("서버 소켓 종료: serverId={}, port={}, totalConnectionsAccepted={}, finalUserCount={}",
+                    serverId, PORT, totalConnectionsAccepted, userRegistry.size());
+        }
+    }
+
+    private void logRoomLoadCompleted(String operationId, RoomMembershipLoader loader, long heapBefore) {
+        long heapAfter = usedHeapBytes();
+        long loadDuration = loader.getDurationMillis();
+        log.info("채팅방 데이터 로드 완료: serverId={}, operationId={}, roomCount={}, membershipCount={}, " +
+                "loadDuration={}ms, threads={}, heapUsedBefore={}, heapUsedAfter={}",
+                serverId, operationId, roomCache.size(), loader.getMembershipCount(), loadDuration,
+                STARTUP_LOAD_THREADS, LoggingUtils.formatBytes(heapBefore), LoggingUtils.formatBytes(heapAfter));
+        PerformanceLogger.recordValue("STARTUP_ROOM_LOAD_MS", loadDuration);
+        PerformanceLogger.recordValue("STARTUP_ROOM_LOAD_HEAP_BYTES", heapAfter - heapBefore);
+
+        // 채팅방 상세 정보 로깅
+        if (log.isDebugEnabled()) {
+            for (ChatRoom chatRoom : roomCache.rooms()) {
+                log.debug("로드된 채팅방: serverId={}, operationId={}, roomId={}, roomName={}, memberCount={}",
+                        serverId, operationId, chatRoom.id, chatRoom.roomName, chatRoom.getMemberCount());
+            }
+        }
+    }
+
+    /**
+     * 스냅샷 파일로 채팅방을 복원하고 기준점 이후 멤버십만 DB 에서 반영
+     *
+     * @return 복원했으면 true, 스냅샷이 없거나 읽을 수 없으면 false (전체 적재로 진행)
+     */
+    private boolean restoreRoomSnapshot(DBHelper dbHelper, String operationId) throws SQLException {
+        if (ROOM_SNAPSHOT_PATH.isEmpty()) {
+            return false;
+        }
+        Path path = Paths.get(ROOM_SNAPSHOT_PATH);
+        if (!Files.exists(path)) {
+            log.info("채팅방 스냅샷 없음, 전체 적재: serverId={}, operationId={}, path={}",
+                    serverId, operationId, path);
+            return false;
+        }
+
+        long start = System.nanoTime();
+        RoomSnapshot snapshot;
+        try {
+            snapshot = RoomSnapshot.read(path);
+        } catch (IOException e) {
+            log.warn("채팅방 스냅샷 읽기 실패, 전체 적재: serverId={}, operationId={}, path={}, error={}",
+                    serverId, operationId, path, e.getMessage());
+            return false;
+        }
+        long readMillis = (System.nanoTime() - start) / 1_000_000;
+        if (snapshot.highWaterMark == null) {
+            // 스냅샷 당시 멤버십이 하나도 없어 기준점이 없으면 전체 적재와 차이가 없다.
+            log.info("채팅방 스냅샷 기준점 없음, 전체 적재: serverId={}, operationId={}", serverId, operationId);
+            return false;
+        }
+
+        for (ChatRoom room : snapshot.rooms) {
+            roomCache.put(room);
+        }
+        int deltaRows = dbHelper.applyMembershipSince(snapshot.highWaterMark, roomCache.asMap());
+        long totalMillis = (System.nanoTime() - start) / 1_000_000;
+
+        log.info("채팅방 스냅샷 복원 완료: serverId={}, operationId={}, roomCount={}, snapshotAgeMs={}, " +
+                "highWaterMark={}, deltaRows={}, readMs={}, totalMs={}",
+                serverId, operationId, snapshot.rooms.size(), System.currentTimeMillis() - snapshot.createdAtMillis,
+                snapshot.highWaterMark, deltaRows, readMillis, totalMillis);
+        PerformanceLogger.recordValue("STARTUP_ROOM_LOAD_MS", totalMillis);
+        PerformanceLogger.recordValue("ROOM_SNAPSHOT_DELTA_ROWS", deltaRows);
+        return true;
+    }
+
+    private void startRoomSnapshotWriter() {
+        if (ROOM_SNAPSHOT_PATH.isEmpty() || ROOM_SNAPSHOT_INTERVAL_MS <= 0) {
+            return;
+        }
+        Thread writer = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(ROOM_SNAPSHOT_INTERVAL_MS);
+                    writeRoomSnapshot();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }, "room-snapshot-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("채팅방 스냅샷 기록 시작: serverId={}, path={}, intervalMs={}",
+                serverId, ROOM_SNAPSHOT_PATH, ROOM_SNAPSHOT_INTERVAL_MS);
+    }
+
+    /**
+     * 현재 채팅방 상태를 스냅샷 파일로 기록 (기준점은 방 목록을 복사하기 전에 읽는다)
+     */
+    private synchronized void writeRoomSnapshot() {
+        if (ROOM_SNAPSHOT_PATH.isEmpty() || roomCache == null) {
+            return;
+        }
+        // 사전 적재가 끝나지 않았으면 일부만 담긴 스냅샷이 되므로 건너뛴다.
+        RoomMembershipLoader loader = roomLoader;
+        if (loader != null && !loader.isComplete()) {
+            return;
+        }
+        PerformanceLogger.Timer timer = PerformanceLogger.startTimer("ROOM_SNAPSHOT_WRITE");
+        try {
+            String highWaterMark = DBHelper.getInstance().getMembershipHighWaterMark();
+            long bytes = RoomSnapshot.write(Paths.get(ROOM_SNAPSHOT_PATH), roomCache.rooms(), highWaterMark);
+            long duration = timer.stop();
+            log.info("채팅방 스냅샷 기록 완료: serverId={}, roomCount={}, size={}, highWaterMark={}, duration={}ms",
+                    serverId, roomCache.size(), LoggingUtils.formatBytes(bytes), highWaterMark, duration);
+        } catch (IOException | SQLException | RuntimeException e) {
+            timer.stop("ERROR: " + e.getMessage());
+            log.error("채팅방 스냅샷 기록 실패: serverId={}, path={}, error={}", serverId, ROOM_SNAPSHOT_PATH,
+                    e.getMessage(), e);
+        }
+    }
+
+    private static long usedHeapBytes() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * WebSocket 서버 시작 (별도 accept 스레드, 수락된 연결은 TCP 와 같은 acceptConnection 으로 처리)
+     */
+    private void startWebSocketServer(String initOperationId) {
+        if (WEBSOCKET_PORT <= 0) {
+            return;
+        }
+        webSocketServer = NioServer.webSocket(WEBSOCKET_PORT, transportConfig, this::acceptConnection);
+        try {
+            webSocketServer.start();
+        } catch (IOException e) {
+            log.fatal("WebSocket 서버 소켓 생성 실패: serverId={}, operationId={}, port={}, error={}",
+                    serverId, initOperationId, WEBSOCKET_PORT, e.getMessage(), e);
+            webSocketServer.close();
+            throw new RuntimeException("WebSocket 서버 소켓 생성 실패", e);
+        }
+        Thread acceptThread = new Thread(webSocketServer::run, "ws-accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+        log.info("WebSocket 서버 시작: serverId={}, operationId={}, port={}",
+                serverId, initOperationId, WEBSOCKET_PORT);
+    }
+
+    /**
+     * NIO 이벤트 루프에 등록된 채널 수 (TCP + WebSocket, THREAD/VIRTUAL 모드의 TCP 연결은 제외)
+     */
+    private int getOpenChannelCount() {
+        int count = 0;
+        if (nioServer != null) {
+            count += nioServer.getConnectionCount();
+        }
+        if (webSocketServer != null) {
+            count += webSocketServer.getConnectionCount();
+        }
+        return count;
+    }
+
+    /**
+     * NIO 연결 수락 시 사용자 세션 생성
+     */
+    private FrameHandler acceptConnection(Connection connection) {
+        totalConnectionsAccepted++;
+        String connectionId = LoggingUtils.generateOperationId();
+
+        log.info("클라이언트 연결 수락: serverId={}, connectionId={}, clientAddress={}, " +
+                "totalConnections={}, currentActiveConnections={}, openChannels={}",
+                serverId, connectionId, connection.getRemoteAddress(), totalConnectionsAccepted,
+                userRegistry.size(), getOpenChannelCount());
+
+        checkServerResources(connectionId);
+
+        User user = new User(this, connection);
+        if (heartbeatMonitor != null) {
+            heartbeatMonitor.register(user);
+        }
+        return user;
+    }
+
+    /**
+     * 연결당 세션 스레드 생성기 (VIRTUAL 모드는 가상 스레드, 그 외는 플랫폼 스레드)
+     */
+    private static ThreadFactory sessionThreadFactory() {
+        if ("VIRTUAL".equals(SERVER_MODE)) {
+            return Thread.ofVirtual().name("user-vt-", 0).factory();
+        }
+        return Thread.ofPlatform().name("user-", 0).factory();
+    }
+
+    /**
+     * 연결당 writer 스레드 생성기 (세션 스레드와 같은 모델, 모드 간 메모리/문맥 전환 비교가 섞이지 않게)
+     */
+    private static ThreadFactory writerThreadFactory() {
+        if ("VIRTUAL".equals(SERVER_MODE)) {
+            return Thread.ofVirtual().name("socket-writer-vt-", 0).factory();
+        }
+        return Thread.ofPlatform().name("socket-writer-", 0).daemon(true).factory();
+    }
+
     /**
      * 서버 소켓 시작 및 클라이언트 연결 수락
      */
     private void startServerSocket(String initOperationId) {
-        log.info("서버 소켓 시작: serverId={}, operationId={}, port={}, bindAddress=0.0.0.0",
-                serverId, initOperationId, PORT);
+        ThreadFactory threadFactory = sessionThreadFactory();
+        ThreadFactory writerThreads = writerThreadFactory();
+        transportConfig = TransportConfig.load();
+        startWebSocketServer(initOperationId);
+
+        log.info("서버 소켓 시작: serverId={}, operationId={}, port={}, bindAddress=0.0.0.0, mode={}, config={}",
+                serverId, initOperationId, PORT, SERVER_MODE, transportConfig);
 
         try (ServerSocket serverSocket = new ServerSocket(PORT)) {
             isRunning = true;
@@ -127,7 +532,7 @@ public class ChatServer {
             while (isRunning) {
                 try {
                     log.trace("클라이언트 연결 대기 중: serverId={}, port={}, currentConnections={}",
-                            serverId, PORT, userList.size());
+                            serverId, PORT, userRegistry.size());
 
                     Socket socket = serverSocket.accept();
                     totalConnectionsAccepted++;
@@ -137,18 +542,22 @@ public class ChatServer {
 
                     log.info("클라이언트 연결 수락: serverId={}, connectionId={}, clientAddress={}, " +
                             "totalConnections={}, currentActiveConnections={}",
-                            serverId, connectionId, clientAddress, totalConnectionsAccepted, userList.size());
+                            serverId, connectionId, clientAddress, totalConnectionsAccepted, userRegistry.size());
 
                     // 연결 상태 체크
                     checkServerResources(connectionId);
 
                     // User 객체 생성 후 스레드 실행
                     try {
-                        User user = new User(this, socket);
-                        user.start();
+                        User user = new User(this, new SocketConnection(socket, transportConfig).start(writerThreads));
+                        if (heartbeatMonitor != null) {
+                            heartbeatMonitor.register(user);
+                        }
+                        Thread sessionThread = threadFactory.newThread(user);
+                        sessionThread.start();
 
-                        log.debug("사용자 스레드 시작: serverId={}, connectionId={}, clientAddress={}, threadName={}",
-                                serverId, connectionId, clientAddress, user.getName());
+                        log.debug("사용자 스레드 시작: serverId={}, connectionId={}, clientAddress={}, threadName={}, virtual={}",
+                                serverId, connectionId, clientAddress, sessionThread.getName(), sessionThread.isVirtual());
 
                     } catch (Exception e) {
                         log.error("사용자 스레드 생성 실패: serverId={}, connectionId={}, clientAddress={}, error={}",
@@ -181,7 +590,7 @@ public class ChatServer {
         } finally {
             isRunning = false;
             log.info("서버 소켓 종료: serverId={}, port={}, totalConnectionsAccepted={}, finalUserCount={}",
-                    serverId, PORT, totalConnectionsAccepted, userList.size());
+                    serverId, PORT, totalConnectionsAccepted, userRegistry.size());
         }
     }
 
@@ -193,7 +602,7 @@ public class ChatServer {
         PerformanceLogger.checkMemoryUsage();
 
         // 현재 연결 수 체크
-        int currentConnections = userList.size();
+        int currentConnections = userRegistry.size();
         if (currentConnections > 1000) { // 임계값 설정
             log.warn("높은 동시 연결 수: serverId={}, connectionId={}, currentConnections={}, threshold=1000",
                     serverId, connectionId, currentConnections);
@@ -213,14 +622,18 @@ public class ChatServer {
     // 사용자 목록에 인자로 주어진 사용자를 추가한다.
     public void addUser(User user) {
         String operationId = LoggingUtils.generateOperationId();
-        int prevUserCount = userList.size();
+        int prevUserCount = userRegistry.size();
 
         log.debug("사용자 추가 시작: serverId={}, operationId={}, userId={}, sessionId={}, prevUserCount={}",
                 serverId, operationId, user.id, user.getSessionId(), prevUserCount);
 
         try {
-            userList.add(user);
-            int newUserCount = userList.size();
+            User previous = userRegistry.register(user);
+            int newUserCount = userRegistry.size();
+            if (previous != null) {
+                log.debug("기존 접속자 세션 대체: serverId={}, operationId={}, userId={}, sessionId={}, previousSessionId={}",
+                        serverId, operationId, user.id, user.getSessionId(), previous.getSessionId());
+            }
 
             log.info("사용자 추가 완료: serverId={}, operationId={}, userId={}, sessionId={}, " +
                     "userCount={}->{}, totalConnectionsAccepted={}",
@@ -247,7 +660,7 @@ public class ChatServer {
     // 접속자 목록에서 주어진 유저 제거
     public void removeUser(User user) {
         String operationId = LoggingUtils.generateOperationId();
-        int prevUserCount = userList.size();
+        int prevUserCount = userRegistry.size();
         long sessionDuration = System.currentTimeMillis() - user.getConnectionStartTime();
 
         log.debug("사용자 제거 시작: serverId={}, operationId={}, userId={}, sessionId={}, " +
@@ -258,8 +671,8 @@ public class ChatServer {
             // UserConnectionManager를 통해 연결 해제
             user.disconnect();
 
-            boolean removed = userList.remove(user);
-            int newUserCount = userList.size();
+            boolean removed = userRegistry.unregister(user);
+            int newUserCount = userRegistry.size();
 
             if (removed) {
                 log.info("사용자 제거 완료: serverId={}, operationId={}, userId={}, sessionId={}, " +
@@ -286,7 +699,7 @@ public class ChatServer {
      * 사용자 목록 상태 로깅
      */
     private void logUserListStatus(String operationId) {
-        int userCount = userList.size();
+        int userCount = userRegistry.size();
         long serverUptime = System.currentTimeMillis() - serverStartTime;
 
         log.info("사용자 목록 상태: serverId={}, operationId={}, currentUsers={}, " +
@@ -294,34 +707,78 @@ public class ChatServer {
                 serverId, operationId, userCount, totalConnectionsAccepted, serverUptime,
                 calculateAverageSessionTime());
 
+        // 연결 모델별 비교를 위한 연결당 메모리/컨텍스트 스위치 지표
+        PerformanceLogger.logConnectionFootprint(SERVER_MODE, userCount);
+
+        // 전송 방식별 연결 수
+        if (webSocketServer != null) {
+            log.info("전송 방식별 연결 수: serverId={}, operationId={}, tcpChannels={}, webSocketChannels={}",
+                    serverId, operationId, nioServer != null ? nioServer.getConnectionCount() : -1,
+                    webSocketServer.getConnectionCount());
+        }
+
+        // 방 레인 적체 (처리보다 유입이 많은 방이 있는지)
+        if (roomLanes != null) {
+            PerformanceLogger.recordValue("ROOM_LANE_PENDING", roomLanes.pendingTasks());
+        }
+
+        logBackpressuredConnections(operationId);
+
         // 상세 사용자 정보 (DEBUG 레벨)
         if (log.isDebugEnabled() && userCount <= 20) {
-            userList.forEach(user -> {
+            userRegistry.users().forEach(user -> {
                 long sessionDuration = System.currentTimeMillis() - user.getConnectionStartTime();
                 log.debug("활성 사용자: serverId={}, operationId={}, userId={}, sessionId={}, " +
-                        "sessionDuration={}ms, messageCount={}",
+                        "sessionDuration={}ms, messageCount={}, outboundQueueDepth={}",
                         serverId, operationId, user.id, user.getSessionId(),
-                        sessionDuration, user.getMessageCount());
+                        sessionDuration, user.getMessageCount(), user.getOutboundQueueDepth());
             });
         }
     }
 
+    /**
+     * 송신 큐가 backpressure 상태(high watermark 이상)인 연결별 큐 깊이 로깅
+     */
+    private void logBackpressuredConnections(String operationId) {
+        int unwritable = 0;
+        for (User user : userRegistry.users()) {
+            OutboundQueue queue = user.getOutboundQueue();
+            if (queue == null || user.isOutboundWritable()) {
+                continue;
+            }
+            if (++unwritable <= MAX_LOGGED_BACKPRESSURED_CONNECTIONS) {
+                log.warn("송신 큐 backpressure 연결: serverId={}, operationId={}, userId={}, queueDepth={}, " +
+                        "queuedBytes={}, maxDepth={}, stalledMs={}",
+                        serverId, operationId, user.id, queue.size(), queue.queuedBytes(), queue.getMaxDepth(),
+                        queue.stalledMillis());
+            }
+        }
+        PerformanceLogger.recordValue("OUTBOUND_UNWRITABLE_CONNECTIONS", unwritable);
+        if (unwritable > MAX_LOGGED_BACKPRESSURED_CONNECTIONS) {
+            log.warn("송신 큐 backpressure 연결 일부만 로깅: serverId={}, operationId={}, total={}, logged={}",
+                    serverId, operationId, unwritable, MAX_LOGGED_BACKPRESSURED_CONNECTIONS);
+        }
+    }
+
     /**
      * 평균 세션 시간 계산
      */
     private long calculateAverageSessionTime() {
-        if (userList.isEmpty()) {
+        if (userRegistry.isEmpty()) {
             return 0;
         }
 
         long totalSessionTime = 0;
+        int userCount = 0;
         long currentTime = System.currentTimeMillis();
 
-        for (User user : userList) {
+        // 순회 중 목록이 바뀔 수 있으므로 실제로 순회한 수로 나눈다.
+        for (User user : userRegistry.users()) {
             totalSessionTime += (currentTime - user.getConnectionStartTime());
+            userCount++;
         }
 
-        return totalSessionTime / userList.size();
+        return userCount == 0 ? 0 : totalSessionTime / userCount;
     }
 
     /**
@@ -333,13 +790,38 @@ public class ChatServer {
 
         log.info("서버 종료 시작: serverId={}, operationId={}, currentUsers={}, " +
                 "totalConnectionsAccepted={}, serverUptime={}ms",
-                serverId, operationId, userList.size(), totalConnectionsAccepted, serverUptime);
+                serverId, operationId, userRegistry.size(), totalConnectionsAccepted, serverUptime);
 
         isRunning = false;
+        if (nioServer != null) {
+            nioServer.close();
+        }
+        if (webSocketServer != null) {
+            webSocketServer.close();
+        }
+        if (heartbeatMonitor != null) {
+            heartbeatMonitor.close();
+        }
+        if (messageWriter != null) {
+            // 대기 중인 메시지를 모두 저장한 뒤 종료
+            // (저장을 기다리던 퇴장 처리가 이어서 실행되도록 방 레인과 비동기 DB 실행기보다 먼저 닫는다)
+            messageWriter.close();
+        }
+        if (roomLanePool != null) {
+            roomLanePool.shutdown();
+        }
+        if (asyncDb != null) {
+            asyncDb.shutdown();
+        }
+        if (roomCache != null) {
+            roomCache.close();
+            // 다음 시작이 스냅샷에서 바로 복원되도록 종료 직전 상태를 기록
+            writeRoomSnapshot();
+        }
 
         // 모든 사용자 연결 해제
         int disconnectedUsers = 0;
-        for (User user : userList) {
+        for (User user : userRegistry.users()) {
             try {
                 user.disconnect();
                 disconnectedUsers++;
@@ -371,17 +853,67 @@ public class ChatServer {
         return isRunning;
     }
 
+    /**
+     * 지연 저장 중인 메시지가 모두 저장(또는 폐기)되기를 최대 CURSOR_REPLAY_WAIT_MS 동안 기다림
+     *
+     * @return 저장 단계가 없거나 시간 안에 모두 저장되었으면 true
+     */
+    public static boolean awaitPendingMessages() {
+        MessageWriteBehind writer = messageWriter;
+        if (writer == null) {
+            return true;
+        }
+        try {
+            writer.awaitAll().get(CURSOR_REPLAY_WAIT_MS, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            // 저장 실패도 완료로 보므로 일어나지 않는다.
+            return true;
+        }
+    }
+
+    /**
+     * 비동기 DB 호출 (서버 초기화 전에는 호출 스레드에서 바로 실행)
+     */
+    public static AsyncDBHelper getAsyncDb() {
+        AsyncDBHelper local = asyncDb;
+        return local != null ? local : AsyncDBHelper.inline(DBHelper::getInstance);
+    }
+
     /**
      * 채팅방 조회 (null 체크 포함)
      */
     public static ChatRoom getChatRoom(Long roomId) {
-        ChatRoom chatRoom = roomMap.get(roomId);
+        awaitRoomLoaded(roomId);
+        ChatRoom chatRoom = roomCache.get(roomId);
         if (chatRoom == null) {
             log.warn("존재하지 않는 채팅방 조회 시도: roomId={}", roomId);
         }
         return chatRoom;
     }
 
+    /**
+     * 포트를 먼저 연 경우(STARTUP_EARLY_OPEN) roomId 가 속한 구간의 멤버십 적재를 기다린다.
+     */
+    private static void awaitRoomLoaded(long roomId) {
+        RoomMembershipLoader loader = roomLoader;
+        if (loader == null || loader.isComplete()) {
+            return;
+        }
+        try {
+            if (!loader.awaitRoom(roomId, STARTUP_ROOM_WAIT_MS)) {
+                log.warn("채팅방 적재 대기 시간 초과: roomId={}, waitMs={}", roomId, STARTUP_ROOM_WAIT_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * 영상방 조회 (null 체크 포함)
      */
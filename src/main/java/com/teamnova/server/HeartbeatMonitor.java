@@ -0,0 +1,107 @@
+package com.teamnova.server;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.teamnova.user.User;
+import com.teamnova.utils.HashedTimingWheel;
+import com.teamnova.utils.PerformanceLogger;
+
+/**
+ * 하나의 타이밍 휠로 모든 연결의 유휴 상태를 감시하는 하트비트 모니터
+ *
+ * 세션마다 다음 검사 시점에 타임아웃 하나만 예약한다. 프레임 수신 시에는 User.lastActivityAt 만 갱신하고
+ * 휠은 건드리지 않으며, 타임아웃이 만료되면 마지막 활동 시각을 다시 확인해 남은 시간만큼 재예약한다.
+ * - idleMillis 동안 수신이 없으면 PING 전송
+ * - PING 후 pongTimeoutMillis 안에 아무 프레임도 없으면 죽은 연결로 보고 ChatServer.removeUser 로 정리
+ */
+public class HeartbeatMonitor implements AutoCloseable {
+
+    private static final Logger log = LogManager.getLogger(HeartbeatMonitor.class);
+
+    private final ChatServer server;
+    private final HashedTimingWheel wheel;
+    private final long idleMillis;
+    private final long pongTimeoutMillis;
+
+    public HeartbeatMonitor(ChatServer server, long tickMillis, long idleMillis, long pongTimeoutMillis) {
+        this.server = server;
+        this.wheel = new HashedTimingWheel("heartbeat-wheel", tickMillis, 512);
+        this.idleMillis = idleMillis;
+        this.pongTimeoutMillis = pongTimeoutMillis;
+    }
+
+    public void start() {
+        wheel.start();
+        log.info("하트비트 모니터 시작: idleMillis={}, pongTimeoutMillis={}", idleMillis, pongTimeoutMillis);
+    }
+
+    /**
+     * 새 세션 감시 시작
+     */
+    public void register(User user) {
+        user.touch();
+        wheel.schedule(() -> check(user, false), idleMillis);
+    }
+
+    /**
+     * 타임아웃 만료 시 세션 상태 확인 (휠 스레드)
+     *
+     * @param pingSent 직전 검사에서 PING 을 보냈는지 여부
+     */
+    private void check(User user, boolean pingSent) {
+        if (!user.isSessionOpen()) {
+            return;
+        }
+
+        long idleFor = System.currentTimeMillis() - user.getLastActivityAt();
+
+        if (pingSent && idleFor >= pongTimeoutMillis) {
+            handleDeadSession(user, idleFor);
+            return;
+        }
+
+        if (idleFor < idleMillis && !pingSent) {
+            // 그 사이 활동이 있었음: 남은 시간만큼 재예약
+            wheel.schedule(() -> check(user, false), idleMillis - idleFor);
+            return;
+        }
+
+        if (pingSent) {
+            // PING 이후 응답(또는 다른 프레임)을 받음
+            wheel.schedule(() -> check(user, false), Math.max(0, idleMillis - idleFor));
+            return;
+        }
+
+        log.debug("유휴 세션 PING 전송: userId={}, sessionId={}, idleFor={}ms",
+                user.id, user.getSessionId(), idleFor);
+        PerformanceLogger.incrementCounter("HEARTBEAT_PING_SENT");
+        user.sendPing();
+        wheel.schedule(() -> check(user, true), pongTimeoutMillis);
+    }
+
+    private void handleDeadSession(User user, long idleFor) {
+        PerformanceLogger.incrementCounter("HEARTBEAT_DEAD_SESSIONS");
+        log.warn("응답 없는 세션 정리: userId={}, sessionId={}, idleFor={}ms, idleMillis={}, pongTimeoutMillis={}",
+                user.id, user.getSessionId(), idleFor, idleMillis, pongTimeoutMillis);
+
+        if (server.userRegistry.contains(user)) {
+            server.removeUser(user);
+        } else {
+            // CONNECT 전 세션은 목록에 없으므로 연결만 끊는다.
+            user.disconnect();
+        }
+    }
+
+    /**
+     * 감시 중인 세션 수
+     */
+    public int getMonitoredCount() {
+        return wheel.pendingTimeouts();
+    }
+
+    @Override
+    public void close() {
+        wheel.close();
+    }
+}
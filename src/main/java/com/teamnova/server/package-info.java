@@ -3,7 +3,8 @@
  * 
  * 이 패키지는 ASSA 채팅 서버의 핵심 서버 기능을 담당합니다.
  * - ChatServer: 메인 서버 클래스, 소켓 연결 관리
- * - 클라이언트 연결 수락 및 User 스레드 생성
- * - 전역 데이터 구조 관리 (userList, roomMap, videoRoomMap)
+ * - 클라이언트 연결 수락 및 User 세션 생성 (SERVER_MODE=NIO: 이벤트 루프, THREAD/VIRTUAL: 연결당 플랫폼/가상 스레드)
+ * - WEBSOCKET_PORT 설정 시 WebSocket 연결도 수락 (같은 명령 처리 경로 사용)
+ * - 전역 데이터 구조 관리 (userRegistry, roomCache, videoRoomMap, roomLanes)
  */
 package com.teamnova.server; 
\ No newline at end of file
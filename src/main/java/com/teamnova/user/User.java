@@ -1,11 +1,10 @@
 package com.teamnova.user;
 
 import java.io.IOException;
-import java.net.Socket;
-import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.CompletionStage;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -13,7 +12,6 @@ import org.apache.logging.log4j.Logger;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
-import com.teamnova.chat.ChatRoom;
 import com.teamnova.chat.MessageHandler;
 import com.teamnova.command.Action;
 import com.teamnova.command.BaseCommand;
@@ -25,6 +23,8 @@ import com.teamnova.command.chat.InviteCommand;
 import com.teamnova.command.chat.RoomInfoCommand;
 import com.teamnova.command.chat.SendMessageCommand;
 import com.teamnova.command.user.ConnectCommand;
+import com.teamnova.command.user.PingCommand;
+import com.teamnova.command.user.PongCommand;
 import com.teamnova.command.webrtc.CreateVideoRoomCommand;
 import com.teamnova.command.webrtc.ExitVideoRoomCommand;
 import com.teamnova.command.webrtc.GetVideoRoomParticipantCommand;
@@ -33,7 +33,14 @@ import com.teamnova.command.webrtc.JoinVideoRoomCommand;
 import com.teamnova.command.webrtc.MediaStatusCommand;
 import com.teamnova.command.webrtc.SDPCommand;
 import com.teamnova.database.DBHelper;
+import com.teamnova.database.RoomCursorStore;
+import com.teamnova.network.Connection;
+import com.teamnova.network.FrameCompressor;
+import com.teamnova.network.FrameHandler;
+import com.teamnova.network.Framing;
+import com.teamnova.network.OutboundQueue;
 import com.teamnova.server.ChatServer;
+import com.teamnova.utils.KeyedSerialExecutor;
 import com.teamnova.utils.LoggingConstants;
 import com.teamnova.utils.LoggingUtils;
 import com.teamnova.utils.PerformanceLogger;
@@ -43,10 +50,14 @@ import com.teamnova.webrtc.WebRTCSignalingHandler;
 /**
  * 사용자 클래스 - 리팩토링을 통해 3개 핸들러로 책임 분리
  * - UserConnectionManager: 연결 관리
- * - MessageHandler: 메시지 처리
- * - WebRTCSignalingHandler: WebRTC 시그널링
+ * - MessageHandler: 메시지 처리 (상태 없는 공유 인스턴스, 세션을 인자로 받음)
+ * - WebRTCSignalingHandler: WebRTC 시그널링 (상태 없는 공유 인스턴스, 세션을 인자로 받음)
+ *
+ * 스레드 모드(THREAD/VIRTUAL)에서는 서버가 생성한 스레드에서 run()이 소켓을 직접 읽고,
+ * NIO 모드에서는 이벤트 루프가 디코딩한 프레임을 FrameHandler 콜백(onFrame/onClose)으로 전달받는다.
+ * 세션 로직은 Thread 상속과 분리되어 있어 플랫폼/가상 스레드 어느 쪽에서도 실행할 수 있다.
  */
-public class User extends Thread {
+public class User implements Runnable, FrameHandler {
 
     private static final Logger log = LogManager.getLogger(User.class);
 
@@ -56,12 +67,6 @@ public class User extends Thread {
     // 연결 관리자
     private UserConnectionManager connectionManager;
 
-    // 메시지 처리자
-    public MessageHandler messageHandler;
-
-    // WebRTC 시그널링 처리자
-    private WebRTCSignalingHandler webrtcHandler;
-
     // 소켓 접속이 안 된사이 쌓인 메시지 저장 큐
     public Queue<String> messageQueue = new LinkedList<>();
 
@@ -71,51 +76,30 @@ public class User extends Thread {
     private int messageCount = 0;
     private long totalProcessingTime = 0;
 
+    // 마지막 프레임 수신 시각 (하트비트 유휴 감지용)
+    private volatile long lastActivityAt = System.currentTimeMillis();
+
     // 방에 초대했지만 현재 접속하지 않은경우를 대처하기 위한 생성자
     public User(long id) {
         this.id = id;
         this.sessionId = LoggingUtils.generateSessionId();
         this.connectionStartTime = System.currentTimeMillis();
         this.connectionManager = new UserConnectionManager(null, id);
-        this.messageHandler = new MessageHandler(this);
-        this.webrtcHandler = new WebRTCSignalingHandler(this);
 
         log.debug("오프라인 사용자 객체 생성: userId={}, sessionId={}, purpose=INVITATION_PLACEHOLDER",
                 id, sessionId);
     }
 
-    // 사용자가 실제 접속했을 때 사용되는 생성자
-    public User(ChatServer server, Socket socket) {
+    // 연결이 수락되었을 때 사용되는 생성자 (블로킹 소켓 / NIO 채널)
+    public User(ChatServer server, Connection connection) {
         this.server = server;
         this.sessionId = LoggingUtils.generateSessionId();
         this.connectionStartTime = System.currentTimeMillis();
-        this.connectionManager = new UserConnectionManager(socket, 0); // ID는 나중에 설정됨
-        this.messageHandler = new MessageHandler(this);
-        this.webrtcHandler = new WebRTCSignalingHandler(this);
+        this.connectionManager = new UserConnectionManager(connection, 0); // ID는 나중에 설정됨
 
         log.info(LoggingConstants.USER_SESSION_START,
-                "unknown", sessionId, socket.getRemoteSocketAddress(),
-                Thread.currentThread().getId(), connectionStartTime);
-    }
-
-    // 소켓 교체
-    public void replaceSocket(Socket socket) {
-        String operationId = LoggingUtils.generateOperationId();
-
-        log.debug("소켓 교체 시작: userId={}, sessionId={}, operationId={}, oldSocket={}, newSocket={}",
-                id, sessionId, operationId,
-                connectionManager.getSocket() != null ? connectionManager.getSocket().getRemoteSocketAddress() : "null",
-                socket.getRemoteSocketAddress());
-
-        try {
-            connectionManager.replaceSocket(socket);
-
-            log.info("소켓 교체 완료: userId={}, sessionId={}, operationId={}, newSocketAddress={}",
-                    id, sessionId, operationId, socket.getRemoteSocketAddress());
-        } catch (Exception e) {
-            log.error("소켓 교체 실패: userId={}, sessionId={}, operationId={}, error={}",
-                    id, sessionId, operationId, e.getMessage(), e);
-        }
+                "unknown", sessionId, connection.getRemoteAddress(),
+                Thread.currentThread().threadId(), connectionStartTime);
     }
 
     // 연결 해제
@@ -138,22 +122,19 @@ public class User extends Thread {
 
     @Override
     public void run() {
-        log.debug("사용자 스레드 시작: userId={}, sessionId={}, threadName={}, threadId={}",
-                id, sessionId, Thread.currentThread().getName(), Thread.currentThread().getId());
+        log.debug("사용자 스레드 시작: userId={}, sessionId={}, threadName={}, threadId={}, virtual={}",
+                id, sessionId, Thread.currentThread().getName(), Thread.currentThread().threadId(),
+                Thread.currentThread().isVirtual());
 
         try {
             while (connectionManager.isConnected()) {
                 try {
                     // 클라이언트로부터 받은 메시지 수신 대기 루프
                     while (true) {
-                        log.trace("메시지 대기 상태: userId={}, sessionId={}, socketState={}, isConnected={}",
-                                id, sessionId,
-                                connectionManager.getSocket() != null && !connectionManager.getSocket().isClosed()
-                                        ? "OPEN"
-                                        : "CLOSED",
-                                connectionManager.isConnected());
+                        log.trace("메시지 대기 상태: userId={}, sessionId={}, isConnected={}",
+                                id, sessionId, connectionManager.isConnected());
 
-                        String line = connectionManager.getInputStream().readLine();
+                        String line = connectionManager.readLine();
 
                         if (line == null) {
                             log.warn("연결 종료 신호 감지: userId={}, sessionId={}, messageCount={}, sessionDuration={}ms",
@@ -161,32 +142,8 @@ public class User extends Thread {
                             throw new IOException("클라이언트가 접속 끊음");
                         }
 
-                        messageCount++;
-                        long messageReceivedTime = System.currentTimeMillis();
-
-                        log.debug(LoggingConstants.MESSAGE_RECEIVED,
-                                id, sessionId, messageCount, line.length(), messageReceivedTime);
-
-                        // 메시지 처리 시간 측정
-                        PerformanceLogger.Timer timer = PerformanceLogger.startMessageTimer(
-                                String.format("userId=%d,sessionId=%s", id, sessionId));
-
-                        try {
-                            handleMessage(line);
-                            long processingTime = timer.stop();
-                            totalProcessingTime += processingTime;
-
-                            log.debug(LoggingConstants.MESSAGE_PROCESSED,
-                                    id, sessionId, messageCount, processingTime);
-
-                        } catch (Exception e) {
-                            long processingTime = timer.stop("ERROR: " + e.getMessage());
-                            totalProcessingTime += processingTime;
-
-                            log.error(
-                                    "메시지 처리 중 오류: userId={}, sessionId={}, messageCount={}, processingTime={}ms, error={}",
-                                    id, sessionId, messageCount, processingTime, e.getMessage(), e);
-                        }
+                        touch();
+                        processFrame(line);
                     }
                 } catch (IOException e) {
                     log.warn("소켓 통신 오류: userId={}, sessionId={}, messageCount={}, sessionDuration={}ms, error={}",
@@ -204,6 +161,60 @@ public class User extends Thread {
         }
     }
 
+    @Override
+    public void onFrame(String frame) {
+        processFrame(frame);
+    }
+
+    @Override
+    public void onActivity() {
+        touch();
+    }
+
+    @Override
+    public void onClose(String reason) {
+        log.warn("소켓 통신 종료: userId={}, sessionId={}, reason={}, messageCount={}, sessionDuration={}ms",
+                id, sessionId, reason, messageCount, System.currentTimeMillis() - connectionStartTime);
+
+        // DISCONNECT 요청으로 이미 제거된 경우 중복 제거하지 않는다.
+        if (server != null && server.userRegistry.contains(this)) {
+            server.removeUser(this);
+        }
+        logSessionEnd();
+    }
+
+    /**
+     * 수신한 프레임 한 개 처리 (처리 시간 측정 포함)
+     */
+    private void processFrame(String line) {
+        messageCount++;
+        long messageReceivedTime = System.currentTimeMillis();
+
+        log.debug(LoggingConstants.MESSAGE_RECEIVED,
+                id, sessionId, messageCount, line.length(), messageReceivedTime);
+
+        // 메시지 처리 시간 측정
+        PerformanceLogger.Timer timer = PerformanceLogger.startMessageTimer(
+                String.format("userId=%d,sessionId=%s", id, sessionId));
+
+        try {
+            handleMessage(line);
+            long processingTime = timer.stop();
+            totalProcessingTime += processingTime;
+
+            log.debug(LoggingConstants.MESSAGE_PROCESSED,
+                    id, sessionId, messageCount, processingTime);
+
+        } catch (Exception e) {
+            long processingTime = timer.stop("ERROR: " + e.getMessage());
+            totalProcessingTime += processingTime;
+
+            log.error(
+                    "메시지 처리 중 오류: userId={}, sessionId={}, messageCount={}, processingTime={}ms, error={}",
+                    id, sessionId, messageCount, processingTime, e.getMessage(), e);
+        }
+    }
+
     /**
      * 메시지 처리 메서드
      */
@@ -277,55 +288,86 @@ public class User extends Thread {
                     break;
 
                 case CREATE_ROOM: // 채팅방 생성
-                    messageHandler.createRoom((CreateRoomCommand) command);
+                    MessageHandler.getInstance().createRoom(this, (CreateRoomCommand) command);
                     break;
 
                 case ROOM_INFO: // 방 정보 얻기
-                    messageHandler.roomInfo((RoomInfoCommand) command);
+                    RoomInfoCommand roomInfoCommand = (RoomInfoCommand) command;
+                    runInRoomLaneAsync(roomInfoCommand.roomId,
+                            () -> MessageHandler.getInstance().roomInfo(this, roomInfoCommand));
                     break;
 
                 case SEND_MESSAGE: // 메시지 전송
-                    messageHandler.sendMessage((SendMessageCommand) command);
+                    SendMessageCommand sendMessageCommand = (SendMessageCommand) command;
+                    runInRoomLaneAsync(sendMessageCommand.roomId,
+                            () -> MessageHandler.getInstance().sendMessage(this, sendMessageCommand));
                     break;
 
                 case CHECK_RECEIVE: // 수신 확인처리
-                    messageHandler.checkReceive((CheckReceiveCommand) command);
+                    MessageHandler.getInstance().checkReceive(this, (CheckReceiveCommand) command);
                     break;
 
                 case EXIT_ROOM: // 채팅방 나가기
-                    messageHandler.roomExit((ExitRoomCommand) command);
+                    ExitRoomCommand exitRoomCommand = (ExitRoomCommand) command;
+                    runInRoomLaneAsync(exitRoomCommand.roomId,
+                            () -> MessageHandler.getInstance().roomExitAfterPendingWrites(this, exitRoomCommand));
                     break;
 
                 case INVITE: // 채팅방 초대
-                    messageHandler.roomInvite((InviteCommand) command);
+                    InviteCommand inviteCommand = (InviteCommand) command;
+                    runInRoomLane(inviteCommand.roomId,
+                            () -> MessageHandler.getInstance().roomInvite(this, inviteCommand));
                     break;
 
-                case CREATE_VIDEO_ROOM: // 영상 회의 방 생성
-                    webrtcHandler.createVideoRoom((CreateVideoRoomCommand) command);
+                case CREATE_VIDEO_ROOM: // 영상 회의 방 생성 (채팅방에 안내 메시지를 보내므로 채팅방 레인)
+                    CreateVideoRoomCommand createVideoRoomCommand = (CreateVideoRoomCommand) command;
+                    runInRoomLane(createVideoRoomCommand.roomId,
+                            () -> WebRTCSignalingHandler.getInstance().createVideoRoom(this, createVideoRoomCommand));
                     break;
 
                 case JOIN_VIDEO_ROOM: // 영상 회의 방 참가
-                    webrtcHandler.joinVideoRoom((JoinVideoRoomCommand) command);
+                    JoinVideoRoomCommand joinVideoRoomCommand = (JoinVideoRoomCommand) command;
+                    runInRoomLaneAsync(joinVideoRoomCommand.videoRoomId,
+                            () -> WebRTCSignalingHandler.getInstance().joinVideoRoom(this, joinVideoRoomCommand));
                     break;
 
                 case SDP:
-                    webrtcHandler.handleSDP((SDPCommand) command);
+                    SDPCommand sdpCommand = (SDPCommand) command;
+                    runInRoomLane(sdpCommand.videoRoomId,
+                            () -> WebRTCSignalingHandler.getInstance().handleSDP(this, sdpCommand));
                     break;
 
                 case ICE_CANDIDATE:
-                    webrtcHandler.handleIceCandidate((IceCandidateCommand) command);
+                    IceCandidateCommand iceCandidateCommand = (IceCandidateCommand) command;
+                    runInRoomLane(iceCandidateCommand.videoRoomId,
+                            () -> WebRTCSignalingHandler.getInstance().handleIceCandidate(this, iceCandidateCommand));
                     break;
 
                 case EXIT_VIDEO_ROOM:
-                    webrtcHandler.exitVideoRoom((ExitVideoRoomCommand) command);
+                    ExitVideoRoomCommand exitVideoRoomCommand = (ExitVideoRoomCommand) command;
+                    runInRoomLane(exitVideoRoomCommand.videoRoomId,
+                            () -> WebRTCSignalingHandler.getInstance().exitVideoRoom(this, exitVideoRoomCommand));
                     break;
 
                 case MEDIA_STATUS:
-                    webrtcHandler.mediaStatus((MediaStatusCommand) command);
+                    MediaStatusCommand mediaStatusCommand = (MediaStatusCommand) command;
+                    runInRoomLane(mediaStatusCommand.videoRoomId,
+                            () -> WebRTCSignalingHandler.getInstance().mediaStatus(this, mediaStatusCommand));
                     break;
 
                 case GET_VIDEO_ROOM_PARTICIPANT:
-                    webrtcHandler.getVideoRoomParticipant((GetVideoRoomParticipantCommand) command);
+                    GetVideoRoomParticipantCommand participantCommand = (GetVideoRoomParticipantCommand) command;
+                    runInRoomLane(participantCommand.videoRoomId,
+                            () -> WebRTCSignalingHandler.getInstance().getVideoRoomParticipant(this,
+                                    participantCommand));
+                    break;
+
+                case PING: // 클라이언트의 생존 확인 요청
+                    sendMsg(new PongCommand(id), false);
+                    break;
+
+                case PONG: // 서버 PING 에 대한 응답 (수신 시각은 processFrame 에서 갱신됨)
+                    log.trace("PONG 수신: userId={}, sessionId={}, requestId={}", id, sessionId, requestId);
                     break;
 
                 default:
@@ -344,6 +386,91 @@ public class User extends Thread {
         }
     }
 
+    /**
+     * 방 단위 작업을 방 레인에서 실행 (같은 방의 작업은 도착 순서대로 하나씩, 다른 방은 병렬로)
+     *
+     * 레인이 없거나(테스트 등) 방 키가 없으면 현재 스레드에서 바로 실행한다.
+     */
+    private void runInRoomLane(Object roomKey, RoomTask task) throws Exception {
+        KeyedSerialExecutor lanes = ChatServer.roomLanes;
+        if (lanes == null || roomKey == null) {
+            task.run();
+            return;
+        }
+        lanes.execute(roomKey, () -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("방 작업 처리 중 오류: userId={}, sessionId={}, roomKey={}, error={}",
+                        id, sessionId, roomKey, e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * DB 를 비동기로 쓰는 방 단위 작업 실행 (돌려준 future 가 끝날 때까지 같은 방의 다음 작업은 대기)
+     *
+     * 레인 스레드는 DB 응답을 기다리지 않고 반환되므로 DB 가 느려도 다른 방의 작업은 계속 처리된다.
+     */
+    private void runInRoomLaneAsync(Object roomKey, AsyncRoomTask task) throws Exception {
+        KeyedSerialExecutor lanes = ChatServer.roomLanes;
+        if (lanes == null || roomKey == null) {
+            task.run();
+            return;
+        }
+        lanes.executeAsync(roomKey, () -> {
+            try {
+                return task.run();
+            } catch (Exception e) {
+                log.error("방 작업 처리 중 오류: userId={}, sessionId={}, roomKey={}, error={}",
+                        id, sessionId, roomKey, e.getMessage(), e);
+                return null;
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface RoomTask {
+        void run() throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface AsyncRoomTask {
+        CompletionStage<?> run() throws Exception;
+    }
+
+    /**
+     * CONNECT 의 framing / compression 요청 처리
+     *
+     * LINE 이 아닌 방식을 요청하면 실제 적용한 방식을 담은 CONNECT 를 기존 방식(LINE)으로 응답하고,
+     * 이후 양방향 프레임을 그 방식으로 주고받는다. 압축은 LENGTH_PREFIXED 에서만 적용하며 ack 이후 프레임부터 켠다.
+     */
+    private void negotiateFraming(ConnectCommand command, String requestId) {
+        Framing requested = Framing.fromName(command.framing);
+        boolean compressionRequested = FrameCompressor.DEFLATE.equalsIgnoreCase(command.compression);
+        if (requested == Framing.LINE) {
+            if (compressionRequested) {
+                log.info("LINE 프레임은 압축하지 않음: userId={}, sessionId={}, requestId={}", id, sessionId, requestId);
+            }
+            return;
+        }
+
+        boolean compress = compressionRequested && connectionManager.isCompressionAvailable();
+        ConnectCommand ack = new ConnectCommand();
+        ack.framing = requested.name();
+        ack.compression = compress ? FrameCompressor.DEFLATE : "NONE";
+        boolean switched = connectionManager.switchFraming(requested, ack.toJson());
+        if (!switched) {
+            ack.framing = Framing.LINE.name();
+            ack.compression = "NONE";
+            connectionManager.send(ack.toJson(), Action.CONNECT.name());
+        } else if (compress) {
+            connectionManager.enableCompression();
+        }
+        log.info("프레임 방식 협상: userId={}, sessionId={}, requestId={}, requested={}/{}, applied={}/{}",
+                id, sessionId, requestId, command.framing, command.compression, ack.framing, ack.compression);
+    }
+
     // 사용자 접속처리
     private void connect(ConnectCommand command, String requestId) {
         PerformanceLogger.Timer timer = PerformanceLogger.startTimer("USER_CONNECT",
@@ -356,64 +483,22 @@ public class User extends Thread {
             // 사용자 정보 획득
             id = command.requesterId;
 
+            // 목록에 등록되어 다른 스레드가 전송하기 전에 프레임 방식부터 정한다.
+            negotiateFraming(command, requestId);
+
             log.info("사용자 서버 접속: userId={}, sessionId={}, requestId={}, socketAddress={}",
                     id, sessionId, requestId,
-                    connectionManager.getSocket() != null ? connectionManager.getSocket().getRemoteSocketAddress()
-                            : "unknown");
-
-            // 사용자 정보로 사용자가 접속한 방 목록 획득
-            List<Long> roomIds = DBHelper.getInstance().getEnteredRoomIds(id);
-            log.debug("사용자 접속 방 목록 조회: userId={}, sessionId={}, requestId={}, roomCount={}, roomIds={}",
-                    id, sessionId, requestId, roomIds.size(), roomIds);
-
-            // 기존 접속자 리스트에 해당 유저가 없으면 추가
-            boolean isUserExist = false;
-            for (User user : server.userList) {
-                if (user.id == this.id) {
-                    log.debug("기존 접속자 발견: userId={}, sessionId={}, requestId={}, existingSessionId={}",
-                            id, sessionId, requestId, user.sessionId);
-                    isUserExist = true;
-                    break;
-                }
-            }
-
-            if (!isUserExist) {
-                log.debug("신규 접속자 추가: userId={}, sessionId={}, requestId={}",
-                        id, sessionId, requestId);
-                server.addUser(this);
-            }
-
-            // 각 방에 기존에 저장된 해당 user객체의 소켓을 새 것으로 바꾼다.
-            List<Long> updatedRoomIds = new ArrayList<>();
-            for (Long roomId : roomIds) {
-                try {
-                    ChatRoom chatRoom = server.roomMap.get(roomId);
-                    if (chatRoom == null) {
-                        log.warn("존재하지 않는 채팅방: userId={}, sessionId={}, requestId={}, roomId={}",
-                                id, sessionId, requestId, roomId);
-                        continue;
-                    }
+                    connectionManager.getRemoteAddress() != null ? connectionManager.getRemoteAddress() : "unknown");
 
-                    List<User> memberList = chatRoom.userList;
-
-                    // 해당 방에 현재 사용자와 id가 같은 유저객체를 찾아 새것으로 교체한다.
-                    for (int i = 0; i < memberList.size(); i++) {
-                        if (memberList.get(i).id == this.id) {
-                            memberList.set(i, this);
-                            updatedRoomIds.add(roomId);
-                            log.debug("채팅방 사용자 객체 교체: userId={}, sessionId={}, requestId={}, roomId={}",
-                                    id, sessionId, requestId, roomId);
-                            break;
-                        }
-                    }
-                } catch (Exception e) {
-                    log.error("채팅방 사용자 객체 교체 실패: userId={}, sessionId={}, requestId={}, roomId={}, error={}",
-                            id, sessionId, requestId, roomId, e.getMessage(), e);
-                }
+            // 접속자 목록에 등록 (같은 id 의 이전 세션이 있으면 이 세션으로 대체)
+            User existing = server.userRegistry.get(id);
+            if (existing != null && existing != this) {
+                log.debug("기존 접속자 발견: userId={}, sessionId={}, requestId={}, existingSessionId={}",
+                        id, sessionId, requestId, existing.sessionId);
             }
+            server.addUser(this);
 
-            log.debug("소켓 교체 완료: userId={}, sessionId={}, requestId={}, updatedRoomCount={}, updatedRoomIds={}",
-                    id, sessionId, requestId, updatedRoomIds.size(), updatedRoomIds);
+            // 채팅방은 멤버 id 만 가지고 전송 시점에 접속자 목록에서 세션을 찾으므로 방 구조는 건드리지 않는다.
 
             // 이 유저에 대해 NOT_SENT 상태인 커맨드를 다시 전송시도한다.
             List<ResponseCommand> notSentCommands = DBHelper.getInstance().getNotSentCommands(command.requesterId);
@@ -439,17 +524,32 @@ public class User extends Thread {
                     "미전송 메시지 재전송 완료: userId={}, sessionId={}, requestId={}, totalCount={}, sentCount={}, failedCount={}",
                     id, sessionId, requestId, notSentCommands.size(), sentCount, failedCount);
 
-            // 현재 접속자 현황 로깅
-            List<Long> currentUserIds = new ArrayList<>();
-            for (User user : server.userList) {
-                currentUserIds.add(user.id);
+            // 커서 전송 모델: 참여 중인 방마다 수신 확인한 메시지 다음부터 다시 보낸다.
+            // ASYNC 지연 저장은 저장 전에 전송하므로, 접속하지 않은 동안 전송되고 아직 저장 중인 메시지를 먼저 로그에 반영한다.
+            // (이 세션은 이미 접속자 목록에 있으므로 이후 메시지는 바로 전송된다)
+            RoomCursorStore cursors = ChatServer.roomCursors;
+            if (cursors != null) {
+                if (!ChatServer.awaitPendingMessages()) {
+                    PerformanceLogger.incrementCounter("CURSOR_REPLAY_WAIT_TIMEOUT");
+                    log.warn("재전송 전 대기 메시지 저장 시간 초과, 저장된 메시지만 재전송: userId={}, sessionId={}, requestId={}",
+                            id, sessionId, requestId);
+                }
+                int replayed = cursors.replaySince(id, message -> sendMsg(message, false));
+                sentCount += replayed;
+                log.info("커서 이후 메시지 재전송 완료: userId={}, sessionId={}, requestId={}, count={}",
+                        id, sessionId, requestId, replayed);
             }
 
             long duration = timer.stop();
             log.info("사용자 연결 처리 완료: userId={}, sessionId={}, requestId={}, duration={}ms, " +
-                    "totalUsers={}, currentUserIds={}, processedRooms={}, resentMessages={}",
-                    id, sessionId, requestId, duration, server.userList.size(),
-                    currentUserIds, updatedRoomIds.size(), sentCount);
+                    "totalUsers={}, resentMessages={}",
+                    id, sessionId, requestId, duration, server.userRegistry.size(), sentCount);
+
+            // 현재 접속자 현황 로깅 (전체 id 목록은 접속자가 적을 때만)
+            if (log.isDebugEnabled() && server.userRegistry.size() <= 20) {
+                log.debug("현재 접속자 목록: userId={}, sessionId={}, requestId={}, currentUserIds={}",
+                        id, sessionId, requestId, server.userRegistry.userIds());
+            }
 
         } catch (Exception e) {
             timer.stop("ERROR: " + e.getMessage());
@@ -475,30 +575,84 @@ public class User extends Thread {
                         id, sessionId, operationId, insertedId);
             }
 
-            if (connectionManager.isConnected()) {
-                String jsonMessage = command.toJson();
-                connectionManager.getOutputStream().println(jsonMessage);
-
-                log.info("메시지 전송 성공: userId={}, sessionId={}, operationId={}, messageSize={}bytes, commandType={}",
-                        id, sessionId, operationId, jsonMessage.length(), command.getClass().getSimpleName());
+            transmit(command.toJson(), command, command.id, operationId);
 
-                log.debug("전송된 메시지 내용: userId={}, sessionId={}, operationId={}, content={}",
-                        id, sessionId, operationId, LoggingUtils.sanitizeMessageContent(jsonMessage, 200));
-            } else {
-                log.warn(
-                        "연결 해제 상태로 메시지 전송 불가: userId={}, sessionId={}, operationId={}, commandType={}, queuedForLater=true",
-                        id, sessionId, operationId, command.getClass().getSimpleName());
-
-                // 메시지 큐에 추가 (필요시)
-                messageQueue.offer(command.toJson());
-            }
+        } catch (Exception e) {
+            log.error("메시지 전송 실패: userId={}, sessionId={}, operationId={}, commandType={}, error={}",
+                    id, sessionId, operationId, command.getClass().getSimpleName(), e.getMessage(), e);
+        }
+    }
 
+    /**
+     * 이미 직렬화한 프레임 전송 (방 전송처럼 전송내역을 먼저 기록하고 JSON 을 한 번만 만든 경우)
+     *
+     * @param jsonMessage 이 유저용으로 완성된 JSON (recipientId, 전송내역 id 포함)
+     * @param command     원래 커맨드 (프레임 종류, 로그용, 변경하지 않음)
+     * @param commandId   전송내역 id
+     */
+    public void sendEncoded(String jsonMessage, ResponseCommand command, Long commandId) {
+        String operationId = LoggingUtils.generateOperationId();
+        try {
+            transmit(jsonMessage, command, commandId, operationId);
         } catch (Exception e) {
             log.error("메시지 전송 실패: userId={}, sessionId={}, operationId={}, commandType={}, error={}",
                     id, sessionId, operationId, command.getClass().getSimpleName(), e.getMessage(), e);
         }
     }
 
+    private void transmit(String jsonMessage, ResponseCommand command, Long commandId, String operationId) {
+        if (connectionManager.isConnected()) {
+            String frameType = command.action != null ? command.action.name() : null;
+            if (!connectionManager.send(jsonMessage, frameType)) {
+                // 송신 큐 포화 또는 slow consumer: 전송내역은 NOT_SENT로 남아 재접속 시 재전송된다.
+                log.warn("송신 거부로 메시지 전송 보류: userId={}, sessionId={}, operationId={}, commandType={}, " +
+                        "commandId={}, queueDepth={}",
+                        id, sessionId, operationId, command.getClass().getSimpleName(), commandId,
+                        connectionManager.getOutboundQueueDepth());
+                return;
+            }
+
+            log.info("메시지 전송 성공: userId={}, sessionId={}, operationId={}, messageSize={}bytes, commandType={}, queueDepth={}",
+                    id, sessionId, operationId, jsonMessage.length(), command.getClass().getSimpleName(),
+                    connectionManager.getOutboundQueueDepth());
+
+            log.debug("전송된 메시지 내용: userId={}, sessionId={}, operationId={}, content={}",
+                    id, sessionId, operationId, LoggingUtils.sanitizeMessageContent(jsonMessage, 200));
+        } else {
+            log.warn(
+                    "연결 해제 상태로 메시지 전송 불가: userId={}, sessionId={}, operationId={}, commandType={}, queuedForLater=true",
+                    id, sessionId, operationId, command.getClass().getSimpleName());
+
+            // 메시지 큐에 추가 (필요시)
+            messageQueue.offer(jsonMessage);
+        }
+    }
+
+    /**
+     * 하트비트 PING 전송 (응답은 PONG 또는 임의의 프레임)
+     */
+    public void sendPing() {
+        sendMsg(new PingCommand(id), false);
+    }
+
+    /**
+     * 마지막 활동 시각 갱신
+     */
+    public void touch() {
+        lastActivityAt = System.currentTimeMillis();
+    }
+
+    public long getLastActivityAt() {
+        return lastActivityAt;
+    }
+
+    /**
+     * 세션 연결이 살아있는지 여부
+     */
+    public boolean isSessionOpen() {
+        return connectionManager.isConnected();
+    }
+
     /**
      * 세션 종료 로깅
      */
@@ -532,4 +686,22 @@ public class User extends Thread {
     public long getTotalProcessingTime() {
         return totalProcessingTime;
     }
+
+    public int getOutboundQueueDepth() {
+        return connectionManager.getOutboundQueueDepth();
+    }
+
+    /**
+     * 송신 큐가 backpressure 상태가 아닌지 여부 (연결이 없으면 false)
+     */
+    public boolean isOutboundWritable() {
+        return connectionManager.isWritable();
+    }
+
+    /**
+     * 연결의 송신 큐 (연결이 없으면 null)
+     */
+    public OutboundQueue getOutboundQueue() {
+        return connectionManager.getOutboundQueue();
+    }
 }
\ No newline at end of file
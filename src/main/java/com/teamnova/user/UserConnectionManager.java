@@ -1,143 +1,171 @@
 package com.teamnova.user;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
-import java.net.Socket;
+import java.net.SocketAddress;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.teamnova.network.Connection;
+import com.teamnova.network.Framing;
+import com.teamnova.network.OutboundQueue;
+import com.teamnova.network.SocketConnection;
+
 /**
  * 사용자 연결 관리를 담당하는 클래스
+ *
+ * 블로킹 소켓(SocketConnection)과 NIO 채널(NioConnection) 모두 Connection으로 다룬다.
  */
 public class UserConnectionManager {
 
     private static Logger log = LogManager.getLogger(UserConnectionManager.class.getName());
 
-    private Socket socket;
-    private BufferedReader in;
-    private PrintWriter out;
-    private boolean isConnected;
+    private volatile Connection connection;
+    private volatile boolean isConnected;
     private long userId;
 
     /**
-     * 생성자
-     * 
-     * @param socket 소켓 연결
-     * @param userId 사용자 ID
+     * 생성자 (이미 수립된 연결)
+     *
+     * @param connection 연결
+     * @param userId     사용자 ID
      */
-    public UserConnectionManager(Socket socket, long userId) {
-        this.socket = socket;
+    public UserConnectionManager(Connection connection, long userId) {
         this.userId = userId;
-        this.isConnected = false;
+        this.connection = connection;
+        this.isConnected = connection != null && connection.isOpen();
+    }
 
-        if (socket != null) {
-            initializeStreams();
+    /**
+     * 현재 연결 종료
+     */
+    private void closeCurrentConnection() {
+        if (connection != null && connection.isOpen()) {
+            connection.close();
+            log.debug("사용자 ID={} 기존 연결 종료 완료", userId);
         }
+        isConnected = false;
     }
 
     /**
-     * 스트림 초기화
+     * 연결 해제
      */
-    private void initializeStreams() {
-        try {
-            in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-            out = new PrintWriter(socket.getOutputStream(), true);
-            isConnected = true;
-            log.debug("사용자 ID={} 스트림 초기화 완료", userId);
-        } catch (IOException e) {
-            log.error("스트림 초기화 실패: userId={}", userId, e);
-            isConnected = false;
-        }
+    public void disconnect() {
+        log.debug("사용자 ID={} 연결 해제 시작", userId);
+        closeCurrentConnection();
+        connection = null;
+        isConnected = false;
+        log.debug("사용자 ID={} 연결 해제 완료", userId);
     }
 
     /**
-     * 소켓 교체
-     * 
-     * @param newSocket 새로운 소켓
+     * 연결 상태 확인
+     *
+     * @return 연결 여부
      */
-    public void replaceSocket(Socket newSocket) {
-        log.debug("사용자 ID={} 소켓을 새것으로 교체", userId);
+    public boolean isConnected() {
+        return isConnected && connection != null && connection.isOpen();
+    }
 
-        // 기존 소켓 정리
-        closeCurrentSocket();
+    /**
+     * 프레임 전송 요청 (송신 큐에 넣고 바로 반환)
+     *
+     * @param frame 줄바꿈을 제외한 JSON 문자열
+     * @return 송신 큐가 가득 차거나 연결이 닫혀 거부되면 false
+     */
+    public boolean send(String frame) {
+        return send(frame, null);
+    }
 
-        // 새 소켓 설정
-        this.socket = newSocket;
-        if (newSocket != null) {
-            initializeStreams();
-        }
+    /**
+     * 종류를 지정한 프레임 전송 요청 (slow consumer 상태에서 비필수 프레임은 버려질 수 있음)
+     *
+     * @param frame     줄바꿈을 제외한 JSON 문자열
+     * @param frameType 프레임 종류 (액션 이름)
+     * @return 거부되거나 버려지면 false
+     */
+    public boolean send(String frame, String frameType) {
+        Connection current = connection;
+        return current != null && current.send(frame, frameType);
     }
 
     /**
-     * 현재 소켓 종료
+     * 송신 큐 깊이 (연결이 없으면 0)
      */
-    private void closeCurrentSocket() {
-        if (socket != null && !socket.isClosed()) {
-            try {
-                if (in != null) {
-                    in.close();
-                }
-                if (out != null) {
-                    out.close();
-                }
-                socket.close();
-                log.debug("사용자 ID={} 기존 소켓 종료 완료", userId);
-            } catch (IOException e) {
-                log.error("소켓 종료 중 오류: userId={}", userId, e);
-            }
-        }
-        isConnected = false;
+    public int getOutboundQueueDepth() {
+        Connection current = connection;
+        return current != null ? current.getOutboundQueue().size() : 0;
     }
 
     /**
-     * 연결 해제
+     * 송신 큐 (연결이 없으면 null)
      */
-    public void disconnect() {
-        log.debug("사용자 ID={} 연결 해제 시작", userId);
-        closeCurrentSocket();
-        socket = null;
-        in = null;
-        out = null;
-        isConnected = false;
-        log.debug("사용자 ID={} 연결 해제 완료", userId);
+    public OutboundQueue getOutboundQueue() {
+        Connection current = connection;
+        return current != null ? current.getOutboundQueue() : null;
     }
 
     /**
-     * 연결 상태 확인
-     * 
-     * @return 연결 여부
+     * 송신 큐가 high watermark 미만인지 여부
      */
-    public boolean isConnected() {
-        return isConnected && socket != null && !socket.isClosed();
+    public boolean isWritable() {
+        Connection current = connection;
+        return current != null && current.getOutboundQueue().isWritable();
+    }
+
+    /**
+     * 원격 주소 반환 (연결이 없으면 null)
+     */
+    public SocketAddress getRemoteAddress() {
+        return connection != null ? connection.getRemoteAddress() : null;
+    }
+
+    /**
+     * 프레임 구분 방식 전환 (CONNECT 협상)
+     *
+     * @param framing  전환할 방식
+     * @param ackFrame 기존 방식으로 보낼 CONNECT 응답
+     * @return 연결이 없거나 지원하지 않아 전환하지 않았으면 false
+     */
+    public boolean switchFraming(Framing framing, String ackFrame) {
+        Connection current = connection;
+        return current != null && current.switchFraming(framing, ackFrame);
     }
 
     /**
-     * 소켓 반환
-     * 
-     * @return 현재 소켓
+     * 서버가 이 연결의 송신 프레임 압축을 허용하는지 여부
      */
-    public Socket getSocket() {
-        return socket;
+    public boolean isCompressionAvailable() {
+        Connection current = connection;
+        return current != null && current.isCompressionAvailable();
     }
 
     /**
-     * 입력 스트림 반환
-     * 
-     * @return BufferedReader
+     * 이후 송신 프레임 압축 시작 (CONNECT ack 전송 뒤 호출)
+     *
+     * @return 압축을 켜지 못했으면 false
      */
-    public BufferedReader getInputStream() {
-        return in;
+    public boolean enableCompression() {
+        Connection current = connection;
+        return current != null && current.enableCompression();
     }
 
     /**
-     * 출력 스트림 반환
-     * 
-     * @return PrintWriter
+     * 현재 연결 반환
      */
-    public PrintWriter getOutputStream() {
-        return out;
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * 블로킹 모드 수신 (SocketConnection인 경우에만 사용)
+     *
+     * @return 수신한 프레임, 연결이 끊기면 null
+     */
+    public String readLine() throws IOException {
+        if (!(connection instanceof SocketConnection)) {
+            throw new IOException("블로킹 수신을 지원하지 않는 연결: " + connection);
+        }
+        return ((SocketConnection) connection).readLine();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+package com.teamnova.user;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 접속자 목록 (사용자 id 기준, 세션 id 보조 인덱스)
+ *
+ * 사용자 id 로 조회/등록/제거가 O(1)이며, 등록/제거 시 목록 전체를 복사하지 않는다.
+ * 같은 id 로 다시 등록하면 (재접속) 이전 세션을 대체한다. 제거는 등록된 객체와 같은 세션일 때만 하므로
+ * 늦게 닫힌 이전 세션이 새 세션을 지우지 않는다.
+ * 두 인덱스는 각각 원자적으로 갱신되며, 그 사이에 잠깐 서로 다를 수 있다.
+ */
+public class UserRegistry {
+
+    private final ConcurrentHashMap<Long, User> usersById = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, User> usersBySession = new ConcurrentHashMap<>();
+
+    /**
+     * 접속자 등록
+     *
+     * @return 같은 id 로 등록되어 있다가 대체된 이전 세션, 없으면 null
+     */
+    public User register(User user) {
+        User previous = usersById.put(user.id, user);
+        if (previous != null && previous != user) {
+            usersBySession.remove(previous.getSessionId(), previous);
+        }
+        usersBySession.put(user.getSessionId(), user);
+        return previous == user ? null : previous;
+    }
+
+    /**
+     * 접속자 제거 (해당 세션이 현재 등록된 세션일 때만)
+     *
+     * @return 제거했으면 true
+     */
+    public boolean unregister(User user) {
+        usersBySession.remove(user.getSessionId(), user);
+        return usersById.remove(user.id, user);
+    }
+
+    /**
+     * 사용자 id 로 접속 중인 세션 조회
+     *
+     * @return 접속 중이 아니면 null
+     */
+    public User get(long userId) {
+        return usersById.get(userId);
+    }
+
+    /**
+     * 세션 id 로 조회
+     *
+     * @return 등록된 세션이 아니면 null
+     */
+    public User getBySession(String sessionId) {
+        return sessionId == null ? null : usersBySession.get(sessionId);
+    }
+
+    /**
+     * 이 세션 객체가 현재 등록되어 있는지 여부
+     */
+    public boolean contains(User user) {
+        return usersById.get(user.id) == user;
+    }
+
+    public boolean isOnline(long userId) {
+        return usersById.containsKey(userId);
+    }
+
+    public int size() {
+        return usersById.size();
+    }
+
+    public boolean isEmpty() {
+        return usersById.isEmpty();
+    }
+
+    /**
+     * 접속자 목록 (복사하지 않는 약한 일관성 뷰, 순회 중 변경 허용)
+     */
+    public Collection<User> users() {
+        return usersById.values();
+    }
+
+    /**
+     * 접속자 id 목록 (복사본)
+     */
+    public List<Long> userIds() {
+        return new ArrayList<>(usersById.keySet());
+    }
+}
@@ -2,8 +2,8 @@
  * 사용자 생명주기 관리, 연결 상태 관리 관련 클래스들
  * 
  * 이 패키지는 사용자 관련 기능을 담당합니다.
- * - User: 사용자 스레드, 메시지 수신 및 액션 처리
- * - UserConnectionManager: 소켓 연결 관리, 스트림 처리
+ * - User: 사용자 세션(Runnable/FrameHandler), 메시지 수신 및 액션 처리
+ * - UserConnectionManager: 연결(Connection) 관리, 프레임 송수신
  * - 사용자 연결/해제, 소켓 교체 기능
  */
 package com.teamnova.user;
\ No newline at end of file
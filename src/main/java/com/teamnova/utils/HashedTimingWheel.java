@@ -0,0 +1,204 @@
+package com.teamnova.utils;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * 해시 타이밍 휠 (hashed timing wheel)
+ *
+ * 스레드 하나가 tickMillis 마다 휠의 버킷 하나만 처리하므로, 등록된 타임아웃 수와 무관하게
+ * 예약/취소는 O(1), 틱당 비용은 해당 버킷 크기에 비례한다. 정밀도는 tickMillis 단위이다.
+ * 만료된 작업은 휠 스레드에서 실행되므로 짧게 끝나야 한다.
+ */
+public class HashedTimingWheel implements AutoCloseable {
+
+    private static final Logger log = LogManager.getLogger(HashedTimingWheel.class);
+
+    private final String name;
+    private final long tickMillis;
+    private final int mask;
+    private final Queue<Timeout>[] buckets;
+
+    // 다른 스레드에서 예약된 타임아웃 (휠 스레드가 틱마다 버킷으로 옮김)
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger timeoutCount = new AtomicInteger(0);
+
+    private volatile boolean running = false;
+    private Thread worker;
+    private long startTime;
+    private long tick = 0;
+
+    /**
+     * @param name       휠 스레드 이름
+     * @param tickMillis 틱 간격 (밀리초)
+     * @param wheelSize  버킷 수 (2의 거듭제곱으로 올림)
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(String name, long tickMillis, int wheelSize) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis, wheelSize 는 0보다 커야 함");
+        }
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        if (size <= 0) {
+            size = 1;
+        }
+        this.name = name;
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.buckets = (Queue<Timeout>[]) new Queue<?>[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * 휠 스레드 시작
+     */
+    public void start() {
+        startTime = System.currentTimeMillis();
+        running = true;
+        worker = new Thread(this::run, name);
+        worker.setDaemon(true);
+        worker.start();
+        log.info("타이밍 휠 시작: name={}, tickMillis={}, wheelSize={}", name, tickMillis, buckets.length);
+    }
+
+    /**
+     * 작업 예약
+     *
+     * @param task        만료 시 실행할 작업 (휠 스레드에서 실행)
+     * @param delayMillis 지연 시간 (밀리초)
+     * @return 취소용 핸들
+     */
+    public Timeout schedule(Runnable task, long delayMillis) {
+        Timeout timeout = new Timeout(task, System.currentTimeMillis() + Math.max(0, delayMillis));
+        timeoutCount.incrementAndGet();
+        pendingTimeouts.offer(timeout);
+        return timeout;
+    }
+
+    /**
+     * 예약되어 아직 만료/취소되지 않은 타임아웃 수
+     */
+    public int pendingTimeouts() {
+        return timeoutCount.get();
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = startTime + (tick + 1) * tickMillis;
+            long sleepMillis = deadline - System.currentTimeMillis();
+            if (sleepMillis > 0) {
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+
+            transferPendingTimeouts();
+            expireBucket(buckets[(int) (tick & mask)]);
+            tick++;
+        }
+        log.info("타이밍 휠 종료: name={}, remainingTimeouts={}", name, timeoutCount.get());
+    }
+
+    private void transferPendingTimeouts() {
+        // 한 틱에 너무 많이 옮기느라 지연되지 않도록 제한
+        for (int i = 0; i < 100_000; i++) {
+            Timeout timeout = pendingTimeouts.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.state.get() != Timeout.ST_INIT) {
+                continue;
+            }
+
+            long ticksUntilDeadline = Math.max(0, (timeout.deadline - startTime) / tickMillis);
+            long targetTick = Math.max(ticksUntilDeadline, tick);
+            timeout.remainingRounds = (targetTick - tick) / buckets.length;
+            buckets[(int) (targetTick & mask)].offer(timeout);
+        }
+    }
+
+    private void expireBucket(Queue<Timeout> bucket) {
+        Iterator<Timeout> it = bucket.iterator();
+        while (it.hasNext()) {
+            Timeout timeout = it.next();
+            if (timeout.state.get() == Timeout.ST_CANCELLED) {
+                it.remove();
+                continue;
+            }
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                continue;
+            }
+            it.remove();
+            if (timeout.expire()) {
+                timeoutCount.decrementAndGet();
+                try {
+                    timeout.task.run();
+                } catch (Exception e) {
+                    log.error("타이밍 휠 작업 실패: name={}, error={}", name, e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * 예약된 작업 핸들
+     */
+    public final class Timeout {
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+        private long remainingRounds;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * 예약 취소 (이미 실행되었으면 false)
+         */
+        public boolean cancel() {
+            if (state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                timeoutCount.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        private boolean expire() {
+            return state.compareAndSet(ST_INIT, ST_EXPIRED);
+        }
+
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.teamnova.utils;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * 키별 직렬 실행기 (같은 키의 작업은 제출 순서대로 하나씩, 다른 키의 작업은 공유 풀에서 병렬로)
+ *
+ * 키마다 실행기를 만들면 키 수만큼 객체가 쌓이므로, 고정된 수의 SerialExecutor(레인)를 두고
+ * 키의 해시로 레인을 고른다. 같은 키는 항상 같은 레인으로 가므로 순서가 보장되고,
+ * 레인 수가 동시에 활발한 키 수보다 충분히 크면 서로 다른 키가 같은 레인에서 기다리는 일은 드물다.
+ */
+public class KeyedSerialExecutor {
+
+    private final SerialExecutor[] lanes;
+    private final int mask;
+
+    /**
+     * @param laneCount 레인 수 (2의 거듭제곱으로 올림)
+     */
+    public KeyedSerialExecutor(String name, Executor pool, int laneCount) {
+        int size = laneCount <= 1 ? 1 : Integer.highestOneBit(laneCount - 1) << 1;
+        lanes = new SerialExecutor[size];
+        for (int i = 0; i < size; i++) {
+            lanes[i] = new SerialExecutor(name + "-" + i, pool);
+        }
+        mask = size - 1;
+    }
+
+    public void execute(Object key, Runnable task) {
+        laneOf(key).execute(task);
+    }
+
+    /**
+     * 비동기 작업 제출 (돌려준 stage 가 끝날 때까지 같은 레인의 다음 작업은 대기, SerialExecutor#executeAsync 참고)
+     */
+    public void executeAsync(Object key, Supplier<? extends CompletionStage<?>> task) {
+        laneOf(key).executeAsync(task);
+    }
+
+    /**
+     * 모든 레인의 대기 작업 수 합
+     */
+    public int pendingTasks() {
+        int pending = 0;
+        for (SerialExecutor lane : lanes) {
+            pending += lane.pendingTasks();
+        }
+        return pending;
+    }
+
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    private SerialExecutor laneOf(Object key) {
+        int h = key.hashCode();
+        // 연속된 방 id 가 인접 레인에만 몰리지 않도록 상위 비트를 섞는다.
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return lanes[h & mask];
+    }
+}
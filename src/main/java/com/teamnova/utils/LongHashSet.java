@@ -0,0 +1,166 @@
+package com.teamnova.utils;
+
+import java.util.Arrays;
+
+/**
+ * long 값 전용 해시 집합 (open addressing, linear probing)
+ *
+ * 값을 박싱하지 않고 long 배열 하나에 저장하므로 HashSet<Long> 에 비해 원소당 메모리가 훨씬 작다.
+ * 추가/삭제/조회는 평균 O(1)이며, 삭제는 묘비 없이 뒤쪽 원소를 당겨 채운다 (backward shift).
+ * 스레드 안전하지 않으므로 호출하는 쪽에서 동기화해야 한다.
+ */
+public class LongHashSet {
+
+    private static final int MIN_CAPACITY = 4;
+
+    // 빈 슬롯 표시 (값 0 은 hasZero 로 따로 보관)
+    private static final long EMPTY = 0L;
+
+    private long[] table;
+    private int mask;
+    private int size = 0;
+    private boolean hasZero = false;
+
+    public LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize 예상 원소 수 (리사이즈 없이 담을 수 있도록 테이블 크기를 잡음)
+     */
+    public LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedSize * 2 - 1) << 1);
+        table = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * @return 새로 추가했으면 true, 이미 있었으면 false
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int slot = indexOf(value);
+        if (table[slot] == value) {
+            return false;
+        }
+        table[slot] = value;
+        size++;
+        // 적재율 1/2 초과 시 두 배로 확장
+        if (size * 2 > table.length) {
+            resize(table.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * @return 있어서 삭제했으면 true
+     */
+    public boolean remove(long value) {
+        if (value == EMPTY) {
+            if (!hasZero) {
+                return false;
+            }
+            hasZero = false;
+            size--;
+            return true;
+        }
+        int slot = indexOf(value);
+        if (table[slot] != value) {
+            return false;
+        }
+        table[slot] = EMPTY;
+        size--;
+
+        // 삭제한 자리 뒤의 같은 클러스터 원소 중 원래 자리가 빈 칸 쪽인 것을 당겨 채운다.
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (table[next] != EMPTY) {
+            int home = hash(table[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                table[gap] = table[next];
+                table[next] = EMPTY;
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        return true;
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return hasZero;
+        }
+        return table[indexOf(value)] == value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 원소 배열 복사본 (순서 없음)
+     */
+    public long[] toArray() {
+        long[] values = new long[size];
+        int index = 0;
+        if (hasZero) {
+            values[index++] = EMPTY;
+        }
+        for (long value : table) {
+            if (value != EMPTY) {
+                values[index++] = value;
+            }
+        }
+        return values;
+    }
+
+    public void clear() {
+        Arrays.fill(table, EMPTY);
+        size = 0;
+        hasZero = false;
+    }
+
+    /**
+     * value 가 있는 슬롯, 없으면 value 를 넣을 빈 슬롯
+     */
+    private int indexOf(long value) {
+        int slot = hash(value) & mask;
+        while (table[slot] != EMPTY && table[slot] != value) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize(int capacity) {
+        long[] old = table;
+        table = new long[capacity];
+        mask = capacity - 1;
+        for (long value : old) {
+            if (value != EMPTY) {
+                table[indexOf(value)] = value;
+            }
+        }
+    }
+
+    /**
+     * 연속된 id 가 한쪽에 몰리지 않도록 섞는다. (Murmur3 finalizer)
+     */
+    private static int hash(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
@@ -1,5 +1,12 @@
 package com.teamnova.utils;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
@@ -21,6 +28,17 @@ public class PerformanceLogger {
     // 성능 통계를 위한 메트릭 저장소
     private static final ConcurrentHashMap<String, PerformanceMetric> metrics = new ConcurrentHashMap<>();
 
+    // 이벤트 발생 횟수 카운터
+    private static final ConcurrentHashMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    // 값 분포(큐 깊이, 바이트 수 등) 메트릭 저장소
+    private static final ConcurrentHashMap<String, PerformanceMetric> values = new ConcurrentHashMap<>();
+
+    // 프로세스 컨텍스트 스위치 수 (리눅스 전용)
+    private static final Path PROC_TASKS = Paths.get("/proc/self/task");
+    private static final AtomicLong lastVoluntaryCtxSwitches = new AtomicLong(-1);
+    private static final AtomicLong lastNonvoluntaryCtxSwitches = new AtomicLong(-1);
+
     /**
      * 성능 메트릭 정보를 저장하는 내부 클래스
      */
@@ -260,6 +278,65 @@ public class PerformanceLogger {
         }
     }
 
+    /**
+     * 카운터를 1 증가시킵니다.
+     * 
+     * @param counterName 카운터 이름
+     * @return 증가된 값
+     */
+    public static long incrementCounter(String counterName) {
+        return addCounter(counterName, 1);
+    }
+
+    /**
+     * 카운터를 주어진 값만큼 증가시킵니다.
+     * 
+     * @param counterName 카운터 이름
+     * @param delta       증가량
+     * @return 증가된 값
+     */
+    public static long addCounter(String counterName, long delta) {
+        return counters.computeIfAbsent(counterName, k -> new AtomicLong()).addAndGet(delta);
+    }
+
+    /**
+     * 카운터 값을 조회합니다.
+     * 
+     * @param counterName 카운터 이름
+     * @return 카운터 값 (없으면 0)
+     */
+    public static long getCounter(String counterName) {
+        AtomicLong counter = counters.get(counterName);
+        return counter != null ? counter.get() : 0;
+    }
+
+    /**
+     * 값 분포 메트릭에 측정값을 기록합니다. (횟수/평균/최소/최대 집계)
+     * 
+     * @param metricName 메트릭 이름
+     * @param value      측정값
+     */
+    public static void recordValue(String metricName, long value) {
+        values.computeIfAbsent(metricName, k -> new PerformanceMetric()).addExecution(value);
+    }
+
+    /**
+     * 값 분포 메트릭 통계를 조회합니다.
+     * 
+     * @param metricName 메트릭 이름
+     * @return 통계 문자열
+     */
+    public static String getValueStats(String metricName) {
+        PerformanceMetric metric = values.get(metricName);
+        if (metric == null) {
+            return String.format("값 통계 없음: metric=%s", metricName);
+        }
+
+        return String.format("값 통계: metric=%s, samples=%d, avg=%.2f, min=%d, max=%d, total=%d",
+                metricName, metric.getTotalExecutions(), metric.getAverageDuration(),
+                metric.getMinDuration(), metric.getMaxDuration(), metric.getTotalDuration());
+    }
+
     /**
      * 특정 작업의 성능 통계를 조회합니다.
      * 
@@ -283,7 +360,7 @@ public class PerformanceLogger {
      * 모든 성능 통계를 로그로 출력합니다.
      */
     public static void logAllPerformanceStats() {
-        if (metrics.isEmpty()) {
+        if (metrics.isEmpty() && counters.isEmpty() && values.isEmpty()) {
             performanceLog.info("성능 통계 없음");
             return;
         }
@@ -292,6 +369,12 @@ public class PerformanceLogger {
         metrics.forEach((operationName, metric) -> {
             performanceLog.info(getPerformanceStats(operationName));
         });
+        values.forEach((metricName, metric) -> {
+            performanceLog.info(getValueStats(metricName));
+        });
+        counters.forEach((counterName, counter) -> {
+            performanceLog.info("카운터: name={}, value={}", counterName, counter.get());
+        });
         performanceLog.info("=== 성능 통계 요약 종료 ===");
     }
 
@@ -300,6 +383,8 @@ public class PerformanceLogger {
      */
     public static void clearPerformanceStats() {
         metrics.clear();
+        counters.clear();
+        values.clear();
         performanceLog.info("성능 통계 초기화 완료");
     }
 
@@ -353,6 +438,97 @@ public class PerformanceLogger {
                 activeThreads, Runtime.getRuntime().availableProcessors());
     }
 
+    /**
+     * slow consumer 연결 강제 종료를 기록합니다.
+     * 
+     * @param connection  연결 식별 정보 (원격 주소 등)
+     * @param reason      종료 사유 (MAX_QUEUED_BYTES, MAX_DRAIN_TIME)
+     * @param queueDepth  종료 시점 송신 큐 프레임 수
+     * @param queuedBytes 종료 시점 송신 큐 바이트 수
+     * @param stalledMs   송신 큐 소비가 멈춰 있던 시간
+     */
+    public static void recordSlowConsumerEviction(String connection, String reason, int queueDepth,
+            long queuedBytes, long stalledMs) {
+        long evictions = incrementCounter("SLOW_CONSUMER_EVICTIONS");
+        incrementCounter("SLOW_CONSUMER_EVICTIONS:" + reason);
+
+        log.warn("slow consumer 연결 종료: connection={}, reason={}, queueDepth={}, queuedBytes={}, stalledMs={}, " +
+                "totalEvictions={}", connection, reason, queueDepth, queuedBytes, stalledMs, evictions);
+        performanceLog.warn("SLOW_CONSUMER_EVICTION: connection={}, reason={}, queueDepth={}, queuedBytes={}, " +
+                "stalledMs={}", connection, reason, queueDepth, queuedBytes, stalledMs);
+    }
+
+    /**
+     * 송신 프레임 압축 결과를 액션별로 기록합니다.
+     * 
+     * 압축률은 압축 후/압축 전 크기의 천분율(낮을수록 좋음)이며, 비용은 writer 스레드에서 압축에 쓴 시간입니다.
+     * 압축은 블로킹 없이 CPU만 사용하므로 경과 시간을 CPU 비용으로 봅니다.
+     * 
+     * @param frameType       프레임 종류 (액션 이름)
+     * @param originalBytes   압축 전 본문 크기
+     * @param compressedBytes 압축 후 본문 크기
+     * @param cpuNanos        압축에 걸린 시간 (나노초)
+     */
+    public static void recordCompression(String frameType, int originalBytes, int compressedBytes, long cpuNanos) {
+        recordValue("COMPRESSION_RATIO_PERMILLE:" + frameType, (long) compressedBytes * 1000 / originalBytes);
+        recordValue("COMPRESSION_CPU_NANOS:" + frameType, cpuNanos);
+        addCounter("COMPRESSION_BYTES_IN", originalBytes);
+        addCounter("COMPRESSION_BYTES_OUT", compressedBytes);
+        addCounter("COMPRESSION_BYTES_SAVED:" + frameType, originalBytes - compressedBytes);
+    }
+
+    /**
+     * 연결 처리 방식(NIO/THREAD/VIRTUAL) 비교를 위한 연결당 자원 사용량을 로깅합니다.
+     * 
+     * 컨텍스트 스위치 수는 /proc/self/task 아래 스레드별 status 값을 합한 것이며, 직전 호출 이후 증가량을 함께 기록합니다.
+     * (/proc/self/status 는 메인 스레드 값만 보여줌, 이미 종료된 스레드의 몫은 합계에서 빠짐)
+     * 플랫폼 스레드 수는 ThreadMXBean 기준입니다. (가상 스레드 제외)
+     * 
+     * @param mode        연결 처리 방식
+     * @param connections 현재 연결 수
+     */
+    public static void logConnectionFootprint(String mode, int connections) {
+        Runtime runtime = Runtime.getRuntime();
+        long usedMemory = runtime.totalMemory() - runtime.freeMemory();
+        long bytesPerConnection = connections > 0 ? usedMemory / connections : 0;
+
+        long voluntary = -1;
+        long nonvoluntary = -1;
+        try (DirectoryStream<Path> tasks = Files.newDirectoryStream(PROC_TASKS)) {
+            voluntary = 0;
+            nonvoluntary = 0;
+            for (Path task : tasks) {
+                List<String> lines;
+                try {
+                    lines = Files.readAllLines(task.resolve("status"));
+                } catch (IOException e) {
+                    continue; // 그 사이 종료된 스레드
+                }
+                for (String line : lines) {
+                    if (line.startsWith("voluntary_ctxt_switches:")) {
+                        voluntary += Long.parseLong(line.substring(line.indexOf(':') + 1).trim());
+                    } else if (line.startsWith("nonvoluntary_ctxt_switches:")) {
+                        nonvoluntary += Long.parseLong(line.substring(line.indexOf(':') + 1).trim());
+                    }
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            voluntary = -1;
+            nonvoluntary = -1;
+            log.debug("컨텍스트 스위치 정보 조회 불가: path={}, error={}", PROC_TASKS, e.getMessage());
+        }
+
+        long prevVoluntary = lastVoluntaryCtxSwitches.getAndSet(voluntary);
+        long prevNonvoluntary = lastNonvoluntaryCtxSwitches.getAndSet(nonvoluntary);
+
+        performanceLog.info("CONNECTION_FOOTPRINT: mode={}, connections={}, usedHeap={}KB, heapPerConnection={}B, " +
+                "platformThreads={}, voluntaryCtxSwitches={}(+{}), nonvoluntaryCtxSwitches={}(+{})",
+                mode, connections, usedMemory / 1024, bytesPerConnection,
+                ManagementFactory.getThreadMXBean().getThreadCount(),
+                voluntary, prevVoluntary >= 0 && voluntary >= 0 ? voluntary - prevVoluntary : 0,
+                nonvoluntary, prevNonvoluntary >= 0 && nonvoluntary >= 0 ? nonvoluntary - prevNonvoluntary : 0);
+    }
+
     /**
      * 성능 모니터링을 위한 주기적 로깅을 시작합니다.
      * 
@@ -0,0 +1,138 @@
+package com.teamnova.utils;
+
+import java.util.Queue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * 공유 스레드 풀 위에서 작업을 제출 순서대로 하나씩 실행하는 실행기
+ *
+ * 같은 SerialExecutor에 제출된 작업은 절대 동시에 실행되지 않고 순서가 보장되며,
+ * 서로 다른 SerialExecutor의 작업은 공유 풀에서 병렬로 실행된다.
+ *
+ * {@link #executeAsync} 로 제출한 작업은 돌려준 CompletionStage 가 끝날 때까지 다음 작업을 시작하지 않는다.
+ * 기다리는 동안 풀의 스레드는 놓아 주므로 DB 응답을 기다리는 방이 다른 방의 작업을 막지 않는다.
+ */
+public class SerialExecutor implements Executor {
+
+    private static final Logger log = LogManager.getLogger(SerialExecutor.class);
+
+    // 한 번 스케줄될 때 처리할 최대 작업 수 (다른 실행기와의 공정성 보장)
+    private static final int MAX_TASKS_PER_RUN = 64;
+
+    private final String name;
+    private final Executor delegate;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    public SerialExecutor(String name, Executor delegate) {
+        this.name = name;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        tasks.offer(task);
+        schedule();
+    }
+
+    /**
+     * 비동기 작업 제출. task 가 돌려준 stage 가 완료되어야 다음 작업이 실행된다. (null 이면 바로 다음 작업)
+     */
+    public void executeAsync(Supplier<? extends CompletionStage<?>> task) {
+        tasks.offer(new AsyncTask(task));
+        schedule();
+    }
+
+    /**
+     * 대기 중인 작업 수
+     */
+    public int pendingTasks() {
+        return tasks.size();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                delegate.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                log.error("직렬 실행기 스케줄 실패: name={}, pendingTasks={}, error={}",
+                        name, tasks.size(), e.getMessage());
+                throw e;
+            }
+        }
+    }
+
+    private void drain() {
+        boolean suspended = false;
+        try {
+            for (int i = 0; i < MAX_TASKS_PER_RUN; i++) {
+                Runnable task = tasks.poll();
+                if (task == null) {
+                    break;
+                }
+                try {
+                    if (task instanceof AsyncTask) {
+                        CompletionStage<?> pending = ((AsyncTask) task).supplier.get();
+                        if (pending != null && !pending.toCompletableFuture().isDone()) {
+                            // scheduled 를 쥔 채로 스레드만 반환하고, 완료되면 이어서 처리한다.
+                            suspended = true;
+                            pending.whenComplete((result, error) -> resume());
+                            return;
+                        }
+                    } else {
+                        task.run();
+                    }
+                } catch (Exception e) {
+                    log.error("직렬 실행기 작업 실패: name={}, error={}", name, e.getMessage(), e);
+                }
+            }
+        } finally {
+            if (!suspended) {
+                scheduled.set(false);
+                if (!tasks.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+
+    /**
+     * 비동기 작업 완료 후 남은 작업 이어서 처리
+     */
+    private void resume() {
+        try {
+            delegate.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // 풀 종료 중: 다음 제출이 다시 스케줄할 수 있도록 놓아 준다.
+            scheduled.set(false);
+            log.error("직렬 실행기 재개 실패: name={}, pendingTasks={}, error={}", name, tasks.size(), e.getMessage());
+        }
+    }
+
+    private static class AsyncTask implements Runnable {
+        final Supplier<? extends CompletionStage<?>> supplier;
+
+        AsyncTask(Supplier<? extends CompletionStage<?>> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public void run() {
+            supplier.get();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SerialExecutor{name=" + name + ", pendingTasks=" + tasks.size() + "}";
+    }
+}
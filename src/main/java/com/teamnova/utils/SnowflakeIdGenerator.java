@@ -0,0 +1,87 @@
+package com.teamnova.utils;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake 방식 64비트 id 발급기 (DB 왕복 없이 여러 서버에서 겹치지 않는 id)
+ *
+ * [부호 1비트 = 0][epoch 이후 밀리초 41비트][worker id 10비트][같은 밀리초 안의 순번 12비트]
+ *
+ * 서버마다 worker id 를 다르게 주면 서버 간 id 가 겹치지 않고, 한 서버 안에서는 항상 증가한다.
+ * 시계가 뒤로 가거나 한 밀리초에 4096 개를 넘게 발급하면 기다리지 않고 마지막 시각을 이어 쓴다.
+ * (id 의 시각이 실제보다 잠시 앞설 수 있지만 증가 순서와 유일성은 유지)
+ */
+public class SnowflakeIdGenerator implements LongSupplier {
+
+    public static final long DEFAULT_EPOCH_MS = 1_704_067_200_000L; // 2024-01-01T00:00:00Z
+
+    private static final int WORKER_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    public static final int WORKER_SHIFT = SEQUENCE_BITS; // id 에서 worker id 가 시작하는 비트 위치
+    public static final long MAX_WORKER_ID = (1L << WORKER_BITS) - 1;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private final long workerId;
+    private final long epochMs;
+    private final LongSupplier clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long lastTimestamp = -1;
+    private long sequence = 0;
+
+    public SnowflakeIdGenerator(long workerId) {
+        this(workerId, DEFAULT_EPOCH_MS, System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock 현재 시각(밀리초), 테스트에서 바꿔 넣는다.
+     */
+    public SnowflakeIdGenerator(long workerId, long epochMs, LongSupplier clock) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("workerId 는 0 ~ " + MAX_WORKER_ID + " 이어야 합니다: " + workerId);
+        }
+        this.workerId = workerId;
+        this.epochMs = epochMs;
+        this.clock = clock;
+    }
+
+    @Override
+    public long getAsLong() {
+        return nextId();
+    }
+
+    public long nextId() {
+        lock.lock();
+        try {
+            long now = clock.getAsLong() - epochMs;
+            if (now > lastTimestamp) {
+                lastTimestamp = now;
+                sequence = 0;
+            } else {
+                if (now < lastTimestamp) {
+                    PerformanceLogger.incrementCounter("SNOWFLAKE_CLOCK_BACKWARDS");
+                }
+                // 같은 밀리초(또는 시계가 뒤로 감): 순번을 올리고, 다 쓰면 다음 밀리초를 미리 쓴다.
+                sequence = (sequence + 1) & MAX_SEQUENCE;
+                if (sequence == 0) {
+                    lastTimestamp++;
+                }
+            }
+            return (lastTimestamp << (WORKER_BITS + SEQUENCE_BITS)) | (workerId << SEQUENCE_BITS) | sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * id 에 들어 있는 발급 시각 (epoch 밀리초)
+     */
+    public long timestampOf(long id) {
+        return (id >>> (WORKER_BITS + SEQUENCE_BITS)) + epochMs;
+    }
+
+    public static long workerIdOf(long id) {
+        return (id >>> WORKER_SHIFT) & MAX_WORKER_ID;
+    }
+}
@@ -5,5 +5,7 @@
  * - TimeUtils: 시간 관련 유틸리티 (UTC 시간 생성 등)
  * - LogUtils: 로깅 관련 유틸리티
  * - CommonUtils: 기타 공통 유틸리티 기능
+ * - LongHashSet: 박싱 없는 long 집합 (채팅방 멤버 id)
+ * - KeyedSerialExecutor: 키(방)별 직렬 실행기
  */
 package com.teamnova.utils;
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.teamnova.webrtc;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -16,6 +17,8 @@ import com.teamnova.command.webrtc.IceCandidateCommand;
 import com.teamnova.command.webrtc.JoinVideoRoomCommand;
 import com.teamnova.command.webrtc.MediaStatusCommand;
 import com.teamnova.command.webrtc.SDPCommand;
+import com.teamnova.chat.MessageHandler;
+import com.teamnova.database.AsyncDBHelper;
 import com.teamnova.database.DBHelper;
 import com.teamnova.dto.user.UserData;
 import com.teamnova.server.ChatServer;
@@ -37,24 +40,22 @@ public class WebRTCSignalingHandler {
 
         private static final Logger log = LogManager.getLogger(WebRTCSignalingHandler.class);
 
-        private User user;
+        private static final WebRTCSignalingHandler INSTANCE = new WebRTCSignalingHandler();
 
         /**
-         * 생성자
-         * 
-         * @param user 사용자 객체
+         * 공유 인스턴스 (상태가 없으므로 모든 세션이 하나를 쓴다)
          */
-        public WebRTCSignalingHandler(User user) {
-                this.user = user;
+        public static WebRTCSignalingHandler getInstance() {
+                return INSTANCE;
+        }
 
-                log.debug("WebRTC 시그널링 핸들러 생성: userId={}, sessionId={}",
-                                user.id, user.getSessionId());
+        private WebRTCSignalingHandler() {
         }
 
         /**
          * 영상회의 방 참가자 목록 조회
          */
-        public void getVideoRoomParticipant(GetVideoRoomParticipantCommand command) {
+        public void getVideoRoomParticipant(User user, GetVideoRoomParticipantCommand command) {
                 String signalId = LoggingUtils.generateSignalId();
                 PerformanceLogger.Timer timer = PerformanceLogger.startTimer("GET_VIDEO_ROOM_PARTICIPANT",
                                 String.format("userId=%d,videoRoomId=%s,signalId=%s", user.id, command.videoRoomId,
@@ -96,7 +97,7 @@ public class WebRTCSignalingHandler {
                         }
 
                         command.userList = userList;
-                        this.user.sendMsg(command, false);
+                        user.sendMsg(command, false);
 
                         long duration = timer.stop();
                         log.info("영상방 참가자 목록 조회 완료: userId={}, sessionId={}, signalId={}, videoRoomId={}, " +
@@ -114,7 +115,7 @@ public class WebRTCSignalingHandler {
         /**
          * 미디어 상태 처리
          */
-        public void mediaStatus(MediaStatusCommand command) {
+        public void mediaStatus(User user, MediaStatusCommand command) {
                 String signalId = LoggingUtils.generateSignalId();
                 PerformanceLogger.Timer timer = PerformanceLogger.startTimer("MEDIA_STATUS",
                                 String.format("userId=%d,videoRoomId=%s,signalId=%s", user.id, command.videoRoomId,
@@ -176,7 +177,7 @@ public class WebRTCSignalingHandler {
         /**
          * 영상회의 방 나가기
          */
-        public void exitVideoRoom(ExitVideoRoomCommand command) {
+        public void exitVideoRoom(User user, ExitVideoRoomCommand command) {
                 String signalId = LoggingUtils.generateSignalId();
                 PerformanceLogger.Timer timer = PerformanceLogger.startTimer("EXIT_VIDEO_ROOM",
                                 String.format("userId=%d,videoRoomId=%s,signalId=%s", user.id, command.videoRoomId,
@@ -211,9 +212,9 @@ public class WebRTCSignalingHandler {
                                         SendMessageCommand messageCommand = new SendMessageCommand(command.roomId,
                                                         videoRoom.id, Type.VIDEO_ROOM_CLOSE);
                                         messageCommand.readStatus = ReadStatus.UNREAD;
-                                        messageCommand.requesterId = this.user.id;
+                                        messageCommand.requesterId = user.id;
 
-                                        user.messageHandler.sendMessage(messageCommand);
+                                        MessageHandler.getInstance().sendMessage(user, messageCommand);
 
                                         log.debug("영상방 종료 메시지 전송 완료: userId={}, sessionId={}, signalId={}, videoRoomId={}, chatRoomId={}",
                                                         user.id, user.getSessionId(), signalId, videoRoomId,
@@ -226,7 +227,7 @@ public class WebRTCSignalingHandler {
                         }
 
                         // 명단에서 본인 제거
-                        boolean removed = videoRoom.userList.remove(this.user);
+                        boolean removed = videoRoom.userList.remove(user);
                         log.debug(
                                         "영상방에서 사용자 제거: userId={}, sessionId={}, signalId={}, videoRoomId={}, removed={}, remainingCount={}",
                                         user.id, user.getSessionId(), signalId, videoRoomId, removed,
@@ -282,7 +283,7 @@ public class WebRTCSignalingHandler {
         /**
          * SDP Offer, Answer 처리
          */
-        public void handleSDP(SDPCommand command) {
+        public void handleSDP(User user, SDPCommand command) {
                 String signalId = LoggingUtils.generateSignalId();
                 PerformanceLogger.Timer timer = PerformanceLogger.startTimer("SDP_SIGNALING",
                                 String.format("userId=%d,videoRoomId=%s,signalId=%s", user.id, command.videoRoomId,
@@ -350,7 +351,7 @@ public class WebRTCSignalingHandler {
         /**
          * IceCandidate 처리 (새 참가자 -> 기존 참가자들)
          */
-        public void handleIceCandidate(IceCandidateCommand command) {
+        public void handleIceCandidate(User user, IceCandidateCommand command) {
                 String signalId = LoggingUtils.generateSignalId();
                 PerformanceLogger.Timer timer = PerformanceLogger.startTimer("ICE_CANDIDATE",
                                 String.format("userId=%d,videoRoomId=%s,signalId=%s", user.id, command.videoRoomId,
@@ -427,8 +428,10 @@ public class WebRTCSignalingHandler {
 
         /**
          * 영상 회의 방 참가
+         *
+         * 멤버 추가는 바로 하고, 참가자 정보 조회는 비동기 DB 실행기에서 한 뒤 알림을 보낸다.
          */
-        public void joinVideoRoom(JoinVideoRoomCommand command) {
+        public CompletableFuture<Void> joinVideoRoom(User user, JoinVideoRoomCommand command) {
                 String signalId = LoggingUtils.generateSignalId();
                 PerformanceLogger.Timer timer = PerformanceLogger.startTimer("JOIN_VIDEO_ROOM",
                                 String.format("userId=%d,videoRoomId=%s,signalId=%s", user.id, command.videoRoomId,
@@ -437,39 +440,64 @@ public class WebRTCSignalingHandler {
                 log.debug("영상방 참가 시작: userId={}, sessionId={}, signalId={}, videoRoomId={}, requesterId={}",
                                 user.id, user.getSessionId(), signalId, command.videoRoomId, command.requesterId);
 
-                try {
-                        VideoRoom videoRoom = ChatServer.videoRoomMap.get(command.videoRoomId);
+                VideoRoom videoRoom = ChatServer.videoRoomMap.get(command.videoRoomId);
 
-                        if (videoRoom == null) {
-                                log.warn("존재하지 않는 영상방 참가 시도: userId={}, sessionId={}, signalId={}, videoRoomId={}",
-                                                user.id, user.getSessionId(), signalId, command.videoRoomId);
-                                return;
-                        }
+                if (videoRoom == null) {
+                        log.warn("존재하지 않는 영상방 참가 시도: userId={}, sessionId={}, signalId={}, videoRoomId={}",
+                                        user.id, user.getSessionId(), signalId, command.videoRoomId);
+                        return CompletableFuture.completedFuture(null);
+                }
 
-                        int initialParticipantCount = videoRoom.userList.size();
+                int initialParticipantCount = videoRoom.userList.size();
 
-                        // 이미 참가한 사용자인지 확인
-                        boolean alreadyJoined = videoRoom.userList.stream()
-                                        .anyMatch(u -> u.id == this.user.id);
+                // 이미 참가한 사용자인지 확인
+                boolean alreadyJoined = videoRoom.userList.stream()
+                                .anyMatch(u -> u.id == user.id);
 
-                        if (alreadyJoined) {
-                                log.warn("이미 참가한 영상방 재참가 시도: userId={}, sessionId={}, signalId={}, videoRoomId={}",
-                                                user.id, user.getSessionId(), signalId, command.videoRoomId);
-                                return;
-                        }
+                if (alreadyJoined) {
+                        log.warn("이미 참가한 영상방 재참가 시도: userId={}, sessionId={}, signalId={}, videoRoomId={}",
+                                        user.id, user.getSessionId(), signalId, command.videoRoomId);
+                        return CompletableFuture.completedFuture(null);
+                }
 
-                        // 영상회의방 멤버목록에 자신을 추가
-                        videoRoom.addUser(this.user);
+                // 영상회의방 멤버목록에 자신을 추가
+                videoRoom.addUser(user);
+                List<User> participants = new ArrayList<>(videoRoom.userList);
 
-                        log.debug("영상방 멤버 추가 완료: userId={}, sessionId={}, signalId={}, videoRoomId={}, " +
-                                        "participantCount={} -> {}",
-                                        user.id, user.getSessionId(), signalId, command.videoRoomId,
-                                        initialParticipantCount, videoRoom.userList.size());
+                log.debug("영상방 멤버 추가 완료: userId={}, sessionId={}, signalId={}, videoRoomId={}, " +
+                                "participantCount={} -> {}",
+                                user.id, user.getSessionId(), signalId, command.videoRoomId,
+                                initialParticipantCount, participants.size());
+
+                AsyncDBHelper db = ChatServer.getAsyncDb();
+
+                // 사용자 정보 조회 (실패해도 참가는 진행)
+                CompletableFuture<UserData> requesterData = db.getUserDataById(command.requesterId)
+                                .exceptionally(error -> {
+                                        Throwable cause = AsyncDBHelper.unwrap(error);
+                                        log.error("참가자 정보 조회 실패: userId={}, sessionId={}, signalId={}, error={}",
+                                                        user.id, user.getSessionId(), signalId, cause.getMessage(),
+                                                        cause);
+                                        return null;
+                                });
+
+                // 참가자 본인에게 줄 모든 참가자(본인포함)의 정보
+                CompletableFuture<List<UserData>> participantData = db.supply("getVideoRoomParticipants", helper -> {
+                        List<UserData> userList = new ArrayList<>();
+                        for (User roomUser : participants) {
+                                try {
+                                        userList.add(helper.getUserDataById(roomUser.id));
+                                } catch (Exception e) {
+                                        log.error("참가자 목록 조회 실패: userId={}, sessionId={}, signalId={}, participantId={}, error={}",
+                                                        user.id, user.getSessionId(), signalId, roomUser.id,
+                                                        e.getMessage(), e);
+                                }
+                        }
+                        return userList;
+                });
 
-                        // 사용자 정보 조회
-                        UserData userData = null;
-                        try {
-                                userData = DBHelper.getInstance().getUserDataById(command.requesterId);
+                return requesterData.thenCombine(participantData, (userData, userList) -> {
+                        if (userData != null) {
                                 command.nickname = userData.nickname;
                                 command.profileImage = userData.profileImage;
 
@@ -477,17 +505,14 @@ public class WebRTCSignalingHandler {
                                                 user.id, user.getSessionId(), signalId,
                                                 LoggingUtils.sanitizeUserName(userData.nickname),
                                                 userData.profileImage != null ? "present" : "null");
-                        } catch (Exception e) {
-                                log.error("참가자 정보 조회 실패: userId={}, sessionId={}, signalId={}, error={}",
-                                                user.id, user.getSessionId(), signalId, e.getMessage(), e);
                         }
 
                         // 기존 참가자들에게는 새로 참가한 사람의 정보만 제공
                         int notificationCount = 0;
                         int failedCount = 0;
-                        for (User roomUser : videoRoom.userList) {
+                        for (User roomUser : participants) {
                                 // 새로 참가한 사람에게는 전송하지 않음
-                                if (roomUser.id == this.user.id) {
+                                if (roomUser.id == user.id) {
                                         continue;
                                 }
 
@@ -505,44 +530,34 @@ public class WebRTCSignalingHandler {
                                 }
                         }
 
-                        // 참가자 본인에게는 모든 참가자(본인포함)의 정보를 제공
-                        List<UserData> userList = new ArrayList<>();
-                        int dbQueryCount = 0;
-                        for (User roomUser : videoRoom.userList) {
-                                try {
-                                        UserData ud = DBHelper.getInstance().getUserDataById(roomUser.id);
-                                        userList.add(ud);
-                                        dbQueryCount++;
-                                } catch (Exception e) {
-                                        log.error("참가자 목록 조회 실패: userId={}, sessionId={}, signalId={}, participantId={}, error={}",
-                                                        user.id, user.getSessionId(), signalId, roomUser.id,
-                                                        e.getMessage(), e);
-                                }
-                        }
                         command.userList = userList;
 
                         // 참가자는 본인 포함 모든 멤버의 명단을 받음
-                        this.user.sendMsg(command, false);
+                        user.sendMsg(command, false);
 
                         long duration = timer.stop();
                         log.info(LoggingConstants.VIDEO_ROOM_JOINED + ", signalId={}, initialParticipantCount={}, " +
                                         "notificationCount={}, failedCount={}, dbQueryCount={}, duration={}ms",
                                         command.videoRoomId, user.id, userData != null ? userData.nickname : "unknown",
-                                        videoRoom.userList.size(), user.getSessionId(),
-                                        signalId, initialParticipantCount, notificationCount, failedCount, dbQueryCount,
-                                        duration);
-
-                } catch (Exception e) {
-                        timer.stop("ERROR: " + e.getMessage());
-                        log.error("영상방 참가 중 오류: userId={}, sessionId={}, signalId={}, videoRoomId={}, error={}",
-                                        user.id, user.getSessionId(), signalId, command.videoRoomId, e.getMessage(), e);
-                }
+                                        participants.size(), user.getSessionId(),
+                                        signalId, initialParticipantCount, notificationCount, failedCount,
+                                        userList.size(), duration);
+                        return (Void) null;
+                }).whenComplete((ignored, error) -> {
+                        if (error != null) {
+                                Throwable cause = AsyncDBHelper.unwrap(error);
+                                timer.stop("ERROR: " + cause.getMessage());
+                                log.error("영상방 참가 중 오류: userId={}, sessionId={}, signalId={}, videoRoomId={}, error={}",
+                                                user.id, user.getSessionId(), signalId, command.videoRoomId,
+                                                cause.getMessage(), cause);
+                        }
+                });
         }
 
         /**
          * 영상 회의방 생성
          */
-        public void createVideoRoom(CreateVideoRoomCommand command) {
+        public void createVideoRoom(User user, CreateVideoRoomCommand command) {
                 String signalId = LoggingUtils.generateSignalId();
                 PerformanceLogger.Timer timer = PerformanceLogger.startTimer("CREATE_VIDEO_ROOM",
                                 String.format("userId=%d,roomId=%d,signalId=%s", user.id, command.roomId, signalId));
@@ -559,8 +574,8 @@ public class WebRTCSignalingHandler {
                         log.debug("영상방 객체 생성 완료: userId={}, sessionId={}, signalId={}, videoRoomId={}, hostId={}",
                                         user.id, user.getSessionId(), signalId, videoRoomId, user.id);
 
-                        videoRoom.addUser(this.user); // 생성자를 멤버로 추가
-                        videoRoom.hostId = this.user.id;
+                        videoRoom.addUser(user); // 생성자를 멤버로 추가
+                        videoRoom.hostId = user.id;
 
                         // 서버의 영상회의 목록에 추가
                         ChatServer.videoRoomMap.put(videoRoom.id, videoRoom);
@@ -572,7 +587,7 @@ public class WebRTCSignalingHandler {
 
                         // 생성된 방 정보(id)를 호스트에게 전송한다.
                         command.videoRoomId = videoRoom.id;
-                        this.user.sendMsg(command, false);
+                        user.sendMsg(command, false);
 
                         // 영상통화 생성 메시지 커맨드를 생성한다.
                         // 메시지 내용은 생성된 회의 id다.
@@ -580,10 +595,10 @@ public class WebRTCSignalingHandler {
                                 SendMessageCommand messageCommand = new SendMessageCommand(command.roomId, videoRoom.id,
                                                 Type.VIDEO_ROOM_OPEN);
                                 messageCommand.readStatus = ReadStatus.UNREAD;
-                                messageCommand.requesterId = this.user.id;
+                                messageCommand.requesterId = user.id;
 
                                 // 생성된 메시지 커맨드를 채팅방으로 전송한다.
-                                user.messageHandler.sendMessage(messageCommand);
+                                MessageHandler.getInstance().sendMessage(user, messageCommand);
 
                                 log.debug("영상방 생성 메시지 전송 완료: userId={}, sessionId={}, signalId={}, videoRoomId={}, chatRoomId={}",
                                                 user.id, user.getSessionId(), signalId, videoRoomId, command.roomId);
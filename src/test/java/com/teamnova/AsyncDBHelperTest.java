@@ -0,0 +1,112 @@
+package com.teamnova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import com.teamnova.database.AsyncDBHelper;
+
+/**
+ * 비동기 DB 실행기 테스트 (DBHelper 대신 호출 안에서 직접 값을 만든다)
+ */
+public class AsyncDBHelperTest {
+
+    @Test
+    public void testQueueLimitRejectsInsteadOfBlocking() throws Exception {
+        // Given: 스레드 1 개, 대기열 1 개, DB 가 멈춘 상황
+        AsyncDBHelper db = new AsyncDBHelper(() -> null, 1, 1, 0);
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Integer> running = db.supply("stalled", helper -> {
+            started.countDown();
+            stalled.await();
+            return 1;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Integer> queued = db.supply("queued", helper -> 2);
+
+        // When: 대기열이 찬 상태에서 하나 더 제출
+        CompletableFuture<Integer> rejected = db.supply("rejected", helper -> 3);
+
+        // Then: 제출한 스레드는 막히지 않고 바로 실패한 future 를 받음
+        assertTrue(rejected.isCompletedExceptionally());
+        try {
+            rejected.get();
+            fail("거부되어야 함");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof RejectedExecutionException);
+        }
+
+        // When: DB 가 풀리면 실행 중/대기 중 작업은 정상 완료
+        stalled.countDown();
+        assertEquals(Integer.valueOf(1), running.get(5, TimeUnit.SECONDS));
+        assertEquals(Integer.valueOf(2), queued.get(5, TimeUnit.SECONDS));
+        db.shutdown();
+    }
+
+    @Test
+    public void testTimedOutQueuedCallIsSkipped() throws Exception {
+        // Given: 스레드 1 개, 제한 시간 100ms, 앞 작업이 제한 시간보다 오래 걸림
+        AsyncDBHelper db = new AsyncDBHelper(() -> null, 1, 10, 100);
+        CountDownLatch stalled = new CountDownLatch(1);
+        CompletableFuture<Integer> slow = db.supply("slow", helper -> {
+            stalled.await();
+            return 1;
+        });
+        AtomicBoolean queuedRan = new AtomicBoolean(false);
+        CompletableFuture<Void> queued = db.run("queued", helper -> queuedRan.set(true));
+
+        // When: 제한 시간 경과
+        try {
+            queued.get(5, TimeUnit.SECONDS);
+            fail("시간 초과되어야 함");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof TimeoutException);
+        }
+        try {
+            slow.get(5, TimeUnit.SECONDS);
+            fail("실행 중인 작업도 시간 초과되어야 함");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof TimeoutException);
+        }
+
+        // Then: DB 가 풀린 뒤에도 시간 초과된 대기 작업은 실행하지 않음
+        stalled.countDown();
+        db.shutdown();
+        Thread.sleep(100);
+        assertFalse(queuedRan.get());
+    }
+
+    @Test
+    public void testInlineRunsOnCallerThreadAndReportsFailure() {
+        // Given: 서버 초기화 전 (호출 스레드에서 실행)
+        AsyncDBHelper db = AsyncDBHelper.inline(() -> null);
+        Thread caller = Thread.currentThread();
+
+        // When / Then: 결과는 이미 완료된 상태, 예외는 실패한 future 로 전달
+        CompletableFuture<Boolean> sameThread = db.supply("thread", helper -> Thread.currentThread() == caller);
+        assertTrue(sameThread.join());
+
+        CompletableFuture<Object> failed = db.supply("failed", helper -> {
+            throw new IllegalStateException("db down");
+        });
+        assertTrue(failed.isCompletedExceptionally());
+        try {
+            failed.join();
+            fail("실패해야 함");
+        } catch (RuntimeException expected) {
+            assertEquals("db down", AsyncDBHelper.unwrap(expected).getMessage());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.teamnova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.teamnova.database.ConnectionPool;
+
+/**
+ * 커넥션 풀 테스트 (실제 DB 대신 상태만 가진 가짜 연결 사용)
+ */
+public class ConnectionPoolTest {
+
+    private final FakeJdbc jdbc = new FakeJdbc();
+
+    private ConnectionPool newPool(int maxSize, long maxWaitMs, long idleTimeoutMs, long validateAfterMs) {
+        return new ConnectionPool(jdbc::open, maxSize, maxWaitMs, idleTimeoutMs, validateAfterMs);
+    }
+
+    @Test
+    public void testBoundedAndReusesReturnedConnection() throws SQLException {
+        // Given: 최대 2 개, 대기 50ms 풀
+        ConnectionPool pool = newPool(2, 50, 0, 60_000);
+
+        // When: 2 개를 빌린 상태에서 하나 더 요청
+        Connection first = pool.getConnection();
+        Connection second = pool.getConnection();
+        try {
+            pool.getConnection();
+            fail("최대 수를 넘겨 빌려주면 안 됨");
+        } catch (SQLException expected) {
+            assertTrue(expected.getMessage().contains("대기 시간 초과"));
+        }
+        assertEquals(2, pool.getActiveCount());
+
+        // Then: 반납하면 같은 물리 연결을 다시 빌려줌 (새로 만들지 않음)
+        String physical = first.getSchema();
+        first.close();
+        assertTrue(first.isClosed());
+        assertFalse(jdbc.connection(0).closed);
+        Connection third = pool.getConnection();
+        assertNotSame(first, third);
+        assertEquals(physical, third.getSchema());
+        assertEquals(2, jdbc.connectionCount());
+
+        // 반납한 프록시는 더 이상 쓸 수 없음
+        try {
+            first.getSchema();
+            fail("반납한 연결을 쓰면 안 됨");
+        } catch (SQLException expected) {
+        }
+        second.close();
+        third.close();
+        assertEquals(0, pool.getActiveCount());
+        assertEquals(2, pool.getIdleCount());
+    }
+
+    @Test
+    public void testOpenTransactionIsRolledBackOnReturn() throws SQLException {
+        // Given: autoCommit 을 끈 채 반납
+        ConnectionPool pool = newPool(1, 50, 0, 60_000);
+        Connection conn = pool.getConnection();
+        conn.setAutoCommit(false);
+
+        // When
+        conn.close();
+
+        // Then: 롤백 후 autoCommit 이 켜진 상태로 풀에 돌아감
+        FakeJdbc.FakeConnection fake = jdbc.connection(0);
+        assertEquals(1, fake.rollbacks);
+        assertTrue(fake.autoCommit);
+        assertTrue(pool.getConnection().getAutoCommit());
+    }
+
+    @Test
+    public void testInvalidConnectionIsReplacedAndIdleEvicted() throws SQLException {
+        // Given: 반납 즉시 검증하고(validateAfter 0) 유휴 1분 후 정리하는 풀
+        ConnectionPool pool = newPool(1, 50, 60_000, 0);
+        pool.getConnection().close();
+        jdbc.connection(0).valid = false;
+
+        // When: 다시 빌림
+        Connection conn = pool.getConnection();
+
+        // Then: 끊어진 연결은 닫고 새 연결을 만듦
+        assertTrue(jdbc.connection(0).closed);
+        assertEquals(2, jdbc.connectionCount());
+        conn.close();
+
+        // When: 유휴 시간이 지난 시점 기준으로 정리
+        int evicted = pool.evictIdle(System.nanoTime() + TimeUnit.MINUTES.toNanos(2));
+
+        // Then: 유휴 연결이 닫히고 풀이 비어 있음
+        assertEquals(1, evicted);
+        assertTrue(jdbc.connection(1).closed);
+        assertEquals(0, pool.getIdleCount());
+        assertEquals(0, pool.getActiveCount());
+    }
+}
@@ -0,0 +1,355 @@
+package com.teamnova;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 테스트용 가짜 JDBC (Proxy 로 만든 연결/문장/결과 집합, 실제 DB 없음)
+ *
+ * SQL 은 해석하지 않는다. 문장 실행은 테스트가 onUpdate / onQuery 로 넣은 처리기가 맡고,
+ * 만든 연결과 문장, 성공한 update 의 SQL 과 파라미터를 기록한다.
+ * 처리기와 상태 변경은 이 객체로 동기화되므로 기록 스레드가 쓰는 연결도 그대로 검사할 수 있다.
+ */
+public class FakeJdbc {
+
+    /**
+     * executeUpdate 처리 (반환값 = 영향받은 행 수)
+     */
+    @FunctionalInterface
+    public interface UpdateHandler {
+        int execute(FakeStatement statement) throws SQLException;
+    }
+
+    /**
+     * executeQuery 처리 (행마다 컬럼 이름 -> 값)
+     */
+    @FunctionalInterface
+    public interface QueryHandler {
+        List<Map<String, Object>> execute(FakeStatement statement) throws SQLException;
+    }
+
+    /**
+     * 가짜 물리 연결의 상태
+     */
+    public class FakeConnection {
+        public boolean closed = false;
+        public boolean valid = true;
+        public boolean autoCommit = true;
+        public int commits = 0;
+        public int rollbacks = 0;
+        public final List<FakeStatement> prepared = new ArrayList<>();
+        private final Connection proxy;
+
+        FakeConnection() {
+            this.proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, (p, method, args) -> {
+                        synchronized (FakeJdbc.this) {
+                            return invoke(method, args);
+                        }
+                    });
+        }
+
+        public Connection proxy() {
+            return proxy;
+        }
+
+        private Object invoke(Method method, Object[] args) {
+            switch (method.getName()) {
+                case "prepareStatement":
+                case "createStatement":
+                    FakeStatement statement = new FakeStatement(args != null ? (String) args[0] : null);
+                    prepared.add(statement);
+                    statements.add(statement);
+                    return statement.proxy();
+                case "close":
+                    closed = true;
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "isValid":
+                    return valid;
+                case "getAutoCommit":
+                    return autoCommit;
+                case "setAutoCommit":
+                    autoCommit = (Boolean) args[0];
+                    return null;
+                case "commit":
+                    commits++;
+                    return null;
+                case "rollback":
+                    rollbacks++;
+                    return null;
+                case "getSchema":
+                    return "fake-" + System.identityHashCode(this);
+                default:
+                    return defaultValue(method);
+            }
+        }
+    }
+
+    /**
+     * 가짜 문장의 상태 (prepare 한 SQL, 지금 설정된 파라미터)
+     */
+    public class FakeStatement {
+        public final String sql;
+        public final Map<Integer, Object> parameters = new HashMap<>();
+        public boolean closed = false;
+        public int clearParameters = 0;
+        public final List<FakeResultSet> resultSets = new ArrayList<>();
+        private List<Long> generatedKeys = List.of();
+        private final PreparedStatement proxy;
+
+        FakeStatement(String sql) {
+            this.sql = sql;
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, (p, method, args) -> {
+                        synchronized (FakeJdbc.this) {
+                            return invoke(method, args);
+                        }
+                    });
+        }
+
+        public PreparedStatement proxy() {
+            return proxy;
+        }
+
+        public long getLong(int index) {
+            return ((Number) parameters.get(index)).longValue();
+        }
+
+        public int getInt(int index) {
+            return ((Number) parameters.get(index)).intValue();
+        }
+
+        /**
+         * 이번 update 가 만든 키 (getGeneratedKeys 로 행 순서대로 반환)
+         */
+        public void setGeneratedKeys(List<Long> keys) {
+            this.generatedKeys = keys;
+        }
+
+        private Object invoke(Method method, Object[] args) throws SQLException {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                parameters.put((Integer) args[0], args[1]);
+                return null;
+            }
+            switch (name) {
+                case "executeUpdate":
+                    int rows = onUpdate.execute(this);
+                    executed.add(sql);
+                    executedParameters.add(new HashMap<>(parameters));
+                    return rows;
+                case "executeQuery":
+                    return newResultSet(this, onQuery.execute(this)).proxy();
+                case "execute":
+                    executed.add(args != null ? (String) args[0] : sql);
+                    executedParameters.add(new HashMap<>(parameters));
+                    return false;
+                case "getGeneratedKeys":
+                    List<Map<String, Object>> keys = new ArrayList<>();
+                    for (Long key : generatedKeys) {
+                        keys.add(row("GENERATED_KEY", key));
+                    }
+                    return newResultSet(this, keys).proxy();
+                case "clearParameters":
+                    parameters.clear();
+                    clearParameters++;
+                    return null;
+                case "close":
+                    closed = true;
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "toString":
+                    return "FakeStatement{" + sql + "}";
+                default:
+                    return defaultValue(method);
+            }
+        }
+    }
+
+    /**
+     * 가짜 결과 집합 (getLong/getString 은 컬럼 이름 또는 1 부터 시작하는 위치)
+     */
+    public static class FakeResultSet {
+        public boolean closed = false;
+        private final List<Map<String, Object>> rows;
+        private int cursor = -1;
+        private boolean lastWasNull = false;
+        private final ResultSet proxy;
+
+        FakeResultSet(Object lock, List<Map<String, Object>> rows) {
+            this.rows = rows;
+            this.proxy = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                    new Class<?>[] { ResultSet.class }, (p, method, args) -> {
+                        synchronized (lock) {
+                            return invoke(method, args);
+                        }
+                    });
+        }
+
+        public ResultSet proxy() {
+            return proxy;
+        }
+
+        private Object invoke(Method method, Object[] args) {
+            switch (method.getName()) {
+                case "next":
+                    return ++cursor < rows.size();
+                case "close":
+                    closed = true;
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "wasNull":
+                    return lastWasNull;
+                case "getLong":
+                    Object number = column(args[0]);
+                    return number != null ? ((Number) number).longValue() : 0L;
+                case "getInt":
+                    Object integer = column(args[0]);
+                    return integer != null ? ((Number) integer).intValue() : 0;
+                case "getString":
+                    Object text = column(args[0]);
+                    return text != null ? text.toString() : null;
+                case "getObject":
+                    return column(args[0]);
+                default:
+                    return defaultValue(method);
+            }
+        }
+
+        private Object column(Object key) {
+            Map<String, Object> row = rows.get(cursor);
+            Object value = key instanceof Integer ? new ArrayList<>(row.values()).get((Integer) key - 1) : row.get(key);
+            lastWasNull = value == null;
+            return value;
+        }
+    }
+
+    private UpdateHandler onUpdate = statement -> 1;
+    private QueryHandler onQuery = statement -> List.of();
+
+    private final List<FakeConnection> connections = new ArrayList<>();
+    private final List<FakeStatement> statements = new ArrayList<>();
+    private final List<String> executed = new ArrayList<>();
+    private final List<Map<Integer, Object>> executedParameters = new ArrayList<>();
+
+    public synchronized FakeJdbc onUpdate(UpdateHandler handler) {
+        this.onUpdate = handler;
+        return this;
+    }
+
+    public synchronized FakeJdbc onQuery(QueryHandler handler) {
+        this.onQuery = handler;
+        return this;
+    }
+
+    /**
+     * 새 가짜 연결 (ConnectionSource 로 넘긴다)
+     */
+    public synchronized Connection open() {
+        FakeConnection connection = new FakeConnection();
+        connections.add(connection);
+        return connection.proxy();
+    }
+
+    public synchronized FakeConnection connection(int index) {
+        return connections.get(index);
+    }
+
+    public synchronized int connectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * 모든 연결에서 prepare 한 문장 (순서대로)
+     */
+    public synchronized List<FakeStatement> statements() {
+        return new ArrayList<>(statements);
+    }
+
+    /**
+     * 성공한 update 의 SQL (순서대로)
+     */
+    public synchronized List<String> executed() {
+        return new ArrayList<>(executed);
+    }
+
+    /**
+     * index 번째로 성공한 update 의 파라미터
+     */
+    public synchronized Map<Integer, Object> parameters(int index) {
+        return executedParameters.get(index);
+    }
+
+    /**
+     * prefix 로 시작하는 성공한 update 수
+     */
+    public synchronized int count(String prefix) {
+        int count = 0;
+        for (String sql : executed) {
+            if (sql.startsWith(prefix)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public synchronized int commits() {
+        int commits = 0;
+        for (FakeConnection connection : connections) {
+            commits += connection.commits;
+        }
+        return commits;
+    }
+
+    public synchronized int rollbacks() {
+        int rollbacks = 0;
+        for (FakeConnection connection : connections) {
+            rollbacks += connection.rollbacks;
+        }
+        return rollbacks;
+    }
+
+    /**
+     * 결과 행 (컬럼 이름, 값, 컬럼 이름, 값, ... 순서 유지)
+     */
+    public static Map<String, Object> row(Object... columnsAndValues) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < columnsAndValues.length; i += 2) {
+            row.put((String) columnsAndValues[i], columnsAndValues[i + 1]);
+        }
+        return row;
+    }
+
+    private FakeResultSet newResultSet(FakeStatement statement, List<Map<String, Object>> rows) {
+        FakeResultSet resultSet = new FakeResultSet(this, rows);
+        statement.resultSets.add(resultSet);
+        return resultSet;
+    }
+
+    private static Object defaultValue(Method method) {
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,53 @@
+package com.teamnova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import com.teamnova.command.BaseCommand;
+import com.teamnova.command.FanoutEncoder;
+import com.teamnova.command.chat.SendMessageCommand;
+import com.teamnova.command.chat.SendMessageCommand.Type;
+
+/**
+ * 방 전송용 JSON 인코더 테스트
+ */
+public class FanoutEncoderTest {
+
+    @Test
+    public void testSplicedFrameMatchesPerRecipientSerialization() throws Exception {
+        // Given: 방 전송할 메시지
+        SendMessageCommand command = new SendMessageCommand(3L, "안녕 \"하세요\"", Type.TEXT);
+        command.messageId = 42L;
+        command.recipientId = 1L;
+        command.id = 5L;
+        FanoutEncoder encoder = FanoutEncoder.of(command);
+
+        // When: 수신자별 프레임 생성
+        String frame = encoder.encode(77L, 900L);
+
+        // Then: 수신자별 필드만 다르고 나머지는 원래 값 그대로 읽힘
+        SendMessageCommand decoded = BaseCommand.fromJson(frame, SendMessageCommand.class);
+        assertEquals(77L, decoded.recipientId.longValue());
+        assertEquals(900L, decoded.id.longValue());
+        assertEquals(42L, decoded.messageId.longValue());
+        assertEquals(command.content, decoded.content);
+        assertEquals(command.createdAT, decoded.createdAT);
+
+        // Then: 원래 command 는 바뀌지 않음
+        assertEquals(1L, command.recipientId.longValue());
+        assertEquals(5L, command.id.longValue());
+    }
+
+    @Test
+    public void testFrameWithoutCommandIdOmitsIdField() throws Exception {
+        // Given / When: 전송 내역 id 없이 생성 (전송 내역에 저장할 json)
+        String frame = FanoutEncoder.of(new SendMessageCommand(3L, "hi", Type.TEXT)).encode(8L, null);
+
+        // Then
+        SendMessageCommand decoded = BaseCommand.fromJson(frame, SendMessageCommand.class);
+        assertEquals(8L, decoded.recipientId.longValue());
+        assertNull(decoded.id);
+    }
+}
@@ -0,0 +1,108 @@
+package com.teamnova;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.teamnova.network.BufferPool;
+import com.teamnova.network.FrameDecoder;
+import com.teamnova.network.Framing;
+
+/**
+ * LINE / LENGTH_PREFIXED 수신 디코딩 처리량 비교 (단위 테스트 아님, main 으로 실행)
+ *
+ * 실제 채팅 메시지 형태의 JSON 프레임을 미리 인코딩해 두고, 이벤트 루프 읽기 버퍼 크기로 잘라
+ * FrameDecoder에 넣으며 초당 프레임 수와 MB/s 를 측정한다. 앞쪽 반복은 JIT 워밍업으로 버린다.
+ *
+ * 실행: mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.teamnova.FramingBenchmark
+ * 인자: [프레임 수=20000] [읽기 버퍼 크기=16384] [측정 반복=10]
+ */
+public class FramingBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5;
+
+    public static void main(String[] args) {
+        int frameCount = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int readBufferSize = args.length > 1 ? Integer.parseInt(args[1]) : 16 * 1024;
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        List<String> frames = sampleFrames(frameCount);
+        for (Framing framing : Framing.values()) {
+            ByteBuffer stream = encodeAll(frames, framing);
+            run(framing, stream, frameCount, readBufferSize, WARMUP_ITERATIONS, false);
+            run(framing, stream, frameCount, readBufferSize, iterations, true);
+        }
+    }
+
+    private static void run(Framing framing, ByteBuffer stream, int frameCount, int readBufferSize,
+            int iterations, boolean report) {
+        BufferPool pool = new BufferPool(4 * 1024, 16);
+        ByteBuffer readBuffer = ByteBuffer.allocate(readBufferSize);
+        List<String> out = new ArrayList<>();
+        long decoded = 0;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            FrameDecoder decoder = new FrameDecoder(FrameDecoder.DEFAULT_MAX_FRAME_BYTES, pool);
+            decoder.setFraming(framing);
+            ByteBuffer source = stream.duplicate();
+            while (source.hasRemaining()) {
+                // 소켓 읽기처럼 readBufferSize 단위로 잘라서 전달
+                readBuffer.clear();
+                int length = Math.min(readBuffer.remaining(), source.remaining());
+                readBuffer.put(readBuffer.position(), source, source.position(), length);
+                source.position(source.position() + length);
+                readBuffer.limit(length);
+                decoder.decode(readBuffer, out);
+                decoded += out.size();
+                out.clear();
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        if (decoded != (long) frameCount * iterations) {
+            throw new IllegalStateException("디코딩된 프레임 수 불일치: " + decoded);
+        }
+        if (report) {
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            double megabytes = (double) stream.remaining() * iterations / (1024 * 1024);
+            System.out.printf("%-16s frames=%d, bytes=%d, readBuffer=%d, iterations=%d, "
+                    + "framesPerSec=%.0f, MBps=%.1f, nsPerFrame=%.1f%n",
+                    framing, frameCount, stream.remaining(), readBufferSize, iterations,
+                    decoded / seconds, megabytes / seconds, (double) elapsedNanos / decoded);
+        }
+    }
+
+    private static ByteBuffer encodeAll(List<String> frames, Framing framing) {
+        List<ByteBuffer> encoded = new ArrayList<>(frames.size());
+        int total = 0;
+        for (String frame : frames) {
+            ByteBuffer buffer = framing.encode(frame);
+            encoded.add(buffer);
+            total += buffer.remaining();
+        }
+        ByteBuffer stream = ByteBuffer.allocate(total);
+        for (ByteBuffer buffer : encoded) {
+            stream.put(buffer);
+        }
+        return stream.flip();
+    }
+
+    /**
+     * SEND_MESSAGE 형태의 프레임 (본문 길이를 다양하게)
+     */
+    private static List<String> sampleFrames(int count) {
+        List<String> frames = new ArrayList<>(count);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.setLength(0);
+            for (int j = 0; j < 1 + i % 40; j++) {
+                text.append("안녕하세요 hello ");
+            }
+            frames.add("{\"id\":" + i + ",\"action\":\"SEND_MESSAGE\",\"requesterId\":" + (i % 500)
+                    + ",\"createdAT\":\"2024-01-01T00:00:00Z\",\"roomId\":" + (i % 50)
+                    + ",\"text\":\"" + text + "\",\"type\":\"TEXT\"}");
+        }
+        return frames;
+    }
+}
@@ -0,0 +1,77 @@
+package com.teamnova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.teamnova.utils.HashedTimingWheel;
+
+/**
+ * 하트비트용 타이밍 휠 테스트
+ */
+public class HashedTimingWheelTest {
+
+    private HashedTimingWheel wheel;
+
+    @Before
+    public void setUp() {
+        // 10ms 틱, 8개 버킷 (80ms 를 넘는 지연은 여러 바퀴를 돈다)
+        wheel = new HashedTimingWheel("test-wheel", 10, 8);
+        wheel.start();
+    }
+
+    @After
+    public void tearDown() {
+        wheel.close();
+    }
+
+    @Test
+    public void testScheduledTasksExpireAfterDelay() throws Exception {
+        // Given: 한 바퀴 이내, 여러 바퀴 이후 작업 예약
+        CountDownLatch latch = new CountDownLatch(2);
+        long start = System.currentTimeMillis();
+        long[] firedAt = new long[2];
+        wheel.schedule(() -> {
+            firedAt[0] = System.currentTimeMillis() - start;
+            latch.countDown();
+        }, 30);
+        wheel.schedule(() -> {
+            firedAt[1] = System.currentTimeMillis() - start;
+            latch.countDown();
+        }, 200);
+
+        // When: 만료 대기
+        assertTrue("예약된 작업이 모두 실행되어야 함", latch.await(2, TimeUnit.SECONDS));
+
+        // Then: 지연 시간 이후에 실행됨
+        assertTrue("30ms 작업은 지연 후 실행: " + firedAt[0], firedAt[0] >= 30);
+        assertTrue("200ms 작업은 여러 바퀴 후 실행: " + firedAt[1], firedAt[1] >= 200);
+        assertEquals(0, wheel.pendingTimeouts());
+    }
+
+    @Test
+    public void testCancelledTaskDoesNotRun() throws Exception {
+        // Given: 두 작업 예약
+        AtomicInteger fired = new AtomicInteger();
+        HashedTimingWheel.Timeout cancelled = wheel.schedule(fired::incrementAndGet, 50);
+        CountDownLatch latch = new CountDownLatch(1);
+        wheel.schedule(latch::countDown, 100);
+
+        // When: 하나를 취소
+        assertTrue(cancelled.cancel());
+        assertFalse("이미 취소된 작업은 다시 취소할 수 없음", cancelled.cancel());
+
+        // Then: 취소된 작업은 실행되지 않음
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(0, fired.get());
+        assertTrue(cancelled.isCancelled());
+    }
+}
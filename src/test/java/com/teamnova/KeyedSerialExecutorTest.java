@@ -0,0 +1,118 @@
+package com.teamnova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.teamnova.utils.KeyedSerialExecutor;
+
+/**
+ * 키별 직렬 실행기 테스트
+ */
+public class KeyedSerialExecutorTest {
+
+    @Test
+    public void testTasksOfSameKeyRunInOrderWithoutOverlap() throws Exception {
+        // Given: 8 스레드 풀 위의 64 레인 실행기, 방 16 개
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        KeyedSerialExecutor lanes = new KeyedSerialExecutor("test", pool, 64);
+        int rooms = 16;
+        int tasksPerRoom = 2_000;
+        List<List<Integer>> observed = new ArrayList<>();
+        AtomicInteger[] running = new AtomicInteger[rooms];
+        for (int i = 0; i < rooms; i++) {
+            observed.add(new ArrayList<>());
+            running[i] = new AtomicInteger();
+        }
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(rooms * tasksPerRoom);
+
+        // When: 여러 스레드가 방마다 순번을 붙인 작업을 제출 (방 하나는 한 스레드가 제출)
+        ExecutorService submitters = Executors.newFixedThreadPool(4);
+        for (int room = 0; room < rooms; room++) {
+            long roomId = room;
+            List<Integer> roomLog = observed.get(room);
+            AtomicInteger roomRunning = running[room];
+            submitters.execute(() -> {
+                for (int seq = 0; seq < tasksPerRoom; seq++) {
+                    int value = seq;
+                    lanes.execute(roomId, () -> {
+                        if (roomRunning.incrementAndGet() != 1) {
+                            overlaps.incrementAndGet();
+                        }
+                        // 잠금 없이 기록 (같은 방의 작업은 동시에 실행되지 않아야 함)
+                        roomLog.add(value);
+                        roomRunning.decrementAndGet();
+                        done.countDown();
+                    });
+                }
+            });
+        }
+
+        // Then: 모두 실행되고, 방마다 겹침 없이 제출 순서대로 실행됨
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(0, overlaps.get());
+        for (List<Integer> roomLog : observed) {
+            assertEquals(tasksPerRoom, roomLog.size());
+            for (int seq = 0; seq < tasksPerRoom; seq++) {
+                assertEquals(Integer.valueOf(seq), roomLog.get(seq));
+            }
+        }
+        assertEquals(0, lanes.pendingTasks());
+        submitters.shutdown();
+        pool.shutdown();
+    }
+
+    @Test
+    public void testLaneCountRoundedToPowerOfTwo() {
+        // Given / When / Then: 레인 수는 2의 거듭제곱으로 올림
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        assertEquals(1024, new KeyedSerialExecutor("a", pool, 1000).laneCount());
+        assertEquals(1, new KeyedSerialExecutor("b", pool, 1).laneCount());
+        pool.shutdown();
+    }
+
+    @Test
+    public void testAsyncTaskHoldsLaneWithoutHoldingThread() throws Exception {
+        // Given: 스레드 1 개 풀, 레인 1 개 실행기
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        KeyedSerialExecutor lanes = new KeyedSerialExecutor("test", pool, 1);
+        CompletableFuture<Void> dbResult = new CompletableFuture<>();
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch otherRoomDone = new CountDownLatch(1);
+        CountDownLatch sameRoomDone = new CountDownLatch(1);
+
+        // When: 방 1 의 비동기 작업이 끝나지 않은 상태에서 방 1, 방 2 작업 제출
+        lanes.executeAsync(1L, () -> {
+            order.add("async-start");
+            return dbResult.thenRun(() -> order.add("async-end"));
+        });
+        lanes.execute(1L, () -> {
+            order.add("same-room");
+            sameRoomDone.countDown();
+        });
+        // 다른 레인 (같은 풀을 공유하는 별도 실행기, 키 해시와 무관하게 레인이 다름이 보장됨)
+        new KeyedSerialExecutor("other", pool, 1).execute(2L, otherRoomDone::countDown);
+
+        // Then: 스레드는 놓아 주므로 다른 방 작업은 실행되고, 같은 방 작업은 완료까지 대기
+        assertTrue(otherRoomDone.await(5, TimeUnit.SECONDS));
+        assertFalse(sameRoomDone.await(100, TimeUnit.MILLISECONDS));
+
+        dbResult.complete(null);
+        assertTrue(sameRoomDone.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("async-start", "async-end", "same-room"), order);
+        pool.shutdown();
+    }
+}
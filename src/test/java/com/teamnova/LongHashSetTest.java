@@ -0,0 +1,70 @@
+package com.teamnova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.teamnova.chat.ChatRoom;
+import com.teamnova.utils.LongHashSet;
+
+/**
+ * long 해시 집합 / 채팅방 멤버 집합 테스트
+ */
+public class LongHashSetTest {
+
+    @Test
+    public void testMatchesHashSetUnderRandomOperations() {
+        // Given: 같은 연산을 적용할 LongHashSet 과 HashSet (좁은 범위로 충돌/삭제 이동이 자주 일어나게)
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(42);
+
+        // When: 무작위 추가/삭제 (0 포함)
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), set.remove(value));
+            } else {
+                assertEquals(expected.add(value), set.add(value));
+            }
+        }
+
+        // Then: 크기, 포함 여부, 원소 목록이 모두 같음
+        assertEquals(expected.size(), set.size());
+        for (long value = 0; value < 2_000; value++) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+        long[] values = set.toArray();
+        Arrays.sort(values);
+        assertEquals(expected.size(), values.length);
+        for (long value : values) {
+            assertTrue(expected.contains(value));
+        }
+    }
+
+    @Test
+    public void testChatRoomMembership() {
+        // Given: 빈 채팅방
+        ChatRoom room = new ChatRoom();
+
+        // When: 멤버 추가 (중복 포함) 후 한 명 퇴장
+        assertTrue(room.addMember(1L));
+        assertTrue(room.addMember(2L));
+        assertFalse(room.addMember(2L));
+        assertTrue(room.removeMember(1L));
+        assertFalse(room.removeMember(3L));
+
+        // Then: 남은 멤버만 조회됨
+        assertEquals(1, room.getMemberCount());
+        assertTrue(room.isMember(2L));
+        assertFalse(room.isMember(1L));
+        assertEquals(2L, room.getMemberIds()[0]);
+    }
+}
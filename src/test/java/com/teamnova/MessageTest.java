@@ -8,10 +8,12 @@ import static org.junit.Assert.fail;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.teamnova.chat.RoomCache;
 import com.teamnova.command.chat.CreateRoomCommand;
 import com.teamnova.command.chat.SendMessageCommand;
 import com.teamnova.server.ChatServer;
 import com.teamnova.user.User;
+import com.teamnova.user.UserRegistry;
 
 /**
  * 메시지 송수신 기능 테스트
@@ -26,8 +28,8 @@ public class MessageTest {
         // 테스트용 사용자 및 서버 초기화
         user = new User(123L);
         server = new ChatServer();
-        server.userList = new java.util.concurrent.CopyOnWriteArrayList<>();
-        server.roomMap = new java.util.concurrent.ConcurrentHashMap<>();
+        server.userRegistry = new UserRegistry();
+        ChatServer.roomCache = new RoomCache(roomId -> null, 0, 0);
     }
 
     @Test
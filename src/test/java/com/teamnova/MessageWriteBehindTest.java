@@ -0,0 +1,238 @@
+package com.teamnova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.teamnova.command.chat.SendMessageCommand;
+import com.teamnova.command.chat.SendMessageCommand.Type;
+import com.teamnova.database.MessageWriteBehind;
+import com.teamnova.database.MessageWriteBehind.Durability;
+
+/**
+ * 메시지 지연 저장(그룹 커밋) 테스트 (가짜 연결 사용)
+ */
+public class MessageWriteBehindTest {
+
+    private final FakeJdbc db = new FakeJdbc();
+    private int failuresLeft = 0; // 남은 연결 오류 횟수
+    private long rejectMessageId = -1; // 이 id 가 들어 있는 messages insert 는 데이터 오류
+    private final AtomicLong ids = new AtomicLong(100);
+
+    @Before
+    public void setUp() {
+        db.onUpdate(statement -> {
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new SQLException("연결 끊김", "08S01");
+            }
+            if (statement.sql.startsWith("insert into messages")
+                    && statement.parameters.containsValue(rejectMessageId)) {
+                throw new SQLException("중복 키", "23000");
+            }
+            return 1;
+        });
+    }
+
+    private MessageWriteBehind newWriter(int batchRows, long flushIntervalMs, int maxPending) {
+        return new MessageWriteBehind(db::open, ids::incrementAndGet, batchRows, flushIntervalMs, maxPending,
+                Durability.ASYNC);
+    }
+
+    private static SendMessageCommand message(long roomId, String content) {
+        SendMessageCommand command = new SendMessageCommand(roomId, content, Type.TEXT);
+        command.requesterId = 7L;
+        return command;
+    }
+
+    @Test
+    public void testSubmitAssignsIdsAndGroupCommitsBatch() throws Exception {
+        // Given: 기록 스레드 없이 메시지 3 개 제출 (방 멤버 2 명)
+        MessageWriteBehind writer = newWriter(1_000, 5, 100);
+        List<CompletableFuture<Void>> persisted = new ArrayList<>();
+        List<SendMessageCommand> commands = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            SendMessageCommand command = message(1L, "hello " + i);
+            commands.add(command);
+            persisted.add(writer.submit(command, new long[] { 7L, 8L }));
+        }
+
+        // Then: id 는 제출 즉시 순서대로 발급, 아직 저장되지 않음
+        assertEquals(101L, commands.get(0).messageId.longValue());
+        assertEquals(103L, commands.get(2).messageId.longValue());
+        assertFalse(persisted.get(0).isDone());
+
+        // When: 한 배치 저장
+        assertEquals(3, writer.flush());
+
+        // Then: 메시지 insert 한 번 + 상태 insert 한 번, 커밋 한 번
+        assertEquals(1, db.count("insert into messages"));
+        assertEquals(1, db.count("insert into message_status"));
+        assertEquals(1, db.commits());
+        Map<Integer, Object> messageParams = db.parameters(0);
+        assertEquals(101L, messageParams.get(1));
+        assertEquals(103L, messageParams.get(15)); // 메시지당 7 컬럼
+        assertEquals(24, db.parameters(1).size()); // 상태 6 행 x 4 컬럼
+        for (CompletableFuture<Void> future : persisted) {
+            assertTrue(future.isDone());
+            assertFalse(future.isCompletedExceptionally());
+        }
+    }
+
+    @Test
+    public void testWriterThreadFlushesWithinInterval() throws Exception {
+        // Given: 기록 스레드 동작 중
+        MessageWriteBehind writer = newWriter(1_000, 5, 100);
+        writer.start();
+
+        // When: 메시지 하나 제출
+        CompletableFuture<Void> persisted = writer.submit(message(1L, "hi"), new long[] { 7L });
+
+        // Then: 배치가 차지 않아도 flushInterval 뒤에 커밋
+        persisted.get(5, TimeUnit.SECONDS);
+        assertEquals(1, db.commits());
+        writer.close();
+    }
+
+    @Test
+    public void testConnectionErrorIsRetried() throws Exception {
+        // Given: 처음 한 번은 연결 오류
+        failuresLeft = 1;
+        MessageWriteBehind writer = newWriter(1_000, 1, 100);
+        writer.start();
+
+        // When: 메시지 제출
+        CompletableFuture<Void> persisted = writer.submit(message(1L, "retry"), new long[] { 7L });
+
+        // Then: 롤백 후 같은 배치를 재시도해서 저장
+        persisted.get(5, TimeUnit.SECONDS);
+        assertEquals(1, db.rollbacks());
+        assertEquals(1, db.commits());
+        assertEquals(1, db.count("insert into messages"));
+        writer.close();
+    }
+
+    @Test
+    public void testDataErrorDropsOnlyBadMessage() throws Exception {
+        // Given: 두 번째 메시지(id 102)는 데이터 오류
+        rejectMessageId = 102L;
+        MessageWriteBehind writer = newWriter(1_000, 5, 100);
+        CompletableFuture<Void> first = writer.submit(message(1L, "ok"), new long[0]);
+        CompletableFuture<Void> bad = writer.submit(message(1L, "bad"), new long[0]);
+        CompletableFuture<Void> third = writer.submit(message(1L, "ok"), new long[0]);
+
+        // When: 배치 저장
+        writer.flush();
+
+        // Then: 배치는 메시지 단위로 나눠 저장되고 문제 메시지만 실패
+        first.get(1, TimeUnit.SECONDS);
+        third.get(1, TimeUnit.SECONDS);
+        try {
+            bad.get(1, TimeUnit.SECONDS);
+            fail("데이터 오류 메시지는 실패해야 함");
+        } catch (ExecutionException expected) {
+            assertEquals("23000", ((SQLException) expected.getCause()).getSQLState());
+        }
+        assertEquals(2, db.count("insert into messages"));
+    }
+
+    @Test
+    public void testAwaitRoomWaitsForThatRoomsPendingMessages() throws Exception {
+        // Given: 1 번 방에 메시지 2 개 대기
+        MessageWriteBehind writer = newWriter(1_000, 5, 100);
+        writer.submit(message(1L, "first"), new long[0]);
+        writer.submit(message(1L, "second"), new long[0]);
+
+        // When
+        CompletableFuture<Void> room1 = writer.awaitRoom(1L);
+        CompletableFuture<Void> room2 = writer.awaitRoom(2L);
+
+        // Then: 대기 메시지가 없는 방은 바로 완료, 1 번 방은 저장 전까지 대기
+        assertTrue(room2.isDone());
+        assertFalse(room1.isDone());
+
+        // When: 배치 저장
+        writer.flush();
+
+        // Then: 저장 뒤 완료되고, 이후 기다리는 작업은 바로 진행
+        room1.get(1, TimeUnit.SECONDS);
+        assertTrue(writer.awaitRoom(1L).isDone());
+    }
+
+    @Test
+    public void testAwaitRoomCompletesWhenMessageDropped() throws Exception {
+        // Given: 방의 마지막 메시지(id 101)가 데이터 오류로 버려짐
+        rejectMessageId = 101L;
+        MessageWriteBehind writer = newWriter(1_000, 5, 100);
+        CompletableFuture<Void> bad = writer.submit(message(1L, "bad"), new long[0]);
+        CompletableFuture<Void> room = writer.awaitRoom(1L);
+
+        // When
+        writer.flush();
+
+        // Then: 버려진 메시지도 완료로 보고 예외 없이 진행
+        assertTrue(bad.isCompletedExceptionally());
+        room.get(1, TimeUnit.SECONDS);
+        assertFalse(room.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testAwaitAllWaitsForEveryRoomsPendingMessages() throws Exception {
+        // Given: 1 번 방, 2 번 방에 메시지 대기
+        MessageWriteBehind writer = newWriter(1_000, 5, 100);
+        writer.submit(message(1L, "a"), new long[0]);
+        writer.submit(message(2L, "b"), new long[0]);
+
+        // When
+        CompletableFuture<Void> all = writer.awaitAll();
+
+        // Then: 저장 전까지 대기
+        assertFalse(all.isDone());
+
+        // When: 배치 저장
+        writer.flush();
+
+        // Then: 모든 방이 저장된 뒤 완료, 대기 메시지가 없으면 바로 완료
+        all.get(1, TimeUnit.SECONDS);
+        assertTrue(writer.awaitAll().isDone());
+    }
+
+    @Test
+    public void testSubmitRejectedWhenFullOrClosed() {
+        // Given: 최대 대기 메시지 1 개
+        MessageWriteBehind writer = newWriter(1_000, 5, 1);
+        writer.submit(message(1L, "first"), new long[0]);
+
+        // When / Then: 가득 차면 거부
+        try {
+            writer.submit(message(1L, "second"), new long[0]);
+            fail("거부되어야 함");
+        } catch (RejectedExecutionException expected) {
+            assertEquals(1, writer.getPendingCount());
+        }
+
+        // When / Then: 종료 후에는 거부
+        writer.flush();
+        writer.close();
+        try {
+            writer.submit(message(1L, "third"), new long[0]);
+            fail("종료 후에는 거부되어야 함");
+        } catch (RejectedExecutionException expected) {
+            assertEquals(0, writer.getPendingCount());
+        }
+    }
+}
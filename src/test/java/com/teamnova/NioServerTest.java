@@ -0,0 +1,428 @@
+package com.teamnova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.teamnova.network.BufferPool;
+import com.teamnova.network.FrameDecoder;
+import com.teamnova.network.FrameHandler;
+import com.teamnova.network.FrameDecodingException;
+import com.teamnova.network.FrameTooLargeException;
+import com.teamnova.network.Framing;
+import com.teamnova.network.NioServer;
+import com.teamnova.network.SlowConsumerPolicy;
+import com.teamnova.network.TransportConfig;
+
+/**
+ * NIO 전송 계층 테스트
+ */
+public class NioServerTest {
+
+    private NioServer server;
+    private Thread acceptThread;
+    private int port;
+
+    private static final int FLOOD_FRAMES = 3_000;
+    private static final String FLOOD_PAYLOAD = "f".repeat(8 * 1024);
+
+    private final List<String> receivedFrames = new ArrayList<>();
+    private final CountDownLatch closeLatch = new CountDownLatch(1);
+    private final CountDownLatch releaseBlocked = new CountDownLatch(1);
+    private final AtomicInteger activityCount = new AtomicInteger();
+
+    @Before
+    public void setUp() throws Exception {
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+
+        TransportConfig config = new TransportConfig();
+        config.eventLoopThreads = 2;
+        config.workerThreads = 2;
+        config.maxFrameBytes = 1024;
+
+        // 받은 프레임을 그대로 되돌려주는 에코 핸들러
+        server = new NioServer(port, config, connection -> new FrameHandler() {
+            @Override
+            public void onFrame(String frame) {
+                synchronized (receivedFrames) {
+                    receivedFrames.add(frame);
+                }
+                if ("SWITCH".equals(frame)) {
+                    connection.switchFraming(Framing.LENGTH_PREFIXED, "ack");
+                    return;
+                }
+                if ("BLOCK".equals(frame)) {
+                    // 워커가 밀린 상황 흉내 (이 연결의 다음 프레임 처리가 대기)
+                    try {
+                        releaseBlocked.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return;
+                }
+                if ("FLOOD".equals(frame)) {
+                    // 기본 high watermark(2048)를 넘는 응답
+                    for (int i = 0; i < FLOOD_FRAMES; i++) {
+                        connection.send(FLOOD_PAYLOAD);
+                    }
+                    return;
+                }
+                connection.send("echo:" + frame);
+            }
+
+            @Override
+            public void onActivity() {
+                activityCount.incrementAndGet();
+            }
+
+            @Override
+            public void onClose(String reason) {
+                closeLatch.countDown();
+            }
+        });
+        server.start();
+        acceptThread = new Thread(server::run, "test-accept");
+        acceptThread.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        releaseBlocked.countDown();
+        server.close();
+        acceptThread.join(2000);
+    }
+
+    @Test
+    public void testFrameDecoderSplitsLines() {
+        // Given: 프레임이 두 번에 나뉘어 도착
+        FrameDecoder decoder = new FrameDecoder();
+        List<String> out = new ArrayList<>();
+
+        // When: 조각을 순서대로 디코딩
+        decoder.decode(ByteBuffer.wrap("{\"a\":1}\r\n{\"b\"".getBytes(StandardCharsets.UTF_8)), out);
+        decoder.decode(ByteBuffer.wrap(":\"한글\"}\n".getBytes(StandardCharsets.UTF_8)), out);
+
+        // Then: 완성된 프레임만 순서대로 나오고 '\r'은 제거됨
+        assertEquals(2, out.size());
+        assertEquals("{\"a\":1}", out.get(0));
+        assertEquals("{\"b\":\"한글\"}", out.get(1));
+        assertEquals(0, decoder.pendingBytes());
+    }
+
+    @Test
+    public void testFrameDecoderGrowsBeyondPooledBuffer() {
+        // Given: 풀 버퍼(8 bytes)보다 긴 프레임이 여러 조각으로 도착
+        BufferPool pool = new BufferPool(8, 4);
+        FrameDecoder decoder = new FrameDecoder(1024, pool);
+        List<String> out = new ArrayList<>();
+
+        // When: 조각을 순서대로 디코딩
+        decoder.decode(ByteBuffer.wrap("short\nabcdef".getBytes(StandardCharsets.UTF_8)), out);
+        decoder.decode(ByteBuffer.wrap("ghijkl".getBytes(StandardCharsets.UTF_8)), out);
+        decoder.decode(ByteBuffer.wrap("mnop\nq".getBytes(StandardCharsets.UTF_8)), out);
+
+        // Then: 프레임이 온전히 복원되고 미완성 조각만 남음
+        assertEquals(2, out.size());
+        assertEquals("short", out.get(0));
+        assertEquals("abcdefghijklmnop", out.get(1));
+        assertEquals(1, decoder.pendingBytes());
+
+        // Then: 연결 종료 시 누적 버퍼가 풀로 반납됨
+        decoder.release();
+        assertEquals(0, decoder.pendingBytes());
+        assertTrue(pool.getPooledCount() >= 1);
+    }
+
+    @Test
+    public void testFrameDecoderRejectsOversizeFrame() {
+        // Given: 최대 16 bytes 디코더
+        BufferPool pool = new BufferPool(8, 4);
+        FrameDecoder decoder = new FrameDecoder(16, pool);
+        List<String> out = new ArrayList<>();
+        decoder.decode(ByteBuffer.wrap("ok\n0123456789".getBytes(StandardCharsets.UTF_8)), out);
+
+        // When: 구분자 없이 한도를 넘는 바이트가 이어서 도착
+        try {
+            decoder.decode(ByteBuffer.wrap("0123456789".getBytes(StandardCharsets.UTF_8)), out);
+            fail("최대 프레임 크기 초과 예외가 발생해야 함");
+        } catch (FrameTooLargeException e) {
+            assertEquals(16, e.getMaxFrameBytes());
+        }
+
+        // Then: 앞서 완성된 프레임은 유지되고 누적 버퍼는 비워짐
+        assertEquals(1, out.size());
+        assertEquals("ok", out.get(0));
+        assertEquals(0, decoder.pendingBytes());
+        assertEquals(1, pool.getPooledCount());
+    }
+
+    @Test
+    public void testLengthPrefixedDecoderHandlesSplitHeader() {
+        // Given: LENGTH_PREFIXED 디코더와 프레임 두 개
+        FrameDecoder decoder = new FrameDecoder(1024, new BufferPool(8, 4));
+        decoder.setFraming(Framing.LENGTH_PREFIXED);
+        ByteBuffer first = Framing.LENGTH_PREFIXED.encode("{\"a\":\"한글\"}");
+        ByteBuffer second = Framing.LENGTH_PREFIXED.encode("");
+        ByteBuffer stream = ByteBuffer.allocate(first.remaining() + second.remaining());
+        stream.put(first).put(second).flip();
+        List<String> out = new ArrayList<>();
+
+        // When: 헤더 중간을 포함해 1~3바이트씩 쪼개어 디코딩
+        int step = 1;
+        while (stream.hasRemaining()) {
+            int length = Math.min(step, stream.remaining());
+            ByteBuffer chunk = ByteBuffer.allocate(length);
+            for (int i = 0; i < length; i++) {
+                chunk.put(stream.get());
+            }
+            chunk.flip();
+            decoder.decode(chunk, out);
+            step = step % 3 + 1;
+        }
+
+        // Then: 프레임이 온전히 복원됨 (빈 프레임 포함)
+        assertEquals(2, out.size());
+        assertEquals("{\"a\":\"한글\"}", out.get(0));
+        assertEquals("", out.get(1));
+        assertEquals(0, decoder.pendingBytes());
+    }
+
+    @Test
+    public void testLengthPrefixedDecoderRejectsBadHeader() {
+        // Given: LENGTH_PREFIXED 디코더
+        FrameDecoder decoder = new FrameDecoder(16, null);
+        decoder.setFraming(Framing.LENGTH_PREFIXED);
+        List<String> out = new ArrayList<>();
+
+        // When/Then: 한도를 넘는 길이 헤더는 본문을 기다리지 않고 거부
+        try {
+            decoder.decode(ByteBuffer.allocate(4).putInt(17).flip(), out);
+            fail("최대 프레임 크기 초과 예외가 발생해야 함");
+        } catch (FrameTooLargeException e) {
+            assertEquals(16, e.getMaxFrameBytes());
+        }
+
+        // When/Then: 예약된 압축 플래그가 설정된 헤더는 거부
+        try {
+            decoder.decode(ByteBuffer.allocate(4).putInt(Framing.COMPRESSED_FLAG | 3).flip(), out);
+            fail("잘못된 헤더 예외가 발생해야 함");
+        } catch (FrameDecodingException e) {
+            assertTrue(!(e instanceof FrameTooLargeException));
+        }
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    public void testSwitchToLengthPrefixedFraming() throws Exception {
+        // Given: LINE 으로 접속
+        try (Socket client = new Socket("127.0.0.1", port)) {
+            client.setSoTimeout(5000);
+            DataInputStream in = new DataInputStream(client.getInputStream());
+            DataOutputStream out = new DataOutputStream(client.getOutputStream());
+
+            // When: 전환 요청 후 LINE 으로 ack 수신
+            out.write("SWITCH\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            byte[] ack = new byte[4];
+            in.readFully(ack);
+            assertEquals("ack\n", new String(ack, StandardCharsets.UTF_8));
+
+            // When: 이후 프레임은 길이 헤더로 송신
+            for (int i = 0; i < 3; i++) {
+                byte[] payload = ("msg-" + i).getBytes(StandardCharsets.UTF_8);
+                out.writeInt(payload.length);
+                out.write(payload);
+            }
+            out.flush();
+
+            // Then: 응답도 길이 헤더로 순서대로 돌아옴
+            for (int i = 0; i < 3; i++) {
+                byte[] payload = new byte[in.readInt()];
+                in.readFully(payload);
+                assertEquals("echo:msg-" + i, new String(payload, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    public void testActivityReportedOnReadWhileWorkerBusy() throws Exception {
+        // Given: 첫 프레임 처리가 워커에서 막힌 연결
+        try (Socket client = new Socket("127.0.0.1", port)) {
+            OutputStream out = client.getOutputStream();
+            out.write("BLOCK\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            long deadline = System.currentTimeMillis() + 5000;
+            while (receivedCount() < 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            int before = activityCount.get();
+
+            // When: 처리 대기 중에 프레임을 더 보냄
+            out.write("ping\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            while (activityCount.get() == before && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            // Then: onFrame 이 실행되기 전에 수신 활동이 알려짐
+            assertTrue(activityCount.get() > before);
+            assertEquals(1, receivedCount());
+            releaseBlocked.countDown();
+        }
+    }
+
+    @Test
+    public void testOversizeFrameClosesConnection() throws Exception {
+        // Given: maxFrameBytes=1024 서버에 접속
+        try (Socket client = new Socket("127.0.0.1", port)) {
+            OutputStream out = client.getOutputStream();
+
+            // When: 줄바꿈 없이 한도를 넘는 데이터 전송
+            byte[] payload = new byte[4096];
+            Arrays.fill(payload, (byte) 'x');
+            out.write(payload);
+            out.flush();
+
+            // Then: 서버가 연결을 끊음
+            client.setSoTimeout(5000);
+            assertEquals(-1, client.getInputStream().read());
+        }
+        assertTrue("연결 종료 이벤트가 전달되어야 함", closeLatch.await(5, TimeUnit.SECONDS));
+        assertEquals(0, receivedFrames.size());
+    }
+
+    @Test
+    public void testEchoRoundTripInOrder() throws Exception {
+        // Given: 클라이언트 접속
+        try (Socket client = new Socket("127.0.0.1", port)) {
+            BufferedReader in = new BufferedReader(
+                    new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+            OutputStream out = client.getOutputStream();
+
+            // When: 여러 프레임을 한 번에 전송
+            StringBuilder batch = new StringBuilder();
+            for (int i = 0; i < 100; i++) {
+                batch.append("msg-").append(i).append('\n');
+            }
+            out.write(batch.toString().getBytes(StandardCharsets.UTF_8));
+            out.flush();
+
+            // Then: 보낸 순서대로 응답이 돌아옴
+            for (int i = 0; i < 100; i++) {
+                assertEquals("echo:msg-" + i, in.readLine());
+            }
+        }
+
+        // Then: 클라이언트 종료 시 onClose 호출
+        assertTrue("연결 종료 이벤트가 전달되어야 함", closeLatch.await(5, TimeUnit.SECONDS));
+        assertEquals(100, receivedFrames.size());
+    }
+
+    @Test
+    public void testReadsPausedWhileOutboundQueueUnwritable() throws Exception {
+        try (Socket client = new Socket("127.0.0.1", port)) {
+            BufferedReader in = new BufferedReader(
+                    new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+            OutputStream out = client.getOutputStream();
+
+            // Given: 응답을 읽지 않아 송신 큐가 high watermark 를 넘은 연결
+            out.write("FLOOD\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            long deadline = System.currentTimeMillis() + 5000;
+            while (receivedCount() < 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(300);
+
+            // When: 다음 요청 전송
+            out.write("after\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            Thread.sleep(300);
+
+            // Then: 송신 큐가 회복될 때까지 읽지 않음
+            assertEquals(1, receivedCount());
+
+            // When: 밀린 응답을 모두 읽음
+            for (int i = 0; i < FLOOD_FRAMES; i++) {
+                assertEquals(FLOOD_PAYLOAD.length(), in.readLine().length());
+            }
+
+            // Then: 수신이 재개되어 다음 요청이 처리됨
+            assertEquals("echo:after", in.readLine());
+        }
+        assertEquals(2, receivedCount());
+    }
+
+    @Test
+    public void testStalledConsumerEvictedWithoutFurtherSends() throws Exception {
+        // Given: 송신 큐가 200ms 멈추면 끊는 서버, 요청 하나에 응답을 몰아 보내고 더는 보내지 않음
+        int stallPort;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            stallPort = probe.getLocalPort();
+        }
+        TransportConfig config = new TransportConfig();
+        config.eventLoopThreads = 1;
+        config.workerThreads = 1;
+        config.slowConsumerMaxQueuedBytes = 0;
+        config.slowConsumerMaxDrainMs = 200;
+        config.slowConsumerCheckMs = 50;
+        config.slowConsumerAction = SlowConsumerPolicy.Action.DISCONNECT;
+        CountDownLatch evicted = new CountDownLatch(1);
+        NioServer stallServer = new NioServer(stallPort, config, connection -> new FrameHandler() {
+            @Override
+            public void onFrame(String frame) {
+                for (int i = 0; i < FLOOD_FRAMES; i++) {
+                    connection.send(FLOOD_PAYLOAD);
+                }
+            }
+
+            @Override
+            public void onClose(String reason) {
+                evicted.countDown();
+            }
+        });
+        stallServer.start();
+        Thread stallAccept = new Thread(stallServer::run, "test-stall-accept");
+        stallAccept.start();
+
+        try (Socket client = new Socket("127.0.0.1", stallPort)) {
+            // When: 요청 후 응답을 읽지 않음
+            client.getOutputStream().write("FLOOD\n".getBytes(StandardCharsets.UTF_8));
+            client.getOutputStream().flush();
+
+            // Then: 이후 송신이 없어도 이벤트 루프 주기 검사로 연결 종료
+            assertTrue("멈춘 연결은 종료되어야 함", evicted.await(5, TimeUnit.SECONDS));
+        } finally {
+            stallServer.close();
+            stallAccept.join(2000);
+        }
+    }
+
+    private int receivedCount() {
+        synchronized (receivedFrames) {
+            return receivedFrames.size();
+        }
+    }
+}
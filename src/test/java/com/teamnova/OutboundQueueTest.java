@@ -0,0 +1,334 @@
+package com.teamnova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.zip.Inflater;
+
+import org.junit.Test;
+
+import com.teamnova.network.BufferPool;
+import com.teamnova.network.CoalescingWriter;
+import com.teamnova.network.Connection;
+import com.teamnova.network.FrameCompressor;
+import com.teamnova.network.Framing;
+import com.teamnova.network.OutboundQueue;
+import com.teamnova.network.SlowConsumerPolicy;
+
+/**
+ * 연결별 송신 큐, 송신 묶음, slow consumer 정책 테스트
+ */
+public class OutboundQueueTest {
+
+    private static ByteBuffer frame(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testWatermarkTransitions() {
+        // Given: 용량 10, high 6, low 2 인 큐
+        OutboundQueue queue = new OutboundQueue("test", 10, 6, 2);
+
+        // When: high watermark 까지 추가
+        for (int i = 0; i < 6; i++) {
+            assertTrue(queue.offer(frame("f" + i)));
+        }
+
+        // Then: 쓰기 불가 상태로 전환
+        assertFalse("high watermark 도달 시 쓰기 불가 상태여야 함", queue.isWritable());
+        assertEquals(6, queue.size());
+        assertEquals(12, queue.queuedBytes());
+
+        // When: low watermark 직전까지 소비
+        for (int i = 0; i < 3; i++) {
+            queue.poll();
+        }
+        assertFalse("low watermark 보다 크면 쓰기 불가 상태 유지", queue.isWritable());
+
+        // When: low watermark 까지 소비
+        queue.poll();
+
+        // Then: 쓰기 가능 상태로 복귀
+        assertTrue("low watermark 이하로 내려가면 쓰기 가능해야 함", queue.isWritable());
+        assertEquals(2, queue.size());
+        assertEquals(6, queue.getMaxDepth());
+    }
+
+    @Test
+    public void testOfferRejectedWhenFull() {
+        // Given: 용량 3 인 큐를 가득 채움
+        OutboundQueue queue = new OutboundQueue("test", 3, 3, 1);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(queue.offer(frame("f" + i)));
+        }
+
+        // When & Then: 추가 시도는 블로킹 없이 거부
+        assertFalse("용량 초과 프레임은 거부되어야 함", queue.offer(frame("overflow")));
+        assertEquals(3, queue.size());
+        assertEquals(1, queue.getRejectedCount());
+
+        // Then: 순서대로 소비되고 비워짐
+        assertEquals("f0", StandardCharsets.UTF_8.decode(queue.poll()).toString());
+        assertEquals(2, queue.clear());
+        assertNull(queue.poll());
+        assertEquals(0, queue.queuedBytes());
+    }
+
+    @Test
+    public void testQueuedBytesBalancedForOffsetAndPartiallyWrittenFrames() {
+        // Given: position 이 0 이 아닌 프레임 (앞 5 바이트는 이미 다른 곳에서 소비)
+        OutboundQueue queue = new OutboundQueue("test", 10, 6, 2);
+        ByteBuffer offset = frame("skip-body");
+        offset.position(5);
+        queue.offer(offset);
+        queue.offer(frame("whole"));
+        assertEquals(9, queue.queuedBytes());
+
+        // When: 첫 프레임은 일부만 쓴 뒤 제거, 두 번째는 그대로 제거
+        queue.peek().get(new byte[2]);
+        queue.poll();
+        queue.poll();
+
+        // Then: 추가할 때 더한 만큼만 빠져 0 으로 돌아감
+        assertEquals(0, queue.queuedBytes());
+    }
+
+    @Test
+    public void testCoalescingWriterBatchesFrames() {
+        // Given: 작은 프레임 5개와 묶음 한도 10바이트
+        OutboundQueue queue = new OutboundQueue("test", 100, 50, 10);
+        for (int i = 0; i < 5; i++) {
+            queue.offer(frame("ab\n"));
+        }
+        CoalescingWriter writer = new CoalescingWriter(queue, 10);
+
+        // When: 첫 묶음 생성
+        ByteBuffer first = writer.nextBatch();
+
+        // Then: 한도 안에서 3개 프레임이 하나의 버퍼로 묶임
+        assertEquals("ab\nab\nab\n", StandardCharsets.UTF_8.decode(first).toString());
+        assertEquals(2, queue.size());
+
+        // When: 나머지 묶음 생성
+        ByteBuffer second = writer.nextBatch();
+        assertEquals(6, second.remaining());
+        second.position(second.limit());
+
+        // Then: 큐가 비고 flush 당 통계가 집계됨
+        assertNull(writer.nextBatch());
+        assertEquals(2, writer.getFlushCount());
+        assertEquals(2.5, writer.getFramesPerFlush(), 0.001);
+        assertEquals(7.5, writer.getBytesPerFlush(), 0.001);
+    }
+
+    @Test
+    public void testCoalescingWriterBorrowsBatchBufferOnlyWhileWriting() {
+        // Given: 공유 묶음 버퍼 풀, 프레임 하나
+        BufferPool pool = new BufferPool(64, 4);
+        OutboundQueue queue = new OutboundQueue("test", 10, 5, 1);
+        CoalescingWriter writer = new CoalescingWriter(queue, pool, null);
+        queue.offer(frame("a\n"));
+
+        // When: 단일 프레임은 복사 없이 기록
+        writer.nextBatch().position(2);
+
+        // Then: 묶음 버퍼를 빌리지 않음
+        assertNull(writer.nextBatch());
+        assertEquals(0, pool.getPooledCount());
+
+        // When: 여러 프레임을 묶어 기록
+        queue.offer(frame("b\n"));
+        queue.offer(frame("c\n"));
+        ByteBuffer batch = writer.nextBatch();
+        assertEquals(4, batch.remaining());
+        batch.position(batch.limit());
+
+        // Then: 다 기록하면 풀에 반납
+        assertNull(writer.nextBatch());
+        assertEquals(1, pool.getPooledCount());
+    }
+
+    @Test
+    public void testCoalescingWriterResumesPartialWrite() {
+        // Given: 큐에 프레임 하나
+        OutboundQueue queue = new OutboundQueue("test", 10, 5, 1);
+        queue.offer(frame("hello\n"));
+        CoalescingWriter writer = new CoalescingWriter(queue, 64);
+
+        // When: 일부만 기록된 상태
+        ByteBuffer batch = writer.nextBatch();
+        batch.position(2);
+
+        // Then: 다음 호출에서 남은 바이트부터 이어서 반환
+        assertEquals(4, writer.pendingBytes());
+        assertEquals("llo\n", StandardCharsets.UTF_8.decode(writer.nextBatch()).toString());
+        assertEquals(1, writer.getFlushCount());
+    }
+
+    /**
+     * 정책 테스트용 연결 (close 호출 여부만 기록)
+     */
+    private static class StubConnection implements Connection {
+        final OutboundQueue queue;
+        boolean closed = false;
+
+        StubConnection(OutboundQueue queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public boolean send(String frame, String frameType) {
+            return queue.offer(frame(frame));
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return !closed;
+        }
+
+        @Override
+        public SocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public OutboundQueue getOutboundQueue() {
+            return queue;
+        }
+    }
+
+    @Test
+    public void testCoalescingWriterCompressesMarkedFrames() throws Exception {
+        // Given: 압축 임계값 64 bytes 인 writer 와 큰 SEND_MESSAGE 프레임
+        OutboundQueue queue = new OutboundQueue("test", 10, 8, 2);
+        CoalescingWriter writer = new CoalescingWriter(queue, 64, new FrameCompressor(64, 6, 2));
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            text.append("안녕하세요 반갑습니다 ");
+        }
+        String json = "{\"action\":\"SEND_MESSAGE\",\"recipientId\":7,\"roomId\":3,\"text\":\"" + text + "\"}";
+
+        // When: 압축 대상 프레임과 작은 프레임, 압축 비대상 프레임을 순서대로 기록
+        queue.offer(Framing.LENGTH_PREFIXED.encode(json), "SEND_MESSAGE", true);
+        queue.offer(Framing.LENGTH_PREFIXED.encode("{}"), "PONG", true);
+        queue.offer(Framing.LINE.encode(json), "CONNECT", false);
+
+        // Then: 큰 프레임은 압축 플래그와 함께 줄어들고, 사전으로 복원 가능
+        ByteBuffer compressed = writer.nextBatch();
+        int header = compressed.getInt();
+        assertTrue("압축 플래그가 설정되어야 함", (header & Framing.COMPRESSED_FLAG) != 0);
+        int compressedLength = header & ~Framing.COMPRESSED_FLAG;
+        assertEquals(compressedLength, compressed.remaining());
+        assertTrue(compressedLength < json.getBytes(StandardCharsets.UTF_8).length);
+
+        byte[] payload = new byte[compressedLength];
+        compressed.get(payload);
+        Inflater inflater = new Inflater();
+        inflater.setInput(payload);
+        byte[] restored = new byte[8192];
+        int restoredLength = inflater.inflate(restored);
+        assertTrue("프리셋 사전이 필요해야 함", inflater.needsDictionary());
+        inflater.setDictionary(FrameCompressor.PRESET_DICTIONARY);
+        restoredLength += inflater.inflate(restored, restoredLength, restored.length - restoredLength);
+        inflater.end();
+        assertEquals(json, new String(restored, 0, restoredLength, StandardCharsets.UTF_8));
+
+        // Then: 임계값 미만 프레임과 비대상 프레임은 그대로 기록
+        ByteBuffer small = writer.nextBatch();
+        assertEquals(2, small.getInt());
+        small.position(small.limit());
+        assertEquals(json + "\n", StandardCharsets.UTF_8.decode(writer.nextBatch()).toString());
+    }
+
+    @Test
+    public void testUnwritableQueueDropsOnlyNonEssentialFrames() {
+        // Given: high watermark 2, low watermark 1, slow consumer 한도 없음
+        OutboundQueue queue = new OutboundQueue("test", 10, 2, 1);
+        StubConnection connection = new StubConnection(queue);
+        SlowConsumerPolicy policy = new SlowConsumerPolicy(0, 0, SlowConsumerPolicy.Action.DROP_NON_ESSENTIAL,
+                Collections.singleton("MEDIA_STATUS"));
+        queue.offer(frame("a\n"));
+        queue.offer(frame("b\n"));
+
+        // When / Then: 쓰기 불가 상태에서는 비필수 프레임만 거부
+        assertFalse(queue.isWritable());
+        assertFalse(policy.admit(connection, queue, "MEDIA_STATUS"));
+        assertTrue(policy.admit(connection, queue, "SEND_MESSAGE"));
+
+        // When / Then: low watermark 로 회복하면 다시 받음
+        queue.poll();
+        assertTrue(queue.isWritable());
+        assertTrue(policy.admit(connection, queue, "MEDIA_STATUS"));
+        assertFalse(connection.closed);
+    }
+
+    @Test
+    public void testSlowConsumerDropsNonEssentialFrames() {
+        // Given: 10바이트 한도, 비필수 프레임 버리기 정책
+        OutboundQueue queue = new OutboundQueue("test", 100, 50, 10);
+        StubConnection connection = new StubConnection(queue);
+        SlowConsumerPolicy policy = new SlowConsumerPolicy(10, 0, SlowConsumerPolicy.Action.DROP_NON_ESSENTIAL,
+                Collections.singleton("MEDIA_STATUS"));
+
+        // When: 한도 미만이면 모두 허용
+        assertTrue(policy.admit(connection, queue, "MEDIA_STATUS"));
+        queue.offer(frame("0123456789"));
+
+        // Then: 한도 도달 후 비필수 프레임만 거부되고 연결은 유지
+        assertFalse("비필수 프레임은 버려져야 함", policy.admit(connection, queue, "MEDIA_STATUS"));
+        assertTrue("필수 프레임은 계속 허용되어야 함", policy.admit(connection, queue, "SEND_MESSAGE"));
+        assertTrue(queue.isSlow());
+        assertFalse(connection.closed);
+
+        // When: 큐가 비워지면 slow 상태 해제
+        queue.clear();
+        assertFalse(queue.isSlow());
+        assertTrue(policy.admit(connection, queue, "MEDIA_STATUS"));
+    }
+
+    @Test
+    public void testSlowConsumerDisconnectOnDrainTimeout() throws Exception {
+        // Given: 소비가 20ms 이상 멈추면 연결을 끊는 정책
+        OutboundQueue queue = new OutboundQueue("test", 100, 50, 10);
+        StubConnection connection = new StubConnection(queue);
+        SlowConsumerPolicy policy = new SlowConsumerPolicy(0, 20, SlowConsumerPolicy.Action.DISCONNECT,
+                Collections.<String>emptySet());
+        queue.offer(frame("pending"));
+
+        // When: 소비 없이 한도 시간 경과
+        Thread.sleep(40);
+
+        // Then: 프레임 거부 및 연결 종료
+        assertFalse(policy.admit(connection, queue, "SEND_MESSAGE"));
+        assertTrue("slow consumer 연결은 종료되어야 함", connection.closed);
+    }
+
+    @Test
+    public void testPeriodicCheckEvictsStalledQueueWithoutSend() throws Exception {
+        // Given: 마지막 프레임 뒤로 읽기를 멈춘 연결
+        OutboundQueue queue = new OutboundQueue("test", 100, 50, 10);
+        StubConnection connection = new StubConnection(queue);
+        SlowConsumerPolicy policy = new SlowConsumerPolicy(0, 20, SlowConsumerPolicy.Action.DISCONNECT,
+                Collections.<String>emptySet());
+        queue.offer(frame("last"));
+        assertTrue(policy.check(connection, queue));
+
+        // When: 더 보낼 프레임 없이 한도 시간 경과 후 주기 검사
+        Thread.sleep(40);
+
+        // Then: 송신 없이도 연결 종료
+        assertFalse(policy.check(connection, queue));
+        assertTrue("멈춘 연결은 종료되어야 함", connection.closed);
+    }
+}
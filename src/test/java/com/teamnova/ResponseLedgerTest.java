@@ -0,0 +1,99 @@
+package com.teamnova;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.teamnova.command.FanoutEncoder;
+import com.teamnova.command.chat.SendMessageCommand;
+import com.teamnova.command.chat.SendMessageCommand.Type;
+import com.teamnova.database.ResponseLedger;
+
+/**
+ * 전송 내역 일괄 기록 테스트 (가짜 연결 사용, 생성 id 는 1000 부터 연속)
+ */
+public class ResponseLedgerTest {
+
+    private final FakeJdbc jdbc = new FakeJdbc();
+    private long nextId = 1000;
+
+    @Before
+    public void setUp() {
+        // 행 수만큼 연속 id 생성
+        jdbc.onUpdate(statement -> {
+            int rows = statement.parameters.size() / 4;
+            List<Long> keys = new ArrayList<>();
+            for (int i = 0; i < rows; i++) {
+                keys.add(nextId++);
+            }
+            statement.setGeneratedKeys(keys);
+            return rows;
+        });
+    }
+
+    @Test
+    public void testOneStatementForWholeRoom() throws SQLException {
+        // Given: 멤버 3 명에게 보낼 메시지
+        SendMessageCommand command = new SendMessageCommand(5L, "hello", Type.TEXT);
+        command.recipientId = 99L;
+
+        // When: 전송 내역 일괄 기록
+        Long[] ids = ResponseLedger.insert(jdbc.open(), FanoutEncoder.of(command), new long[] { 11L, 12L, 13L });
+
+        // Then: insert 한 번, 수신자 순서대로 생성 id 반환
+        assertEquals(1, jdbc.executed().size());
+        assertArrayEquals(new Long[] { 1000L, 1001L, 1002L }, ids);
+
+        // Then: 행마다 수신자 id 와 그 수신자용 json, command 는 바뀌지 않음
+        Map<Integer, Object> values = jdbc.parameters(0);
+        assertEquals(12L, values.get(6));
+        assertTrue(((String) values.get(7)).startsWith("{\"recipientId\":12,"));
+        assertEquals(99L, command.recipientId.longValue());
+        assertNull(command.id);
+    }
+
+    @Test
+    public void testLargeRoomSplitIntoChunks() throws SQLException {
+        // Given: 한 문장 최대 행 수(500)를 넘는 멤버
+        long[] recipients = new long[1_200];
+        for (int i = 0; i < recipients.length; i++) {
+            recipients[i] = i + 1;
+        }
+
+        // When
+        Long[] ids = ResponseLedger.insert(jdbc.open(), FanoutEncoder.of(new SendMessageCommand(5L, "hi", Type.TEXT)),
+                recipients);
+
+        // Then: 500 + 500 + 200 행, id 는 끊김 없이 순서대로
+        assertEquals(3, jdbc.executed().size());
+        assertEquals(200 * 4, jdbc.parameters(2).size());
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(1000L + i, ids[i].longValue());
+        }
+    }
+
+    @Test
+    public void testMissingGeneratedKeysAreNull() throws SQLException {
+        // Given: 3 행 중 2 개의 키만 돌려주는 연결
+        jdbc.onUpdate(statement -> {
+            statement.setGeneratedKeys(List.of(nextId++, nextId++));
+            return statement.parameters.size() / 4;
+        });
+
+        // When
+        Long[] ids = ResponseLedger.insert(jdbc.open(), FanoutEncoder.of(new SendMessageCommand(5L, "hi", Type.TEXT)),
+                new long[] { 11L, 12L, 13L });
+
+        // Then: 키를 받지 못한 수신자는 0 이 아닌 null (전송내역 id 없는 프레임으로 전송)
+        assertArrayEquals(new Long[] { 1000L, 1001L, null }, ids);
+    }
+}
@@ -0,0 +1,131 @@
+package com.teamnova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.teamnova.chat.ChatRoom;
+import com.teamnova.chat.RoomCache;
+
+/**
+ * 채팅방 캐시 테스트
+ */
+public class RoomCacheTest {
+
+    private static ChatRoom room(long roomId) {
+        ChatRoom room = new ChatRoom();
+        room.id = roomId;
+        return room;
+    }
+
+    @Test
+    public void testConcurrentMissesLoadOnce() throws Exception {
+        // Given: 적재가 끝나지 않도록 막아 둔 방 소스
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        RoomCache cache = new RoomCache(roomId -> {
+            loads.incrementAndGet();
+            release.await();
+            return room(roomId);
+        }, 0, 0);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        // When: 8 개 스레드가 같은 방을 동시에 조회
+        List<Future<ChatRoom>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(pool.submit(() -> cache.get(7L)));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        // Then: 적재는 한 번, 모두 같은 객체를 받음
+        ChatRoom first = results.get(0).get(5, TimeUnit.SECONDS);
+        assertNotNull(first);
+        for (Future<ChatRoom> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        pool.shutdown();
+    }
+
+    @Test
+    public void testMissingRoomIsNotCached() {
+        // Given: 방이 없는 소스
+        AtomicInteger loads = new AtomicInteger();
+        RoomCache cache = new RoomCache(roomId -> {
+            loads.incrementAndGet();
+            return null;
+        }, 0, 0);
+
+        // When: 두 번 조회
+        assertNull(cache.get(1L));
+        assertNull(cache.get(1L));
+
+        // Then: 매번 소스를 확인하고 캐시는 비어 있음
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testEvictsIdleRoomsAndOldestOverBudget() {
+        // Given: 최대 2 개, 유휴 1 분 기준 캐시에 방 3 개를 순서대로 조회
+        RoomCache cache = new RoomCache(RoomCacheTest::room, 60_000, 2);
+        cache.get(1L);
+        cache.get(2L);
+        cache.get(3L);
+        cache.get(1L); // 1 번 방을 다시 조회해서 가장 최근으로
+
+        // When: 현재 시각 기준으로 제거
+        int evicted = cache.evict(System.nanoTime());
+
+        // Then: 가장 오래 조회되지 않은 2 번 방만 제거
+        assertEquals(1, evicted);
+        assertNull(cache.getIfPresent(2L));
+        assertNotNull(cache.getIfPresent(1L));
+        assertNotNull(cache.getIfPresent(3L));
+
+        // When: 유휴 시간이 지난 시점 기준으로 제거
+        evicted = cache.evict(System.nanoTime() + TimeUnit.MINUTES.toNanos(2));
+
+        // Then: 모두 제거되고, 다시 조회하면 적재됨
+        assertEquals(2, evicted);
+        assertEquals(0, cache.size());
+        assertNotNull(cache.get(2L));
+    }
+
+    @Test
+    public void testRoomWithUnsettledSeqIsNotEvicted() {
+        // Given: 유휴 1 분 기준 캐시, 순번을 발급했지만 아직 저장되지 않은 방
+        RoomCache cache = new RoomCache(RoomCacheTest::room, 60_000, 0);
+        ChatRoom room = cache.get(1L);
+        long seq = room.nextSeq(() -> 41L);
+        long later = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+
+        // When / Then: 유휴 시간이 지나도 제거하지 않음
+        assertEquals(0, cache.evict(later));
+        assertSame(room, cache.getIfPresent(1L));
+
+        // When: 순번이 저장된 뒤 제거
+        room.settleSeq(seq);
+        assertEquals(1, cache.evict(later));
+
+        // Then: 제거된 방 객체로는 더 발급하지 않고, 다시 적재한 방이 저장소 값부터 이어 감
+        assertEquals(ChatRoom.SEQ_RETIRED, room.nextSeq(() -> 42L));
+        ChatRoom reloaded = cache.get(1L);
+        assertNotSame(room, reloaded);
+        assertEquals(43L, reloaded.nextSeq(() -> 42L));
+    }
+}
@@ -0,0 +1,186 @@
+package com.teamnova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.teamnova.chat.ChatRoom;
+import com.teamnova.command.chat.SendMessageCommand;
+import com.teamnova.database.RoomCursorStore;
+
+/**
+ * 커서 전송 모델 테스트 (가짜 연결 사용)
+ *
+ * SQL 의 의미는 실제 DB 가 맡으므로 여기서는 파라미터 바인딩, 페이지 진행, 결과 행 변환,
+ * 수신 확인이 앞 순번의 저장을 기다리는지만 확인한다.
+ */
+public class RoomCursorStoreTest {
+
+    private final FakeJdbc jdbc = new FakeJdbc();
+
+    // READ_SINCE 의 페이지 시작점(after) -> 돌려줄 행
+    private final Map<Long, List<Map<String, Object>>> pages = new HashMap<>();
+    private int updatedRows = 1;
+
+    @Before
+    public void setUp() {
+        jdbc.onUpdate(statement -> updatedRows);
+        jdbc.onQuery(statement -> pages.getOrDefault(statement.getLong(1), List.of()));
+    }
+
+    private static Map<String, Object> message(long id, long roomId, long roomSeq) {
+        return FakeJdbc.row("id", id, "chat_room_id", roomId, "sender_id", 8L, "content", "m" + id, "type", "TEXT",
+                "sended_at", "2026-01-01 00:00:00", "room_seq", roomSeq);
+    }
+
+    @Test
+    public void testReplayPagesFromLastIdOfPreviousPage() throws SQLException {
+        // Given: 페이지 크기 2, 3 개의 메시지 (두 번째 페이지는 1 개라 끝)
+        pages.put(0L, List.of(message(12, 2, 1), message(15, 1, 4)));
+        pages.put(15L, List.of(message(20, 2, 2)));
+        RoomCursorStore store = new RoomCursorStore(jdbc::open, 2);
+        List<SendMessageCommand> replayed = new ArrayList<>();
+
+        // When
+        int count = store.replaySince(3L, replayed::add);
+
+        // Then: 같은 문장을 재사용하며 (after, userId, limit) 바인딩, 다음 페이지는 마지막 id 이후부터
+        assertEquals(3, count);
+        assertEquals(1, jdbc.statements().size());
+        FakeJdbc.FakeStatement statement = jdbc.statements().get(0);
+        assertEquals(15L, statement.getLong(1));
+        assertEquals(3L, statement.getLong(2));
+        assertEquals(2, statement.getInt(3));
+        assertEquals(2, statement.resultSets.size());
+        assertTrue(statement.closed);
+        assertTrue(jdbc.connection(0).closed);
+
+        // Then: 행은 이 사용자에게 보낼 미읽음 메시지로 변환
+        SendMessageCommand first = replayed.get(0);
+        assertEquals(12L, first.messageId.longValue());
+        assertEquals(2L, first.roomId.longValue());
+        assertEquals(8L, first.requesterId.longValue());
+        assertEquals("m12", first.content);
+        assertEquals(1L, first.roomSeq.longValue());
+        assertEquals(3L, first.recipientId.longValue());
+        assertEquals(SendMessageCommand.ReadStatus.UNREAD, first.readStatus);
+        assertEquals(20L, replayed.get(2).messageId.longValue());
+    }
+
+    @Test
+    public void testReplayStopsAfterShortFirstPage() throws SQLException {
+        // Given: 페이지 크기보다 적은 메시지
+        pages.put(0L, List.of(message(12, 2, 1)));
+        RoomCursorStore store = new RoomCursorStore(jdbc::open, 100);
+
+        // When
+        int count = store.replaySince(3L, command -> {
+        });
+
+        // Then: 한 번만 조회
+        assertEquals(1, count);
+        assertEquals(1, jdbc.statements().get(0).resultSets.size());
+    }
+
+    @Test
+    public void testAdvanceBindsRoomSeqForMembershipAndHeadCheck() throws SQLException {
+        // Given
+        RoomCursorStore store = new RoomCursorStore(jdbc::open, 100);
+
+        // When
+        boolean advanced = store.advance(3L, 1L, 16L);
+
+        // Then: (순번, 시각, 사용자, 방, 방 끝과 비교할 순번)
+        assertTrue(advanced);
+        Map<Integer, Object> parameters = jdbc.parameters(0);
+        assertEquals(16L, parameters.get(1));
+        assertEquals(3L, parameters.get(3));
+        assertEquals(1L, parameters.get(4));
+        assertEquals(16L, parameters.get(5));
+        assertTrue(jdbc.executed().get(0).contains("last_room_seq"));
+    }
+
+    @Test
+    public void testAdvanceReportsRejectedWhenNoRowChanged() throws SQLException {
+        // Given: 참여 중이 아니거나 방 끝을 넘어 반영된 행이 없음
+        updatedRows = 0;
+        RoomCursorStore store = new RoomCursorStore(jdbc::open, 100);
+
+        // Then
+        assertFalse(store.advance(3L, 1L, 99L));
+    }
+
+    @Test
+    public void testStartAtHeadBindsIssuedHeadSeq() throws SQLException {
+        // Given
+        RoomCursorStore store = new RoomCursorStore(jdbc::open, 100);
+
+        // When: 저장 대기 중인 순번 7 까지 발급된 방에 입장
+        store.startAtHead(5L, 1L, 7L);
+
+        // Then
+        Map<Integer, Object> parameters = jdbc.parameters(0);
+        assertEquals(5L, parameters.get(1));
+        assertEquals(1L, parameters.get(2));
+        assertEquals(7L, parameters.get(3));
+        assertEquals(1L, parameters.get(5));
+    }
+
+    @Test
+    public void testEnsureSchemaCreatesTableThenSeeds() throws SQLException {
+        // Given: 커서 2 개를 새로 만듦
+        updatedRows = 2;
+        RoomCursorStore store = new RoomCursorStore(jdbc::open, 100);
+
+        // When
+        int seeded = store.ensureSchema();
+
+        // Then
+        assertEquals(2, seeded);
+        assertTrue(jdbc.executed().get(0).startsWith("create table if not exists room_cursors"));
+        assertTrue(jdbc.executed().get(1).startsWith("insert ignore into room_cursors"));
+    }
+
+    @Test
+    public void testAckAfterUnflushedMessageWaitsForEarlierSeq() throws SQLException {
+        // Given: 순번 5 는 아직 저장 대기 중, 순번 6 은 저장됨
+        ChatRoom room = new ChatRoom();
+        long pendingSeq = room.nextSeq(() -> 4L);
+        long savedSeq = room.nextSeq(() -> 4L);
+        room.settleSeq(savedSeq);
+        RoomCursorStore store = new RoomCursorStore(jdbc::open, 100);
+
+        // When: 순번 6 수신 확인 (MessageHandler 와 같이 앞 순번 정산 뒤 전진)
+        CompletableFuture<Void> settled = room.awaitSettled(savedSeq);
+        CompletableFuture<Boolean> advanced = settled.thenApply(ignored -> {
+            try {
+                return store.advance(3L, 1L, savedSeq);
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        // Then: 앞 순번이 저장되기 전에는 커서를 옮기지 않음 (옮기면 재접속 때 5 를 빠뜨린다)
+        assertFalse(advanced.isDone());
+        assertEquals(0, jdbc.count("insert into room_cursors"));
+        assertTrue(room.awaitSettled(pendingSeq - 1).isDone());
+
+        // When: 순번 5 저장
+        room.settleSeq(pendingSeq);
+
+        // Then: 그 뒤에 6 까지 전진
+        assertTrue(advanced.join());
+        assertEquals(1, jdbc.count("insert into room_cursors"));
+        assertEquals(6L, jdbc.parameters(0).get(1));
+    }
+}
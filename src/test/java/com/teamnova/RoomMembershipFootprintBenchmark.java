@@ -0,0 +1,78 @@
+package com.teamnova;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.teamnova.chat.ChatRoom;
+import com.teamnova.user.User;
+
+/**
+ * 시작 시 채팅방 멤버 적재 비용 비교 (단위 테스트 아님, main 으로 실행)
+ *
+ * DBHelper.getServerData 가 멤버십 행마다 하던 방식(new User(userId) 를 방 목록에 추가)과
+ * 현재 방식(ChatRoom 의 long id 집합에 추가)으로 같은 행을 적재하며 소요 시간과 GC 후 힙 증가량을 잰다.
+ *
+ * 실행: mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.teamnova.RoomMembershipFootprintBenchmark
+ * 인자: [멤버십 행 수=1000000] [방당 멤버 수=20]
+ */
+public class RoomMembershipFootprintBenchmark {
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int membersPerRoom = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        // JIT 워밍업 (작은 규모로 한 번씩)
+        loadAsUsers(rows / 20, membersPerRoom);
+        loadAsIds(rows / 20, membersPerRoom);
+
+        measure("User per row", () -> loadAsUsers(rows, membersPerRoom), rows);
+        measure("member id set", () -> loadAsIds(rows, membersPerRoom), rows);
+    }
+
+    private static Map<Long, List<User>> loadAsUsers(int rows, int membersPerRoom) {
+        Map<Long, List<User>> rooms = new HashMap<>();
+        for (int i = 0; i < rows; i++) {
+            long roomId = i / membersPerRoom;
+            long userId = (i * 7919L) % (rows / 4 + 1);
+            rooms.computeIfAbsent(roomId, id -> new ArrayList<>()).add(new User(userId));
+        }
+        return rooms;
+    }
+
+    private static Map<Long, ChatRoom> loadAsIds(int rows, int membersPerRoom) {
+        Map<Long, ChatRoom> rooms = new HashMap<>();
+        for (int i = 0; i < rows; i++) {
+            long roomId = i / membersPerRoom;
+            long userId = (i * 7919L) % (rows / 4 + 1);
+            rooms.computeIfAbsent(roomId, id -> new ChatRoom()).addMember(userId);
+        }
+        return rooms;
+    }
+
+    private static void measure(String name, java.util.function.Supplier<Object> loader, int rows) {
+        long heapBefore = usedHeapAfterGc();
+        long start = System.nanoTime();
+        Object result = loader.get();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        long heapAfter = usedHeapAfterGc();
+
+        System.out.printf("%-14s rows=%d, loadMillis=%d, heapMB=%.1f, bytesPerRow=%.1f%n",
+                name, rows, elapsedMillis, (heapAfter - heapBefore) / (1024.0 * 1024),
+                (double) (heapAfter - heapBefore) / rows);
+
+        // 측정이 끝날 때까지 결과가 수거되지 않도록 유지
+        if (result.hashCode() == 42) {
+            System.out.println();
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
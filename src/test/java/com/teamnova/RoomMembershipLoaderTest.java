@@ -0,0 +1,47 @@
+package com.teamnova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.teamnova.database.RoomMembershipLoader;
+
+/**
+ * 시작 시 멤버십 적재 구간 분할 테스트
+ */
+public class RoomMembershipLoaderTest {
+
+    @Test
+    public void testSplitRangeCoversRangeWithoutGaps() {
+        // Given: 방 id 범위 [7, 1006] (1000 개)
+        long min = 7;
+        long max = 1006;
+
+        // When: 16 개 구간으로 분할
+        long[][] ranges = RoomMembershipLoader.splitRange(min, max, 16);
+
+        // Then: 구간이 빈틈/겹침 없이 이어지고 크기 차이는 최대 1
+        assertEquals(16, ranges.length);
+        assertEquals(min, ranges[0][0]);
+        assertEquals(max, ranges[ranges.length - 1][1]);
+        for (int i = 1; i < ranges.length; i++) {
+            assertEquals(ranges[i - 1][1] + 1, ranges[i][0]);
+            long size = ranges[i][1] - ranges[i][0] + 1;
+            assertTrue(size == 62 || size == 63);
+        }
+    }
+
+    @Test
+    public void testSplitRangeNeverCreatesEmptyChunks() {
+        // Given / When: 구간 수보다 방 id 범위가 좁음
+        long[][] ranges = RoomMembershipLoader.splitRange(5, 7, 32);
+
+        // Then: 방 id 하나씩 3 개 구간
+        assertEquals(3, ranges.length);
+        for (int i = 0; i < ranges.length; i++) {
+            assertEquals(5 + i, ranges[i][0]);
+            assertEquals(5 + i, ranges[i][1]);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.teamnova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.teamnova.chat.ChatRoom;
+import com.teamnova.chat.RoomSnapshot;
+import com.teamnova.command.chat.CreateRoomCommand.RoomType;
+
+/**
+ * 채팅방 스냅샷 파일 테스트
+ */
+public class RoomSnapshotTest {
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        // Given: 정보가 모두 있는 방과 id/멤버만 있는 방
+        ChatRoom full = new ChatRoom();
+        full.id = 10L;
+        full.roomType = RoomType.values()[0];
+        full.roomName = "개발팀 채팅";
+        full.description = "설명";
+        full.masterUserId = 3L;
+        full.currentMembers = 2;
+        full.addMember(3L);
+        full.addMember(4L);
+        ChatRoom bare = new ChatRoom();
+        bare.id = 11L;
+        bare.addMember(0L);
+        Path file = Files.createTempDirectory("snapshot").resolve("rooms.snap");
+
+        // When: 기록 후 읽기
+        RoomSnapshot.write(file, Arrays.asList(full, bare), "2026-01-02 03:04:05");
+        RoomSnapshot snapshot = RoomSnapshot.read(file);
+
+        // Then: 기준점과 방 정보가 그대로 복원됨
+        assertEquals("2026-01-02 03:04:05", snapshot.highWaterMark);
+        List<ChatRoom> rooms = snapshot.rooms;
+        assertEquals(2, rooms.size());
+        ChatRoom restored = rooms.get(0);
+        assertEquals(Long.valueOf(10L), restored.id);
+        assertEquals(full.roomType, restored.roomType);
+        assertEquals("개발팀 채팅", restored.roomName);
+        assertEquals(Long.valueOf(3L), restored.masterUserId);
+        assertNull(restored.thumbnail);
+        assertEquals(Integer.valueOf(2), restored.currentMembers);
+        assertTrue(restored.isMember(3L) && restored.isMember(4L));
+        assertNull(rooms.get(1).roomName);
+        assertNull(rooms.get(1).masterUserId);
+        assertTrue(rooms.get(1).isMember(0L));
+    }
+
+    @Test
+    public void testCorruptedFileIsRejected() throws IOException {
+        // Given: 기록된 스냅샷의 마지막 바이트를 변조
+        ChatRoom room = new ChatRoom();
+        room.id = 1L;
+        room.addMember(7L);
+        Path file = Files.createTempDirectory("snapshot").resolve("rooms.snap");
+        RoomSnapshot.write(file, Arrays.asList(room), "2026-01-02 03:04:05");
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(raf.length() - 1);
+            raf.write(0x7F);
+        }
+
+        // When / Then: 체크섬 불일치로 읽기 실패
+        try {
+            RoomSnapshot.read(file);
+            fail("변조된 스냅샷을 읽으면 안 됨");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage().contains("체크섬"));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.teamnova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import com.teamnova.chat.ChatRoom;
+import com.teamnova.utils.SnowflakeIdGenerator;
+
+/**
+ * 메시지 id 발급기와 방별 순번 테스트 (시계는 직접 조작)
+ */
+public class SnowflakeIdGeneratorTest {
+
+    private static final long EPOCH = 1_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(EPOCH + 5_000);
+
+    @Test
+    public void testIdsIncreaseWithinSameMillisecond() {
+        // Given: 시계가 멈춘 상태
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3, EPOCH, clock::get);
+
+        // When: 한 밀리초 순번(4096)을 넘게 발급
+        Set<Long> issued = new HashSet<>();
+        long previous = -1;
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            // Then: 항상 증가하고 겹치지 않음
+            assertTrue(id > previous);
+            assertTrue(issued.add(id));
+            previous = id;
+        }
+
+        // Then: worker id 는 그대로, 순번을 다 쓴 만큼 시각을 앞당겨 씀
+        assertEquals(3L, SnowflakeIdGenerator.workerIdOf(previous));
+        assertEquals(clock.get() + 2, generator.timestampOf(previous));
+    }
+
+    @Test
+    public void testClockGoingBackwardsKeepsOrder() {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, EPOCH, clock::get);
+        long before = generator.nextId();
+
+        // When: 시계가 1 초 뒤로 감
+        clock.addAndGet(-1_000);
+        long after = generator.nextId();
+
+        // Then: 기다리지 않고 마지막 시각을 이어 써서 증가 순서 유지
+        assertTrue(after > before);
+        assertEquals(generator.timestampOf(before), generator.timestampOf(after));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWorkerIdOutOfRange() {
+        new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_WORKER_ID + 1);
+    }
+
+    @Test
+    public void testRoomSeqContinuesFromStoredValue() {
+        // Given: 저장된 마지막 순번이 41 인 방
+        ChatRoom room = new ChatRoom();
+        room.id = 1L;
+        AtomicInteger loads = new AtomicInteger();
+
+        // When: 순번 3 개 발급
+        long first = room.nextSeq(() -> {
+            loads.incrementAndGet();
+            return 41L;
+        });
+        long second = room.nextSeq(() -> 0L);
+        long third = room.nextSeq(() -> 0L);
+
+        // Then: 저장된 값 다음부터 빈틈 없이, 조회는 처음 한 번만
+        assertEquals(42L, first);
+        assertEquals(43L, second);
+        assertEquals(44L, third);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testReleaseSeqOnlyReturnsLastIssued() {
+        // Given
+        ChatRoom room = new ChatRoom();
+        room.id = 1L;
+        long first = room.nextSeq(() -> 0L);
+        long second = room.nextSeq(() -> 0L);
+
+        // When: 마지막이 아닌 순번 반납은 무시, 마지막 순번은 되돌림
+        room.releaseSeq(first);
+        room.releaseSeq(second);
+
+        // Then: 반납한 순번을 다시 발급
+        assertEquals(second, room.nextSeq(() -> 0L));
+    }
+}
@@ -0,0 +1,142 @@
+package com.teamnova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.junit.Test;
+
+import com.teamnova.database.ConnectionPool;
+
+/**
+ * 커넥션 풀의 PreparedStatement 캐시 테스트 (가짜 연결/문장 사용)
+ */
+public class StatementCacheTest {
+
+    private final FakeJdbc jdbc = new FakeJdbc();
+
+    private ConnectionPool newPool(int statementCacheSize) {
+        return new ConnectionPool(jdbc::open, 1, 50, 0, 60_000, statementCacheSize);
+    }
+
+    @Test
+    public void testSameSqlReusesPreparedStatementAcrossLeases() throws SQLException {
+        // Given: 연결당 문장 4 개를 캐시하는 풀
+        ConnectionPool pool = newPool(4);
+        String sql = "select * from users where id = ?";
+
+        // When: 같은 SQL 을 대여마다 prepare
+        for (int i = 0; i < 3; i++) {
+            try (Connection conn = pool.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setLong(1, i);
+                ps.executeQuery();
+            }
+        }
+
+        // Then: 물리 prepare 는 한 번, 나머지는 캐시 적중 (파라미터는 돌려받을 때마다 지움)
+        assertEquals(1, jdbc.statements().size());
+        FakeJdbc.FakeStatement statement = jdbc.statements().get(0);
+        assertFalse(statement.closed);
+        assertEquals(3, statement.clearParameters);
+        assertEquals(2.0 / 3, pool.getStatementCacheHitRate(), 0.0001);
+        pool.close();
+    }
+
+    @Test
+    public void testUnclosedStatementAndResultSetReclaimedOnReturn() throws SQLException {
+        // Given: 문장과 결과 집합을 닫지 않고 연결만 반납
+        ConnectionPool pool = newPool(4);
+        String sql = "select user_id from user_chatroom_map where chat_room_id = ?";
+        Connection conn = pool.getConnection();
+        PreparedStatement leaked = conn.prepareStatement(sql);
+        leaked.executeQuery();
+        conn.close();
+
+        // Then: 결과 집합은 닫히고, 문장은 캐시로 돌아가 다음 대여자가 재사용
+        FakeJdbc.FakeStatement statement = jdbc.statements().get(0);
+        assertTrue(statement.resultSets.get(0).closed);
+        assertFalse(statement.closed);
+        try {
+            leaked.executeQuery();
+            fail("회수된 문장은 쓸 수 없어야 함");
+        } catch (SQLException expected) {
+            assertTrue(expected.getMessage().contains("이미 닫힌 문장"));
+        }
+        try (Connection next = pool.getConnection(); PreparedStatement ps = next.prepareStatement(sql)) {
+            assertNotSame(leaked, ps);
+        }
+        assertEquals(1, jdbc.statements().size());
+        pool.close();
+    }
+
+    @Test
+    public void testEvictionAndPoolCloseCloseStatements() throws SQLException {
+        // Given: 문장 2 개까지 캐시
+        ConnectionPool pool = newPool(2);
+
+        // When: 서로 다른 SQL 3 개를 차례로 사용
+        try (Connection conn = pool.getConnection()) {
+            for (String sql : new String[] { "select 1", "select 2", "select 3" }) {
+                conn.prepareStatement(sql).close();
+            }
+        }
+
+        // Then: 가장 오래 쓰이지 않은 문장만 실제로 닫힘
+        assertTrue(jdbc.statements().get(0).closed);
+        assertFalse(jdbc.statements().get(1).closed);
+        assertFalse(jdbc.statements().get(2).closed);
+
+        // When: 풀 종료 (물리 연결 종료)
+        pool.close();
+
+        // Then: 캐시된 문장도 모두 닫힘
+        for (FakeJdbc.FakeStatement statement : jdbc.statements()) {
+            assertTrue(statement.sql, statement.closed);
+        }
+    }
+
+    @Test
+    public void testNestedSameSqlUsesSeparateStatement() throws SQLException {
+        // Given: 같은 SQL 문장을 연 채로 한 번 더 prepare
+        ConnectionPool pool = newPool(4);
+        String sql = "select * from chat_rooms where id = ?";
+        try (Connection conn = pool.getConnection()) {
+            PreparedStatement outer = conn.prepareStatement(sql);
+            PreparedStatement inner = conn.prepareStatement(sql);
+
+            // Then: 서로 다른 물리 문장, 캐시되지 않은 안쪽 문장은 닫으면 실제로 닫힘
+            assertEquals(2, jdbc.statements().size());
+            inner.close();
+            assertTrue(jdbc.statements().get(1).closed);
+            outer.close();
+            assertFalse(jdbc.statements().get(0).closed);
+        }
+        pool.close();
+    }
+
+    @Test
+    public void testCacheDisabledClosesStatementsOnClose() throws SQLException {
+        // Given: 캐시를 끈 풀
+        ConnectionPool pool = newPool(0);
+
+        // When: 같은 SQL 을 두 번 사용
+        for (int i = 0; i < 2; i++) {
+            try (Connection conn = pool.getConnection(); PreparedStatement ps = conn.prepareStatement("select 1")) {
+                ps.executeQuery();
+            }
+        }
+
+        // Then: 매번 새로 prepare 하고 닫음
+        assertEquals(2, jdbc.statements().size());
+        assertTrue(jdbc.statements().get(0).closed);
+        assertTrue(jdbc.statements().get(1).closed);
+        assertEquals(0.0, pool.getStatementCacheHitRate(), 0.0);
+        pool.close();
+    }
+}
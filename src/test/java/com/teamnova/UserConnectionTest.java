@@ -11,6 +11,7 @@ import org.junit.Test;
 
 import com.teamnova.server.ChatServer;
 import com.teamnova.user.User;
+import com.teamnova.user.UserRegistry;
 
 /**
  * 사용자 연결 관리 기능 테스트
@@ -23,8 +24,8 @@ public class UserConnectionTest {
     public void setUp() {
         // 테스트용 서버 초기화
         server = new ChatServer();
-        // userList 초기화를 위해 필요한 부분만 초기화
-        server.userList = new java.util.concurrent.CopyOnWriteArrayList<>();
+        // userRegistry 초기화를 위해 필요한 부분만 초기화
+        server.userRegistry = new UserRegistry();
     }
 
     @Test
@@ -48,12 +49,12 @@ public class UserConnectionTest {
 
         // When: 사용자를 서버에 추가 후 제거
         server.addUser(user);
-        assertTrue("사용자가 서버에 추가되어야 함", server.userList.contains(user));
+        assertTrue("사용자가 서버에 추가되어야 함", server.userRegistry.contains(user));
 
         server.removeUser(user);
 
         // Then: 사용자가 서버에서 제거되었는지 확인
-        assertFalse("사용자가 서버에서 제거되어야 함", server.userList.contains(user));
+        assertFalse("사용자가 서버에서 제거되어야 함", server.userRegistry.contains(user));
     }
 
     @Test
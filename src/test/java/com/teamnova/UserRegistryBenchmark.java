@@ -0,0 +1,111 @@
+package com.teamnova;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.teamnova.user.User;
+import com.teamnova.user.UserRegistry;
+
+/**
+ * 접속자 목록 구현 비교: CopyOnWriteArrayList 순회 vs UserRegistry (단위 테스트 아님, main 으로 실행)
+ *
+ * 접속자 N 명이 있는 상태에서
+ * - lookup: 임의 사용자 id 조회 (User.connect 의 기존 접속자 확인, 초대 시 초대 대상 조회)
+ * - reconnect: 제거 후 재등록 (재접속 폭주 시 사용자당 비용)
+ * 의 연산당 시간을 측정한다. 앞쪽 반복은 JIT 워밍업으로 버린다.
+ *
+ * 실행: mvn -q test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.teamnova.UserRegistryBenchmark
+ * 인자: [접속자 수 목록=10000,100000] [연산 수=20000]
+ */
+public class UserRegistryBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+
+    // 결과를 사용해 JIT 가 측정 코드를 제거하지 못하게 한다.
+    private static long sink;
+
+    public static void main(String[] args) {
+        String[] sizes = (args.length > 0 ? args[0] : "10000,100000").split(",");
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+
+        for (String size : sizes) {
+            int userCount = Integer.parseInt(size.trim());
+            List<User> users = new ArrayList<>(userCount);
+            for (int i = 0; i < userCount; i++) {
+                users.add(new User(i));
+            }
+            for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+                boolean report = round == WARMUP_ROUNDS;
+                runList(users, operations, report);
+                runRegistry(users, operations, report);
+            }
+        }
+        if (sink == 42) {
+            System.out.println(sink);
+        }
+    }
+
+    private static void runList(List<User> users, int operations, boolean report) {
+        CopyOnWriteArrayList<User> list = new CopyOnWriteArrayList<>(users);
+
+        // 목록 순회는 접속자 수에 비례하므로 큰 목록에서는 연산 수를 줄여 측정한다.
+        int lookups = Math.max(100, Math.min(operations, 200_000_000 / users.size()));
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            long targetId = (i * 7919L) % users.size();
+            for (User user : list) {
+                if (user.id == targetId) {
+                    sink += user.id;
+                    break;
+                }
+            }
+        }
+        long lookupNanos = System.nanoTime() - start;
+
+        int reconnects = Math.max(100, Math.min(operations, 100_000_000 / users.size()));
+        start = System.nanoTime();
+        for (int i = 0; i < reconnects; i++) {
+            User user = users.get((int) ((i * 7919L) % users.size()));
+            list.remove(user);
+            list.add(user);
+        }
+        long reconnectNanos = System.nanoTime() - start;
+
+        report("CopyOnWriteArrayList", users.size(), lookups, lookupNanos, reconnects, reconnectNanos, report);
+    }
+
+    private static void runRegistry(List<User> users, int operations, boolean report) {
+        UserRegistry registry = new UserRegistry();
+        for (User user : users) {
+            registry.register(user);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            User user = registry.get((i * 7919L) % users.size());
+            sink += user.id;
+        }
+        long lookupNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            User user = users.get((int) ((i * 7919L) % users.size()));
+            registry.unregister(user);
+            registry.register(user);
+        }
+        long reconnectNanos = System.nanoTime() - start;
+
+        report("UserRegistry", users.size(), operations, lookupNanos, operations, reconnectNanos, report);
+    }
+
+    private static void report(String name, int userCount, int lookups, long lookupNanos, int reconnects,
+            long reconnectNanos, boolean report) {
+        if (!report) {
+            return;
+        }
+        System.out.printf("%-22s users=%d, lookupNsPerOp=%.1f, reconnectNsPerOp=%.1f (lookups=%d, reconnects=%d)%n",
+                name, userCount, (double) lookupNanos / lookups, (double) reconnectNanos / reconnects,
+                lookups, reconnects);
+    }
+}
@@ -0,0 +1,67 @@
+package com.teamnova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.teamnova.user.User;
+import com.teamnova.user.UserRegistry;
+
+/**
+ * 접속자 목록 테스트
+ */
+public class UserRegistryTest {
+
+    @Test
+    public void testLookupByIdAndSession() {
+        // Given: 두 명이 접속
+        UserRegistry registry = new UserRegistry();
+        User alice = new User(1L);
+        User bob = new User(2L);
+
+        // When: 등록
+        assertNull(registry.register(alice));
+        assertNull(registry.register(bob));
+
+        // Then: id / 세션 id 로 조회됨
+        assertEquals(2, registry.size());
+        assertSame(alice, registry.get(1L));
+        assertSame(bob, registry.getBySession(bob.getSessionId()));
+        assertTrue(registry.isOnline(2L));
+        assertFalse(registry.isOnline(3L));
+        assertNull(registry.get(3L));
+    }
+
+    @Test
+    public void testReconnectReplacesPreviousSession() {
+        // Given: 접속 중인 사용자가 새 연결로 다시 접속
+        UserRegistry registry = new UserRegistry();
+        User oldSession = new User(1L);
+        User newSession = new User(1L);
+        registry.register(oldSession);
+
+        // When: 새 세션 등록 후 이전 세션이 늦게 닫힘
+        User replaced = registry.register(newSession);
+        boolean removedOld = registry.unregister(oldSession);
+
+        // Then: 이전 세션만 대체되고 새 세션은 남아 있음
+        assertSame(oldSession, replaced);
+        assertFalse(removedOld);
+        assertEquals(1, registry.size());
+        assertSame(newSession, registry.get(1L));
+        assertTrue(registry.contains(newSession));
+        assertFalse(registry.contains(oldSession));
+        assertNull(registry.getBySession(oldSession.getSessionId()));
+
+        // When: 새 세션 종료
+        assertTrue(registry.unregister(newSession));
+
+        // Then: 목록이 비어 있음
+        assertTrue(registry.isEmpty());
+        assertNull(registry.getBySession(newSession.getSessionId()));
+    }
+}
@@ -10,6 +10,7 @@ import org.junit.Test;
 
 import com.teamnova.server.ChatServer;
 import com.teamnova.user.User;
+import com.teamnova.user.UserRegistry;
 
 /**
  * WebRTC 시그널링 기능 테스트
@@ -24,7 +25,7 @@ public class WebRTCTest {
         // 테스트용 사용자 및 서버 초기화
         user = new User(123L);
         server = new ChatServer();
-        server.userList = new java.util.concurrent.CopyOnWriteArrayList<>();
+        server.userRegistry = new UserRegistry();
         server.videoRoomMap = new java.util.concurrent.ConcurrentHashMap<>();
     }
 
@@ -58,8 +59,8 @@ public class WebRTCTest {
         // When & Then: 서버 객체가 올바르게 초기화되었는지 확인
         try {
             assertNotNull("서버 객체가 생성되어야 함", server);
-            assertNotNull("사용자 리스트가 초기화되어야 함", server.userList);
-            assertTrue("사용자 리스트가 비어있어야 함", server.userList.isEmpty());
+            assertNotNull("사용자 리스트가 초기화되어야 함", server.userRegistry);
+            assertTrue("사용자 리스트가 비어있어야 함", server.userRegistry.isEmpty());
         } catch (Exception e) {
             fail("ICE 후보 처리 중 예외가 발생하지 않아야 함: " + e.getMessage());
         }
@@ -0,0 +1,241 @@
+package com.teamnova;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataInputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.teamnova.network.FrameHandler;
+import com.teamnova.network.NioServer;
+import com.teamnova.network.TransportConfig;
+import com.teamnova.network.WebSocketCodec;
+
+/**
+ * WebSocket 전송 계층 테스트
+ */
+public class WebSocketTest {
+
+    private static final String HANDSHAKE = "GET /chat HTTP/1.1\r\n"
+            + "Host: localhost\r\n"
+            + "Upgrade: websocket\r\n"
+            + "Connection: Upgrade\r\n"
+            + "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\n"
+            + "Sec-WebSocket-Version: 13\r\n\r\n";
+
+    private NioServer server;
+    private Thread acceptThread;
+    private int port;
+
+    private final CountDownLatch closeLatch = new CountDownLatch(1);
+
+    @Before
+    public void setUp() throws Exception {
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+
+        TransportConfig config = new TransportConfig();
+        config.eventLoopThreads = 1;
+        config.workerThreads = 2;
+        config.maxFrameBytes = 1024;
+
+        // 받은 텍스트 메시지를 그대로 되돌려주는 에코 핸들러
+        server = NioServer.webSocket(port, config, connection -> new FrameHandler() {
+            @Override
+            public void onFrame(String frame) {
+                connection.send("echo:" + frame);
+            }
+
+            @Override
+            public void onClose(String reason) {
+                closeLatch.countDown();
+            }
+        });
+        server.start();
+        acceptThread = new Thread(server::run, "test-ws-accept");
+        acceptThread.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.close();
+        acceptThread.join(2000);
+    }
+
+    @Test
+    public void testAcceptKey() {
+        // Given/When/Then: RFC 6455 1.3 절의 예시 키
+        assertEquals("s3pPLMBiTxaQ9kYGzzhZRbK+xOo=", WebSocketCodec.acceptKey("dGhlIHNhbXBsZSBub25jZQ=="));
+    }
+
+    @Test
+    public void testCodecDecodesFragmentedMaskedText() {
+        // Given: 핸드셰이크 이후 조각난 텍스트 메시지와 ping 이 여러 번에 나뉘어 도착
+        WebSocketCodec codec = new WebSocketCodec(1024, null);
+        List<String> out = new ArrayList<>();
+        codec.decode(ByteBuffer.wrap(HANDSHAKE.getBytes(StandardCharsets.ISO_8859_1)), out);
+        String handshakeResponse = StandardCharsets.ISO_8859_1.decode(codec.pollReply()).toString();
+
+        byte[] first = maskedFrame(false, WebSocketCodec.OPCODE_TEXT, "{\"a\":");
+        byte[] ping = maskedFrame(true, WebSocketCodec.OPCODE_PING, "p");
+        byte[] last = maskedFrame(true, WebSocketCodec.OPCODE_CONTINUATION, "\"한글\"}");
+        ByteBuffer stream = ByteBuffer.allocate(first.length + ping.length + last.length);
+        stream.put(first).put(ping).put(last).flip();
+
+        // When: 3 바이트씩 잘라서 디코딩
+        while (stream.hasRemaining()) {
+            ByteBuffer chunk = stream.slice(stream.position(), Math.min(3, stream.remaining()));
+            stream.position(stream.position() + chunk.remaining());
+            codec.decode(chunk, out);
+        }
+
+        // Then: 101 응답, 조각이 합쳐진 메시지 하나, ping 에 대한 pong
+        assertTrue(handshakeResponse.startsWith("HTTP/1.1 101"));
+        assertTrue(handshakeResponse.contains("Sec-WebSocket-Accept: s3pPLMBiTxaQ9kYGzzhZRbK+xOo="));
+        assertEquals(1, out.size());
+        assertEquals("{\"a\":\"한글\"}", out.get(0));
+        ByteBuffer pong = codec.pollReply();
+        assertNotNull(pong);
+        assertEquals(0x80 | WebSocketCodec.OPCODE_PONG, pong.get(0) & 0xFF);
+        assertEquals('p', pong.get(2));
+        assertFalse(codec.isCloseRequested());
+    }
+
+    @Test
+    public void testCodecRejectsUnmaskedAndOversizeFrames() {
+        // Given: 핸드셰이크를 마친 코덱 두 개
+        WebSocketCodec unmasked = handshaken(16);
+        WebSocketCodec oversize = handshaken(16);
+        List<String> out = new ArrayList<>();
+
+        // When: 마스킹하지 않은 프레임 / 최대 크기를 넘는 프레임 수신
+        unmasked.decode(WebSocketCodec.encodeText("hi"), out);
+        oversize.decode(ByteBuffer.wrap(maskedFrame(true, WebSocketCodec.OPCODE_TEXT, "01234567890123456789")), out);
+
+        // Then: 각각 1002 / 1009 close 프레임을 응답하고 닫기를 요청
+        assertTrue(out.isEmpty());
+        assertTrue(unmasked.isCloseRequested());
+        assertEquals(WebSocketCodec.STATUS_PROTOCOL_ERROR, unmasked.getCloseStatus());
+        assertEquals(WebSocketCodec.STATUS_PROTOCOL_ERROR, unmasked.pollReply().getShort(2));
+        assertTrue(oversize.isCloseRequested());
+        assertEquals(WebSocketCodec.STATUS_TOO_BIG, oversize.pollReply().getShort(2));
+        assertNull(oversize.pollReply());
+    }
+
+    @Test
+    public void testEchoOverWebSocket() throws Exception {
+        // Given: 핸드셰이크를 마친 WebSocket 클라이언트
+        try (Socket socket = new Socket("localhost", port)) {
+            socket.setSoTimeout(3000);
+            OutputStream out = socket.getOutputStream();
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            out.write(HANDSHAKE.getBytes(StandardCharsets.ISO_8859_1));
+            out.flush();
+            String response = readHttpHeader(in);
+            assertTrue(response.startsWith("HTTP/1.1 101"));
+            assertTrue(response.contains("s3pPLMBiTxaQ9kYGzzhZRbK+xOo="));
+
+            // When: 마스킹한 텍스트 프레임 두 개를 한 번에 전송
+            out.write(concat(maskedFrame(true, WebSocketCodec.OPCODE_TEXT, "{\"action\":\"PING\"}"),
+                    maskedFrame(true, WebSocketCodec.OPCODE_TEXT, "안녕")));
+            out.flush();
+
+            // Then: 마스킹하지 않은 텍스트 프레임으로 순서대로 응답
+            assertEquals("echo:{\"action\":\"PING\"}", readTextFrame(in));
+            assertEquals("echo:안녕", readTextFrame(in));
+
+            // When: close 프레임 전송
+            out.write(maskedFrame(true, WebSocketCodec.OPCODE_CLOSE, ""));
+            out.flush();
+
+            // Then: close 프레임을 돌려받고 서버 쪽 연결이 닫힘
+            assertEquals(0x80 | WebSocketCodec.OPCODE_CLOSE, in.readUnsignedByte());
+            assertEquals(2, in.readUnsignedByte());
+            assertEquals(WebSocketCodec.STATUS_NORMAL, in.readUnsignedShort());
+            assertTrue(closeLatch.await(3, TimeUnit.SECONDS));
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    public void testBadHandshakeIsRejected() throws Exception {
+        // Given: Upgrade 헤더가 없는 일반 HTTP 요청
+        try (Socket socket = new Socket("localhost", port)) {
+            socket.setSoTimeout(3000);
+            socket.getOutputStream().write("GET / HTTP/1.1\r\nHost: localhost\r\n\r\n"
+                    .getBytes(StandardCharsets.ISO_8859_1));
+            socket.getOutputStream().flush();
+
+            // When: 응답 수신
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            String response = readHttpHeader(in);
+
+            // Then: 400 응답 후 연결 종료
+            assertTrue(response.startsWith("HTTP/1.1 400"));
+            assertEquals(-1, in.read());
+            assertTrue(closeLatch.await(3, TimeUnit.SECONDS));
+        }
+    }
+
+    private static WebSocketCodec handshaken(int maxMessageBytes) {
+        WebSocketCodec codec = new WebSocketCodec(maxMessageBytes, null);
+        codec.decode(ByteBuffer.wrap(HANDSHAKE.getBytes(StandardCharsets.ISO_8859_1)), new ArrayList<>());
+        codec.pollReply();
+        return codec;
+    }
+
+    /**
+     * 클라이언트 프레임 (125 bytes 이하 본문, 고정 마스크)
+     */
+    private static byte[] maskedFrame(boolean fin, int opcode, String text) {
+        byte[] payload = text.getBytes(StandardCharsets.UTF_8);
+        byte[] mask = {0x11, 0x22, 0x33, 0x44};
+        ByteBuffer frame = ByteBuffer.allocate(6 + payload.length);
+        frame.put((byte) ((fin ? 0x80 : 0) | opcode));
+        frame.put((byte) (0x80 | payload.length));
+        frame.put(mask);
+        for (int i = 0; i < payload.length; i++) {
+            frame.put((byte) (payload[i] ^ mask[i & 3]));
+        }
+        return frame.array();
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        return ByteBuffer.allocate(a.length + b.length).put(a).put(b).array();
+    }
+
+    private static String readHttpHeader(DataInputStream in) throws Exception {
+        StringBuilder header = new StringBuilder();
+        while (!header.toString().endsWith("\r\n\r\n")) {
+            header.append((char) in.readUnsignedByte());
+        }
+        return header.toString();
+    }
+
+    private static String readTextFrame(DataInputStream in) throws Exception {
+        assertEquals(0x80 | WebSocketCodec.OPCODE_TEXT, in.readUnsignedByte());
+        int length = in.readUnsignedByte();
+        if (length == 126) {
+            length = in.readUnsignedShort();
+        }
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+}